@@ -0,0 +1,140 @@
+package com.batubook.backend.availability;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cuckoo filter of strings: a membership test with no false negatives and about {@code 2 * 4 / 2^16} false
+ * positives that, unlike a Bloom filter, supports removal. Each key is stored as a 16-bit fingerprint in one of
+ * two buckets of four slots; the second bucket is derived from the first and the fingerprint alone, so a
+ * fingerprint can be moved between its buckets to make room without knowing the key.
+ *
+ * <p>Only keys that were added may be removed; removing any other key can drop the fingerprint of a colliding
+ * key and turn a "maybe" into a false "no". Not thread-safe.
+ */
+final class CuckooFilter {
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_KICKS = 500;
+    private static final double MAX_LOAD = 0.9;
+
+    private final short[] slots;
+    private final int bucketMask;
+    private int size;
+
+    CuckooFilter(int capacity) {
+        int buckets = Integer.highestOneBit(Math.max(2, (int) Math.ceil(capacity / (BUCKET_SIZE * MAX_LOAD))) - 1) << 1;
+        this.slots = new short[buckets * BUCKET_SIZE];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Adds the key and returns {@code true}, or returns {@code false} when no room could be made. A failed add
+     * may have displaced another fingerprint out of the filter, so the filter must be rebuilt afterwards.
+     */
+    boolean add(String key) {
+        long hash = hash(key);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        int second = alternate(first, fingerprint);
+        if (insert(first, fingerprint) || insert(second, fingerprint)) {
+            size++;
+            return true;
+        }
+
+        int bucket = ThreadLocalRandom.current().nextBoolean() ? first : second;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * BUCKET_SIZE + ThreadLocalRandom.current().nextInt(BUCKET_SIZE);
+            short evicted = slots[slot];
+            slots[slot] = fingerprint;
+            fingerprint = evicted;
+            bucket = alternate(bucket, fingerprint);
+            if (insert(bucket, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        return contains(first, fingerprint) || contains(alternate(first, fingerprint), fingerprint);
+    }
+
+    boolean remove(String key) {
+        long hash = hash(key);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        if (delete(first, fingerprint) || delete(alternate(first, fingerprint), fingerprint)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    private boolean insert(int bucket, short fingerprint) {
+        for (int slot = bucket * BUCKET_SIZE; slot < (bucket + 1) * BUCKET_SIZE; slot++) {
+            if (slots[slot] == 0) {
+                slots[slot] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(int bucket, short fingerprint) {
+        for (int slot = bucket * BUCKET_SIZE; slot < (bucket + 1) * BUCKET_SIZE; slot++) {
+            if (slots[slot] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean delete(int bucket, short fingerprint) {
+        for (int slot = bucket * BUCKET_SIZE; slot < (bucket + 1) * BUCKET_SIZE; slot++) {
+            if (slots[slot] == fingerprint) {
+                slots[slot] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ (int) mix(fingerprint)) & bucketMask;
+    }
+
+    /**
+     * Fingerprint from the upper bits, which the bucket index does not use; zero marks an empty slot.
+     */
+    private static short fingerprint(long hash) {
+        short fingerprint = (short) (hash >>> 48);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,199 @@
+package com.batubook.backend.availability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cuckoo filters of every taken username and email, normalized to trimmed lower case, so an availability check
+ * only reaches the database when the filter answers "maybe". A "no" is definite as long as every name that is
+ * in the database was added, which is why additions are applied at once while removals wait for the deleting
+ * transaction to commit: a stale entry only costs a database lookup, a missing one would let a duplicate
+ * through to the unique constraint.
+ *
+ * <p>Until the startup load finishes, or after the filter overflowed and is waiting for a rebuild at twice the
+ * size, {@link #isReady()} is false and every check goes to the database.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int minCapacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CuckooFilter usernames;
+    private CuckooFilter emails;
+    private volatile boolean ready;
+    private volatile boolean loading;
+    private volatile boolean rebuildRequested;
+
+    public UserAvailabilityFilter(JdbcTemplate jdbcTemplate,
+                                  @Value("${batubook.availability.min-capacity:100000}") int minCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minCapacity = minCapacity;
+        this.usernames = new CuckooFilter(minCapacity);
+        this.emails = new CuckooFilter(minCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::load, "user-availability-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Replaces both filters with empty ones sized for twice the current number of users and fills them from the
+     * table. Names registered while the load runs go into the new filters; removals are dropped until it is done,
+     * since removing a name that has not been loaded yet could evict the fingerprint of a colliding name.
+     */
+    public synchronized void load() {
+        logger.info("Loading user availability filter from the users table");
+        try {
+            Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            int capacity = (int) Math.min(Integer.MAX_VALUE / 8, Math.max(minCapacity, 2 * (users == null ? 0 : users)));
+            lock.writeLock().lock();
+            try {
+                ready = false;
+                loading = true;
+                rebuildRequested = false;
+                usernames = new CuckooFilter(capacity);
+                emails = new CuckooFilter(capacity);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long lastId = 0;
+            int loaded = 0;
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, username, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, LOAD_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : rows) {
+                        insert(usernames, (String) row[1]);
+                        insert(emails, (String) row[2]);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+
+            ready = !rebuildRequested;
+            logger.info("User availability filter loaded with {} users, capacity {}", loaded, capacity);
+        } catch (Exception e) {
+            logger.error("User availability filter could not be loaded, checks will use the database: {}", e.getMessage());
+        } finally {
+            loading = false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batubook.availability.rebuild-check-interval:PT1M}")
+    public void rebuildIfRequested() {
+        if (rebuildRequested) {
+            logger.warn("User availability filter is full, rebuilding");
+            load();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(username, true);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(email, false);
+    }
+
+    public void add(String username, String email) {
+        lock.writeLock().lock();
+        try {
+            insert(usernames, username);
+            insert(emails, email);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the names once the current transaction commits, or at once outside a transaction. Pass only names
+     * that were stored, and {@code null} for a name that is kept.
+     */
+    public void remove(String username, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(username, email);
+                }
+            });
+        } else {
+            delete(username, email);
+        }
+    }
+
+    private void delete(String username, String email) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                return;
+            }
+            if (username != null) {
+                usernames.remove(normalize(username));
+            }
+            if (email != null) {
+                emails.remove(normalize(email));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean mightContain(String value, boolean username) {
+        if (value == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return (username ? usernames : emails).mightContain(normalize(value));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(CuckooFilter filter, String value) {
+        if (value != null && !filter.add(normalize(value))) {
+            ready = false;
+            rebuildRequested = true;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
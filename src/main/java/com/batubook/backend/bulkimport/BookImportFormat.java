@@ -0,0 +1,29 @@
+package com.batubook.backend.bulkimport;
+
+import com.batubook.backend.exception.CustomExceptions;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+
+    JSONL, CSV;
+
+    public static final String JSONL_MEDIA_TYPE = "application/x-ndjson";
+    public static final String JSONL_ALT_MEDIA_TYPE = "application/jsonl";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    public static BookImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            throw new CustomExceptions.BadRequestException("Content-Type is required for book imports");
+        }
+
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(JSONL_MEDIA_TYPE))
+                || mediaType.isCompatibleWith(MediaType.parseMediaType(JSONL_ALT_MEDIA_TYPE))) {
+            return JSONL;
+        }
+        throw new CustomExceptions.BadRequestException("Unsupported import Content-Type: " + contentType);
+    }
+}
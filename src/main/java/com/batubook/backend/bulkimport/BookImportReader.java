@@ -0,0 +1,192 @@
+package com.batubook.backend.bulkimport;
+
+import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.entity.enums.Genre;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Pull-based reader over an import file. Only the current record is ever held in memory, so the size of the upload
+ * does not matter. JSONL files carry one {@link BookDTO} per line; CSV files start with a header row naming the
+ * {@link BookDTO} fields (camelCase or snake_case) and follow RFC 4180 quoting, so quoted fields may contain commas,
+ * quotes and line breaks. Records that cannot be parsed come back as failed rows instead of aborting the import.
+ */
+public class BookImportReader implements Iterator<BookImportRow>, Closeable {
+
+    private final BufferedReader reader;
+    private final BookImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    private List<String> csvHeader;
+    private long line;
+    private BookImportRow next;
+
+    public BookImportReader(InputStream inputStream, BookImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public BookImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BookImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private BookImportRow readRow() {
+        try {
+            return format == BookImportFormat.CSV ? readCsvRow() : readJsonRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BookImportRow readJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+
+        if (text == null) {
+            return null;
+        }
+
+        try {
+            return BookImportRow.parsed(line, objectMapper.readValue(text, BookDTO.class));
+        } catch (JsonProcessingException e) {
+            return BookImportRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private BookImportRow readCsvRow() throws IOException {
+        if (csvHeader == null) {
+            List<String> header = readCsvRecord();
+            if (header == null) {
+                return null;
+            }
+            csvHeader = header.stream().map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT)).toList();
+        }
+
+        long recordLine = line + 1;
+        List<String> fields = readCsvRecord();
+        while (fields != null && fields.size() == 1 && fields.get(0).isBlank()) {
+            recordLine = line + 1;
+            fields = readCsvRecord();
+        }
+
+        if (fields == null) {
+            return null;
+        }
+        if (fields.size() != csvHeader.size()) {
+            return BookImportRow.failed(recordLine, "Expected " + csvHeader.size() + " columns but found " + fields.size());
+        }
+
+        try {
+            return BookImportRow.parsed(recordLine, toBook(fields));
+        } catch (RuntimeException e) {
+            return BookImportRow.failed(recordLine, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads one CSV record, following quoted fields across line breaks. Returns {@code null} at end of input.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        line++;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private BookDTO toBook(List<String> fields) {
+        BookDTO book = new BookDTO();
+        for (int i = 0; i < csvHeader.size(); i++) {
+            String value = fields.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+
+            switch (csvHeader.get(i)) {
+                case "bookcoverimageurl" -> book.setBookCoverImageUrl(value);
+                case "title" -> book.setTitle(value);
+                case "author" -> book.setAuthor(value);
+                case "isbn" -> book.setIsbn(value);
+                case "pagecount" -> book.setPageCount(parsePageCount(value));
+                case "publishdate" -> book.setPublishDate(value);
+                case "genre" -> book.setGenre(Genre.fromString(value.trim()));
+                case "summary" -> book.setSummary(value);
+                default -> {
+                    // Unknown columns are ignored so publishers can send their full catalog export.
+                }
+            }
+        }
+        return book;
+    }
+
+    private static Integer parsePageCount(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page count: " + value);
+        }
+    }
+}
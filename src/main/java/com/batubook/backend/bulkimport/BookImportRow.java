@@ -0,0 +1,30 @@
+package com.batubook.backend.bulkimport;
+
+import com.batubook.backend.dto.BookDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One record of an import file: either the parsed book or the reason it could not be parsed.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookImportRow {
+
+    private final long line;
+    private final BookDTO book;
+    private final String error;
+
+    public static BookImportRow parsed(long line, BookDTO book) {
+        return new BookImportRow(line, book, null);
+    }
+
+    public static BookImportRow failed(long line, String error) {
+        return new BookImportRow(line, null, error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
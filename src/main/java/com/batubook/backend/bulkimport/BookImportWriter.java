@@ -0,0 +1,114 @@
+package com.batubook.backend.bulkimport;
+
+import com.batubook.backend.entity.BookEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes one import batch in its own transaction. {@code BookEntity} uses an IDENTITY id, which makes Hibernate
+ * flush every insert on its own to read the key back, so the batch bypasses the persistence context: ids for the
+ * whole batch are reserved from the identity sequence in a single round trip and the rows go out as one JDBC batch.
+ * {@code ON CONFLICT (isbn) DO NOTHING} keeps a concurrent insert of the same ISBN from failing the batch.
+ */
+@Component
+public class BookImportWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportWriter.class);
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('books', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL = """
+            INSERT INTO books (id, book_cover_image_url, title, author, isbn, page_count, publish_date, genre, summary,
+                               created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (isbn) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookImportWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the batch and returns the books that were actually written; books whose ISBN was taken in the
+     * meantime are left out.
+     */
+    @Transactional
+    public List<BookEntity> insert(List<BookEntity> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, books.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < books.size(); i++) {
+            BookEntity book = books.get(i);
+            book.setId(ids.get(i));
+            book.setCreatedAt(now);
+            book.setUpdatedAt(now);
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BookEntity book = books.get(i);
+                ps.setLong(1, book.getId());
+                ps.setString(2, book.getBookCoverImageUrl());
+                ps.setString(3, book.getTitle());
+                ps.setString(4, book.getAuthor());
+                ps.setString(5, book.getIsbn());
+                ps.setInt(6, book.getPageCount());
+                ps.setObject(7, book.getPublishDate());
+                ps.setString(8, book.getGenre().name());
+                ps.setString(9, book.getSummary());
+                ps.setObject(10, book.getCreatedAt());
+                ps.setObject(11, book.getUpdatedAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return books.size();
+            }
+        });
+
+        List<BookEntity> inserted = Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)
+                ? confirmInserted(books)
+                : filterInserted(books, counts);
+        logger.debug("Inserted {} of {} imported books", inserted.size(), books.size());
+        return inserted;
+    }
+
+    private static List<BookEntity> filterInserted(List<BookEntity> books, int[] counts) {
+        List<BookEntity> inserted = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            if (counts[i] > 0) {
+                inserted.add(books.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * With {@code reWriteBatchedInserts} the driver folds the batch into multi-row inserts and no longer reports
+     * per-row counts, so the freshly reserved ids are looked up instead.
+     */
+    private List<BookEntity> confirmInserted(List<BookEntity> books) {
+        Long[] ids = books.stream().map(BookEntity::getId).toArray(Long[]::new);
+        Set<Long> written = new HashSet<>(jdbcTemplate.query(
+                "SELECT id FROM books WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                (rs, rowNum) -> rs.getLong(1)));
+        return books.stream().filter(book -> written.contains(book.getId())).toList();
+    }
+}
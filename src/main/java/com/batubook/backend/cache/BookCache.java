@@ -0,0 +1,45 @@
+package com.batubook.backend.cache;
+
+import com.batubook.backend.dto.BookDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Tiered cache of {@link BookDTO} by book ID. ISBN lookups go through a small ISBN-to-ID map into the same
+ * entries; the map is never invalidated, instead a hit is only trusted when the cached book still has that ISBN.
+ */
+@Component
+public class BookCache extends TieredCache<BookDTO> {
+
+    private final Cache<String, Long> idsByIsbn;
+
+    public BookCache(ObjectMapper objectMapper,
+                     @Value("${batubook.cache.book.heap-max-size:10000}") long heapMaxSize,
+                     @Value("${batubook.cache.book.off-heap-bytes:268435456}") int offHeapBytes) {
+        super("books", BookDTO.class, objectMapper, heapMaxSize, offHeapBytes);
+        this.idsByIsbn = Caffeine.newBuilder().maximumSize(heapMaxSize).build();
+    }
+
+    public BookDTO getByIsbn(String isbn, Supplier<BookDTO> loader) {
+        Long id = idsByIsbn.getIfPresent(isbn);
+        if (id != null) {
+            BookDTO cached = getIfPresent(id);
+            if (cached != null && isbn.equals(cached.getIsbn())) {
+                return cached;
+            }
+        }
+
+        long stamp = stamp();
+        BookDTO loaded = loader.get();
+        if (loaded != null && loaded.getId() != null) {
+            idsByIsbn.put(isbn, loaded.getId());
+            store(loaded.getId(), loaded, stamp);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,63 @@
+package com.batubook.backend.cache;
+
+import com.batubook.backend.dto.BookDetailDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Per-book cache of the detail aggregate, bounded in size and expired after a fixed time. Entries are evicted by
+ * the services that change anything the aggregate reads (book, reviews, interactions, follows, sales offers), once
+ * immediately and once more after the writing transaction commits. A load runs inside the cache's per-key compute,
+ * so an eviction of the same book waits for it and then removes what it loaded; a reader can never put back a value
+ * computed before the write became visible, and writes to other books do not keep it from being cached.
+ */
+@Component
+public class BookDetailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookDetailCache.class);
+
+    private final Cache<Long, BookDetailDTO> entries;
+
+    public BookDetailCache(@Value("${batubook.cache.book-detail.max-size:10000}") int maxSize,
+                           @Value("${batubook.cache.book-detail.ttl:PT10M}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public BookDetailDTO get(Long bookId, Supplier<BookDetailDTO> loader) {
+        return entries.get(bookId, id -> loader.get());
+    }
+
+    public void evict(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        remove(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(bookId);
+                }
+            });
+        }
+    }
+
+    private void remove(Long bookId) {
+        entries.invalidate(bookId);
+        logger.debug("Evicted book detail for book ID: {}", bookId);
+    }
+}
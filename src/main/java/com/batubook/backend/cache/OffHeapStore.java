@@ -0,0 +1,116 @@
+package com.batubook.backend.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity byte store in a single direct buffer, used as the second tier of {@link TieredCache}. Records
+ * are appended to a ring as {@code [long key][int length][bytes]}; when the ring is full the oldest records are
+ * overwritten, FIFO, which keeps writes allocation-free and needs no compaction. Replaced and removed records
+ * stay in the ring as dead space until the write position passes over them. Only the key-to-offset index lives
+ * on the heap.
+ */
+public class OffHeapStore {
+
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int PADDING = -1;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final Map<Long, Integer> offsets = new HashMap<>();
+    private int head;
+    private int tail;
+    private int used;
+    private long evictions;
+
+    public OffHeapStore(int capacityBytes) {
+        this.capacity = capacityBytes;
+        this.buffer = ByteBuffer.allocateDirect(capacityBytes);
+    }
+
+    public synchronized boolean put(long key, byte[] value) {
+        offsets.remove(key);
+        int size = HEADER_BYTES + value.length;
+        if (size > capacity) {
+            return false;
+        }
+
+        if (capacity - head < size) {
+            int padding = capacity - head;
+            reserve(padding);
+            if (padding >= HEADER_BYTES) {
+                buffer.putInt(head + Long.BYTES, PADDING);
+            }
+            used += padding;
+            head = 0;
+        }
+        reserve(size);
+
+        buffer.putLong(head, key);
+        buffer.putInt(head + Long.BYTES, value.length);
+        buffer.put(head + HEADER_BYTES, value);
+        offsets.put(key, head);
+        used += size;
+        head = (head + size) % capacity;
+        return true;
+    }
+
+    public synchronized byte[] get(long key) {
+        Integer offset = offsets.get(key);
+        if (offset == null) {
+            return null;
+        }
+
+        byte[] value = new byte[buffer.getInt(offset + Long.BYTES)];
+        buffer.get(offset + HEADER_BYTES, value);
+        return value;
+    }
+
+    public synchronized byte[] remove(long key) {
+        byte[] value = get(key);
+        offsets.remove(key);
+        return value;
+    }
+
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    public synchronized long usedBytes() {
+        return used;
+    }
+
+    public int capacityBytes() {
+        return capacity;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    private void reserve(int bytes) {
+        while (capacity - used < bytes) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        int remaining = capacity - tail;
+        if (remaining < HEADER_BYTES || buffer.getInt(tail + Long.BYTES) == PADDING) {
+            used -= remaining;
+            tail = 0;
+            return;
+        }
+
+        long key = buffer.getLong(tail);
+        int size = HEADER_BYTES + buffer.getInt(tail + Long.BYTES);
+        Integer offset = offsets.get(key);
+        if (offset != null && offset == tail) {
+            offsets.remove(key);
+            evictions++;
+        }
+        used -= size;
+        tail = (tail + size) % capacity;
+    }
+}
@@ -0,0 +1,201 @@
+package com.batubook.backend.cache;
+
+import com.batubook.backend.dto.CacheStatsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of DTOs by ID. The heap tier is a small Caffeine cache (W-TinyLFU admission); entries it evicts
+ * for size are serialized with Jackson into an {@link OffHeapStore}, which can hold far more entries without
+ * adding objects for the collector to trace. An off-heap hit is promoted back to the heap tier. Every move between
+ * tiers and every invalidation runs inside the heap map's per-key compute, so a demotion or promotion can never
+ * resurrect a value that was invalidated concurrently. As in {@link BookDetailCache}, invalidations are applied
+ * once immediately and again after the writing transaction completes. A load that overlaps an invalidation is
+ * returned but not cached.
+ */
+public class TieredCache<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCache.class);
+
+    private final String name;
+    private final Class<V> type;
+    private final ObjectMapper objectMapper;
+    private final OffHeapStore offHeap;
+    private final Cache<Long, V> heap;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder offHeapHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public TieredCache(String name, Class<V> type, ObjectMapper objectMapper, long heapMaxSize, int offHeapCapacityBytes) {
+        this.name = name;
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.offHeap = new OffHeapStore(offHeapCapacityBytes);
+        this.heap = Caffeine.newBuilder()
+                .maximumSize(heapMaxSize)
+                .executor(Runnable::run)
+                .evictionListener((Long id, V value, RemovalCause cause) -> {
+                    if (id != null && value != null && cause.wasEvicted()) {
+                        demote(id, value);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public V get(Long id, Supplier<V> loader) {
+        V cached = getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = invalidations.get();
+        V loaded = cacheable(loader.get());
+        store(id, loaded, stamp);
+        return loaded;
+    }
+
+    /**
+     * Returns the entries for {@code ids}, loading every miss with one call to {@code loader}. IDs the loader does
+     * not return are left out of the result.
+     */
+    public Map<Long, V> getAll(Collection<Long> ids, Function<List<Long>, Map<Long, V>> loader) {
+        Map<Long, V> values = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            V cached = getIfPresent(id);
+            if (cached != null) {
+                values.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        long stamp = invalidations.get();
+        Map<Long, V> loaded = loader.apply(missing);
+        for (Long id : missing) {
+            V value = cacheable(loaded.get(id));
+            store(id, value, stamp);
+            if (value != null) {
+                values.put(id, value);
+            }
+        }
+        return values;
+    }
+
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats heapStats = heap.stats();
+        long hits = heapStats.hitCount() + offHeapHits.sum();
+        long requests = hits + loads.sum();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .heapEntries(heap.estimatedSize())
+                .offHeapEntries(offHeap.size())
+                .offHeapUsedBytes(offHeap.usedBytes())
+                .offHeapCapacityBytes(offHeap.capacityBytes())
+                .heapHits(heapStats.hitCount())
+                .offHeapHits(offHeapHits.sum())
+                .misses(loads.sum())
+                .heapEvictions(heapStats.evictionCount())
+                .offHeapEvictions(offHeap.evictionCount())
+                .hitRate(requests == 0 ? 0.0 : (double) hits / requests)
+                .build();
+    }
+
+    /**
+     * The form of a loaded value that is cached and returned; subclasses drop what must not be kept in either tier.
+     */
+    protected V cacheable(V value) {
+        return value;
+    }
+
+    protected V getIfPresent(Long id) {
+        V cached = heap.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        V promoted = heap.asMap().compute(id, (key, current) -> current != null ? current : deserialize(offHeap.remove(key)));
+        if (promoted != null) {
+            offHeapHits.increment();
+        }
+        return promoted;
+    }
+
+    protected long stamp() {
+        return invalidations.get();
+    }
+
+    protected void store(Long id, V value, long stamp) {
+        loads.increment();
+        if (value == null) {
+            return;
+        }
+        heap.asMap().compute(id, (key, current) -> invalidations.get() == stamp ? value : current);
+    }
+
+    private void remove(Long id) {
+        invalidations.incrementAndGet();
+        heap.asMap().compute(id, (key, current) -> {
+            offHeap.remove(key);
+            return null;
+        });
+        logger.debug("Invalidated {} cache entry for ID: {}", name, id);
+    }
+
+    private void demote(Long id, V value) {
+        try {
+            if (!offHeap.put(id, objectMapper.writeValueAsBytes(value))) {
+                logger.debug("Dropped {} cache entry for ID: {}, too large for the off-heap tier", name, id);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not move {} cache entry for ID: {} off-heap: {}", name, id, e.getMessage());
+        }
+    }
+
+    private V deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            logger.warn("Could not read off-heap {} cache entry: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.batubook.backend.cache;
+
+import com.batubook.backend.dto.UserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tiered cache of {@link UserDTO} by user ID. The DTO embeds the profile, so profile changes invalidate the
+ * owning user's entry as well. The password hash is left out of cached entries, so it is neither kept on the heap
+ * nor serialized into the off-heap tier.
+ */
+@Component
+public class UserCache extends TieredCache<UserDTO> {
+
+    public UserCache(ObjectMapper objectMapper,
+                     @Value("${batubook.cache.user.heap-max-size:10000}") long heapMaxSize,
+                     @Value("${batubook.cache.user.off-heap-bytes:268435456}") int offHeapBytes) {
+        super("users", UserDTO.class, objectMapper, heapMaxSize, offHeapBytes);
+    }
+
+    @Override
+    protected UserDTO cacheable(UserDTO user) {
+        if (user == null || user.getPassword() == null) {
+            return user;
+        }
+        return UserDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .userProfile(user.getUserProfile())
+                .build();
+    }
+}
@@ -1,8 +1,22 @@
 package com.batubook.backend.controller;
 
+import com.batubook.backend.bulkimport.BookImportFormat;
 import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.BookDetailDTO;
+import com.batubook.backend.dto.BookFacetResultDTO;
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.BookImportReportDTO;
+import com.batubook.backend.dto.BookSuggestionDTO;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.SimilarBookDTO;
 import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.export.ExportFormat;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.service.serviceImplementation.BookImportServiceImpl;
 import com.batubook.backend.service.serviceImplementation.BookServiceImpl;
+import com.batubook.backend.service.serviceImplementation.CatalogExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -11,11 +25,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
@@ -23,6 +42,8 @@ import java.time.LocalDate;
 public class BookController {
 
     private final BookServiceImpl bookService;
+    private final BookImportServiceImpl bookImportService;
+    private final CatalogExportServiceImpl catalogExportService;
     private static final Logger logger = LoggerFactory.getLogger(BookController.class);
 
     @PostMapping("/create")
@@ -33,6 +54,36 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {BookImportFormat.JSONL_MEDIA_TYPE, BookImportFormat.JSONL_ALT_MEDIA_TYPE, BookImportFormat.CSV_MEDIA_TYPE})
+    public ResponseEntity<BookImportReportDTO> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        logger.info("Received request to import books with content type: {}", contentType);
+        BookImportReportDTO report = bookImportService.importBooks(body, BookImportFormat.fromContentType(contentType));
+        logger.info("Book import finished with {} imported and {} rejected rows", report.getImported(), report.getDuplicates() + report.getFailed());
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "jsonl") String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        logger.info("Received request to export books as {}", exportFormat);
+        StreamingResponseBody body = outputStream -> catalogExportService.exportBooks(outputStream, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName("books") + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<BookDTO>> fetchBooksByIds(@RequestParam List<Long> ids) {
+        logger.info("Received GET request for /api/books/batch with {} IDs", ids.size());
+        List<BookDTO> books = bookService.getBooksByIds(ids);
+        logger.info("Returned {} books for batch request", books.size());
+        return ResponseEntity.ok(books);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookDTO> fetchBookById(@PathVariable Long id) {
         logger.info("Received GET request for /api/books/{}", id);
@@ -41,14 +92,46 @@ public class BookController {
         return ResponseEntity.ok(bookDTO);
     }
 
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<BookDetailDTO> fetchBookDetail(@PathVariable Long id) {
+        logger.info("Received GET request for /api/books/{}/detail", id);
+        BookDetailDTO bookDetail = bookService.getBookDetail(id);
+        logger.info("Returned detail response for book with ID: {}", id);
+        return ResponseEntity.ok(bookDetail);
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarBookDTO>> fetchSimilarBooks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Received GET request for /api/books/{}/similar with limit = {}", id, limit);
+        List<SimilarBookDTO> similarBooks = bookService.getSimilarBooks(id, limit);
+        logger.info("Returning {} similar books for book with ID: {}", similarBooks.size(), id);
+        return ResponseEntity.ok(similarBooks);
+    }
+
     @GetMapping
-    public ResponseEntity<Page<BookDTO>> fetchAllBooks(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<BookDTO>> fetchAllBooks(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/books called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<BookDTO> allBooks = bookService.getAllBooks(pageable);
+        Page<BookDTO> allBooks = exactTotal
+                ? bookService.getAllBooks(pageable)
+                : bookService.getAllBooksWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} books", allBooks.getNumberOfElements());
         return ResponseEntity.ok(allBooks);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<BookDTO>> fetchAllBooksAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/books called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<BookDTO> books = bookService.getAllBooksAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} books", books.getNumberOfElements());
+        return ResponseEntity.ok(books);
+    }
+
     @GetMapping("/BookTitleAndAuthor")
     public ResponseEntity<Page<BookDTO>> fetchBookByTitleAndAuthor(
             @RequestParam String title,
@@ -64,14 +147,50 @@ public class BookController {
     @GetMapping("/search")
     public ResponseEntity<Page<BookDTO>> fetchBooksByCriteria(
             @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @PageableDefault(size = 5) Pageable pageable) {
-        logger.info("Received request to search for books with search term: '{}' and pagination: Page number = {}, Page size = {}",
-                searchTerm, pageable.getPageNumber(), pageable.getPageSize());
-        Page<BookDTO> books = bookService.getBookByCriteria(searchTerm, pageable);
+        logger.info("Received request to search for books with search term: '{}', fuzzy = {} and pagination: Page number = {}, Page size = {}",
+                searchTerm, fuzzy, pageable.getPageNumber(), pageable.getPageSize());
+        Page<BookDTO> books = fuzzy
+                ? bookService.getBookByFuzzyCriteria(searchTerm, pageable)
+                : bookService.getBookByCriteria(searchTerm, pageable);
         logger.info("Successfully fetched {} books matching the search term: '{}'", books.getTotalElements(), searchTerm);
         return ResponseEntity.ok(books);
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<BookSuggestionDTO>> fetchBookSuggestions(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("Received autocomplete request for prefix: '{}', limit = {}", prefix, limit);
+        List<BookSuggestionDTO> suggestions = bookService.getBookSuggestions(prefix, limit);
+        logger.debug("Returning {} suggestions for prefix: '{}'", suggestions.size(), prefix);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<BookFacetResultDTO> fetchBooksByFilter(
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) Integer minPageCount,
+            @RequestParam(required = false) Integer maxPageCount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo,
+            @RequestParam(required = false) String text,
+            @PageableDefault(size = 5) Pageable pageable) {
+        BookFilterDTO filter = BookFilterDTO.builder()
+                .genres(genre == null ? null : genre.stream().map(Genre::fromString).toList())
+                .minPageCount(minPageCount)
+                .maxPageCount(maxPageCount)
+                .publishedFrom(publishedFrom)
+                .publishedTo(publishedTo)
+                .text(text)
+                .build();
+        logger.info("Received request to filter books with {}", filter);
+        BookFacetResultDTO result = bookService.getBooksByFilter(filter, pageable);
+        logger.info("Successfully fetched {} books matching filter", result.getBooks().getTotalElements());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/Isbn/{isbn}")
     public ResponseEntity<BookDTO> fetchBookByIsbn(@PathVariable String isbn) {
         logger.info("Received request to search for book with ISBN: '{}'", isbn);
@@ -122,11 +241,19 @@ public class BookController {
         return ResponseEntity.ok(updatedBook);
     }
 
+    @PatchMapping(value = "/update/{id}", consumes = {JsonMergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BookDTO> patchBook(@PathVariable Long id, @RequestBody JsonNode patch) {
+        logger.info("Received request to patch book with id: {}", id);
+        BookDTO patchedBook = bookService.patchBook(id, patch);
+        logger.info("Successfully patched book with id: {}", id);
+        return ResponseEntity.ok(patchedBook);
+    }
+
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
+    public ResponseEntity<DeletionJobDTO> deleteBook(@PathVariable Long id) {
         logger.info("Received request to delete book with ID: {}", id);
-        bookService.removeBook(id);
-        logger.info("Successfully deleted book with id: {}", id);
-        return ResponseEntity.noContent().build();
+        DeletionJobDTO deletionJob = bookService.removeBook(id);
+        logger.info("Accepted deletion of book with id: {} as job {}", id, deletionJob.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(deletionJob);
     }
 }
\ No newline at end of file
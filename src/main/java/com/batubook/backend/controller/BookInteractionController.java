@@ -1,6 +1,7 @@
 package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.BookInteractionDTO;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.BookInteractionServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,13 +39,27 @@ public class BookInteractionController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<BookInteractionDTO>> fetchAllBookInteractions(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<BookInteractionDTO>> fetchAllBookInteractions(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/book-interactions called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<BookInteractionDTO> allBookInteractions = bookInteractionService.getAllBookInteractions(pageable);
+        Page<BookInteractionDTO> allBookInteractions = exactTotal
+                ? bookInteractionService.getAllBookInteractions(pageable)
+                : bookInteractionService.getAllBookInteractionsWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} book interactions", allBookInteractions.getNumberOfElements());
         return ResponseEntity.ok(allBookInteractions);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<BookInteractionDTO>> fetchAllBookInteractionsAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/book-interactions called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<BookInteractionDTO> bookInteractions = bookInteractionService.getAllBookInteractionsAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} book interactions", bookInteractions.getNumberOfElements());
+        return ResponseEntity.ok(bookInteractions);
+    }
+
     @GetMapping("/readInteractionsByUser")
     public ResponseEntity<Page<BookInteractionDTO>> fetchReadInteractionsByUser(
             @RequestParam Long userId,
@@ -1,7 +1,10 @@
 package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.BookSalesDTO;
+import com.batubook.backend.export.ExportFormat;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.BookSalesServiceImpl;
+import com.batubook.backend.service.serviceImplementation.CatalogExportServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -9,9 +12,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/book-sales")
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class BookSalesController {
 
     private final BookSalesServiceImpl bookSalesService;
+    private final CatalogExportServiceImpl catalogExportService;
     private static final Logger logger = LoggerFactory.getLogger(BookSalesController.class);
 
     @PostMapping("/create")
@@ -29,6 +35,17 @@ public class BookSalesController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createBookSales);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookSales(@RequestParam(defaultValue = "jsonl") String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        logger.info("Received request to export book sales as {}", exportFormat);
+        StreamingResponseBody body = outputStream -> catalogExportService.exportBookSales(outputStream, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName("book_sales") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookSalesDTO> fetchBookSalesById(@PathVariable Long id) {
         logger.info("Received GET request for /api/book-sales/{}", id);
@@ -38,13 +55,27 @@ public class BookSalesController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<BookSalesDTO>> fetchAllBookSales(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<BookSalesDTO>> fetchAllBookSales(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/book-sales called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<BookSalesDTO> allBookSales = bookSalesService.getAllBookSales(pageable);
+        Page<BookSalesDTO> allBookSales = exactTotal
+                ? bookSalesService.getAllBookSales(pageable)
+                : bookSalesService.getAllBookSalesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} book sales", allBookSales.getNumberOfElements());
         return ResponseEntity.ok(allBookSales);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<BookSalesDTO>> fetchAllBookSalesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/book-sales called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<BookSalesDTO> bookSales = bookSalesService.getAllBookSalesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} book sales", bookSales.getNumberOfElements());
+        return ResponseEntity.ok(bookSales);
+    }
+
     @GetMapping("/salesCode/{salesCode}")
     public ResponseEntity<BookSalesDTO> fetchBookSalesBySalesCode(@PathVariable String salesCode) {
         logger.info("Fetching book sales for sales code: {}", salesCode);
@@ -0,0 +1,32 @@
+package com.batubook.backend.controller;
+
+import com.batubook.backend.cache.BookCache;
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.CacheStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final BookCache bookCache;
+    private final UserCache userCache;
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> fetchCacheStats() {
+        logger.info("Received GET request for /api/cache/stats");
+        List<CacheStatsDTO> stats = List.of(bookCache.stats(), userCache.stats());
+        logger.info("Successfully fetched stats for {} caches", stats.size());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,29 @@
+package com.batubook.backend.controller;
+
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/deletion-jobs")
+@RequiredArgsConstructor
+public class DeletionJobController {
+
+    private final DeletionJobServiceInterface deletionJobService;
+    private static final Logger logger = LoggerFactory.getLogger(DeletionJobController.class);
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeletionJobDTO> fetchDeletionJobById(@PathVariable Long id) {
+        logger.info("Received GET request for /api/deletion-jobs/{}", id);
+        DeletionJobDTO deletionJob = deletionJobService.getDeletionJobById(id);
+        logger.info("Deletion job {} is {} with {} rows deleted", id, deletionJob.getStatus(), deletionJob.getDeletedRows());
+        return ResponseEntity.ok(deletionJob);
+    }
+}
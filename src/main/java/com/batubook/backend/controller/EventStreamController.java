@@ -0,0 +1,55 @@
+package com.batubook.backend.controller;
+
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.push.UserEventStreams;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventStreamController {
+
+    private final UserEventStreams userEventStreams;
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamController.class);
+
+    /**
+     * Streams the user's new messages, likes on their content and new followers as server-sent events. A browser
+     * {@code EventSource} resumes with the {@code Last-Event-ID} header on its own; other clients may pass the id
+     * as {@code lastEventId} instead. An authenticated caller can only open their own stream.
+     */
+    @GetMapping(value = "/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            Principal principal) {
+        Long resumeAfter = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        logger.info("GET api/events/{} called with last event ID: {}", userId, resumeAfter);
+        SseEmitter emitter = userEventStreams.open(userId, principal != null ? principal.getName() : null, resumeAfter);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                // Keeps nginx from buffering the stream.
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private static Long parseEventId(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.trim());
+        } catch (NumberFormatException e) {
+            throw new CustomExceptions.BadRequestException("Invalid last event ID: " + eventId);
+        }
+    }
+}
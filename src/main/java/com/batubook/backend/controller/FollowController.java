@@ -1,6 +1,9 @@
 package com.batubook.backend.controller;
 
+import com.batubook.backend.dto.FollowCountDTO;
 import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.dto.FollowSuggestionDTO;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.FollowServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/follows")
 @RequiredArgsConstructor
@@ -26,7 +32,7 @@ public class FollowController {
         logger.info("Request to follow user with ID: {}", followDTO.getFollowedUserId());
         FollowDTO followedUser = followService.followUser(followDTO);
         logger.info("User with ID: {} followed successfully.", followDTO.getFollowedUserId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(followedUser);
+        return ResponseEntity.status(followedUser.isAlreadyFollowing() ? HttpStatus.OK : HttpStatus.CREATED).body(followedUser);
     }
 
     @PostMapping("/follow-book")
@@ -34,17 +40,31 @@ public class FollowController {
         logger.info("Request to follow book with ID: {}", followDTO.getFollowedBookId());
         FollowDTO followedBook = followService.followBook(followDTO);
         logger.info("Book with ID: {} followed successfully.", followDTO.getFollowedBookId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(followedBook);
+        return ResponseEntity.status(followedBook.isAlreadyFollowing() ? HttpStatus.OK : HttpStatus.CREATED).body(followedBook);
     }
 
     @GetMapping
-    public ResponseEntity<Page<FollowDTO>> fetchAllFollows(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<FollowDTO>> fetchAllFollows(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("Fetching all follows with Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<FollowDTO> allFollows = followService.getAllFollows(pageable);
+        Page<FollowDTO> allFollows = exactTotal
+                ? followService.getAllFollows(pageable)
+                : followService.getAllFollowsWithEstimatedTotal(pageable);
         logger.info("Fetched {} follow records.", allFollows.getTotalElements());
         return ResponseEntity.ok(allFollows);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<FollowDTO>> fetchAllFollowsAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/follows called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<FollowDTO> follows = followService.getAllFollowsAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} follow records", follows.getNumberOfElements());
+        return ResponseEntity.ok(follows);
+    }
+
     @GetMapping("/followed-users/{followerId}")
     public ResponseEntity<Page<FollowDTO>> getFollowedUsers(
             @PathVariable Long followerId,
@@ -55,16 +75,41 @@ public class FollowController {
         return ResponseEntity.ok(followedUsers);
     }
 
+    @GetMapping(value = "/followed-users/{followerId}", params = "after")
+    public ResponseEntity<CursorPage<FollowDTO>> getFollowedUsersAfter(
+            @PathVariable Long followerId,
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("Request to get followed users for follower with ID: {} after cursor: {}", followerId, after);
+        CursorPage<FollowDTO> followedUsers = followService.getFollowedUsersAfter(followerId, after, pageable.getPageSize());
+        logger.info("Returning {} followed users for follower with ID: {}", followedUsers.getNumberOfElements(), followerId);
+        return ResponseEntity.ok(followedUsers);
+    }
+
     @GetMapping("/followers/{followedUserId}")
     public ResponseEntity<Page<FollowDTO>> getFollowers(
             @PathVariable Long followedUserId,
-            @PageableDefault(size = 5) Pageable pageable) {
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("Request to get followers for followed user with ID: {}", followedUserId);
-        Page<FollowDTO> followers = followService.getFollowers(followedUserId, pageable);
+        Page<FollowDTO> followers = exactTotal
+                ? followService.getFollowers(followedUserId, pageable)
+                : followService.getFollowersWithEstimatedTotal(followedUserId, pageable);
         logger.info("Returning {} followers for user with ID: {}", followers.getTotalElements(), followedUserId);
         return ResponseEntity.ok(followers);
     }
 
+    @GetMapping(value = "/followers/{followedUserId}", params = "after")
+    public ResponseEntity<CursorPage<FollowDTO>> getFollowersAfter(
+            @PathVariable Long followedUserId,
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("Request to get followers for user with ID: {} after cursor: {}", followedUserId, after);
+        CursorPage<FollowDTO> followers = followService.getFollowersAfter(followedUserId, after, pageable.getPageSize());
+        logger.info("Returning {} followers for user with ID: {}", followers.getNumberOfElements(), followedUserId);
+        return ResponseEntity.ok(followers);
+    }
+
     @GetMapping("/book-followers/{followedBookId}")
     public ResponseEntity<Page<FollowDTO>> getBookFollowers(
             @PathVariable Long followedBookId,
@@ -75,6 +120,63 @@ public class FollowController {
         return ResponseEntity.ok(bookFollowers);
     }
 
+    @GetMapping(value = "/book-followers/{followedBookId}", params = "after")
+    public ResponseEntity<CursorPage<FollowDTO>> getBookFollowersAfter(
+            @PathVariable Long followedBookId,
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("Request to get followers for book with ID: {} after cursor: {}", followedBookId, after);
+        CursorPage<FollowDTO> bookFollowers = followService.getBookFollowersAfter(followedBookId, after, pageable.getPageSize());
+        logger.info("Returning {} followers for book with ID: {}", bookFollowers.getNumberOfElements(), followedBookId);
+        return ResponseEntity.ok(bookFollowers);
+    }
+
+    @GetMapping("/followed-users/{followerId}/check")
+    public ResponseEntity<Map<Long, Boolean>> checkFollowedUsers(
+            @PathVariable Long followerId,
+            @RequestParam List<Long> ids) {
+        logger.info("Request to check {} follows of user with ID: {}", ids.size(), followerId);
+        Map<Long, Boolean> followed = followService.checkFollowedUsers(followerId, ids);
+        logger.info("Checked {} follows of user with ID: {}", followed.size(), followerId);
+        return ResponseEntity.ok(followed);
+    }
+
+    @GetMapping("/mutuals/{userId}")
+    public ResponseEntity<List<Long>> getMutualFollows(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("Request to get mutual follows for user with ID: {}", userId);
+        List<Long> mutuals = followService.getMutualFollows(userId, limit);
+        logger.info("Returning {} mutual follows for user with ID: {}", mutuals.size(), userId);
+        return ResponseEntity.ok(mutuals);
+    }
+
+    @GetMapping("/suggestions/{userId}")
+    public ResponseEntity<List<FollowSuggestionDTO>> getFollowSuggestions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Request to get follow suggestions for user with ID: {}", userId);
+        List<FollowSuggestionDTO> suggestions = followService.getFollowSuggestions(userId, limit);
+        logger.info("Returning {} follow suggestions for user with ID: {}", suggestions.size(), userId);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/counts/user/{userId}")
+    public ResponseEntity<FollowCountDTO> getUserFollowCounts(@PathVariable Long userId) {
+        logger.info("Request to get follow counts for user with ID: {}", userId);
+        FollowCountDTO counts = followService.getUserFollowCounts(userId);
+        logger.info("User with ID: {} has {} followers and follows {} users", userId, counts.getFollowerCount(), counts.getFollowingCount());
+        return ResponseEntity.ok(counts);
+    }
+
+    @GetMapping("/counts/book/{bookId}")
+    public ResponseEntity<FollowCountDTO> getBookFollowCounts(@PathVariable Long bookId) {
+        logger.info("Request to get follow counts for book with ID: {}", bookId);
+        FollowCountDTO counts = followService.getBookFollowCounts(bookId);
+        logger.info("Book with ID: {} has {} followers", bookId, counts.getFollowerCount());
+        return ResponseEntity.ok(counts);
+    }
+
     @DeleteMapping("/unfollow-user")
     public ResponseEntity<Void> unfollowUser(@RequestBody FollowDTO followDTO) {
         logger.info("Request received to unfollow user with ID: {} by follower with ID: {}",
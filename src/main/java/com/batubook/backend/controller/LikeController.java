@@ -1,6 +1,8 @@
 package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.LikeDTO;
+import com.batubook.backend.dto.LikedTargetsDTO;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.LikeServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +15,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/likes")
 @RequiredArgsConstructor
@@ -26,7 +31,40 @@ public class LikeController {
         logger.info("Received request to create Like for User ID: {}", likeDTO.getUserId());
         LikeDTO createdLike = likeService.registerLike(likeDTO);
         logger.info("Like created successfully for User ID: {}. Like ID: {}", likeDTO.getUserId(), createdLike.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdLike);
+        return ResponseEntity.status(createdLike.isAlreadyLiked() ? HttpStatus.OK : HttpStatus.CREATED).body(createdLike);
+    }
+
+    @PutMapping("/{targetType}/{targetId}")
+    public ResponseEntity<LikeDTO> likeTarget(
+            @PathVariable String targetType,
+            @PathVariable Long targetId,
+            @RequestParam Long userId) {
+        logger.info("Received request to like {} with ID: {} for User ID: {}", targetType, targetId, userId);
+        LikeDTO like = likeService.likeTarget(userId, targetType, targetId);
+        logger.info("Like of {} with ID: {} for User ID: {} is in place. Like ID: {}", targetType, targetId, userId, like.getId());
+        return ResponseEntity.status(like.isAlreadyLiked() ? HttpStatus.OK : HttpStatus.CREATED).body(like);
+    }
+
+    @DeleteMapping("/{targetType}/{targetId}")
+    public ResponseEntity<Void> unlikeTarget(
+            @PathVariable String targetType,
+            @PathVariable Long targetId,
+            @RequestParam Long userId) {
+        logger.info("Received request to unlike {} with ID: {} for User ID: {}", targetType, targetId, userId);
+        likeService.unlikeTarget(userId, targetType, targetId);
+        logger.info("Like of {} with ID: {} for User ID: {} is removed", targetType, targetId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{targetType}/{targetId}/toggle")
+    public ResponseEntity<Boolean> toggleLike(
+            @PathVariable String targetType,
+            @PathVariable Long targetId,
+            @RequestParam Long userId) {
+        logger.info("Received request to toggle like of {} with ID: {} for User ID: {}", targetType, targetId, userId);
+        boolean liked = likeService.toggleLike(userId, targetType, targetId);
+        logger.info("Toggled like of {} with ID: {} for User ID: {}. Liked: {}", targetType, targetId, userId, liked);
+        return ResponseEntity.ok(liked);
     }
 
     @GetMapping("/{id}")
@@ -38,13 +76,27 @@ public class LikeController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<LikeDTO>> fetchAllLikes(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<LikeDTO>> fetchAllLikes(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/likes called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<LikeDTO> allLikes = likeService.getAllLikes(pageable);
+        Page<LikeDTO> allLikes = exactTotal
+                ? likeService.getAllLikes(pageable)
+                : likeService.getAllLikesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} likes", allLikes.getNumberOfElements());
         return ResponseEntity.ok(allLikes);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<LikeDTO>> fetchAllLikesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/likes called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<LikeDTO> likes = likeService.getAllLikesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} likes", likes.getNumberOfElements());
+        return ResponseEntity.ok(likes);
+    }
+
     @GetMapping("/checkLike/message")
     public ResponseEntity<Boolean> checkLikeByUserIdAndMessageId(@RequestParam Long userId, @RequestParam Long messageId) {
         logger.info("Received request to check like existence for UserId: {} and MessageId: {}", userId, messageId);
@@ -77,6 +129,28 @@ public class LikeController {
         return ResponseEntity.ok(exists);
     }
 
+    /**
+     * Which of the given ids the user liked, for a whole page of content at once. Ids are passed per type as
+     * {@code reviewIds}, {@code quoteIds}, {@code bookInteractionIds} and {@code messageIds}.
+     */
+    @GetMapping("/checkLikes")
+    public ResponseEntity<LikedTargetsDTO> checkLikesByUserId(@RequestParam Long userId, LikedTargetsDTO candidates) {
+        logger.info("Received request to check likes of UserId: {} on a page of content", userId);
+        LikedTargetsDTO liked = likeService.getLikedTargets(userId, candidates);
+        logger.info("Checked likes of UserId: {} on a page of content", userId);
+        return ResponseEntity.ok(liked);
+    }
+
+    @GetMapping("/counts/{targetType}")
+    public ResponseEntity<Map<Long, Long>> fetchLikeCounts(
+            @PathVariable String targetType,
+            @RequestParam List<Long> ids) {
+        logger.info("Received request for like counts of {} {} targets", ids.size(), targetType);
+        Map<Long, Long> counts = likeService.getLikeCounts(targetType, ids);
+        logger.info("Returned like counts of {} {} targets", counts.size(), targetType);
+        return ResponseEntity.ok(counts);
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<LikeDTO> updateLike(@PathVariable Long id, @Valid @RequestBody LikeDTO likeDTO) {
         logger.info("Attempting to update like with ID: {}. User ID: {}", id, likeDTO.getUserId());
@@ -2,6 +2,7 @@ package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.MessageDTO;
 import com.batubook.backend.entity.enums.MessageType;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceInterface.MessageServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,13 +40,27 @@ public class MessageController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<MessageDTO>> fetchAllMessages(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<MessageDTO>> fetchAllMessages(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/messages called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<MessageDTO> allMessages = messageService.getAllMessages(pageable);
+        Page<MessageDTO> allMessages = exactTotal
+                ? messageService.getAllMessages(pageable)
+                : messageService.getAllMessagesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} messages", allMessages.getNumberOfElements());
         return ResponseEntity.ok(allMessages);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<MessageDTO>> fetchAllMessagesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/messages called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<MessageDTO> messages = messageService.getAllMessagesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} messages", messages.getNumberOfElements());
+        return ResponseEntity.ok(messages);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<MessageDTO>> fetchMessagesByType(
             @RequestParam String messageType,
@@ -1,6 +1,7 @@
 package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.QuoteDTO;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceInterface.QuoteServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,13 +39,27 @@ public class QuoteController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<QuoteDTO>> fetchAllQuotes(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<QuoteDTO>> fetchAllQuotes(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/quotes called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<QuoteDTO> allQuotes = quoteService.getAllQuotes(pageable);
+        Page<QuoteDTO> allQuotes = exactTotal
+                ? quoteService.getAllQuotes(pageable)
+                : quoteService.getAllQuotesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} quotes", allQuotes.getNumberOfElements());
         return ResponseEntity.ok(allQuotes);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<QuoteDTO>> fetchAllQuotesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/quotes called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<QuoteDTO> quotes = quoteService.getAllQuotesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} quotes", quotes.getNumberOfElements());
+        return ResponseEntity.ok(quotes);
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<QuoteDTO> updateQuote(@PathVariable Long id, @Valid @RequestBody QuoteDTO quoteDTO) {
         logger.info("Received request to update quote with ID: {}", id);
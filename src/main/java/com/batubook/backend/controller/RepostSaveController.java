@@ -2,6 +2,7 @@ package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.RepostSaveDTO;
 import com.batubook.backend.entity.enums.ActionType;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.RepostSaveServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,13 +40,27 @@ public class RepostSaveController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<RepostSaveDTO>> fetchAllRepostSaves(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<RepostSaveDTO>> fetchAllRepostSaves(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/repost-saves called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<RepostSaveDTO> allRepostSaves = repostSaveService.getAllRepostSaves(pageable);
+        Page<RepostSaveDTO> allRepostSaves = exactTotal
+                ? repostSaveService.getAllRepostSaves(pageable)
+                : repostSaveService.getAllRepostSavesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} repost/save actions", allRepostSaves.getNumberOfElements());
         return ResponseEntity.ok(allRepostSaves);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<RepostSaveDTO>> fetchAllRepostSavesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/repost-saves called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<RepostSaveDTO> repostSaves = repostSaveService.getAllRepostSavesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} repost/save actions", repostSaves.getNumberOfElements());
+        return ResponseEntity.ok(repostSaves);
+    }
+
     @GetMapping("/user")
     public ResponseEntity<Page<RepostSaveDTO>> fetchRepostSavesByUserId(
             @RequestParam Long userId,
@@ -1,6 +1,7 @@
 package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.ReviewDTO;
+import com.batubook.backend.pagination.CursorPage;
 import com.batubook.backend.service.serviceImplementation.ReviewServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -40,13 +41,27 @@ public class ReviewController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<ReviewDTO>> fetchAllReviews(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<ReviewDTO>> fetchAllReviews(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/reviews called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<ReviewDTO> allReviews = reviewService.getAllReviews(pageable);
+        Page<ReviewDTO> allReviews = exactTotal
+                ? reviewService.getAllReviews(pageable)
+                : reviewService.getAllReviewsWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} reviews", allReviews.getNumberOfElements());
         return ResponseEntity.ok(allReviews);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<ReviewDTO>> fetchAllReviewsAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/reviews called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<ReviewDTO> reviews = reviewService.getAllReviewsAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} reviews", reviews.getNumberOfElements());
+        return ResponseEntity.ok(reviews);
+    }
+
     @GetMapping("/reviewRating")
     public ResponseEntity<Page<ReviewDTO>> fetchReviewRating(
             @RequestParam BigDecimal rating,
@@ -0,0 +1,32 @@
+package com.batubook.backend.controller;
+
+import com.batubook.backend.dto.TimelineEntryDTO;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.service.serviceImplementation.TimelineServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/timeline")
+@RequiredArgsConstructor
+public class TimelineController {
+
+    private final TimelineServiceImpl timelineService;
+    private static final Logger logger = LoggerFactory.getLogger(TimelineController.class);
+
+    @GetMapping("/home/{userId}")
+    public ResponseEntity<CursorPage<TimelineEntryDTO>> fetchHomeTimeline(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 20) Pageable pageable) {
+        logger.info("GET api/timeline/home/{} called with cursor: after = {}, size = {}", userId, after, pageable.getPageSize());
+        CursorPage<TimelineEntryDTO> timeline = timelineService.getHomeTimeline(userId, after, pageable.getPageSize());
+        logger.info("Successfully fetched {} home timeline entries for user with ID: {}", timeline.getNumberOfElements(), userId);
+        return ResponseEntity.ok(timeline);
+    }
+}
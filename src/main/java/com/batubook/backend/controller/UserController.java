@@ -1,8 +1,13 @@
 package com.batubook.backend.controller;
 
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.UserAvailabilityDTO;
 import com.batubook.backend.dto.UserDTO;
 import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.patch.JsonMergePatcher;
 import com.batubook.backend.service.serviceInterface.UserServiceInterface;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -11,9 +16,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -30,6 +38,24 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<UserAvailabilityDTO> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        logger.info("Received availability check for username: {} and email: {}", username, email);
+        UserAvailabilityDTO availability = userService.checkAvailability(username, email);
+        logger.info("Returned availability for username: {} and email: {}", username, email);
+        return ResponseEntity.ok(availability);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<UserDTO>> fetchUsersByIds(@RequestParam List<Long> ids) {
+        logger.info("Received GET request for /api/users/batch with {} IDs", ids.size());
+        List<UserDTO> users = userService.getUsersByIds(ids);
+        logger.info("Returned {} users for batch request", users.size());
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> fetchUserById(@PathVariable Long id) {
         logger.info("Received GET request for /api/users/{}", id);
@@ -39,13 +65,27 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<UserDTO>> fetchAllUsers(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<UserDTO>> fetchAllUsers(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/users called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<UserDTO> allUsers = userService.getAllUsers(pageable);
+        Page<UserDTO> allUsers = exactTotal
+                ? userService.getAllUsers(pageable)
+                : userService.getAllUsersWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} users", allUsers.getNumberOfElements());
         return ResponseEntity.ok(allUsers);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<UserDTO>> fetchAllUsersAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/users called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<UserDTO> users = userService.getAllUsersAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} users", users.getNumberOfElements());
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/search-username-email")
     public ResponseEntity<Page<UserDTO>> fetchUsersByUsernameAndEmail(
             @RequestParam String username,
@@ -90,11 +130,19 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PatchMapping(value = "/update/{id}", consumes = {JsonMergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserDTO> patchUser(@PathVariable Long id, @RequestBody JsonNode patch) {
+        logger.info("Received request to patch user with id: {}", id);
+        UserDTO patchedUser = userService.patchUser(id, patch);
+        logger.info("Successfully patched user with id: {}", id);
+        return ResponseEntity.ok(patchedUser);
+    }
+
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<DeletionJobDTO> deleteUser(@PathVariable Long id) {
         logger.info("Received request to delete user with ID: {}", id);
-        userService.removeUser(id);
-        logger.info("Successfully deleted user with ID: {}", id);
-        return ResponseEntity.noContent().build();
+        DeletionJobDTO deletionJob = userService.removeUser(id);
+        logger.info("Accepted deletion of user with ID: {} as job {}", id, deletionJob.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(deletionJob);
     }
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.batubook.backend.controller;
 
 import com.batubook.backend.dto.UserProfileDTO;
 import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.patch.JsonMergePatcher;
 import com.batubook.backend.service.serviceImplementation.UserProfileServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.LoggerFactory;
@@ -10,6 +13,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
@@ -33,13 +37,27 @@ public class UserProfileController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<UserProfileDTO>> fetchAllUserProfiles(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<UserProfileDTO>> fetchAllUserProfiles(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean exactTotal) {
         logger.info("GET api/user-profiles called with pagination: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<UserProfileDTO> allUserProfiles = userProfileService.getAllUserProfiles(pageable);
+        Page<UserProfileDTO> allUserProfiles = exactTotal
+                ? userProfileService.getAllUserProfiles(pageable)
+                : userProfileService.getAllUserProfilesWithEstimatedTotal(pageable);
         logger.info("Successfully fetched {} user profiles", allUserProfiles.getSize());
         return ResponseEntity.ok(allUserProfiles);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<UserProfileDTO>> fetchAllUserProfilesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @PageableDefault(size = 5) Pageable pageable) {
+        logger.info("GET api/user-profiles called with cursor: after = {}, size = {}", after, pageable.getPageSize());
+        CursorPage<UserProfileDTO> userProfiles = userProfileService.getAllUserProfilesAfter(after, pageable.getPageSize());
+        logger.info("Successfully fetched {} user profiles", userProfiles.getNumberOfElements());
+        return ResponseEntity.ok(userProfiles);
+    }
+
     @GetMapping("/search-birthday")
     public ResponseEntity<Page<UserProfileDTO>> fetchUserProfilesByBirthday(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirth,
@@ -73,6 +91,14 @@ public class UserProfileController {
         return ResponseEntity.ok(updatedUserProfile);
     }
 
+    @PatchMapping(value = "/update/{id}", consumes = {JsonMergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserProfileDTO> patchUserProfile(@PathVariable Long id, @RequestBody JsonNode patch) {
+        logger.info("Received request to patch user profile with id: {}", id);
+        UserProfileDTO patchedUserProfile = userProfileService.patchUserProfile(id, patch);
+        logger.info("Successfully patched user profile with id: {}", id);
+        return ResponseEntity.ok(patchedUserProfile);
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteUserProfile(@PathVariable Long id) {
         logger.info("Received request to delete user profile with ID: {}", id);
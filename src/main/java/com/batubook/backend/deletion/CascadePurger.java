@@ -0,0 +1,261 @@
+package com.batubook.backend.deletion;
+
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.entity.DeletionJobEntity;
+import com.batubook.backend.entity.LikeCountEntity;
+import com.batubook.backend.like.LikeCounter;
+import com.batubook.backend.repository.DeletionJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes a tombstoned user or book together with everything that hangs off it, without loading any of it.
+ * The mapped {@code cascade = ALL} collections would pull every dependent row into the persistence context and
+ * delete them one by one in a single transaction; here each table is emptied leaves first with
+ * {@code DELETE ... WHERE id IN (SELECT id ... LIMIT n)}, one short transaction per chunk, and the job's progress
+ * is updated in the same transaction as the rows it counts.
+ *
+ * <p>Like counts move with the rows: a chunk of likes subtracts what it deleted from {@code like_counts}, and a
+ * chunk of reviews, quotes, interactions or messages deletes their counts, both in the chunk's transaction.
+ *
+ * <p>Every step only matches rows that still exist, so a purge that was interrupted can simply be run again from
+ * the first step.
+ */
+@Component
+public class CascadePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CascadePurger.class);
+
+    /**
+     * Content a user or book owns that other rows point at, keyed by the referencing column.
+     */
+    private static final Map<String, String> OWNED_CONTENT = Map.of(
+            "review_id", "reviews",
+            "quote_id", "quotes",
+            "book_interaction_id", "book_interactions");
+
+    /**
+     * The columns of {@code likes} pointing at what was liked.
+     */
+    private static final Map<String, LikeCountEntity.TargetType> LIKED_COLUMNS = Map.of(
+            "review_id", LikeCountEntity.TargetType.REVIEW,
+            "quote_id", LikeCountEntity.TargetType.QUOTE,
+            "book_interaction_id", LikeCountEntity.TargetType.BOOK_INTERACTION,
+            "message_id", LikeCountEntity.TargetType.MESSAGE);
+
+    /**
+     * The tables whose rows can be liked, and so have a row in {@code like_counts}.
+     */
+    private static final Map<String, LikeCountEntity.TargetType> LIKED_TABLES = Map.of(
+            "reviews", LikeCountEntity.TargetType.REVIEW,
+            "quotes", LikeCountEntity.TargetType.QUOTE,
+            "book_interactions", LikeCountEntity.TargetType.BOOK_INTERACTION,
+            "messages", LikeCountEntity.TargetType.MESSAGE);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeletionJobRepository deletionJobRepository;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final LikeCounter likeCounter;
+    private final int chunkSize;
+
+    public CascadePurger(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         DeletionJobRepository deletionJobRepository,
+                         UserAvailabilityFilter userAvailabilityFilter,
+                         LikeCounter likeCounter,
+                         @Value("${batubook.deletion.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletionJobRepository = deletionJobRepository;
+        this.userAvailabilityFilter = userAvailabilityFilter;
+        this.likeCounter = likeCounter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs every step of the job's plan and deletes the target row last. Returns the number of rows deleted.
+     */
+    public long purge(Long jobId, DeletionJobEntity.TargetType targetType, Long targetId) {
+        long deleted = 0;
+        for (PurgeStep step : plan(targetType)) {
+            deleted += purgeStep(jobId, targetId, step);
+        }
+        deleted += deleteTarget(jobId, targetType, targetId);
+        logger.info("Purged {} {} with {} rows", targetType, targetId, deleted);
+        return deleted;
+    }
+
+    private long purgeStep(Long jobId, Long targetId, PurgeStep step) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", targetId)
+                .addValue("limit", chunkSize);
+
+        long deleted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                int rows = deleteChunk(step, parameters);
+                if (rows > 0) {
+                    deletionJobRepository.addProgress(jobId, rows, step.toString(), LocalDateTime.now());
+                }
+                return rows;
+            });
+            int rows = chunk == null ? 0 : chunk;
+            deleted += rows;
+            if (rows < chunkSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            logger.debug("Deletion job {} removed {} rows from {}", jobId, deleted, step);
+        }
+        return deleted;
+    }
+
+    private int deleteChunk(PurgeStep step, MapSqlParameterSource parameters) {
+        if (step.table.equals("likes")) {
+            return deleteLikes(step, parameters);
+        }
+        LikeCountEntity.TargetType likedType = LIKED_TABLES.get(step.table);
+        if (likedType != null) {
+            return deleteLiked(step, parameters, likedType);
+        }
+        return jdbcTemplate.update("DELETE FROM " + step.table + " WHERE id IN (SELECT id FROM " + step.table
+                + " WHERE " + step.condition + " LIMIT :limit)", parameters);
+    }
+
+    /**
+     * Deletes a chunk of likes and subtracts them from the counts of what they liked. The chunk is locked while
+     * it is read, so an unlike racing the purge either waits and finds nothing or goes first and is not read.
+     */
+    private int deleteLikes(PurgeStep step, MapSqlParameterSource parameters) {
+        List<Long> ids = new ArrayList<>();
+        Map<LikeCountEntity.TargetType, Map<Long, Long>> unliked = new EnumMap<>(LikeCountEntity.TargetType.class);
+        jdbcTemplate.query("SELECT id, " + String.join(", ", LIKED_COLUMNS.keySet()) + " FROM likes WHERE "
+                + step.condition + " LIMIT :limit FOR UPDATE", parameters, rs -> {
+            ids.add(rs.getLong("id"));
+            for (Map.Entry<String, LikeCountEntity.TargetType> column : LIKED_COLUMNS.entrySet()) {
+                long likedId = rs.getLong(column.getKey());
+                if (!rs.wasNull()) {
+                    unliked.computeIfAbsent(column.getValue(), type -> new HashMap<>()).merge(likedId, -1L, Long::sum);
+                }
+            }
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int rows = jdbcTemplate.update("DELETE FROM likes WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        unliked.forEach(likeCounter::addStored);
+        return rows;
+    }
+
+    /**
+     * Deletes a chunk of likeable rows together with their like counts.
+     */
+    private int deleteLiked(PurgeStep step, MapSqlParameterSource parameters, LikeCountEntity.TargetType likedType) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + step.table + " WHERE " + step.condition
+                + " LIMIT :limit", parameters, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int rows = jdbcTemplate.update("DELETE FROM " + step.table + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        likeCounter.remove(likedType, ids);
+        return rows;
+    }
+
+    private long deleteTarget(Long jobId, DeletionJobEntity.TargetType targetType, Long targetId) {
+        String table = targetType == DeletionJobEntity.TargetType.USER ? "users" : "books";
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", targetId);
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<String[]> names = targetType == DeletionJobEntity.TargetType.USER
+                    ? jdbcTemplate.query("SELECT username, email FROM users WHERE id = :id", parameters,
+                            (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)})
+                    : List.of();
+            int rows = jdbcTemplate.update("DELETE FROM " + table + " WHERE id = :id", parameters);
+            deletionJobRepository.addProgress(jobId, rows, table + " id = " + targetId, LocalDateTime.now());
+            names.forEach(name -> userAvailabilityFilter.remove(name[0], name[1]));
+            return rows;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Deletion order for everything that references the target, leaves first: likes before the messages they
+     * like, messages and reposts before the reviews, quotes and interactions they point at.
+     */
+    static List<PurgeStep> plan(DeletionJobEntity.TargetType targetType) {
+        boolean user = targetType == DeletionJobEntity.TargetType.USER;
+        String owner = user ? "user_id" : "book_id";
+
+        List<String> ownedContent = new ArrayList<>();
+        OWNED_CONTENT.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(content -> ownedContent.add(
+                        content.getKey() + " IN (SELECT id FROM " + content.getValue() + " WHERE " + owner + " = :id)"));
+
+        List<String> messageScopes = new ArrayList<>();
+        if (user) {
+            messageScopes.add("sender_id = :id OR receiver_id = :id");
+        }
+        messageScopes.addAll(ownedContent);
+
+        List<PurgeStep> steps = new ArrayList<>();
+        if (user) {
+            steps.add(new PurgeStep("likes", "user_id = :id"));
+        }
+        ownedContent.forEach(condition -> steps.add(new PurgeStep("likes", condition)));
+        messageScopes.forEach(scope -> steps.add(
+                new PurgeStep("likes", "message_id IN (SELECT id FROM messages WHERE " + scope + ")")));
+        messageScopes.forEach(scope -> steps.add(new PurgeStep("messages", scope)));
+
+        if (user) {
+            steps.add(new PurgeStep("repost_saves", "user_id = :id"));
+        }
+        ownedContent.forEach(condition -> steps.add(new PurgeStep("repost_saves", condition)));
+
+        if (user) {
+            steps.add(new PurgeStep("activities", "actor_id = :id"));
+            steps.add(new PurgeStep("follows", "follower_id = :id OR followed_user_id = :id"));
+        } else {
+            steps.add(new PurgeStep("follows", "followed_book_id = :id"));
+            steps.add(new PurgeStep("book_sales", "book_id = :id"));
+        }
+
+        OWNED_CONTENT.values().stream().sorted()
+                .forEach(table -> steps.add(new PurgeStep(table, owner + " = :id")));
+        if (user) {
+            steps.add(new PurgeStep("user_profiles", "user_id = :id"));
+        }
+        return steps;
+    }
+
+    static final class PurgeStep {
+
+        private final String table;
+        private final String condition;
+
+        PurgeStep(String table, String condition) {
+            this.table = table;
+            this.condition = condition;
+        }
+
+        @Override
+        public String toString() {
+            return table + " " + condition;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookDetailDTO {
+
+    private BookDTO book;
+    private BigDecimal averageRating;
+    private Long reviewCount;
+    private Long readerCount;
+    private Long likerCount;
+    private Long followerCount;
+    private BookSalesDTO cheapestOffer;
+}
@@ -0,0 +1,21 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetResultDTO {
+
+    private Page<BookDTO> books;
+    private List<FacetBucketDTO> genres;
+    private List<FacetBucketDTO> pageCounts;
+    private List<FacetBucketDTO> publishDates;
+}
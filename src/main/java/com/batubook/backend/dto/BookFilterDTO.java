@@ -0,0 +1,24 @@
+package com.batubook.backend.dto;
+
+import com.batubook.backend.entity.enums.Genre;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilterDTO {
+
+    private List<Genre> genres;
+    private Integer minPageCount;
+    private Integer maxPageCount;
+    private LocalDate publishedFrom;
+    private LocalDate publishedTo;
+    private String text;
+}
@@ -0,0 +1,22 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportReportDTO {
+
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<BookImportErrorDTO> errors;
+}
@@ -0,0 +1,22 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+
+    private String text;
+    private Type type;
+    private Long bookId;
+    private Long popularity;
+
+    public enum Type {
+        TITLE, AUTHOR
+    }
+}
@@ -0,0 +1,25 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+
+    private String name;
+    private long heapEntries;
+    private long offHeapEntries;
+    private long offHeapUsedBytes;
+    private long offHeapCapacityBytes;
+    private long heapHits;
+    private long offHeapHits;
+    private long misses;
+    private long heapEvictions;
+    private long offHeapEvictions;
+    private double hitRate;
+}
@@ -0,0 +1,28 @@
+package com.batubook.backend.dto;
+
+import com.batubook.backend.entity.DeletionJobEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionJobDTO {
+
+    private Long id;
+    private DeletionJobEntity.TargetType targetType;
+    private Long targetId;
+    private DeletionJobEntity.Status status;
+    private Long deletedRows;
+    private Integer attempts;
+    private String currentStep;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
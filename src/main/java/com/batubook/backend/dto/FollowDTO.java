@@ -1,5 +1,6 @@
 package com.batubook.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,4 +16,7 @@ public class FollowDTO {
     private Long followerId;
     private Long followedUserId;
     private Long followedBookId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean alreadyFollowing;
 }
\ No newline at end of file
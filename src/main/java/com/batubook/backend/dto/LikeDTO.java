@@ -1,5 +1,6 @@
 package com.batubook.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,7 @@ public class LikeDTO {
     private Long bookInteractionId;
     private Long reviewId;
     private Long quoteId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean alreadyLiked;
 }
\ No newline at end of file
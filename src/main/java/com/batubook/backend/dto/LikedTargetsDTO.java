@@ -0,0 +1,20 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikedTargetsDTO {
+
+    private List<Long> reviewIds;
+    private List<Long> quoteIds;
+    private List<Long> bookInteractionIds;
+    private List<Long> messageIds;
+}
@@ -0,0 +1,17 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarBookDTO {
+
+    private BookDTO book;
+    private double score;
+    private int sharedReaders;
+}
@@ -0,0 +1,25 @@
+package com.batubook.backend.dto;
+
+import com.batubook.backend.entity.ActivityEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntryDTO {
+
+    private Long id;
+    private ActivityEntity.ActivityType activityType;
+    private Long actorId;
+    private LocalDateTime createdAt;
+    private ReviewDTO review;
+    private QuoteDTO quote;
+    private BookInteractionDTO bookInteraction;
+    private RepostSaveDTO repost;
+}
@@ -0,0 +1,18 @@
+package com.batubook.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvailabilityDTO {
+
+    private String username;
+    private Boolean usernameAvailable;
+    private String email;
+    private Boolean emailAvailable;
+}
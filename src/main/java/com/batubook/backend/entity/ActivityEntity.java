@@ -0,0 +1,40 @@
+package com.batubook.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One entry of the activity log home timelines are built from: who did what to which row. Rows stay compact on
+ * purpose, plain ids and no associations, since timelines only ever hold activity ids and the content itself is
+ * loaded per page when a timeline is read.
+ */
+@Entity
+@Table(name = "activities", indexes = {
+        @Index(columnList = "actor_id, id"),
+        @Index(columnList = "activity_type, target_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    public enum ActivityType {
+        REVIEW, QUOTE, BOOK_INTERACTION, REPOST
+    }
+}
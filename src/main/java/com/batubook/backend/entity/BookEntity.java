@@ -5,12 +5,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "books")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {"reviews", "quotes", "sales", "bookFollowers", "bookFollowings", "interactions"})
 @Builder
@@ -62,6 +68,18 @@ public class BookEntity extends BaseEntity {
     @Size(max = 1000, message = "Book summary must not exceed 1000 characters.")
     private String summary;
 
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    /**
+     * Maintained by {@code FollowServiceImpl} with atomic increments and repaired by {@code FollowCountReconciler};
+     * never written through the entity.
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long followerCount;
+
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnore
     private Set<ReviewEntity> reviews;
@@ -11,6 +11,8 @@ import java.util.Set;
 @Entity
 @Table(name = "book_interactions", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "book_id"})
+}, indexes = {
+        @Index(columnList = "updated_at, id")
 })
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {"comments", "likes", "repostSaves"})
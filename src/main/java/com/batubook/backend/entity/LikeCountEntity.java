@@ -0,0 +1,38 @@
+package com.batubook.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of likes of one review, quote, book interaction or message. Rows are written by the like counter's
+ * periodic flush, which adds the likes and unlikes since the previous flush, never by the like endpoints directly.
+ */
+@Entity
+@Table(name = "like_counts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"target_type", "target_id"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeCountEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    public enum TargetType {
+        REVIEW, QUOTE, BOOK_INTERACTION, MESSAGE
+    }
+}
@@ -3,8 +3,18 @@ package com.batubook.backend.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * A user's like of exactly one review, quote, book interaction or message. A user likes each target at most once:
+ * the unique constraints only bind rows whose target column is set, since rows with a null target column never
+ * conflict, so each one works as a partial unique index on its kind of like.
+ */
 @Entity
-@Table(name = "likes")
+@Table(name = "likes", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "review_id"}),
+        @UniqueConstraint(columnNames = {"user_id", "quote_id"}),
+        @UniqueConstraint(columnNames = {"user_id", "book_interaction_id"}),
+        @UniqueConstraint(columnNames = {"user_id", "message_id"})
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Builder
@@ -5,11 +5,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {
         "userProfile", "reviews", "quotes", "sentMessages", "receivedMessages",
@@ -51,6 +57,23 @@ public class UserEntity extends BaseEntity {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    /**
+     * Maintained by {@code FollowServiceImpl} with atomic increments and repaired by {@code FollowCountReconciler};
+     * never written through the entity.
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long followerCount;
+
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long followingCount;
+
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private UserProfileEntity userProfile;
 
@@ -28,9 +28,21 @@ public class CustomExceptions {
         }
     }
 
+    public static class ConflictException extends CustomException {
+        public ConflictException(String message) {
+            super(HttpStatus.CONFLICT, message, ErrorCode.CONFLICT);
+        }
+    }
+
     public static class InternalServerErrorException extends CustomException {
         public InternalServerErrorException(String message) {
             super(HttpStatus.INTERNAL_SERVER_ERROR, message, ErrorCode.INTERNAL_SERVER_ERROR);
         }
     }
+
+    public static class ServiceUnavailableException extends CustomException {
+        public ServiceUnavailableException(String message) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, message, ErrorCode.SERVICE_UNAVAILABLE);
+        }
+    }
 }
\ No newline at end of file
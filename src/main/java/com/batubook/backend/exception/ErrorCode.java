@@ -8,7 +8,9 @@ public enum ErrorCode {
     UNAUTHORIZED("UNAUTHORIZED", "You are not authorized to perform this action."),
     FORBIDDEN("FORBIDDEN", "Access to this resource is forbidden."),
     NOT_FOUND("NOT_FOUND", "The requested resource was not found."),
-    INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "An internal server error occurred.");
+    CONFLICT("CONFLICT", "The request conflicts with the current state of the resource."),
+    INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "An internal server error occurred."),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", "The service is temporarily unavailable.");
 
     private final String code;
     private final String description;
@@ -0,0 +1,23 @@
+package com.batubook.backend.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * One exported field: its name in the JSONL object and CSV header, and how to read it from the current cursor row.
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public final class ExportColumn {
+
+    private final String name;
+    private final Extractor extractor;
+
+    @FunctionalInterface
+    public interface Extractor {
+        Object extract(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,36 @@
+package com.batubook.backend.export;
+
+import com.batubook.backend.exception.CustomExceptions;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+
+    JSONL(MediaType.parseMediaType("application/x-ndjson"), "jsonl"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    public static ExportFormat fromString(String value) {
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomExceptions.BadRequestException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.batubook.backend.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Encodes cursor rows straight onto the response stream, one line per row, without building any intermediate
+ * objects. JSONL rows use the same field names as the DTOs, CSV rows quote fields per RFC 4180, so an export can be
+ * fed back into the bulk import.
+ */
+public class ExportRowWriter implements Flushable {
+
+    private final ExportFormat format;
+    private final List<ExportColumn> columns;
+    private final Writer writer;
+    private final JsonGenerator generator;
+
+    public ExportRowWriter(OutputStream outputStream, ExportFormat format, List<ExportColumn> columns,
+                           ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.generator = format == ExportFormat.JSONL
+                ? objectMapper.getFactory().createGenerator(writer).setRootValueSeparator(null)
+                : null;
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(columns.get(i).getName());
+            }
+            writer.write('\n');
+        }
+    }
+
+    public void writeRow(ResultSet rs) throws IOException, SQLException {
+        if (format == ExportFormat.JSONL) {
+            generator.writeStartObject();
+            for (ExportColumn column : columns) {
+                generator.writeFieldName(column.getName());
+                generator.writeObject(column.getExtractor().extract(rs));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).getExtractor().extract(rs);
+                if (value != null) {
+                    writeCsvField(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,85 @@
+package com.batubook.backend.follow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repairs the denormalized follow counters on {@code users} and {@code books} by recounting {@code follows}.
+ * Follows and unfollows keep the counters exact; drift comes from rows removed behind the service's back, such as
+ * the follows a deletion job purges, and from manual fixes in the database.
+ *
+ * <p>Rows are recounted in id ranges, one short transaction per range, and only rows whose counters are wrong are
+ * written. A follow that commits while its range is being recounted can be missed; the next pass puts it back.
+ */
+@Component
+public class FollowCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowCountReconciler.class);
+
+    private static final String USER_FOLLOWERS =
+            "(SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = users.id)";
+    private static final String USER_FOLLOWING =
+            "(SELECT COUNT(*) FROM follows f WHERE f.follower_id = users.id AND f.followed_user_id IS NOT NULL)";
+    private static final String BOOK_FOLLOWERS =
+            "(SELECT COUNT(*) FROM follows f WHERE f.followed_book_id = books.id)";
+
+    private static final String RECONCILE_USERS = "UPDATE users SET follower_count = " + USER_FOLLOWERS
+            + ", following_count = " + USER_FOLLOWING
+            + " WHERE id > :from AND id <= :to"
+            + " AND (follower_count <> " + USER_FOLLOWERS + " OR following_count <> " + USER_FOLLOWING + ")";
+    private static final String RECONCILE_BOOKS = "UPDATE books SET follower_count = " + BOOK_FOLLOWERS
+            + " WHERE id > :from AND id <= :to AND follower_count <> " + BOOK_FOLLOWERS;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public FollowCountReconciler(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${batubook.follow.reconcile-chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Recounts every user and book and returns the number of rows whose counters had drifted.
+     */
+    @Scheduled(initialDelayString = "${batubook.follow.reconcile-initial-delay:PT10M}",
+            fixedDelayString = "${batubook.follow.reconcile-interval:PT6H}")
+    public long reconcile() {
+        long repaired = reconcile("users", RECONCILE_USERS) + reconcile("books", RECONCILE_BOOKS);
+        if (repaired > 0) {
+            logger.warn("Follow count reconciliation repaired {} rows", repaired);
+        } else {
+            logger.info("Follow count reconciliation found no drift");
+        }
+        return repaired;
+    }
+
+    private long reconcile(String table, String sql) {
+        Long maxId = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long last = maxId == null ? 0 : maxId;
+
+        long repaired = 0;
+        for (long from = 0; from < last; from += chunkSize) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("from", from)
+                    .addValue("to", from + chunkSize);
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, parameters));
+            repaired += rows == null ? 0 : rows;
+        }
+        if (repaired > 0) {
+            logger.debug("Repaired follow counts of {} rows in {}", repaired, table);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,427 @@
+package com.batubook.backend.follow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The user-to-user part of {@code follows} in memory, in compressed sparse row form for both directions: a sorted
+ * array of user IDs, an offset array and one flat array of neighbour IDs sorted per user. An edge check is two
+ * binary searches, and a user's followings or followers are a contiguous slice, so batch checks, mutual follows
+ * and friends-of-friends suggestions never touch the database.
+ *
+ * <p>The arrays are immutable once built. Follows and unfollows committed since the last load are kept in a small
+ * per-user overlay on top of them, and every reload from the database folds the overlay back into fresh arrays.
+ * Changes committed while a load runs are replayed onto its result; applying a change twice is harmless. Deleted
+ * users are hidden at once and dropped from the arrays by the next reload.
+ */
+@Component
+public class FollowGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraph.class);
+    private static final int LOAD_BATCH_SIZE = 50_000;
+    private static final long[] NO_USERS = new long[0];
+    private static final String EDGES_SQL = """
+            SELECT f.follower_id, f.followed_user_id
+            FROM follows f
+            JOIN users follower ON follower.id = f.follower_id AND follower.deleted_at IS NULL
+            JOIN users followed ON followed.id = f.followed_user_id AND followed.deleted_at IS NULL
+            WHERE f.follower_id > ? OR (f.follower_id = ? AND f.followed_user_id > ?)
+            ORDER BY f.follower_id, f.followed_user_id
+            LIMIT ?
+            """;
+
+    private static final Comparator<FollowSuggestion> RANKING = Comparator
+            .comparingInt(FollowSuggestion::getMutualConnections).reversed()
+            .thenComparingLong(FollowSuggestion::getUserId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxExpansion;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Csr following = Csr.EMPTY;
+    private Csr followers = Csr.EMPTY;
+    private final Map<Long, Map<Long, Boolean>> followingOverlay = new HashMap<>();
+    private final Map<Long, Map<Long, Boolean>> followersOverlay = new HashMap<>();
+    private final Set<Long> removedUsers = new HashSet<>();
+    private List<Runnable> changesDuringLoad;
+    private volatile boolean ready;
+
+    public FollowGraph(JdbcTemplate jdbcTemplate,
+                       @Value("${batubook.follow.graph-max-expansion:100000}") int maxExpansion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxExpansion = maxExpansion;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::load, "follow-graph-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(initialDelayString = "${batubook.follow.graph-reload-interval:PT1H}",
+            fixedDelayString = "${batubook.follow.graph-reload-interval:PT1H}")
+    public void reload() {
+        load();
+    }
+
+    /**
+     * Reads every follow between two live users in keyset batches and swaps in arrays built from them. On failure
+     * the previous graph stays in place.
+     */
+    public synchronized void load() {
+        logger.info("Loading follow graph from the follows table");
+        lock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            EdgeBuffer edges = new EdgeBuffer();
+            long lastFollower = 0;
+            long lastFollowed = 0;
+            while (true) {
+                int before = edges.size;
+                jdbcTemplate.query(EDGES_SQL, rs -> {
+                    edges.add(rs.getLong(1), rs.getLong(2));
+                }, lastFollower, lastFollower, lastFollowed, LOAD_BATCH_SIZE);
+                if (edges.size == before) {
+                    break;
+                }
+                lastFollower = edges.from[edges.size - 1];
+                lastFollowed = edges.to[edges.size - 1];
+                if (edges.size - before < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+
+            Csr loadedFollowing = Csr.build(edges.from, edges.to, edges.size);
+            Csr loadedFollowers = Csr.build(edges.to, edges.from, edges.size);
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                following = loadedFollowing;
+                followers = loadedFollowers;
+                followingOverlay.clear();
+                followersOverlay.clear();
+                removedUsers.clear();
+                replayed = changesDuringLoad.size();
+                changesDuringLoad.forEach(Runnable::run);
+                ready = true;
+            } finally {
+                changesDuringLoad = null;
+                lock.writeLock().unlock();
+            }
+            logger.info("Follow graph loaded with {} follows, replayed {} concurrent changes", edges.size, replayed);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("Follow graph could not be loaded: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Records the follow once the current transaction commits, or at once outside a transaction.
+     */
+    public void follow(Long followerId, Long followedUserId) {
+        afterCommit(() -> setEdge(followerId, followedUserId, true));
+    }
+
+    public void unfollow(Long followerId, Long followedUserId) {
+        afterCommit(() -> setEdge(followerId, followedUserId, false));
+    }
+
+    public void removeUser(Long userId) {
+        afterCommit(() -> removedUsers.add(userId));
+    }
+
+    /**
+     * The candidates the follower follows, in the order given.
+     */
+    public Set<Long> followedAmong(long followerId, Collection<Long> candidates) {
+        Set<Long> followed = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long candidate : candidates) {
+                if (isFollowing(followerId, candidate)) {
+                    followed.add(candidate);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return followed;
+    }
+
+    /**
+     * Users following the user, by ascending ID.
+     */
+    public long[] followersOf(long userId) {
+        lock.readLock().lock();
+        try {
+            return neighbours(followers, followersOverlay, userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Users the user follows who follow them back, by ascending ID.
+     */
+    public List<Long> mutuals(long userId, int limit) {
+        List<Long> mutuals = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long followed : neighbours(following, followingOverlay, userId)) {
+                if (mutuals.size() == limit) {
+                    break;
+                }
+                if (isFollowing(followed, userId)) {
+                    mutuals.add(followed);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return mutuals;
+    }
+
+    /**
+     * Users followed by the users this user follows, ranked by how many of those follow them. At most
+     * {@code maxExpansion} second-hop edges are looked at, so a user following thousands of prolific followers
+     * costs a bounded amount of work.
+     */
+    public List<FollowSuggestion> suggestions(long userId, int limit) {
+        long[] candidates;
+        int size = 0;
+        long[] followed;
+        lock.readLock().lock();
+        try {
+            followed = neighbours(following, followingOverlay, userId);
+            candidates = new long[Math.min(maxExpansion, 1024)];
+            expand:
+            for (long friend : followed) {
+                for (long candidate : neighbours(following, followingOverlay, friend)) {
+                    if (candidate == userId) {
+                        continue;
+                    }
+                    if (size == candidates.length) {
+                        if (size >= maxExpansion) {
+                            break expand;
+                        }
+                        candidates = Arrays.copyOf(candidates, Math.min(maxExpansion, size * 2));
+                    }
+                    candidates[size++] = candidate;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Arrays.sort(candidates, 0, size);
+        PriorityQueue<FollowSuggestion> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int start = 0; start < size; ) {
+            int end = start;
+            while (end < size && candidates[end] == candidates[start]) {
+                end++;
+            }
+            if (Arrays.binarySearch(followed, candidates[start]) < 0) {
+                top.add(new FollowSuggestion(candidates[start], end - start));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            start = end;
+        }
+
+        List<FollowSuggestion> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setEdge(long followerId, long followedUserId, boolean present) {
+        setOverlay(followingOverlay, following, followerId, followedUserId, present);
+        setOverlay(followersOverlay, followers, followedUserId, followerId, present);
+    }
+
+    /**
+     * Keeps an overlay entry only while the edge differs from the arrays, so the overlay never outgrows the
+     * changes made since the last load.
+     */
+    private static void setOverlay(Map<Long, Map<Long, Boolean>> overlay, Csr base, long user, long neighbour, boolean present) {
+        if (base.contains(user, neighbour) == present) {
+            Map<Long, Boolean> row = overlay.get(user);
+            if (row != null) {
+                row.remove(neighbour);
+                if (row.isEmpty()) {
+                    overlay.remove(user);
+                }
+            }
+        } else {
+            overlay.computeIfAbsent(user, key -> new HashMap<>()).put(neighbour, present);
+        }
+    }
+
+    private boolean isFollowing(long followerId, long followedUserId) {
+        if (!removedUsers.isEmpty() && (removedUsers.contains(followerId) || removedUsers.contains(followedUserId))) {
+            return false;
+        }
+        Map<Long, Boolean> row = followingOverlay.get(followerId);
+        Boolean present = row == null ? null : row.get(followedUserId);
+        return present != null ? present : following.contains(followerId, followedUserId);
+    }
+
+    /**
+     * The user's neighbours in the arrays with the overlay applied, sorted by ID.
+     */
+    private long[] neighbours(Csr base, Map<Long, Map<Long, Boolean>> overlay, long user) {
+        if (removedUsers.contains(user)) {
+            return NO_USERS;
+        }
+        long[] neighbours = base.neighbours(user);
+        Map<Long, Boolean> row = overlay.get(user);
+        if (row == null && removedUsers.isEmpty()) {
+            return neighbours;
+        }
+
+        long[] merged = new long[neighbours.length + (row == null ? 0 : row.size())];
+        int size = 0;
+        for (long neighbour : neighbours) {
+            if ((row == null || row.get(neighbour) == null) && !removedUsers.contains(neighbour)) {
+                merged[size++] = neighbour;
+            }
+        }
+        if (row != null) {
+            for (Map.Entry<Long, Boolean> entry : row.entrySet()) {
+                if (entry.getValue() && !removedUsers.contains(entry.getKey())) {
+                    merged[size++] = entry.getKey();
+                }
+            }
+            Arrays.sort(merged, 0, size);
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * One direction of the graph. {@code users} is sorted, and the neighbours of {@code users[i]} are
+     * {@code neighbours[offsets[i]]} to {@code neighbours[offsets[i + 1] - 1]}, sorted.
+     */
+    static final class Csr {
+
+        static final Csr EMPTY = new Csr(NO_USERS, new int[]{0}, NO_USERS);
+
+        private final long[] users;
+        private final int[] offsets;
+        private final long[] neighbours;
+
+        private Csr(long[] users, int[] offsets, long[] neighbours) {
+            this.users = users;
+            this.offsets = offsets;
+            this.neighbours = neighbours;
+        }
+
+        /**
+         * Builds the rows keyed by {@code keys[i]}. Each row lists its values in input order, so the input must
+         * be ordered by value within each key for the rows to come out sorted.
+         */
+        static Csr build(long[] keys, long[] values, int size) {
+            long[] users = Arrays.copyOf(keys, size);
+            Arrays.sort(users);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || users[distinct - 1] != users[i]) {
+                    users[distinct++] = users[i];
+                }
+            }
+            users = Arrays.copyOf(users, distinct);
+
+            int[] offsets = new int[distinct + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[Arrays.binarySearch(users, keys[i]) + 1]++;
+            }
+            for (int i = 0; i < distinct; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] next = Arrays.copyOf(offsets, distinct);
+            long[] neighbours = new long[size];
+            for (int i = 0; i < size; i++) {
+                neighbours[next[Arrays.binarySearch(users, keys[i])]++] = values[i];
+            }
+            return new Csr(users, offsets, neighbours);
+        }
+
+        boolean contains(long user, long neighbour) {
+            int index = Arrays.binarySearch(users, user);
+            return index >= 0 && Arrays.binarySearch(neighbours, offsets[index], offsets[index + 1], neighbour) >= 0;
+        }
+
+        long[] neighbours(long user) {
+            int index = Arrays.binarySearch(users, user);
+            return index < 0 ? NO_USERS : Arrays.copyOfRange(neighbours, offsets[index], offsets[index + 1]);
+        }
+    }
+
+    private static final class EdgeBuffer {
+
+        private long[] from = new long[1024];
+        private long[] to = new long[1024];
+        private int size;
+
+        void add(long followerId, long followedUserId) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+            }
+            from[size] = followerId;
+            to[size] = followedUserId;
+            size++;
+        }
+    }
+}
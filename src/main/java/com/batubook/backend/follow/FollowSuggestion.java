@@ -0,0 +1,12 @@
+package com.batubook.backend.follow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FollowSuggestion {
+
+    private final long userId;
+    private final int mutualConnections;
+}
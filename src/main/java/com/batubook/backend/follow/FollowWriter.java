@@ -0,0 +1,93 @@
+package com.batubook.backend.follow;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Follows and unfollows by id, each in a single statement and without loading the users or the book. The unique
+ * constraints on {@code follows} make a follow that already exists a no-op instead of a duplicate.
+ *
+ * <p>Writes ask for the affected id as a generated key, which the PostgreSQL driver sends as
+ * {@code ... RETURNING id}, so an insert tells in the same statement whether it added a row and which.
+ */
+@Component
+@RequiredArgsConstructor
+public class FollowWriter {
+
+    private static final String[] ID_COLUMN = {"id"};
+
+    private static final String LIVE_USER = "EXISTS (SELECT 1 FROM users WHERE id = ? AND deleted_at IS NULL)";
+    private static final String LIVE_BOOK = "EXISTS (SELECT 1 FROM books WHERE id = ? AND deleted_at IS NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the follow unless it exists or either user does not, and returns its id if it did.
+     */
+    public Optional<Long> insertUserFollow(Long followerId, Long followedUserId) {
+        return insert("followed_user_id", LIVE_USER, followerId, followedUserId);
+    }
+
+    /**
+     * Inserts the follow unless it exists or the user or book does not, and returns its id if it did.
+     */
+    public Optional<Long> insertBookFollow(Long followerId, Long followedBookId) {
+        return insert("followed_book_id", LIVE_BOOK, followerId, followedBookId);
+    }
+
+    /**
+     * Deletes the follow and tells whether there was one.
+     */
+    public boolean deleteUserFollow(Long followerId, Long followedUserId) {
+        return update(new GeneratedKeyHolder(),
+                "DELETE FROM follows WHERE follower_id = ? AND followed_user_id = ?", followerId, followedUserId) > 0;
+    }
+
+    public boolean deleteBookFollow(Long followerId, Long followedBookId) {
+        return update(new GeneratedKeyHolder(),
+                "DELETE FROM follows WHERE follower_id = ? AND followed_book_id = ?", followerId, followedBookId) > 0;
+    }
+
+    /**
+     * Whether both users exist, that is whether an insert skipping the follow can only have been a conflict.
+     */
+    public boolean canFollowUser(Long followerId, Long followedUserId) {
+        return exists("SELECT 1 WHERE " + LIVE_USER + " AND " + LIVE_USER, followerId, followedUserId);
+    }
+
+    public boolean canFollowBook(Long followerId, Long followedBookId) {
+        return exists("SELECT 1 WHERE " + LIVE_USER + " AND " + LIVE_BOOK, followerId, followedBookId);
+    }
+
+    private Optional<Long> insert(String followedColumn, String followedExists, Long followerId, Long followedId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        update(keys,
+                "INSERT INTO follows (follower_id, " + followedColumn + ", created_at, updated_at) " +
+                        "SELECT ?, ?, ?, ? WHERE " + LIVE_USER + " AND " + followedExists + " " +
+                        "ON CONFLICT DO NOTHING",
+                followerId, followedId, now, now, followerId, followedId);
+        return Optional.ofNullable(keys.getKey()).map(Number::longValue);
+    }
+
+    private boolean exists(String sql, Object... args) {
+        return !jdbcTemplate.queryForList(sql, Integer.class, args).isEmpty();
+    }
+
+    private int update(KeyHolder keys, String sql, Object... args) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ID_COLUMN);
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, keys);
+    }
+}
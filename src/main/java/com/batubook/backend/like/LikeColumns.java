@@ -0,0 +1,44 @@
+package com.batubook.backend.like;
+
+import com.batubook.backend.entity.LikeCountEntity;
+
+import java.util.Map;
+
+/**
+ * Where each kind of like target lives: its column on {@code likes}, its table, and the column of its author.
+ */
+final class LikeColumns {
+
+    private static final Map<LikeCountEntity.TargetType, String> TARGET_COLUMNS = Map.of(
+            LikeCountEntity.TargetType.REVIEW, "review_id",
+            LikeCountEntity.TargetType.QUOTE, "quote_id",
+            LikeCountEntity.TargetType.BOOK_INTERACTION, "book_interaction_id",
+            LikeCountEntity.TargetType.MESSAGE, "message_id");
+
+    private static final Map<LikeCountEntity.TargetType, String> TARGET_TABLES = Map.of(
+            LikeCountEntity.TargetType.REVIEW, "reviews",
+            LikeCountEntity.TargetType.QUOTE, "quotes",
+            LikeCountEntity.TargetType.BOOK_INTERACTION, "book_interactions",
+            LikeCountEntity.TargetType.MESSAGE, "messages");
+
+    private static final Map<LikeCountEntity.TargetType, String> OWNER_COLUMNS = Map.of(
+            LikeCountEntity.TargetType.REVIEW, "user_id",
+            LikeCountEntity.TargetType.QUOTE, "user_id",
+            LikeCountEntity.TargetType.BOOK_INTERACTION, "user_id",
+            LikeCountEntity.TargetType.MESSAGE, "sender_id");
+
+    private LikeColumns() {
+    }
+
+    static String targetColumn(LikeCountEntity.TargetType targetType) {
+        return TARGET_COLUMNS.get(targetType);
+    }
+
+    static String targetTable(LikeCountEntity.TargetType targetType) {
+        return TARGET_TABLES.get(targetType);
+    }
+
+    static String ownerColumn(LikeCountEntity.TargetType targetType) {
+        return OWNER_COLUMNS.get(targetType);
+    }
+}
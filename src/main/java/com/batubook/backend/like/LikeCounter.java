@@ -0,0 +1,233 @@
+package com.batubook.backend.like;
+
+import com.batubook.backend.entity.LikeCountEntity;
+import com.batubook.backend.repository.LikeCountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Like counts of reviews, quotes, book interactions and messages, written behind. A committed like or unlike only
+ * adds to an in-memory {@link LongAdder} for its target. Adders spread concurrent updates over several cells, so
+ * the likes on one viral review neither contend on a single counter nor queue on the row lock a synchronous
+ * {@code UPDATE like_counts} per like would take. The flush adds what accumulated since the previous one to
+ * {@code like_counts} in batched upserts, one transaction per flush.
+ *
+ * <p>Reads add what this node has not flushed yet to the stored counts. Other nodes' likes show up after their
+ * next flush, and the likes of a node that dies between flushes are lost from the counts, though not from
+ * {@code likes}.
+ */
+@Component
+public class LikeCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounter.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE like_counts SET like_count = like_count + ?, updated_at = ? WHERE target_type = ? AND target_id = ?";
+    private static final String INSERT_SQL = """
+            INSERT INTO like_counts (target_type, target_id, like_count, created_at, updated_at)
+            VALUES (?, ?, 0, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String DELETE_SQL = "DELETE FROM like_counts WHERE target_type = ? AND target_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LikeCountRepository likeCountRepository;
+    private final ConcurrentHashMap<Target, LongAdder> pending = new ConcurrentHashMap<>();
+    private List<Map.Entry<Target, LongAdder>> retired = new ArrayList<>();
+    private volatile Map<Target, Long> flushing = Map.of();
+
+    public LikeCounter(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       LikeCountRepository likeCountRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.likeCountRepository = likeCountRepository;
+    }
+
+    /**
+     * Adds {@code delta} likes to the target once the current transaction commits, or at once outside a
+     * transaction.
+     */
+    public void add(LikeCountEntity.TargetType targetType, Long targetId, long delta) {
+        Target target = new Target(targetType, targetId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adder(target).add(delta);
+                }
+            });
+        } else {
+            adder(target).add(delta);
+        }
+    }
+
+    /**
+     * Adds the deltas to {@code like_counts} in the current transaction instead of behind, so likes deleted in
+     * bulk leave the stored counts in the same commit as the rows.
+     */
+    public void addStored(LikeCountEntity.TargetType targetType, Map<Long, Long> deltas) {
+        Map<Target, Long> stored = new TreeMap<>();
+        deltas.forEach((targetId, delta) -> collect(stored, new Target(targetType, targetId), delta));
+        if (!stored.isEmpty()) {
+            write(stored);
+        }
+    }
+
+    /**
+     * Deletes the stored counts of targets that are being deleted, in the current transaction, and drops what
+     * this node has not flushed for them once it commits. A flush already in flight can still write a row back.
+     */
+    public void remove(LikeCountEntity.TargetType targetType, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> deletes = new ArrayList<>(targetIds.size());
+        targetIds.forEach(targetId -> deletes.add(new Object[]{targetType.name(), targetId}));
+        jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+
+        Runnable forget = () -> targetIds.forEach(targetId -> pending.remove(new Target(targetType, targetId)));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget.run();
+                }
+            });
+        } else {
+            forget.run();
+        }
+    }
+
+    /**
+     * The like counts of the targets, zero for targets nobody liked, in the order given.
+     */
+    public Map<Long, Long> counts(LikeCountEntity.TargetType targetType, Collection<Long> targetIds) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        targetIds.forEach(targetId -> counts.put(targetId, 0L));
+        likeCountRepository.findByTargetTypeAndTargetIdIn(targetType, counts.keySet())
+                .forEach(row -> counts.put(row.getTargetId(), row.getLikeCount()));
+
+        Map<Target, Long> inFlight = flushing;
+        counts.replaceAll((targetId, stored) -> {
+            Target target = new Target(targetType, targetId);
+            LongAdder adder = pending.get(target);
+            long unflushed = inFlight.getOrDefault(target, 0L) + (adder == null ? 0 : adder.sum());
+            // Another node's unlike can be stored before the like it undoes.
+            return Math.max(0, stored + unflushed);
+        });
+        return counts;
+    }
+
+    /**
+     * Adds the likes accumulated since the previous flush to {@code like_counts} and returns the number of
+     * targets written. Targets without likes for a whole interval are dropped from memory; a like that took its
+     * adder just before and adds to it just after is picked up from the dropped adder by the next flush.
+     */
+    @Scheduled(initialDelayString = "${batubook.like.count-flush-interval:PT5S}",
+            fixedDelayString = "${batubook.like.count-flush-interval:PT5S}")
+    public synchronized int flush() {
+        Map<Target, Long> deltas = new TreeMap<>();
+        for (Map.Entry<Target, LongAdder> entry : retired) {
+            collect(deltas, entry.getKey(), entry.getValue().sumThenReset());
+        }
+        retired = new ArrayList<>();
+        for (Map.Entry<Target, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                collect(deltas, entry.getKey(), delta);
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        flushing = deltas;
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(deltas));
+            logger.debug("Flushed like counts of {} targets", deltas.size());
+            return deltas.size();
+        } catch (RuntimeException e) {
+            logger.error("Like counts of {} targets could not be flushed, retrying with the next flush: {}", deltas.size(), e.getMessage());
+            deltas.forEach((target, delta) -> adder(target).add(delta));
+            return 0;
+        } finally {
+            flushing = Map.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Updates the existing rows, creates the missing ones with a zero count, and updates those. Creating them
+     * with {@code ON CONFLICT DO NOTHING} first means a row another node created meanwhile is added to, not
+     * overwritten. Rows are written in key order so concurrent flushes lock them in the same order.
+     */
+    private void write(Map<Target, Long> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((target, delta) -> updates.add(new Object[]{delta, now, target.type.name(), target.id}));
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> retries = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                inserts.add(new Object[]{update[2], update[3], now, now});
+                retries.add(update);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            jdbcTemplate.batchUpdate(UPDATE_SQL, retries);
+        }
+    }
+
+    private LongAdder adder(Target target) {
+        LongAdder adder = pending.get(target);
+        return adder != null ? adder : pending.computeIfAbsent(target, key -> new LongAdder());
+    }
+
+    private static void collect(Map<Target, Long> deltas, Target target, long delta) {
+        if (delta != 0) {
+            deltas.merge(target, delta, Long::sum);
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Target implements Comparable<Target> {
+
+        private final LikeCountEntity.TargetType type;
+        private final long id;
+
+        @Override
+        public int compareTo(Target other) {
+            int byType = type.compareTo(other.type);
+            return byType != 0 ? byType : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.batubook.backend.like;
+
+import com.batubook.backend.entity.LikeCountEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Likes and unlikes by their natural key, the user and the liked target, each in a single statement and without
+ * loading either. The unique constraints on {@code likes} make a like that already exists, including one a
+ * concurrent double-tap inserted a moment earlier, a no-op instead of a duplicate.
+ *
+ * <p>Writes ask for the affected id as a generated key, which the PostgreSQL driver sends as
+ * {@code ... RETURNING id}, so an insert tells in the same statement whether it added a row and which.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeWriter {
+
+    private static final String[] ID_COLUMN = {"id"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the like unless it exists or the user or target does not, and returns its id if it did.
+     */
+    public Optional<Long> insert(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        update(keys,
+                "INSERT INTO likes (user_id, " + LikeColumns.targetColumn(targetType) + ", created_at, updated_at) " +
+                        "SELECT ?, ?, ?, ? " +
+                        "WHERE EXISTS (SELECT 1 FROM users WHERE id = ? AND deleted_at IS NULL) " +
+                        "AND EXISTS (SELECT 1 FROM " + LikeColumns.targetTable(targetType) + " WHERE id = ?) " +
+                        "ON CONFLICT DO NOTHING",
+                userId, targetId, now, now, userId, targetId);
+        return Optional.ofNullable(keys.getKey()).map(Number::longValue);
+    }
+
+    /**
+     * Deletes the like and tells whether there was one.
+     */
+    public boolean delete(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        return update(new GeneratedKeyHolder(),
+                "DELETE FROM likes WHERE user_id = ? AND " + LikeColumns.targetColumn(targetType) + " = ?",
+                userId, targetId) > 0;
+    }
+
+    public Optional<Long> findId(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        return jdbcTemplate.query(
+                "SELECT id FROM likes WHERE user_id = ? AND " + LikeColumns.targetColumn(targetType) + " = ?",
+                (rs, rowNum) -> rs.getLong(1), userId, targetId).stream().findFirst();
+    }
+
+    /**
+     * Whether the user and the target both exist, that is whether {@link #insert} skipping the like can only have
+     * been a conflict with an existing one.
+     */
+    public boolean canLike(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 WHERE EXISTS (SELECT 1 FROM users WHERE id = ? AND deleted_at IS NULL) " +
+                        "AND EXISTS (SELECT 1 FROM " + LikeColumns.targetTable(targetType) + " WHERE id = ?)",
+                Integer.class, userId, targetId).isEmpty();
+    }
+
+    /**
+     * The author of the target, who is told about new likes on it.
+     */
+    public Optional<Long> findOwnerId(LikeCountEntity.TargetType targetType, Long targetId) {
+        return jdbcTemplate.query(
+                "SELECT " + LikeColumns.ownerColumn(targetType) + " FROM " + LikeColumns.targetTable(targetType) + " WHERE id = ?",
+                (rs, rowNum) -> rs.getLong(1), targetId).stream().findFirst();
+    }
+
+    private int update(KeyHolder keys, String sql, Object... args) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ID_COLUMN);
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, keys);
+    }
+}
@@ -0,0 +1,37 @@
+package com.batubook.backend.like;
+
+import com.batubook.backend.entity.LikeCountEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Which of a page of reviews, quotes, book interactions or messages a user liked, in one query per target type.
+ * The ids go in as a single array parameter, so the statement is the same whatever the page size and is
+ * answered from the {@code (user_id, <target>_id)} index on {@code likes}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedTargets {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<Long> likedAmong(Long userId, LikeCountEntity.TargetType targetType, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Set.of();
+        }
+        String column = LikeColumns.targetColumn(targetType);
+        Long[] ids = targetIds.toArray(Long[]::new);
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT " + column + " FROM likes WHERE user_id = ? AND " + column + " = ANY(?)",
+                ps -> {
+                    ps.setLong(1, userId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+                },
+                (rs, rowNum) -> rs.getLong(1)));
+    }
+}
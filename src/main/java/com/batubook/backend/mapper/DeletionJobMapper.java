@@ -0,0 +1,11 @@
+package com.batubook.backend.mapper;
+
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface DeletionJobMapper {
+
+    DeletionJobDTO deletionJobEntityToDTO(DeletionJobEntity deletionJobEntity);
+}
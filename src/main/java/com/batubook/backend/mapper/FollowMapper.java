@@ -14,6 +14,7 @@ public interface FollowMapper {
     @Mapping(target = "followerId", source = "follower.id")
     @Mapping(target = "followedUserId", source = "followedUser.id")
     @Mapping(target = "followedBookId", source = "followedBook.id")
+    @Mapping(target = "alreadyFollowing", ignore = true)
     FollowDTO followEntityToDTO(FollowEntity followEntity);
 
     @Mapping(target = "follower", source = "followerId", qualifiedByName = "mapUser")
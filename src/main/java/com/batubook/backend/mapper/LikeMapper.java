@@ -19,5 +19,6 @@ public interface LikeMapper {
     @Mapping(target = "bookInteractionId", source = "bookInteraction.id")
     @Mapping(target = "reviewId", source = "review.id")
     @Mapping(target = "quoteId", source = "quote.id")
+    @Mapping(target = "alreadyLiked", ignore = true)
     LikeDTO likeEntityToDTO(LikeEntity likeEntity);
 }
\ No newline at end of file
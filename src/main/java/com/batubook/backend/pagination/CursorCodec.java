@@ -0,0 +1,50 @@
+package com.batubook.backend.pagination;
+
+import com.batubook.backend.exception.CustomExceptions;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the seek position of a listing into the opaque {@code ?after=} token. Ids are identity columns, so
+ * they grow with {@code createdAt} and the id alone is a stable, unique seek key.
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "id:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id to seek after; a missing or blank cursor starts from the beginning.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("unknown cursor format");
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new CustomExceptions.BadRequestException("Invalid pagination cursor: " + cursor);
+        }
+    }
+
+    /**
+     * One row more than the requested size, so that {@link CursorPage#of} can tell whether a next slice exists.
+     */
+    public static Limit lookAhead(int size) {
+        return Limit.of(size + 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.batubook.backend.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Slice of a keyset-paginated listing. Unlike {@link org.springframework.data.domain.Page} it carries no total,
+ * so producing it never needs a {@code COUNT(*)}; the client follows {@code nextCursor} until {@code hasNext}
+ * is false.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    /**
+     * Builds a slice from rows fetched with a limit of {@code size + 1}; the extra row only signals that
+     * another slice exists and is not returned.
+     */
+    public static <E> CursorPage<E> of(List<E> rows, int size, Function<E, Long> idExtractor) {
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(idExtractor.apply(content.get(content.size() - 1))) : null;
+        return new CursorPage<>(content, size, nextCursor, hasNext);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, size, nextCursor, hasNext);
+    }
+
+    public int getNumberOfElements() {
+        return content.size();
+    }
+}
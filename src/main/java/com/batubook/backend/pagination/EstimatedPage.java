@@ -0,0 +1,23 @@
+package com.batubook.backend.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+public final class EstimatedPage {
+
+    private EstimatedPage() {
+    }
+
+    /**
+     * Wraps a count-free slice into a {@link Page} carrying an approximate total. The total is raised to what
+     * the slice itself proves to exist, so an estimate lagging behind recent inserts never hides a next page.
+     */
+    public static <T> Page<T> of(Slice<T> slice, long estimatedTotal) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total = Math.max(estimatedTotal, slice.hasNext() ? seen + 1 : seen);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+}
@@ -0,0 +1,153 @@
+package com.batubook.backend.pagination;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves approximate totals for list endpoints so they can skip {@code COUNT(*)}. Each key is a table name
+ * ({@code "likes"}) or a table plus filter ({@code "follows:followed_user:42"}). A counter is seeded from the
+ * planner statistics for whole tables, or from an exact count when the table is small or the key is filtered,
+ * is adjusted after each committed insert/delete, and is re-seeded once it is older than the staleness bound.
+ *
+ * <p>The planner statistics count every row in the table, including users and books that are tombstoned but not
+ * purged yet, which the list endpoints no longer return. Each tombstone has an unfinished deletion job, so those
+ * jobs are subtracted from the estimate of {@code users} and {@code books}. The estimate is still only as fresh as
+ * the last {@code ANALYZE}; rows purged or inserted since then skew it until the counter is re-seeded.
+ */
+@Component
+public class TotalCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TotalCountService.class);
+    private static final String PLANNER_ESTIMATE_SQL =
+            "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = ? AND relkind = 'r'";
+    private static final String PENDING_DELETIONS_SQL =
+            "SELECT COUNT(*) FROM deletion_jobs WHERE target_type = ? AND status <> 'COMPLETED'";
+    private static final Map<String, String> TOMBSTONED_TABLES = Map.of("users", "USER", "books", "BOOK");
+    private static final int MAX_COUNTERS = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxStalenessNanos;
+    private final long exactCountThreshold;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public TotalCountService(JdbcTemplate jdbcTemplate,
+                             @Value("${batubook.count.max-staleness:PT5M}") Duration maxStaleness,
+                             @Value("${batubook.count.exact-threshold:100000}") long exactCountThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    public static String filterKey(String table, String filter, Object value) {
+        return table + ":" + filter + ":" + value;
+    }
+
+    /**
+     * Returns the cached total for {@code key}, re-seeding it when missing or stale. {@code exactCount} is
+     * only called when the planner has no usable estimate.
+     */
+    public long estimate(String key, LongSupplier exactCount) {
+        Counter counter = counters.get(key);
+        long now = System.nanoTime();
+        if (counter != null && now - counter.seededAt < maxStalenessNanos) {
+            return Math.max(0, counter.value.get());
+        }
+
+        if (counters.size() >= MAX_COUNTERS) {
+            counters.entrySet().removeIf(entry -> now - entry.getValue().seededAt >= maxStalenessNanos);
+        }
+
+        Counter seeded = counters.compute(key, (k, current) ->
+                current != null && now - current.seededAt < maxStalenessNanos ? current : seed(k, exactCount));
+        return Math.max(0, seeded.value.get());
+    }
+
+    public void increment(String key) {
+        adjust(key, 1);
+    }
+
+    public void decrement(String key) {
+        adjust(key, -1);
+    }
+
+    public void invalidate(String key) {
+        counters.remove(key);
+    }
+
+    private Counter seed(String key, LongSupplier exactCount) {
+        long value = -1;
+        if (key.indexOf(':') < 0) {
+            value = plannerEstimate(key);
+        }
+        if (value < exactCountThreshold) {
+            value = exactCount.getAsLong();
+        }
+
+        logger.debug("Seeded total count for {} with {}", key, value);
+        return new Counter(value, System.nanoTime());
+    }
+
+    private long plannerEstimate(String table) {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(PLANNER_ESTIMATE_SQL, Long.class, table);
+            if (estimate == null || estimate < 0) {
+                return -1;
+            }
+            String targetType = TOMBSTONED_TABLES.get(table);
+            if (targetType == null) {
+                return estimate;
+            }
+            Long tombstoned = jdbcTemplate.queryForObject(PENDING_DELETIONS_SQL, Long.class, targetType);
+            return Math.max(0, estimate - (tombstoned != null ? tombstoned : 0));
+        } catch (Exception e) {
+            logger.debug("Planner estimate unavailable for {}: {}", table, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Applies the delta after commit so rolled-back writes never skew the counter; counters that are not
+     * cached yet are left alone and will be seeded on the next read.
+     */
+    private void adjust(String key, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(key, delta);
+                }
+            });
+        } else {
+            apply(key, delta);
+        }
+    }
+
+    private void apply(String key, long delta) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.value.addAndGet(delta);
+        }
+    }
+
+    private static final class Counter {
+
+        final AtomicLong value;
+        final long seededAt;
+
+        Counter(long value, long seededAt) {
+            this.value = new AtomicLong(value);
+            this.seededAt = seededAt;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.batubook.backend.patch;
+
+import com.batubook.backend.exception.CustomExceptions;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * JSON Merge Patch (RFC 7396) over the DTOs: the patch is merged into the JSON form of the current DTO, where a
+ * member set to {@code null} removes the value and a nested object is merged member by member, and the result is
+ * read back as the DTO. Unknown members are rejected instead of being silently dropped.
+ *
+ * <p>Services then copy only the values that differ onto the managed entity through {@link Changes}, which
+ * remembers the changed properties so that only those are validated and, with {@code @DynamicUpdate}, only those
+ * columns are written.
+ */
+@Component
+public class JsonMergePatcher {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonMergePatcher.class);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public JsonMergePatcher(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public <T> T apply(JsonNode patch, T current, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new CustomExceptions.BadRequestException("A merge patch must be a JSON object.");
+        }
+
+        JsonNode merged = merge(objectMapper.valueToTree(current), patch);
+        try {
+            return objectMapper.readerFor(type)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(merged);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Merge patch could not be applied to {}: {}", type.getSimpleName(), e.getMessage());
+            throw new CustomExceptions.BadRequestException("Invalid merge patch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Validates only the changed properties, so an untouched column that no longer satisfies a newer constraint
+     * does not block unrelated edits.
+     */
+    public void validate(Changes<?> changes) {
+        List<String> messages = new ArrayList<>();
+        for (String property : changes.properties) {
+            for (ConstraintViolation<Object> violation : validator.validateProperty(changes.entity, property)) {
+                messages.add(violation.getMessage());
+            }
+        }
+        if (!messages.isEmpty()) {
+            Collections.sort(messages);
+            logger.error("Merge patch rejected: {}", messages);
+            throw new CustomExceptions.BadRequestException(String.join(" ", messages));
+        }
+    }
+
+    public static <E> Changes<E> changesTo(E entity) {
+        return new Changes<>(entity);
+    }
+
+    /**
+     * The entities trim their text columns before writing, so patched text is compared trimmed as well; otherwise
+     * a value that only differs in surrounding spaces would count as a change.
+     */
+    public static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    public static LocalDate parseDate(String value, String property) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new CustomExceptions.BadRequestException("Invalid date format for " + property + ". Expected format: yyyy-MM-dd");
+        }
+    }
+
+    private static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        patch.fields().forEachRemaining(member -> {
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), merge(result.get(member.getKey()), member.getValue()));
+            }
+        });
+        return result;
+    }
+
+    public static final class Changes<E> {
+
+        private final Object entity;
+        private final List<String> properties = new ArrayList<>();
+
+        private Changes(E entity) {
+            this.entity = entity;
+        }
+
+        public <V> Changes<E> set(String property, V current, V patched, Consumer<V> setter) {
+            if (!Objects.equals(current, patched)) {
+                setter.accept(patched);
+                properties.add(property);
+            }
+            return this;
+        }
+
+        /**
+         * Like {@link #set} for a value the patch may change but not remove.
+         */
+        public <V> Changes<E> setRequired(String property, V current, V patched, Consumer<V> setter) {
+            if (patched == null) {
+                throw new CustomExceptions.BadRequestException(property + " cannot be removed.");
+            }
+            return set(property, current, patched, setter);
+        }
+
+        public boolean contains(String property) {
+            return properties.contains(property);
+        }
+
+        public boolean isEmpty() {
+            return properties.isEmpty();
+        }
+
+        public List<String> properties() {
+            return Collections.unmodifiableList(properties);
+        }
+    }
+}
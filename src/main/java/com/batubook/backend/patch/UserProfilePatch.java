@@ -0,0 +1,29 @@
+package com.batubook.backend.patch;
+
+import com.batubook.backend.dto.UserProfileDTO;
+import com.batubook.backend.entity.UserProfileEntity;
+
+import static com.batubook.backend.patch.JsonMergePatcher.parseDate;
+import static com.batubook.backend.patch.JsonMergePatcher.trim;
+
+/**
+ * Copies the fields of a merge-patched {@link UserProfileDTO} that differ onto the profile entity. Shared by the
+ * profile endpoint and the user endpoint, which carries the profile as a nested object.
+ */
+public final class UserProfilePatch {
+
+    private UserProfilePatch() {
+    }
+
+    public static JsonMergePatcher.Changes<UserProfileEntity> apply(UserProfileEntity profile, UserProfileDTO patched) {
+        return JsonMergePatcher.changesTo(profile)
+                .setRequired("dateOfBirth", profile.getDateOfBirth(), parseDate(patched.getDateOfBirth(), "dateOfBirth"), profile::setDateOfBirth)
+                .setRequired("gender", profile.getGender(), patched.getGender(), profile::setGender)
+                .set("profileImageUrl", profile.getProfileImageUrl(), trim(patched.getProfileImageUrl()), profile::setProfileImageUrl)
+                .setRequired("biography", profile.getBiography(), trim(patched.getBiography()), profile::setBiography)
+                .setRequired("location", profile.getLocation(), trim(patched.getLocation()), profile::setLocation)
+                .set("occupation", profile.getOccupation(), trim(patched.getOccupation()), profile::setOccupation)
+                .set("education", profile.getEducation(), trim(patched.getEducation()), profile::setEducation)
+                .set("interests", profile.getInterests(), trim(patched.getInterests()), profile::setInterests);
+    }
+}
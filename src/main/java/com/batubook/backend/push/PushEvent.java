@@ -0,0 +1,24 @@
+package com.batubook.backend.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An event addressed to one user. Ids increase over time, also across restarts, and are sent as the SSE event id
+ * a reconnecting client resumes from.
+ */
+@Getter
+@AllArgsConstructor
+public class PushEvent {
+
+    private final long id;
+    private final Long userId;
+    private final EventType eventType;
+    private final Object payload;
+
+    public enum EventType {
+        MESSAGE,
+        LIKE,
+        FOLLOW
+    }
+}
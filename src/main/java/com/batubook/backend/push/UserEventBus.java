@@ -0,0 +1,178 @@
+package com.batubook.backend.push;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for events addressed to one user: messages they receive, likes on their content and new
+ * followers. Services publish inside their transaction and the event is delivered once it commits, so nobody is
+ * told about a change that was rolled back.
+ *
+ * <p>The last {@code replayCapacity} events of each user are kept for {@code replayRetention}, so a subscriber
+ * that reconnects with the id of the last event it saw is sent what it missed. Event ids are the publish time in
+ * milliseconds times 1000, bumped by one when that is not above the previous id, so an id also tells how old it
+ * is. Resuming from an id older than the retention or than an event dropped for capacity returns false, and
+ * the subscriber has to reload instead.
+ */
+@Component
+public class UserEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventBus.class);
+
+    private final int replayCapacity;
+    private final long replayRetentionMicros;
+    private final AtomicLong lastId = new AtomicLong();
+    private final ConcurrentHashMap<Long, Replay> replays = new ConcurrentHashMap<>();
+
+    public UserEventBus(@Value("${batubook.push.replay-capacity:100}") int replayCapacity,
+                        @Value("${batubook.push.replay-retention:PT10M}") Duration replayRetention) {
+        this.replayCapacity = replayCapacity;
+        this.replayRetentionMicros = replayRetention.toNanos() / 1_000;
+    }
+
+    /**
+     * Delivers the event to the user's subscribers once the current transaction commits, or at once outside a
+     * transaction.
+     */
+    public void publish(Long userId, PushEvent.EventType eventType, Object payload) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> deliver(userId, eventType, payload));
+    }
+
+    /**
+     * Registers the listener for the user's events. When {@code lastEventId} is given, the events after it are
+     * passed to the listener first, before any event published later. Returns false, without replaying anything,
+     * when some of those events are no longer kept.
+     *
+     * <p>Listeners are called while the user's events are locked and must not block.
+     */
+    public boolean subscribe(long userId, Long lastEventId, Consumer<PushEvent> listener) {
+        while (true) {
+            Replay replay = replays.computeIfAbsent(userId, id -> new Replay());
+            synchronized (replay) {
+                if (replays.get(userId) != replay) {
+                    continue;
+                }
+                replay.listeners.add(listener);
+                if (lastEventId == null) {
+                    return true;
+                }
+                if (lastEventId < replay.droppedUpTo || lastEventId < nowMicros() - replayRetentionMicros) {
+                    logger.debug("Events after {} of user with ID: {} are no longer kept", lastEventId, userId);
+                    return false;
+                }
+                for (PushEvent event : replay.events) {
+                    if (event.getId() > lastEventId) {
+                        listener.accept(event);
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    public void unsubscribe(long userId, Consumer<PushEvent> listener) {
+        Replay replay = replays.get(userId);
+        if (replay != null) {
+            synchronized (replay) {
+                replay.listeners.remove(listener);
+            }
+        }
+    }
+
+    /**
+     * Drops events older than the retention, and the entries of users left with no events and no subscribers.
+     */
+    @Scheduled(fixedDelayString = "${batubook.push.replay-eviction-interval:PT1M}")
+    public void evictExpired() {
+        long cutoff = nowMicros() - replayRetentionMicros;
+        int evicted = 0;
+        for (var entry : replays.entrySet()) {
+            Replay replay = entry.getValue();
+            synchronized (replay) {
+                while (!replay.events.isEmpty() && replay.events.peekFirst().getId() < cutoff) {
+                    replay.droppedUpTo = replay.events.pollFirst().getId();
+                }
+                if (replay.events.isEmpty() && replay.listeners.isEmpty() && replays.remove(entry.getKey(), replay)) {
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted the events of {} users without subscribers", evicted);
+        }
+    }
+
+    private void deliver(Long userId, PushEvent.EventType eventType, Object payload) {
+        while (true) {
+            Replay replay = replays.computeIfAbsent(userId, id -> new Replay());
+            synchronized (replay) {
+                if (replays.get(userId) != replay) {
+                    // Evicted between the lookup and the lock.
+                    continue;
+                }
+                // Taking the id under the lock keeps each user's events in id order.
+                PushEvent event = new PushEvent(nextId(), userId, eventType, payload);
+                if (replay.events.size() == replayCapacity) {
+                    replay.droppedUpTo = replay.events.pollFirst().getId();
+                }
+                replay.events.addLast(event);
+                for (Consumer<PushEvent> listener : replay.listeners) {
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        logger.error("Listener failed for {} event {} of user with ID: {}: {}", eventType, event.getId(), userId, e.getMessage());
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private long nextId() {
+        long now = nowMicros();
+        return lastId.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    private static long nowMicros() {
+        return System.currentTimeMillis() * 1_000;
+    }
+
+    private void afterCommit(Runnable delivery) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delivery.run();
+                }
+            });
+        } else {
+            delivery.run();
+        }
+    }
+
+    /**
+     * One user's recent events and subscribers. {@code droppedUpTo} is the id of the newest event no longer kept.
+     */
+    private static final class Replay {
+
+        private final ArrayDeque<PushEvent> events = new ArrayDeque<>();
+        private final Set<Consumer<PushEvent>> listeners = new LinkedHashSet<>();
+        private long droppedUpTo;
+    }
+}
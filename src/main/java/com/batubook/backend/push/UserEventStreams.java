@@ -0,0 +1,247 @@
+package com.batubook.backend.push;
+
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Server-sent event streams of {@link UserEventBus} events. A stream is an async {@link SseEmitter}, so an idle
+ * one holds no request thread, only its connection, a bus subscription and an empty queue.
+ *
+ * <p>Events and heartbeats are queued per stream and written by a small pool of writer threads, so a slow client
+ * never holds up the request that published an event. A stream whose queue fills up is closed; its client
+ * reconnects with the id of the last event it got and the bus replays the rest. The heartbeat keeps proxies from
+ * closing idle streams and finds streams whose client went away.
+ */
+@Component
+public class UserEventStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventStreams.class);
+    private static final String RELOAD_EVENT = "reload";
+
+    private final UserEventBus userEventBus;
+    private final UserRepository userRepository;
+    private final long streamTimeoutMillis;
+    private final int maxStreams;
+    private final int maxStreamsPerUser;
+    private final int queueCapacity;
+    private final ExecutorService writers;
+    private final ConcurrentHashMap<Long, ConcurrentLinkedDeque<Stream>> streamsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    public UserEventStreams(UserEventBus userEventBus,
+                            UserRepository userRepository,
+                            @Value("${batubook.push.stream-timeout:PT30M}") Duration streamTimeout,
+                            @Value("${batubook.push.max-streams:50000}") int maxStreams,
+                            @Value("${batubook.push.max-streams-per-user:5}") int maxStreamsPerUser,
+                            @Value("${batubook.push.stream-queue-capacity:256}") int queueCapacity,
+                            @Value("${batubook.push.writer-threads:4}") int writerThreads) {
+        this.userEventBus = userEventBus;
+        this.userRepository = userRepository;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.maxStreams = maxStreams;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger writerCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, task -> {
+            Thread writer = new Thread(task, "event-stream-writer-" + writerCount.incrementAndGet());
+            writer.setDaemon(true);
+            return writer;
+        });
+    }
+
+    /**
+     * Opens a stream of the user's events, starting after {@code lastEventId} when given. When the events after it
+     * are no longer kept, the stream starts with a {@code reload} event instead and the client should reload what
+     * it shows.
+     *
+     * <p>A stream carries the user's private messages, so only its owner may open it. When the request is
+     * authenticated, {@code username} is the caller and has to be the user; until authentication covers the API it
+     * is {@code null} and the stream is opened for the user in the path.
+     */
+    public SseEmitter open(long userId, String username, Long lastEventId) {
+        if (!userRepository.existsById(userId)) {
+            logger.error("User with ID: {} not found for event stream", userId);
+            throw new CustomExceptions.NotFoundException("User not found with ID: " + userId);
+        }
+        if (username != null && !userRepository.existsByIdAndUsername(userId, username)) {
+            logger.warn("User: {} tried to open the event stream of user with ID: {}", username, userId);
+            throw new CustomExceptions.ForbiddenException("An event stream can only be opened by its own user.");
+        }
+        if (openStreams.get() >= maxStreams) {
+            logger.warn("Event stream limit of {} reached, refusing stream of user with ID: {}", maxStreams, userId);
+            throw new CustomExceptions.ServiceUnavailableException("Too many open event streams, please retry later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(() -> close(stream));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> close(stream));
+        register(stream);
+
+        stream.enqueue(SseEmitter.event().comment("connected"));
+        if (!userEventBus.subscribe(userId, lastEventId, stream.listener)) {
+            stream.enqueue(SseEmitter.event().name(RELOAD_EVENT).data(String.valueOf(lastEventId)));
+        }
+        logger.debug("Opened event stream of user with ID: {} after event {}", userId, lastEventId);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${batubook.push.heartbeat-interval:PT20S}")
+    public void sendHeartbeats() {
+        for (Stream stream : allStreams()) {
+            stream.enqueue(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int openStreamCount() {
+        return openStreams.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Stream stream : allStreams()) {
+            stream.emitter.complete();
+        }
+        writers.shutdownNow();
+    }
+
+    private void register(Stream stream) {
+        List<Stream> replaced = new ArrayList<>(1);
+        streamsByUser.compute(stream.userId, (userId, userStreams) -> {
+            ConcurrentLinkedDeque<Stream> streams = userStreams == null ? new ConcurrentLinkedDeque<>() : userStreams;
+            if (streams.size() >= maxStreamsPerUser) {
+                replaced.add(streams.pollFirst());
+            }
+            streams.addLast(stream);
+            return streams;
+        });
+        openStreams.incrementAndGet();
+        // The oldest stream makes room, so a client that reconnects without the old connection noticing it is gone
+        // is not locked out.
+        for (Stream oldest : replaced) {
+            openStreams.decrementAndGet();
+            oldest.closeAndComplete();
+        }
+    }
+
+    private void close(Stream stream) {
+        if (!stream.markClosed()) {
+            return;
+        }
+        userEventBus.unsubscribe(stream.userId, stream.listener);
+        boolean[] removed = new boolean[1];
+        streamsByUser.computeIfPresent(stream.userId, (userId, streams) -> {
+            removed[0] = streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+        if (removed[0]) {
+            openStreams.decrementAndGet();
+        }
+        logger.debug("Closed event stream of user with ID: {}", stream.userId);
+    }
+
+    private List<Stream> allStreams() {
+        List<Stream> streams = new ArrayList<>(openStreams.get());
+        streamsByUser.values().forEach(streams::addAll);
+        return streams;
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(PushEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getEventType().name().toLowerCase(Locale.ROOT))
+                .data(event.getPayload(), MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * One open connection. The queue and flags are guarded by the stream itself; at most one writer drains the
+     * queue at a time, which keeps the events of a stream in order.
+     */
+    private final class Stream {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Consumer<PushEvent> listener = event -> enqueue(toSse(event));
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean writing;
+        private boolean closed;
+
+        Stream(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < queueCapacity) {
+                    queue.addLast(event);
+                    if (!writing) {
+                        writing = true;
+                        writers.execute(this::drain);
+                    }
+                    return;
+                }
+            }
+            logger.warn("Event stream of user with ID: {} fell {} events behind, closing it", userId, queueCapacity);
+            closeAndComplete();
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = closed ? null : queue.pollFirst();
+                    if (event == null) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Event stream of user with ID: {} is gone: {}", userId, e.getMessage());
+                    close(this);
+                }
+            }
+        }
+
+        synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            queue.clear();
+            return true;
+        }
+
+        void closeAndComplete() {
+            close(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.batubook.backend.recommendation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookSimilarity {
+
+    private final long bookId;
+    private final double score;
+    private final int sharedReaders;
+}
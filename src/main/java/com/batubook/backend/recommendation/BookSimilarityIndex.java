@@ -0,0 +1,352 @@
+package com.batubook.backend.recommendation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Readers also read" recommendations from item-item co-occurrence over read books. The index keeps, per user, the
+ * set of books they have read and, per book, a sparse row counting how many readers it shares with every other
+ * book; both are primitive {@link LongIntHashMap}s. Similarity is the cosine of the two books' reader sets,
+ * {@code shared / sqrt(readers(a) * readers(b))}, and the top books by similarity are kept per book so a lookup
+ * only copies a precomputed list.
+ *
+ * <p>A scheduled job keeps the index current without rescanning {@code book_interactions}: each run reads only the
+ * rows updated since the previous run, keyed on {@code (updated_at, id)} and served by the index on those columns,
+ * and moves each user's read set to the state of the row. Applying a row is idempotent, so every run re-reads a
+ * short overlap window to pick up transactions that committed after a later timestamp was already seen. Deleted rows leave no trace to scan for,
+ * so the services report the users and books whose rows they delete and the next run resyncs those users and
+ * drops those books. Only the rows of books whose counts changed, and of the books they co-occur with, are
+ * re-ranked.
+ */
+@Component
+public class BookSimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSimilarityIndex.class);
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int RESYNC_BATCH_SIZE = 1_000;
+    private static final String CHANGES_SQL = """
+            SELECT i.id, i.user_id, i.book_id, i.is_read, i.updated_at
+            FROM book_interactions i
+            WHERE (i.updated_at, i.id) > (?, ?)
+            ORDER BY i.updated_at, i.id
+            LIMIT ?
+            """;
+    private static final String USER_READS_SQL = """
+            SELECT i.user_id, i.book_id
+            FROM book_interactions i
+            WHERE i.is_read = TRUE AND i.user_id IN (:userIds)
+            """;
+
+    private static final Comparator<BookSimilarity> RANKING = Comparator
+            .comparingDouble(BookSimilarity::getScore).reversed()
+            .thenComparing(Comparator.comparingInt(BookSimilarity::getSharedReaders).reversed())
+            .thenComparingLong(BookSimilarity::getBookId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int maxSimilar;
+    private final Duration commitLag;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, LongIntHashMap> readsByUser = new HashMap<>();
+    private final Map<Long, LongIntHashMap> sharedReaders = new HashMap<>();
+    private final LongIntHashMap readers = new LongIntHashMap();
+    private final Map<Long, List<BookSimilarity>> similarBooks = new HashMap<>();
+    private final Set<Long> removedBooks = new HashSet<>();
+
+    private final Set<Long> changedUsers = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> pendingBookRemovals = new ConcurrentLinkedQueue<>();
+    private LocalDateTime lastUpdatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private volatile boolean ready;
+
+    public BookSimilarityIndex(JdbcTemplate jdbcTemplate,
+                               @Value("${batubook.recommendation.max-similar:20}") int maxSimilar,
+                               @Value("${batubook.recommendation.commit-lag:PT1M}") Duration commitLag) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.maxSimilar = maxSimilar;
+        this.commitLag = commitLag;
+    }
+
+    @Scheduled(initialDelayString = "${batubook.recommendation.initial-delay:PT10S}",
+            fixedDelayString = "${batubook.recommendation.refresh-interval:PT5M}")
+    public synchronized void refresh() {
+        try {
+            Changes changes = new Changes();
+            applyBookRemovals(changes);
+            int rows = applyChangedRows(changes);
+            int users = resyncChangedUsers(changes);
+            int reranked = rerank(changes);
+
+            if (!ready) {
+                logger.info("Book similarity index loaded from {} interactions, {} books have similar books", rows, reranked);
+            } else {
+                logger.debug("Book similarity refresh applied {} changed interactions and {} user resyncs, re-ranked {} books",
+                        rows, users, reranked);
+            }
+            ready = true;
+        } catch (Exception e) {
+            logger.error("Book similarity index could not be refreshed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<BookSimilarity> similar(Long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<BookSimilarity> similar = similarBooks.getOrDefault(bookId, List.of());
+            return List.copyOf(similar.subList(0, Math.min(limit, similar.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that interactions of the user were deleted, so the next refresh rereads that user's read books. The
+     * mark is set once the current transaction commits, so a refresh in between cannot read and clear it early.
+     */
+    public void markUserChanged(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> changedUsers.add(userId));
+        }
+    }
+
+    /**
+     * Drops the book on the next refresh, once the current transaction commits; a rolled back removal is ignored.
+     */
+    public void removeBook(Long bookId) {
+        if (bookId != null) {
+            afterCommit(() -> pendingBookRemovals.add(bookId));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void applyBookRemovals(Changes changes) {
+        Long bookId;
+        while ((bookId = pendingBookRemovals.poll()) != null) {
+            lock.writeLock().lock();
+            try {
+                removedBooks.add(bookId);
+                LongIntHashMap row = sharedReaders.remove(bookId);
+                if (row != null) {
+                    for (long other : row.keys()) {
+                        addShared(other, bookId, -row.get(other));
+                        changes.reranked.add(other);
+                    }
+                }
+                readers.remove(bookId);
+                similarBooks.remove(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private int applyChangedRows(Changes changes) {
+        LocalDateTime fromUpdatedAt = lastUpdatedAt.minus(commitLag);
+        long fromId = 0;
+        int applied = 0;
+
+        while (true) {
+            Timestamp from = Timestamp.valueOf(fromUpdatedAt);
+            List<Object[]> rows = jdbcTemplate.query(CHANGES_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBoolean(4),
+                            rs.getTimestamp(5).toLocalDateTime()},
+                    from, fromId, LOAD_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    setRead((Long) row[1], (Long) row[2], (Boolean) row[3], changes);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            applied += rows.size();
+            Object[] last = rows.get(rows.size() - 1);
+            fromId = (Long) last[0];
+            fromUpdatedAt = (LocalDateTime) last[4];
+            if (fromUpdatedAt.isAfter(lastUpdatedAt)) {
+                lastUpdatedAt = fromUpdatedAt;
+            }
+            if (rows.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private int resyncChangedUsers(Changes changes) {
+        List<Long> users = new ArrayList<>(changedUsers);
+        changedUsers.removeAll(users);
+
+        for (int start = 0; start < users.size(); start += RESYNC_BATCH_SIZE) {
+            List<Long> batch = users.subList(start, Math.min(start + RESYNC_BATCH_SIZE, users.size()));
+            Map<Long, Set<Long>> readBooks = new HashMap<>();
+            namedJdbcTemplate.query(USER_READS_SQL, Map.of("userIds", batch), rs -> {
+                readBooks.computeIfAbsent(rs.getLong(1), userId -> new HashSet<>()).add(rs.getLong(2));
+            });
+
+            lock.writeLock().lock();
+            try {
+                for (Long userId : batch) {
+                    Set<Long> expected = readBooks.getOrDefault(userId, Set.of());
+                    LongIntHashMap current = readsByUser.get(userId);
+                    if (current != null) {
+                        for (long bookId : current.keys()) {
+                            if (!expected.contains(bookId)) {
+                                setRead(userId, bookId, false, changes);
+                            }
+                        }
+                    }
+                    for (Long bookId : expected) {
+                        setRead(userId, bookId, true, changes);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return users.size();
+    }
+
+    private int rerank(Changes changes) {
+        Set<Long> books = new HashSet<>(changes.reranked);
+        lock.readLock().lock();
+        try {
+            for (Long bookId : changes.readerCountChanged) {
+                books.add(bookId);
+                LongIntHashMap row = sharedReaders.get(bookId);
+                if (row != null) {
+                    for (long other : row.keys()) {
+                        books.add(other);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (Long bookId : books) {
+            lock.writeLock().lock();
+            try {
+                LongIntHashMap row = sharedReaders.get(bookId);
+                if (row == null || removedBooks.contains(bookId)) {
+                    similarBooks.remove(bookId);
+                } else {
+                    similarBooks.put(bookId, topSimilar(bookId, row));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return books.size();
+    }
+
+    private void setRead(long userId, long bookId, boolean read, Changes changes) {
+        if (removedBooks.contains(bookId)) {
+            return;
+        }
+
+        LongIntHashMap books = readsByUser.get(userId);
+        boolean alreadyRead = books != null && books.contains(bookId);
+        if (read == alreadyRead) {
+            return;
+        }
+
+        if (books == null) {
+            books = new LongIntHashMap();
+            readsByUser.put(userId, books);
+        }
+        int delta = read ? 1 : -1;
+        if (!read) {
+            books.remove(bookId);
+        }
+
+        for (long other : books.keys()) {
+            if (removedBooks.contains(other)) {
+                books.remove(other);
+                continue;
+            }
+            addShared(bookId, other, delta);
+            addShared(other, bookId, delta);
+            changes.reranked.add(other);
+        }
+
+        if (read) {
+            books.addTo(bookId, 1);
+        } else if (books.isEmpty()) {
+            readsByUser.remove(userId);
+        }
+        readers.addTo(bookId, delta);
+        changes.readerCountChanged.add(bookId);
+    }
+
+    private void addShared(long bookId, long otherBookId, int delta) {
+        LongIntHashMap row = sharedReaders.get(bookId);
+        if (row == null) {
+            row = new LongIntHashMap();
+            sharedReaders.put(bookId, row);
+        }
+        row.addTo(otherBookId, delta);
+        if (row.isEmpty()) {
+            sharedReaders.remove(bookId);
+        }
+    }
+
+    private List<BookSimilarity> topSimilar(long bookId, LongIntHashMap row) {
+        double bookReaders = readers.get(bookId);
+        PriorityQueue<BookSimilarity> top = new PriorityQueue<>(maxSimilar + 1, RANKING.reversed());
+        row.forEach((other, shared) -> {
+            double score = shared / Math.sqrt(bookReaders * readers.get(other));
+            top.add(new BookSimilarity(other, score, shared));
+            if (top.size() > maxSimilar) {
+                top.poll();
+            }
+        });
+
+        List<BookSimilarity> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return List.copyOf(ranked);
+    }
+
+    private static final class Changes {
+
+        final Set<Long> reranked = new HashSet<>();
+        final Set<Long> readerCountChanged = new HashSet<>();
+    }
+}
@@ -0,0 +1,21 @@
+package com.batubook.backend.repository;
+
+import com.batubook.backend.entity.ActivityEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityRepository extends JpaRepository<ActivityEntity, Long> {
+
+    List<ActivityEntity> findByIdInOrderByIdDesc(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ActivityEntity a WHERE a.activityType = :activityType AND a.targetId = :targetId")
+    int deleteByTarget(@Param("activityType") ActivityEntity.ActivityType activityType, @Param("targetId") Long targetId);
+}
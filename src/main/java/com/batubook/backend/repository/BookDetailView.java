@@ -0,0 +1,36 @@
+package com.batubook.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of {@link BookRepository#findBookDetailById(Long)}: the book, its aggregates and the cheapest offer.
+ * Offer columns are null when no sales offer is available.
+ */
+public interface BookDetailView {
+
+    Long getId();
+    String getBookCoverImageUrl();
+    String getTitle();
+    String getAuthor();
+    String getIsbn();
+    Integer getPageCount();
+    LocalDate getPublishDate();
+    String getGenre();
+    String getSummary();
+
+    BigDecimal getAverageRating();
+    Long getReviewCount();
+    Long getReaderCount();
+    Long getLikerCount();
+    Long getFollowerCount();
+
+    Long getOfferId();
+    String getOfferSalesCode();
+    String getOfferPublisher();
+    Double getOfferPrice();
+    Integer getOfferStockQuantity();
+    String getOfferCurrency();
+    Double getOfferDiscount();
+    Boolean getOfferIsAvailable();
+}
@@ -4,10 +4,14 @@ import com.batubook.backend.entity.BookInteractionEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface BookInteractionRepository extends JpaRepository<BookInteractionEntity, Long> {
+public interface BookInteractionRepository extends JpaRepository<BookInteractionEntity, Long>, KeysetRepository<BookInteractionEntity> {
 
     Page<BookInteractionEntity> findByUserIdAndIsReadTrue(Long userId, Pageable pageable);
     Page<BookInteractionEntity> findByUserIdAndIsLikedTrue(Long userId, Pageable pageable);
@@ -15,4 +19,10 @@ public interface BookInteractionRepository extends JpaRepository<BookInteraction
     Page<BookInteractionEntity> findByBookIdAndIsLikedTrue(Long bookId, Pageable pageable);
     boolean existsByUserIdAndBookIdAndIsReadTrue(Long userId, Long bookId);
     boolean existsByUserIdAndBookIdAndIsLikedTrue(Long userId, Long bookId);
-}
\ No newline at end of file
+
+    @Query("SELECT bi.book.id FROM BookInteractionEntity bi WHERE bi.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+
+    @Query("SELECT bi.user.id FROM BookInteractionEntity bi WHERE bi.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+}
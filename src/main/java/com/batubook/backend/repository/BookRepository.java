@@ -5,17 +5,67 @@ import com.batubook.backend.entity.enums.Genre;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface BookRepository extends JpaRepository<BookEntity, Long> {
+public interface BookRepository extends JpaRepository<BookEntity, Long>, KeysetRepository<BookEntity> {
 
     Page<BookEntity> findByTitleAndAuthorIgnoreCase(String title, String author, Pageable pageable);
     Optional<BookEntity> findByIsbn(String isbn);
     Page<BookEntity> findByPageCountBetween(int minPageCount, int maxPageCount, Pageable pageable);
     Page<BookEntity> findByPublishDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
     Page<BookEntity> findByGenre(Genre genre, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Native so that tombstoned books, which keep their ISBN under the unique constraint until they are purged,
+     * are found as well.
+     */
+    @Query(value = "SELECT isbn FROM books WHERE isbn IN (:isbns)", nativeQuery = true)
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    @Modifying
+    @Query("UPDATE BookEntity b SET b.deletedAt = :now WHERE b.id = :id AND b.deletedAt IS NULL")
+    int tombstoneById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.followerCount FROM BookEntity b WHERE b.id = :id")
+    Optional<Long> findFollowerCountById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE books SET follower_count = follower_count + :delta WHERE id = :id", nativeQuery = true)
+    int adjustFollowerCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Everything the book page needs in one round trip. The cheapest offer is the available, in-stock sales
+     * row with the lowest discounted price; ties go to the oldest offer.
+     */
+    @Query(value = """
+            SELECT b.id AS id, b.book_cover_image_url AS bookCoverImageUrl, b.title AS title, b.author AS author,
+                   b.isbn AS isbn, b.page_count AS pageCount, b.publish_date AS publishDate, b.genre AS genre,
+                   b.summary AS summary,
+                   (SELECT AVG(r.rating) FROM reviews r WHERE r.book_id = b.id) AS averageRating,
+                   (SELECT COUNT(*) FROM reviews r WHERE r.book_id = b.id) AS reviewCount,
+                   (SELECT COUNT(*) FROM book_interactions bi WHERE bi.book_id = b.id AND bi.is_read = TRUE) AS readerCount,
+                   (SELECT COUNT(*) FROM book_interactions bi WHERE bi.book_id = b.id AND bi.is_liked = TRUE) AS likerCount,
+                   b.follower_count AS followerCount,
+                   s.id AS offerId, s.sales_code AS offerSalesCode, s.publisher AS offerPublisher, s.price AS offerPrice,
+                   s.stock_quantity AS offerStockQuantity, s.currency AS offerCurrency, s.discount AS offerDiscount,
+                   s.is_available AS offerIsAvailable
+            FROM books b
+            LEFT JOIN book_sales s ON s.id = (
+                SELECT s2.id FROM book_sales s2
+                WHERE s2.book_id = b.id AND s2.is_available = TRUE AND s2.stock_quantity > 0
+                ORDER BY s2.price * (100 - COALESCE(s2.discount, 0)), s2.id
+                LIMIT 1)
+            WHERE b.id = :id AND b.deleted_at IS NULL
+            """, nativeQuery = true)
+    Optional<BookDetailView> findBookDetailById(@Param("id") Long id);
+}
@@ -4,16 +4,21 @@ import com.batubook.backend.entity.BookSalesEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface BookSalesRepository extends JpaRepository<BookSalesEntity, Long> {
+public interface BookSalesRepository extends JpaRepository<BookSalesEntity, Long>, KeysetRepository<BookSalesEntity> {
 
     Optional<BookSalesEntity> findBySalesCode(String salesCode);
     Page<BookSalesEntity> findByBookId(Long bookId, Pageable pageable);
     Page<BookSalesEntity> findByPriceGreaterThanOrderByPriceDesc(Double price, Pageable pageable);
     Page<BookSalesEntity> findByIsAvailableTrue(Pageable pageable);
     Page<BookSalesEntity> findByDiscountGreaterThan(Double discount, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT s.book.id FROM BookSalesEntity s WHERE s.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+}
@@ -0,0 +1,56 @@
+package com.batubook.backend.repository;
+
+import com.batubook.backend.entity.DeletionJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeletionJobRepository extends JpaRepository<DeletionJobEntity, Long> {
+
+    @Query("SELECT j.id FROM DeletionJobEntity j WHERE j.status IN :statuses ORDER BY j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<DeletionJobEntity.Status> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE DeletionJobEntity j
+            SET j.status = :status, j.attempts = j.attempts + 1, j.lastError = NULL, j.updatedAt = :now
+            WHERE j.id = :id
+            """)
+    int markStarted(@Param("id") Long id,
+                    @Param("status") DeletionJobEntity.Status status,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE DeletionJobEntity j
+            SET j.deletedRows = j.deletedRows + :rows, j.currentStep = :step, j.updatedAt = :now
+            WHERE j.id = :id
+            """)
+    int addProgress(@Param("id") Long id,
+                    @Param("rows") long rows,
+                    @Param("step") String step,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE DeletionJobEntity j
+            SET j.status = :status, j.lastError = :error, j.completedAt = :completedAt, j.updatedAt = :now
+            WHERE j.id = :id
+            """)
+    int markFinished(@Param("id") Long id,
+                     @Param("status") DeletionJobEntity.Status status,
+                     @Param("error") String error,
+                     @Param("completedAt") LocalDateTime completedAt,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,10 @@
+package com.batubook.backend.repository;
+
+/**
+ * Row of {@link UserRepository#findFollowCountsById(Long)}: the denormalized follow counters of a user.
+ */
+public interface FollowCountView {
+
+    long getFollowerCount();
+    long getFollowingCount();
+}
@@ -3,17 +3,39 @@ package com.batubook.backend.repository;
 import com.batubook.backend.entity.BookEntity;
 import com.batubook.backend.entity.FollowEntity;
 import com.batubook.backend.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
-public interface FollowRepository extends JpaRepository<FollowEntity, Long> {
+public interface FollowRepository extends JpaRepository<FollowEntity, Long>, KeysetRepository<FollowEntity> {
 
     FollowEntity findByFollowerAndFollowedUser(UserEntity follower, UserEntity followedUser);
     FollowEntity findByFollowerAndFollowedBook(UserEntity follower, BookEntity followedBook);
     Page<FollowEntity> findByFollower(UserEntity follower, Pageable pageable);
     Page<FollowEntity> findByFollowedUser(UserEntity followedUser, Pageable pageable);
+    Slice<FollowEntity> findSliceByFollowedUser(UserEntity followedUser, Pageable pageable);
     Page<FollowEntity> findByFollowedBook(BookEntity followedBook, Pageable pageable);
-}
\ No newline at end of file
+    List<FollowEntity> findByFollowerIdAndIdGreaterThanOrderByIdAsc(Long followerId, Long id, Limit limit);
+    List<FollowEntity> findByFollowedUserIdAndIdGreaterThanOrderByIdAsc(Long followedUserId, Long id, Limit limit);
+    List<FollowEntity> findByFollowedBookIdAndIdGreaterThanOrderByIdAsc(Long followedBookId, Long id, Limit limit);
+
+    @Query("SELECT f.followedUser.id FROM FollowEntity f WHERE f.follower.id = :followerId AND f.followedUser.id IN :ids")
+    Set<Long> findFollowedUserIds(@Param("followerId") Long followerId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT f.id FROM FollowEntity f WHERE f.follower.id = :followerId AND f.followedUser.id = :followedUserId")
+    Optional<Long> findUserFollowId(@Param("followerId") Long followerId, @Param("followedUserId") Long followedUserId);
+
+    @Query("SELECT f.id FROM FollowEntity f WHERE f.follower.id = :followerId AND f.followedBook.id = :followedBookId")
+    Optional<Long> findBookFollowId(@Param("followerId") Long followerId, @Param("followedBookId") Long followedBookId);
+}
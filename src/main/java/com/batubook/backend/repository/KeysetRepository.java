@@ -0,0 +1,18 @@
+package com.batubook.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * Listing queries shared by every repository that never issue a {@code COUNT(*)}.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> {
+
+    List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    Slice<T> findAllBy(Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.batubook.backend.repository;
+
+import com.batubook.backend.entity.LikeCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LikeCountRepository extends JpaRepository<LikeCountEntity, Long> {
+
+    List<LikeCountEntity> findByTargetTypeAndTargetIdIn(LikeCountEntity.TargetType targetType, Collection<Long> targetIds);
+}
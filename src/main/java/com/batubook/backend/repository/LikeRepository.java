@@ -5,7 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
+public interface LikeRepository extends JpaRepository<LikeEntity, Long>, KeysetRepository<LikeEntity> {
 
     boolean existsByUserIdAndMessageId(Long userId, Long messageId);
     boolean existsByUserIdAndBookInteractionId(Long userId, Long bookInteractionId);
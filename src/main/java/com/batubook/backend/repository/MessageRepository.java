@@ -8,7 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MessageRepository extends JpaRepository<MessageEntity, Long> {
+public interface MessageRepository extends JpaRepository<MessageEntity, Long>, KeysetRepository<MessageEntity> {
 
     Page<MessageEntity> findByMessageType(MessageType messageType, Pageable pageable);
 }
\ No newline at end of file
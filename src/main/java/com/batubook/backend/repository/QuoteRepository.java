@@ -5,6 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface QuoteRepository extends JpaRepository<QuoteEntity, Long> {
+public interface QuoteRepository extends JpaRepository<QuoteEntity, Long>, KeysetRepository<QuoteEntity> {
 
 }
\ No newline at end of file
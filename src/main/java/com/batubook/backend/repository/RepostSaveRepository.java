@@ -12,7 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface RepostSaveRepository extends JpaRepository<RepostSaveEntity, Long> {
+public interface RepostSaveRepository extends JpaRepository<RepostSaveEntity, Long>, KeysetRepository<RepostSaveEntity> {
 
     Page<RepostSaveEntity> findByUserId(Long userId, Pageable pageable);
     Page<RepostSaveEntity> findByUserIdAndActionType(Long userId, ActionType actionType, Pageable pageable);
@@ -4,12 +4,18 @@ import com.batubook.backend.entity.ReviewEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
+public interface ReviewRepository extends JpaRepository<ReviewEntity, Long>, KeysetRepository<ReviewEntity> {
 
     Page<ReviewEntity> findByRating(BigDecimal rating, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT r.book.id FROM ReviewEntity r WHERE r.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+}
@@ -5,13 +5,18 @@ import com.batubook.backend.entity.enums.Gender;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 @Repository
-public interface UserProfileRepository extends JpaRepository<UserProfileEntity, Long> {
+public interface UserProfileRepository extends JpaRepository<UserProfileEntity, Long>, KeysetRepository<UserProfileEntity> {
 
     Page<UserProfileEntity> findByDateOfBirth(LocalDate dateOfBirth, Pageable pageable);
     Page<UserProfileEntity> findByGender(Gender gender, Pageable pageable);
+
+    @Query("SELECT p.user.id FROM UserProfileEntity p WHERE p.id = :id")
+    Optional<Long> findUserIdById(Long id);
 }
\ No newline at end of file
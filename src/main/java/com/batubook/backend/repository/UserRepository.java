@@ -2,14 +2,85 @@ package com.batubook.backend.repository;
 
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.entity.enums.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code UserEntity.userProfile} is the inverse side of a one-to-one, which Hibernate always loads with a
+ * separate query per user. Every query whose result is mapped to a {@code UserDTO} therefore fetch-joins the
+ * profile.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, KeysetRepository<UserEntity> {
+
+    @Override
+    @EntityGraph(attributePaths = "userProfile")
+    Optional<UserEntity> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "userProfile")
+    Page<UserEntity> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "userProfile")
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
+    @Override
+    @EntityGraph(attributePaths = "userProfile")
+    Slice<UserEntity> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "userProfile")
     Page<UserEntity> findByUsernameAndEmailIgnoreCase(String username, String email, Pageable pageable);
+
+    @EntityGraph(attributePaths = "userProfile")
     Page<UserEntity> findByRole(Role role, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Also counts tombstoned users: their rows keep the username and email under the unique constraints until the
+     * deletion job purges them.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE username = :username)", nativeQuery = true)
+    boolean existsByUsernameIncludingDeleted(@Param("username") String username);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = :email)", nativeQuery = true)
+    boolean existsByEmailIncludingDeleted(@Param("email") String email);
+
+    boolean existsByIdAndUsername(Long id, String username);
+
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.userProfile WHERE u.id IN :ids")
+    List<UserEntity> findAllWithProfileByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.deletedAt = :now WHERE u.id = :id AND u.deletedAt IS NULL")
+    int tombstoneById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.followerCount AS followerCount, u.followingCount AS followingCount FROM UserEntity u WHERE u.id = :id")
+    Optional<FollowCountView> findFollowCountsById(@Param("id") Long id);
+
+    /**
+     * Moves both sides of a user follow in one statement, so the two rows are locked in index order and two users
+     * following each other at the same time cannot deadlock.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE users SET
+                follower_count = follower_count + CASE WHEN id = :followedUserId THEN :delta ELSE 0 END,
+                following_count = following_count + CASE WHEN id = :followerId THEN :delta ELSE 0 END
+            WHERE id IN (:followerId, :followedUserId)
+            """, nativeQuery = true)
+    int adjustFollowCounts(@Param("followerId") Long followerId, @Param("followedUserId") Long followedUserId,
+                           @Param("delta") long delta);
+}
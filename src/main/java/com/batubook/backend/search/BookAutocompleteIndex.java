@@ -0,0 +1,517 @@
+package com.batubook.backend.search;
+
+import com.batubook.backend.dto.BookSuggestionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead over book titles and authors. Folded titles and authors are stored in a radix trie (edges carry whole
+ * string fragments rather than single characters) under every word start, so "orw" completes "George Orwell". Each
+ * node keeps the top suggestions of its subtree ranked by popularity, which turns a lookup into a walk down the
+ * prefix followed by copying a precomputed list. Authors are aggregated over their books; a book's popularity is
+ * the number of interactions, reviews and follows it had when the index was loaded.
+ */
+@Component
+public class BookAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookAutocompleteIndex.class);
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final String LOAD_SQL = """
+            SELECT b.id, b.title, b.author,
+                   (SELECT COUNT(*) FROM book_interactions i WHERE i.book_id = b.id)
+                 + (SELECT COUNT(*) FROM reviews r WHERE r.book_id = b.id)
+                 + (SELECT COUNT(*) FROM follows f WHERE f.followed_book_id = b.id) AS popularity
+            FROM books b
+            WHERE b.id > ? AND b.deleted_at IS NULL
+            ORDER BY b.id
+            LIMIT ?
+            """;
+
+    private static final Comparator<Completion> RANKING = Comparator
+            .comparingLong((Completion completion) -> completion.popularity).reversed()
+            .thenComparing(completion -> completion.text)
+            .thenComparing(completion -> completion.id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxSuggestions;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+    private final Map<Long, BookTerm> books = new HashMap<>();
+    private final Map<String, AuthorTerm> authors = new HashMap<>();
+
+    private final Set<Long> touchedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public BookAutocompleteIndex(JdbcTemplate jdbcTemplate,
+                                 @Value("${batubook.autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::load, "book-autocomplete-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        logger.info("Loading book autocomplete index from the books table");
+        loading = true;
+        try {
+            long lastId = 0;
+            int loaded = 0;
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(LOAD_SQL,
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)},
+                        lastId, LOAD_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : rows) {
+                        Long bookId = (Long) row[0];
+                        if (!touchedDuringLoad.contains(bookId)) {
+                            put(bookId, (String) row[1], (String) row[2], (Long) row[3]);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                loaded += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+
+            ready = true;
+            logger.info("Book autocomplete index loaded with {} books and {} authors", loaded, authors.size());
+        } catch (Exception e) {
+            logger.error("Book autocomplete index could not be loaded: {}", e.getMessage());
+        } finally {
+            loading = false;
+            touchedDuringLoad.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or re-indexes a book, keeping the popularity it already had.
+     */
+    public void index(Long bookId, String title, String author) {
+        if (bookId == null) {
+            return;
+        }
+
+        if (loading) {
+            touchedDuringLoad.add(bookId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            BookTerm existing = books.get(bookId);
+            put(bookId, title, author, existing != null ? existing.popularity : 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        if (loading) {
+            touchedDuringLoad.add(bookId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDTO> suggest(String prefix, int limit) {
+        String key = SearchTextNormalizer.fold(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            int count = Math.min(limit, node.topCount);
+            List<BookSuggestionDTO> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                suggestions.add(node.top[i].toSuggestion());
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long bookId, String title, String author, long popularity) {
+        removeBook(bookId);
+
+        BookTerm book = new BookTerm(title, SearchTextNormalizer.fold(author), popularity,
+                new Completion("b:" + bookId, BookSuggestionDTO.Type.TITLE, title, bookId, popularity));
+        books.put(bookId, book);
+        insertText(title, book.completion);
+
+        if (!book.authorKey.isEmpty()) {
+            AuthorTerm authorTerm = authors.get(book.authorKey);
+            if (authorTerm != null) {
+                removeText(authorTerm.display, authorTerm.completion);
+            } else {
+                authorTerm = new AuthorTerm(author);
+                authors.put(book.authorKey, authorTerm);
+            }
+            authorTerm.bookCount++;
+            authorTerm.popularity += popularity;
+            authorTerm.refresh(book.authorKey);
+            insertText(authorTerm.display, authorTerm.completion);
+        }
+    }
+
+    private void removeBook(Long bookId) {
+        BookTerm book = books.remove(bookId);
+        if (book == null) {
+            return;
+        }
+
+        removeText(book.title, book.completion);
+
+        AuthorTerm authorTerm = authors.get(book.authorKey);
+        if (authorTerm != null) {
+            removeText(authorTerm.display, authorTerm.completion);
+            authorTerm.bookCount--;
+            authorTerm.popularity -= book.popularity;
+            if (authorTerm.bookCount == 0) {
+                authors.remove(book.authorKey);
+            } else {
+                authorTerm.refresh(book.authorKey);
+                insertText(authorTerm.display, authorTerm.completion);
+            }
+        }
+    }
+
+    private void insertText(String text, Completion completion) {
+        for (String key : wordStartKeys(text)) {
+            insert(key, completion);
+        }
+    }
+
+    private void removeText(String text, Completion completion) {
+        for (String key : wordStartKeys(text)) {
+            remove(key, completion);
+        }
+    }
+
+    private static List<String> wordStartKeys(String text) {
+        String folded = SearchTextNormalizer.fold(text);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = new ArrayList<>();
+        keys.add(folded);
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keys.add(folded.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private void insert(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                position = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, position);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                position += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        node.terminals.add(completion);
+        for (Node onPath : path) {
+            onPath.offer(completion, maxSuggestions);
+        }
+    }
+
+    private void remove(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            position += child.label.length();
+            node = child;
+            path.add(node);
+        }
+
+        if (!node.terminals.removeIf(terminal -> terminal.id.equals(completion.id))) {
+            return;
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node onPath = path.get(i);
+            if (i > 0 && onPath.terminals.isEmpty() && onPath.childCount == 0) {
+                path.get(i - 1).removeChild(onPath.label.charAt(0));
+            } else if (onPath.ranks(completion.id)) {
+                onPath.recompute(maxSuggestions);
+            }
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return null;
+            }
+
+            int common = commonPrefixLength(child.label, prefix, position);
+            if (position + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            position += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private static Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        middle.top = Arrays.copyOf(child.top, child.top.length);
+        middle.topCount = child.topCount;
+        parent.replaceChild(middle);
+        child.label = child.label.substring(at);
+        middle.addChild(child);
+        return middle;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+        String label;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        final List<Completion> terminals = new ArrayList<>(1);
+        Completion[] top = NO_COMPLETIONS;
+        int topCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int insertAt = -(indexOf(child.label.charAt(0)) + 1);
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            children[insertAt] = child;
+            childCount++;
+        }
+
+        void replaceChild(Node child) {
+            children[indexOf(child.label.charAt(0))] = child;
+        }
+
+        void removeChild(char first) {
+            int index = indexOf(first);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        /**
+         * Children are kept sorted by the first character of their label, so lookups are a binary search.
+         */
+        private int indexOf(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < first) {
+                    low = mid + 1;
+                } else if (midChar > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        boolean ranks(String id) {
+            for (int i = 0; i < topCount; i++) {
+                if (top[i].id.equals(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Completion completion, int capacity) {
+            for (int i = 0; i < topCount; i++) {
+                if (top[i].id.equals(completion.id)) {
+                    top[i] = completion;
+                    Arrays.sort(top, 0, topCount, RANKING);
+                    return;
+                }
+            }
+
+            if (topCount < capacity) {
+                if (topCount == top.length) {
+                    top = Arrays.copyOf(top, Math.min(capacity, Math.max(2, topCount * 2)));
+                }
+                top[topCount++] = completion;
+            } else if (RANKING.compare(completion, top[topCount - 1]) < 0) {
+                top[topCount - 1] = completion;
+            } else {
+                return;
+            }
+            Arrays.sort(top, 0, topCount, RANKING);
+        }
+
+        /**
+         * Rebuilds the ranking from the node's own terminals and the rankings of its children, which are complete
+         * for their subtrees, after a ranked completion was removed somewhere below.
+         */
+        void recompute(int capacity) {
+            Map<String, Completion> candidates = new HashMap<>();
+            for (Completion terminal : terminals) {
+                candidates.put(terminal.id, terminal);
+            }
+            for (int c = 0; c < childCount; c++) {
+                Node child = children[c];
+                for (int i = 0; i < child.topCount; i++) {
+                    candidates.put(child.top[i].id, child.top[i]);
+                }
+            }
+
+            List<Completion> ranked = new ArrayList<>(candidates.values());
+            ranked.sort(RANKING);
+            topCount = Math.min(capacity, ranked.size());
+            top = ranked.subList(0, topCount).toArray(NO_COMPLETIONS);
+        }
+    }
+
+    private static final class Completion {
+
+        final String id;
+        final BookSuggestionDTO.Type type;
+        final String text;
+        final Long bookId;
+        final long popularity;
+
+        Completion(String id, BookSuggestionDTO.Type type, String text, Long bookId, long popularity) {
+            this.id = id;
+            this.type = type;
+            this.text = text;
+            this.bookId = bookId;
+            this.popularity = popularity;
+        }
+
+        BookSuggestionDTO toSuggestion() {
+            return BookSuggestionDTO.builder()
+                    .text(text)
+                    .type(type)
+                    .bookId(bookId)
+                    .popularity(popularity)
+                    .build();
+        }
+    }
+
+    private static final class BookTerm {
+
+        final String title;
+        final String authorKey;
+        final long popularity;
+        final Completion completion;
+
+        BookTerm(String title, String authorKey, long popularity, Completion completion) {
+            this.title = title;
+            this.authorKey = authorKey;
+            this.popularity = popularity;
+            this.completion = completion;
+        }
+    }
+
+    private static final class AuthorTerm {
+
+        final String display;
+        int bookCount;
+        long popularity;
+        Completion completion;
+
+        AuthorTerm(String display) {
+            this.display = display;
+        }
+
+        void refresh(String authorKey) {
+            completion = new Completion("a:" + authorKey, BookSuggestionDTO.Type.AUTHOR, display, null, popularity);
+        }
+    }
+}
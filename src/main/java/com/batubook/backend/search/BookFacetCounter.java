@@ -0,0 +1,175 @@
+package com.batubook.backend.search;
+
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.FacetBucketDTO;
+import com.batubook.backend.entity.enums.Genre;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes the filter sidebar counts for a book filter in one scan of {@code books}. Every row is reduced to a cell
+ * of (genre, page-count bucket, publish-date bucket, passes page filter, passes date filter) and only the cells are
+ * grouped and returned, which is at most a few hundred rows however large the table is. The facets are then rolled
+ * up from the cells: each facet applies every filter except its own, so the sidebar shows how many books a click on
+ * another value would give, and the total is the sum of the cells that pass all filters.
+ */
+@Component
+public class BookFacetCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookFacetCounter.class);
+
+    private static final int[] PAGE_COUNT_UPPER_BOUNDS = {100, 200, 300, 500, 800};
+    private static final int[] PUBLISH_YEAR_LOWER_BOUNDS = {1900, 1950, 2000, 2010, 2020};
+    private static final List<String> PAGE_COUNT_BUCKETS = pageCountLabels();
+    private static final List<String> PUBLISH_DATE_BUCKETS = publishYearLabels();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public BookFacetCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public BookFacetCounts count(BookFilterDTO filter) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = """
+                SELECT genre, page_bucket, date_bucket, page_ok, date_ok, COUNT(*) AS books
+                FROM (SELECT b.genre AS genre, %s AS page_bucket, %s AS date_bucket, %s AS page_ok, %s AS date_ok
+                      FROM books b WHERE b.deleted_at IS NULL%s) cells
+                GROUP BY genre, page_bucket, date_bucket, page_ok, date_ok
+                """.formatted(pageBucketExpression(), publishDateBucketExpression(), pageFilterFlag(filter, parameters),
+                dateFilterFlag(filter, parameters), textFilter(filter, parameters));
+
+        Set<Genre> selectedGenres = filter.getGenres() == null || filter.getGenres().isEmpty()
+                ? EnumSet.allOf(Genre.class)
+                : EnumSet.copyOf(filter.getGenres());
+        long[] genreCounts = new long[Genre.values().length];
+        long[] pageCounts = new long[PAGE_COUNT_BUCKETS.size()];
+        long[] dateCounts = new long[PUBLISH_DATE_BUCKETS.size()];
+        long[] total = new long[1];
+
+        jdbcTemplate.query(sql, parameters, rs -> {
+            Genre genre = Genre.valueOf(rs.getString("genre"));
+            int pageBucket = rs.getInt("page_bucket");
+            int dateBucket = rs.getInt("date_bucket");
+            boolean genreOk = selectedGenres.contains(genre);
+            boolean pageOk = rs.getInt("page_ok") == 1;
+            boolean dateOk = rs.getInt("date_ok") == 1;
+            long books = rs.getLong("books");
+
+            if (pageOk && dateOk) {
+                genreCounts[genre.ordinal()] += books;
+            }
+            if (genreOk && dateOk) {
+                pageCounts[pageBucket] += books;
+            }
+            if (genreOk && pageOk) {
+                dateCounts[dateBucket] += books;
+            }
+            if (genreOk && pageOk && dateOk) {
+                total[0] += books;
+            }
+        });
+
+        List<FacetBucketDTO> genres = new ArrayList<>(genreCounts.length);
+        for (Genre genre : Genre.values()) {
+            genres.add(new FacetBucketDTO(genre.toJson(), genreCounts[genre.ordinal()]));
+        }
+
+        logger.debug("Counted facets for filter {}: {} matching books", filter, total[0]);
+        return new BookFacetCounts(total[0], genres, buckets(PAGE_COUNT_BUCKETS, pageCounts),
+                buckets(PUBLISH_DATE_BUCKETS, dateCounts));
+    }
+
+    private static String pageBucketExpression() {
+        StringBuilder expression = new StringBuilder("CASE");
+        for (int i = 0; i < PAGE_COUNT_UPPER_BOUNDS.length; i++) {
+            expression.append(" WHEN b.page_count <= ").append(PAGE_COUNT_UPPER_BOUNDS[i]).append(" THEN ").append(i);
+        }
+        return expression.append(" ELSE ").append(PAGE_COUNT_UPPER_BOUNDS.length).append(" END").toString();
+    }
+
+    private static String publishDateBucketExpression() {
+        StringBuilder expression = new StringBuilder("CASE");
+        for (int i = 0; i < PUBLISH_YEAR_LOWER_BOUNDS.length; i++) {
+            expression.append(" WHEN b.publish_date < DATE '").append(PUBLISH_YEAR_LOWER_BOUNDS[i]).append("-01-01'")
+                    .append(" THEN ").append(i);
+        }
+        return expression.append(" ELSE ").append(PUBLISH_YEAR_LOWER_BOUNDS.length).append(" END").toString();
+    }
+
+    private static String pageFilterFlag(BookFilterDTO filter, MapSqlParameterSource parameters) {
+        List<String> conditions = new ArrayList<>(2);
+        if (filter.getMinPageCount() != null) {
+            conditions.add("b.page_count >= :minPageCount");
+            parameters.addValue("minPageCount", filter.getMinPageCount());
+        }
+        if (filter.getMaxPageCount() != null) {
+            conditions.add("b.page_count <= :maxPageCount");
+            parameters.addValue("maxPageCount", filter.getMaxPageCount());
+        }
+        return flag(conditions);
+    }
+
+    private static String dateFilterFlag(BookFilterDTO filter, MapSqlParameterSource parameters) {
+        List<String> conditions = new ArrayList<>(2);
+        if (filter.getPublishedFrom() != null) {
+            conditions.add("b.publish_date >= :publishedFrom");
+            parameters.addValue("publishedFrom", filter.getPublishedFrom());
+        }
+        if (filter.getPublishedTo() != null) {
+            conditions.add("b.publish_date <= :publishedTo");
+            parameters.addValue("publishedTo", filter.getPublishedTo());
+        }
+        return flag(conditions);
+    }
+
+    private static String textFilter(BookFilterDTO filter, MapSqlParameterSource parameters) {
+        if (filter.getText() == null || filter.getText().isBlank()) {
+            return "";
+        }
+        parameters.addValue("pattern", "%" + filter.getText().trim().toLowerCase() + "%");
+        return " AND (LOWER(b.title) LIKE :pattern OR LOWER(b.author) LIKE :pattern)";
+    }
+
+    private static String flag(List<String> conditions) {
+        return conditions.isEmpty() ? "1" : "CASE WHEN " + String.join(" AND ", conditions) + " THEN 1 ELSE 0 END";
+    }
+
+    private static List<FacetBucketDTO> buckets(List<String> labels, long[] counts) {
+        List<FacetBucketDTO> buckets = new ArrayList<>(labels.size());
+        for (int i = 0; i < labels.size(); i++) {
+            buckets.add(new FacetBucketDTO(labels.get(i), counts[i]));
+        }
+        return buckets;
+    }
+
+    private static List<String> pageCountLabels() {
+        List<String> labels = new ArrayList<>();
+        int lower = 1;
+        for (int upper : PAGE_COUNT_UPPER_BOUNDS) {
+            labels.add(lower + "-" + upper);
+            lower = upper + 1;
+        }
+        labels.add(lower + "+");
+        return List.copyOf(labels);
+    }
+
+    private static List<String> publishYearLabels() {
+        List<String> labels = new ArrayList<>();
+        labels.add("before " + PUBLISH_YEAR_LOWER_BOUNDS[0]);
+        for (int i = 1; i < PUBLISH_YEAR_LOWER_BOUNDS.length; i++) {
+            labels.add(PUBLISH_YEAR_LOWER_BOUNDS[i - 1] + "-" + (PUBLISH_YEAR_LOWER_BOUNDS[i] - 1));
+        }
+        labels.add(PUBLISH_YEAR_LOWER_BOUNDS[PUBLISH_YEAR_LOWER_BOUNDS.length - 1] + "+");
+        return List.copyOf(labels);
+    }
+}
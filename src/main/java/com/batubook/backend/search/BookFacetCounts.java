@@ -0,0 +1,17 @@
+package com.batubook.backend.search;
+
+import com.batubook.backend.dto.FacetBucketDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class BookFacetCounts {
+
+    private final long totalMatches;
+    private final List<FacetBucketDTO> genres;
+    private final List<FacetBucketDTO> pageCounts;
+    private final List<FacetBucketDTO> publishDates;
+}
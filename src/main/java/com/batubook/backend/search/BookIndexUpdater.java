@@ -0,0 +1,46 @@
+package com.batubook.backend.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies book changes to the in-memory search and autocomplete indexes once the transaction that made them
+ * commits, so a save or tombstone that is rolled back never shows up in, or disappears from, searches and
+ * suggestions. Outside a transaction the change is applied at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookIndexUpdater {
+
+    private final BookSearchIndex bookSearchIndex;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+
+    public void index(Long bookId, String title, String author) {
+        afterCommit(() -> {
+            bookSearchIndex.index(bookId, title, author);
+            bookAutocompleteIndex.index(bookId, title, author);
+        });
+    }
+
+    public void remove(Long bookId) {
+        afterCommit(() -> {
+            bookSearchIndex.remove(bookId);
+            bookAutocompleteIndex.remove(bookId);
+        });
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
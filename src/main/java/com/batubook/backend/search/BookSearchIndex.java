@@ -0,0 +1,481 @@
+package com.batubook.backend.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the folded title and author of every book. A search folds the term, intersects
+ * the posting lists of its trigrams to get candidates, verifies each candidate with a real substring check and
+ * ranks the survivors, so the database is only touched to load the page of books that is finally returned.
+ * The words of every title and author are also kept in a {@link FuzzyTermIndex} for typo-tolerant searches.
+ * The document number of a removed book is handed to the next book added, so the document arrays stay as large
+ * as the most books indexed at once rather than growing with every book ever indexed.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> docByBookId = new HashMap<>();
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final FuzzyTermIndex words = new FuzzyTermIndex();
+    private long[] docBookIds = new long[1024];
+    private String[] docTitles = new String[1024];
+    private String[] docAuthors = new String[1024];
+    private int docCount;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+
+    private final Set<Long> touchedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public BookSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::load, "book-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        logger.info("Loading book search index from the books table");
+        loading = true;
+        try {
+            long lastId = 0;
+            int loaded = 0;
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, title, author FROM books WHERE id > ? AND deleted_at IS NULL ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, LOAD_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : rows) {
+                        Long bookId = (Long) row[0];
+                        if (!touchedDuringLoad.contains(bookId)) {
+                            put(bookId, (String) row[1], (String) row[2]);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                loaded += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+
+            ready = true;
+            logger.info("Book search index loaded with {} books", loaded);
+        } catch (Exception e) {
+            logger.error("Book search index could not be loaded, searches will fall back to the database: {}", e.getMessage());
+        } finally {
+            loading = false;
+            touchedDuringLoad.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByBookId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Long bookId, String title, String author) {
+        if (bookId == null) {
+            return;
+        }
+
+        if (loading) {
+            touchedDuringLoad.add(bookId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            put(bookId, title, author);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        if (loading) {
+            touchedDuringLoad.add(bookId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByBookId.remove(bookId);
+            if (doc == null) {
+                return;
+            }
+
+            for (long gram : grams(docTitles[doc], docAuthors[doc])) {
+                removePosting(gram, doc);
+            }
+            for (String word : words(docTitles[doc], docAuthors[doc])) {
+                words.remove(word, doc);
+            }
+            docTitles[doc] = null;
+            docAuthors[doc] = null;
+            if (freeCount == freeDocs.length) {
+                freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+            }
+            freeDocs[freeCount++] = doc;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookSearchResult search(String searchTerm, int offset, int limit) {
+        String term = SearchTextNormalizer.fold(searchTerm);
+        if (term.isEmpty() || limit <= 0) {
+            return BookSearchResult.empty();
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(wanted, 1024) + 1, Hit.ORDER.reversed());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            if (term.length() < GRAM_LENGTH) {
+                for (int doc = 0; doc < docCount; doc++) {
+                    total += collect(doc, term, best, wanted);
+                }
+            } else {
+                IntPostingList[] lists = postingsFor(term);
+                if (lists.length == 0) {
+                    return BookSearchResult.empty();
+                }
+
+                IntPostingList smallest = lists[0];
+                for (int i = 0; i < smallest.size(); i++) {
+                    int doc = smallest.get(i);
+                    if (containsInAll(lists, doc)) {
+                        total += collect(doc, term, best, wanted);
+                    }
+                }
+            }
+
+            List<Hit> ordered = new ArrayList<>(best);
+            ordered.sort(Hit.ORDER);
+            List<Long> bookIds = new ArrayList<>(limit);
+            for (int i = offset; i < ordered.size(); i++) {
+                bookIds.add(docBookIds[ordered.get(i).doc]);
+            }
+            return new BookSearchResult(bookIds, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Typo-tolerant search: every word of the term must match a word of the title or author within a few edits
+     * (none up to two letters, one up to five, two beyond). A book scores the mean similarity of its best match
+     * for each word, {@code 1 - distance / length}, so exact words rank first.
+     */
+    public BookSearchResult fuzzySearch(String searchTerm, int offset, int limit) {
+        List<String> queryWords = new ArrayList<>(words(SearchTextNormalizer.fold(searchTerm), ""));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return BookSearchResult.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, double[]> scores = null;
+            for (String queryWord : queryWords) {
+                Map<Integer, double[]> wordScores = new HashMap<>();
+                for (Map.Entry<Integer, Integer> match : words.match(queryWord, maxEdits(queryWord)).entrySet()) {
+                    int termId = match.getKey();
+                    double similarity = 1.0 - match.getValue() / (double) Math.max(queryWord.length(), words.term(termId).length());
+                    IntPostingList docs = words.docs(termId);
+                    for (int i = 0; i < docs.size(); i++) {
+                        int doc = docs.get(i);
+                        if (scores == null || scores.containsKey(doc)) {
+                            double[] best = wordScores.computeIfAbsent(doc, d -> new double[1]);
+                            best[0] = Math.max(best[0], similarity);
+                        }
+                    }
+                }
+
+                if (scores != null) {
+                    for (Map.Entry<Integer, double[]> wordScore : wordScores.entrySet()) {
+                        wordScore.getValue()[0] += scores.get(wordScore.getKey())[0];
+                    }
+                }
+                scores = wordScores;
+                if (scores.isEmpty()) {
+                    return BookSearchResult.empty();
+                }
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<FuzzyHit> best = new PriorityQueue<>(Math.min(wanted, 1024) + 1, FuzzyHit.ORDER.reversed());
+            for (Map.Entry<Integer, double[]> score : scores.entrySet()) {
+                int doc = score.getKey();
+                FuzzyHit hit = new FuzzyHit(doc, score.getValue()[0] / queryWords.size(), docTitles[doc].length(), docBookIds[doc]);
+                if (best.size() < wanted) {
+                    best.add(hit);
+                } else if (FuzzyHit.ORDER.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<FuzzyHit> ordered = new ArrayList<>(best);
+            ordered.sort(FuzzyHit.ORDER);
+            List<Long> bookIds = new ArrayList<>(limit);
+            for (int i = offset; i < ordered.size(); i++) {
+                bookIds.add(docBookIds[ordered.get(i).doc]);
+            }
+            return new BookSearchResult(bookIds, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long bookId, String title, String author) {
+        String foldedTitle = SearchTextNormalizer.fold(title);
+        String foldedAuthor = SearchTextNormalizer.fold(author);
+
+        Integer existing = docByBookId.get(bookId);
+        if (existing != null) {
+            Set<Long> oldGrams = grams(docTitles[existing], docAuthors[existing]);
+            Set<Long> newGrams = grams(foldedTitle, foldedAuthor);
+            for (long gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    removePosting(gram, existing);
+                }
+            }
+            for (long gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    postings.computeIfAbsent(gram, g -> new IntPostingList()).add(existing);
+                }
+            }
+            Set<String> oldWords = words(docTitles[existing], docAuthors[existing]);
+            Set<String> newWords = words(foldedTitle, foldedAuthor);
+            for (String word : oldWords) {
+                if (!newWords.contains(word)) {
+                    words.remove(word, existing);
+                }
+            }
+            for (String word : newWords) {
+                words.add(word, existing);
+            }
+            docTitles[existing] = foldedTitle;
+            docAuthors[existing] = foldedAuthor;
+            return;
+        }
+
+        int doc = freeCount > 0 ? freeDocs[--freeCount] : docCount++;
+        if (doc == docBookIds.length) {
+            int capacity = docBookIds.length * 2;
+            docBookIds = Arrays.copyOf(docBookIds, capacity);
+            docTitles = Arrays.copyOf(docTitles, capacity);
+            docAuthors = Arrays.copyOf(docAuthors, capacity);
+        }
+
+        docBookIds[doc] = bookId;
+        docTitles[doc] = foldedTitle;
+        docAuthors[doc] = foldedAuthor;
+        docByBookId.put(bookId, doc);
+        for (long gram : grams(foldedTitle, foldedAuthor)) {
+            postings.computeIfAbsent(gram, g -> new IntPostingList()).add(doc);
+        }
+        for (String word : words(foldedTitle, foldedAuthor)) {
+            words.add(word, doc);
+        }
+    }
+
+    private void removePosting(long gram, int doc) {
+        IntPostingList list = postings.get(gram);
+        if (list != null) {
+            list.remove(doc);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private IntPostingList[] postingsFor(String term) {
+        Set<Long> termGrams = new HashSet<>();
+        addGrams(term, termGrams);
+
+        IntPostingList[] lists = new IntPostingList[termGrams.size()];
+        int i = 0;
+        for (long gram : termGrams) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                return new IntPostingList[0];
+            }
+            lists[i++] = list;
+        }
+
+        Arrays.sort(lists, Comparator.comparingInt(IntPostingList::size));
+        return lists;
+    }
+
+    private static boolean containsInAll(IntPostingList[] lists, int doc) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int collect(int doc, String term, PriorityQueue<Hit> best, int wanted) {
+        String title = docTitles[doc];
+        if (title == null) {
+            return 0;
+        }
+
+        int rank = rank(title, docAuthors[doc], term);
+        if (rank < 0) {
+            return 0;
+        }
+
+        Hit hit = new Hit(doc, rank, title.length(), docBookIds[doc]);
+        if (best.size() < wanted) {
+            best.add(hit);
+        } else if (Hit.ORDER.compare(hit, best.peek()) < 0) {
+            best.poll();
+            best.add(hit);
+        }
+        return 1;
+    }
+
+    /**
+     * Lower is better: exact title, title prefix, title word, anywhere in the title, then the same
+     * four grades for the author. Returns -1 when the term is not a substring of either field.
+     */
+    static int rank(String title, String author, String term) {
+        int titleQuality = matchQuality(title, term);
+        if (titleQuality >= 0) {
+            return titleQuality;
+        }
+
+        int authorQuality = matchQuality(author, term);
+        return authorQuality >= 0 ? authorQuality + 4 : -1;
+    }
+
+    private static int matchQuality(String text, String term) {
+        int at = text.indexOf(term);
+        if (at < 0) {
+            return -1;
+        }
+        if (at == 0) {
+            return text.length() == term.length() ? 0 : 1;
+        }
+
+        while (at > 0) {
+            if (text.charAt(at - 1) == ' ') {
+                return 2;
+            }
+            at = text.indexOf(term, at + 1);
+        }
+        return 3;
+    }
+
+    private static Set<Long> grams(String foldedTitle, String foldedAuthor) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(foldedTitle, grams);
+        addGrams(foldedAuthor, grams);
+        return grams;
+    }
+
+    private static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private static Set<String> words(String foldedTitle, String foldedAuthor) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String text : new String[]{foldedTitle, foldedAuthor}) {
+            for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static void addGrams(String text, Set<Long> grams) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static final class FuzzyHit {
+
+        static final Comparator<FuzzyHit> ORDER = Comparator.<FuzzyHit>comparingDouble(h -> -h.score)
+                .thenComparingInt(h -> h.titleLength)
+                .thenComparingLong(h -> h.bookId);
+
+        final int doc;
+        final double score;
+        final int titleLength;
+        final long bookId;
+
+        FuzzyHit(int doc, double score, int titleLength, long bookId) {
+            this.doc = doc;
+            this.score = score;
+            this.titleLength = titleLength;
+            this.bookId = bookId;
+        }
+    }
+
+    private static final class Hit {
+
+        static final Comparator<Hit> ORDER = Comparator.<Hit>comparingInt(h -> h.rank)
+                .thenComparingInt(h -> h.titleLength)
+                .thenComparingLong(h -> h.bookId);
+
+        final int doc;
+        final int rank;
+        final int titleLength;
+        final long bookId;
+
+        Hit(int doc, int rank, int titleLength, long bookId) {
+            this.doc = doc;
+            this.rank = rank;
+            this.titleLength = titleLength;
+            this.bookId = bookId;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.batubook.backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BookSearchResult {
+
+    private final List<Long> bookIds;
+    private final long totalHits;
+
+    public static BookSearchResult empty() {
+        return new BookSearchResult(List.of(), 0);
+    }
+}
@@ -0,0 +1,142 @@
+package com.batubook.backend.search;
+
+import java.util.*;
+
+/**
+ * Vocabulary of the folded words in titles and authors, each with the documents it occurs in, for typo-tolerant
+ * lookups. Words are indexed by their padded trigrams: a word within {@code k} edits of the query shares at least
+ * {@code grams(query) - 3k} of them (each edit touches at most three), so counting shared trigrams narrows the
+ * vocabulary to a few candidates before the bounded edit distance is computed. Words are never removed from the
+ * vocabulary; a word whose document list has emptied is skipped.
+ */
+final class FuzzyTermIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final char PAD = '\u0001';
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntPostingList> docs = new ArrayList<>();
+    private final Map<Long, IntPostingList> termsByGram = new HashMap<>();
+
+    void add(String term, int doc) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = terms.size();
+            termIds.put(term, termId);
+            terms.add(term);
+            docs.add(new IntPostingList());
+            for (long gram : paddedGrams(term)) {
+                termsByGram.computeIfAbsent(gram, g -> new IntPostingList()).add(termId);
+            }
+        }
+        docs.get(termId).add(doc);
+    }
+
+    void remove(String term, int doc) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            docs.get(termId).remove(doc);
+        }
+    }
+
+    IntPostingList docs(int termId) {
+        return docs.get(termId);
+    }
+
+    String term(int termId) {
+        return terms.get(termId);
+    }
+
+    /**
+     * Returns the IDs of the words within {@code maxEdits} edits of {@code token} that still occur in a document,
+     * mapped to their edit distance.
+     */
+    Map<Integer, Integer> match(String token, int maxEdits) {
+        Map<Integer, Integer> matches = new HashMap<>();
+        if (maxEdits == 0) {
+            Integer termId = termIds.get(token);
+            if (termId != null && !docs.get(termId).isEmpty()) {
+                matches.put(termId, 0);
+            }
+            return matches;
+        }
+
+        Set<Long> grams = paddedGrams(token);
+        int required = grams.size() - GRAM_LENGTH * maxEdits;
+        Map<Integer, int[]> shared = new HashMap<>();
+        for (long gram : grams) {
+            IntPostingList termList = termsByGram.get(gram);
+            if (termList == null) {
+                continue;
+            }
+            for (int i = 0; i < termList.size(); i++) {
+                shared.computeIfAbsent(termList.get(i), termId -> new int[1])[0]++;
+            }
+        }
+
+        for (Map.Entry<Integer, int[]> candidate : shared.entrySet()) {
+            int termId = candidate.getKey();
+            if (candidate.getValue()[0] < required || docs.get(termId).isEmpty()) {
+                continue;
+            }
+            int distance = boundedDistance(token, terms.get(termId), maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(termId, distance);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance of {@code a} and {@code b}, or {@code max + 1} as soon as it is known to exceed
+     * {@code max}. Only the diagonal band of width {@code 2 * max + 1} is filled.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[0] = i;
+            if (from > 1) {
+                current[from - 1] = max + 1;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = Math.min(value, max + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = max + 1;
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static Set<Long> paddedGrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD + PAD;
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        return grams;
+    }
+}
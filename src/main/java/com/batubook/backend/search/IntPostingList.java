@@ -0,0 +1,65 @@
+package com.batubook.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of document numbers. Documents are mostly numbered in insertion order, so the common case
+ * is an append; updates of existing documents and reused numbers of removed ones fall back to a binary-search
+ * insert.
+ */
+final class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+
+        int position = Arrays.binarySearch(docs, 0, size, doc);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int position = Arrays.binarySearch(docs, 0, size, doc);
+        if (position < 0) {
+            return;
+        }
+
+        System.arraycopy(docs, position + 1, docs, position, size - position - 1);
+        size--;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length + (docs.length >> 1) + 1);
+        }
+    }
+}
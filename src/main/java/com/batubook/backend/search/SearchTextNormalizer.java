@@ -0,0 +1,50 @@
+package com.batubook.backend.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+public final class SearchTextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Folds text into the key space used by the search indexes. Lowercasing uses the Turkish locale so that
+     * "I"/"ı" and "İ"/"i" meet on the same letter, then diacritics are stripped ("Çağlar" and "caglar" fold
+     * to the same key) and runs of whitespace are collapsed.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String lowered = text.trim().toLowerCase(TURKISH).replace('ı', 'i');
+        String decomposed = Normalizer.normalize(lowered, Normalizer.Form.NFD);
+
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean previousWasSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (!previousWasSpace && folded.length() > 0) {
+                    folded.append(' ');
+                }
+                previousWasSpace = true;
+                continue;
+            }
+            folded.append(c);
+            previousWasSpace = false;
+        }
+
+        int length = folded.length();
+        if (length > 0 && folded.charAt(length - 1) == ' ') {
+            folded.setLength(length - 1);
+        }
+        return folded.toString();
+    }
+}
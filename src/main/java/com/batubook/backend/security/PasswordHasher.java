@@ -0,0 +1,101 @@
+package com.batubook.backend.security;
+
+import com.batubook.backend.exception.CustomExceptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of the request threads. A hash costs tens of milliseconds of CPU,
+ * so a burst of sign-ups hashed inline would occupy every Tomcat thread and stall unrelated reads; here at most
+ * {@code threads} hashes run at once, up to {@code queueCapacity} more wait, and anything beyond that is refused
+ * straight away with a 503 so clients back off instead of piling up behind the queue.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${batubook.password.hash-threads:2}") int threads,
+                          @Value("${batubook.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${batubook.password.hash-timeout:PT5S}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Returns {@code currentHash} when it already belongs to {@code rawPassword} and uses the configured cost,
+     * otherwise a new hash. A client that sends back the stored hash unchanged costs no hashing at all.
+     */
+    public String hashIfChanged(String rawPassword, String currentHash) {
+        if (currentHash == null || currentHash.isEmpty()) {
+            return hash(rawPassword);
+        }
+        if (rawPassword.equals(currentHash)) {
+            logger.debug("Submitted password is the stored hash, skipping rehash");
+            return currentHash;
+        }
+
+        return run(() -> passwordEncoder.matches(rawPassword, currentHash) && !passwordEncoder.upgradeEncoding(currentHash)
+                ? currentHash
+                : passwordEncoder.encode(rawPassword));
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String run(Callable<String> task) {
+        Future<String> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing rejected, {} hashes already queued", executor.getQueue().size());
+            throw new CustomExceptions.ServiceUnavailableException("Too many password changes in progress, please retry shortly.");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Password hashing did not finish within {}", timeout);
+            throw new CustomExceptions.ServiceUnavailableException("Password hashing timed out, please retry shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomExceptions.ServiceUnavailableException("Password hashing was interrupted.");
+        } catch (ExecutionException e) {
+            throw new CustomExceptions.InternalServerErrorException("Password could not be hashed: " + e.getCause().getMessage());
+        }
+    }
+}
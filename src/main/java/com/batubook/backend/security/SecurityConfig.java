@@ -1,5 +1,6 @@
 package com.batubook.backend.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -29,6 +30,11 @@ public class SecurityConfig {
                         .requestMatchers("/api/follows/**").permitAll()
                         .requestMatchers("/api/likes/**").permitAll()
                         .requestMatchers("/api/repost-saves/**").permitAll()
+                        .requestMatchers("/api/cache/**").permitAll()
+                        .requestMatchers("/api/deletion-jobs/**").permitAll()
+                        .requestMatchers("/api/timeline/**").permitAll()
+                        // Streams are tied to their owner in UserEventStreams once requests carry a principal.
+                        .requestMatchers("/api/events/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated()
                 );
@@ -36,7 +42,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${batubook.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
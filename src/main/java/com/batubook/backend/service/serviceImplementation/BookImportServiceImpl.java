@@ -0,0 +1,230 @@
+package com.batubook.backend.service.serviceImplementation;
+
+import com.batubook.backend.bulkimport.BookImportFormat;
+import com.batubook.backend.bulkimport.BookImportReader;
+import com.batubook.backend.bulkimport.BookImportRow;
+import com.batubook.backend.bulkimport.BookImportWriter;
+import com.batubook.backend.dto.BookImportErrorDTO;
+import com.batubook.backend.dto.BookImportReportDTO;
+import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.mapper.BookMapper;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.search.BookIndexUpdater;
+import com.batubook.backend.service.serviceInterface.BookImportServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an import file through fixed-size batches: each batch is validated in parallel, deduplicated by ISBN
+ * against itself and the books table, and written by {@link BookImportWriter} in its own transaction. Memory use
+ * is bounded by the batch size and the number of errors reported back, never by the size of the file.
+ */
+@Service
+public class BookImportServiceImpl implements BookImportServiceInterface {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceImpl.class);
+    private static final String COUNT_KEY = "books";
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final BookImportWriter bookImportWriter;
+    private final BookIndexUpdater bookIndexUpdater;
+    private final TotalCountService totalCountService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookMapper bookMapper,
+                                 BookImportWriter bookImportWriter,
+                                 BookIndexUpdater bookIndexUpdater,
+                                 TotalCountService totalCountService,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${batubook.import.batch-size:1000}") int batchSize,
+                                 @Value("${batubook.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.bookImportWriter = bookImportWriter;
+        this.bookIndexUpdater = bookIndexUpdater;
+        this.totalCountService = totalCountService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BookImportReportDTO importBooks(InputStream inputStream, BookImportFormat format) {
+        logger.info("Starting {} book import with batch size {}", format, batchSize);
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+
+        try (BookImportReader reader = new BookImportReader(inputStream, format, objectMapper)) {
+            List<BookImportRow> batch = new ArrayList<>(batchSize);
+            while (reader.hasNext()) {
+                batch.add(reader.next());
+                if (batch.size() == batchSize) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+            importBatch(batch, progress);
+
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Book import stopped after {} rows: {}", progress.received, e.getMessage());
+            throw new CustomExceptions.BadRequestException("Import file could not be read after "
+                    + progress.received + " rows: " + e.getMessage());
+        }
+
+        logger.info("Book import finished: {} received, {} imported, {} duplicates, {} failed",
+                progress.received, progress.imported, progress.duplicates, progress.failed);
+        return progress.toReport();
+    }
+
+    private void importBatch(List<BookImportRow> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        progress.received += batch.size();
+
+        List<Candidate> candidates = batch.parallelStream().map(this::validate).toList();
+
+        Map<String, Candidate> byIsbn = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.error != null) {
+                progress.fail(candidate.line, candidate.isbn, candidate.error);
+            } else if (byIsbn.putIfAbsent(candidate.isbn, candidate) != null) {
+                progress.duplicate(candidate.line, candidate.isbn, "Duplicate ISBN earlier in the file");
+            }
+        }
+        if (byIsbn.isEmpty()) {
+            return;
+        }
+
+        for (String existingIsbn : bookRepository.findExistingIsbns(byIsbn.keySet())) {
+            Candidate existing = byIsbn.remove(existingIsbn);
+            progress.duplicate(existing.line, existing.isbn, "A book with this ISBN already exists");
+        }
+        if (byIsbn.isEmpty()) {
+            return;
+        }
+
+        List<BookEntity> books = byIsbn.values().stream().map(candidate -> candidate.book).toList();
+        Set<String> insertedIsbns = new HashSet<>();
+        for (BookEntity saved : bookImportWriter.insert(books)) {
+            insertedIsbns.add(saved.getIsbn());
+            bookIndexUpdater.index(saved.getId(), saved.getTitle(), saved.getAuthor());
+            totalCountService.increment(COUNT_KEY);
+        }
+
+        progress.imported += insertedIsbns.size();
+        for (Candidate candidate : byIsbn.values()) {
+            if (!insertedIsbns.contains(candidate.isbn)) {
+                progress.duplicate(candidate.line, candidate.isbn, "A book with this ISBN already exists");
+            }
+        }
+    }
+
+    private Candidate validate(BookImportRow row) {
+        if (row.isFailed()) {
+            return Candidate.rejected(row.getLine(), null, row.getError());
+        }
+
+        String isbn = row.getBook().getIsbn() != null ? row.getBook().getIsbn().trim() : null;
+        BookEntity book;
+        try {
+            book = bookMapper.bookDTOToEntity(row.getBook());
+        } catch (RuntimeException e) {
+            return Candidate.rejected(row.getLine(), isbn, "Invalid publish date: " + row.getBook().getPublishDate());
+        }
+
+        book.preProcess();
+        Set<ConstraintViolation<BookEntity>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+            return Candidate.rejected(row.getLine(), isbn, message);
+        }
+        return new Candidate(row.getLine(), isbn, book, null);
+    }
+
+    private static final class Candidate {
+
+        final long line;
+        final String isbn;
+        final BookEntity book;
+        final String error;
+
+        Candidate(long line, String isbn, BookEntity book, String error) {
+            this.line = line;
+            this.isbn = isbn;
+            this.book = book;
+            this.error = error;
+        }
+
+        static Candidate rejected(long line, String isbn, String error) {
+            return new Candidate(line, isbn, null, error);
+        }
+    }
+
+    private static final class ImportProgress {
+
+        final int maxReportedErrors;
+        final List<BookImportErrorDTO> errors = new ArrayList<>();
+        long received;
+        long imported;
+        long duplicates;
+        long failed;
+        boolean errorsTruncated;
+
+        ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(long line, String isbn, String message) {
+            failed++;
+            report(line, isbn, message);
+        }
+
+        void duplicate(long line, String isbn, String message) {
+            duplicates++;
+            report(line, isbn, message);
+        }
+
+        private void report(long line, String isbn, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportErrorDTO(line, isbn, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        BookImportReportDTO toReport() {
+            errors.sort(Comparator.comparingLong(BookImportErrorDTO::getLine));
+            return BookImportReportDTO.builder()
+                    .received(received)
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .failed(failed)
+                    .errorsTruncated(errorsTruncated)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
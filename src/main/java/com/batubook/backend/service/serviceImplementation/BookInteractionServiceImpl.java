@@ -1,26 +1,42 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookInteractionDTO;
+import com.batubook.backend.entity.ActivityEntity;
 import com.batubook.backend.entity.BookInteractionEntity;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.BookInteractionMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
 import com.batubook.backend.repository.BookInteractionRepository;
 import com.batubook.backend.service.serviceInterface.BookInteractionServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class BookInteractionServiceImpl implements BookInteractionServiceInterface {
 
     private final BookInteractionRepository bookInteractionRepository;
     private final BookInteractionMapper bookInteractionMapper;
+    private final TotalCountService totalCountService;
+    private final BookDetailCache bookDetailCache;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final HomeTimeline homeTimeline;
     private static final Logger logger = LoggerFactory.getLogger(BookInteractionServiceImpl.class);
+    private static final String COUNT_KEY = "book_interactions";
 
     @Override
     @Transactional
@@ -38,6 +54,8 @@ public class BookInteractionServiceImpl implements BookInteractionServiceInterfa
             BookInteractionEntity entity = bookInteractionMapper.bookInteractionDTOToEntity(bookInteractionDTO);
             logger.info("Saving book interaction for userId: {} and bookId: {}", bookInteractionDTO.getUserId(), bookInteractionDTO.getBookId());
             BookInteractionEntity savedEntity = bookInteractionRepository.save(entity);
+            bookDetailCache.evict(bookInteractionDTO.getBookId());
+            homeTimeline.publish(ActivityEntity.ActivityType.BOOK_INTERACTION, bookInteractionDTO.getUserId(), savedEntity.getId());
             logger.info("Book interaction successfully registered for user: {}", bookInteractionDTO.getUserId());
             return bookInteractionMapper.bookInteractionEntityToDTO(savedEntity);
 
@@ -73,6 +91,26 @@ public class BookInteractionServiceImpl implements BookInteractionServiceInterfa
         return allBookInteractions.map(bookInteractionMapper::bookInteractionEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookInteractionDTO> getAllBookInteractionsAfter(String after, int size) {
+        logger.debug("Fetching book interactions after cursor: {}, size = {}", after, size);
+        List<BookInteractionEntity> rows = bookInteractionRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<BookInteractionEntity> slice = CursorPage.of(rows, size, BookInteractionEntity::getId);
+        logger.info("Successfully fetched {} book interactions", slice.getNumberOfElements());
+        return slice.map(bookInteractionMapper::bookInteractionEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookInteractionDTO> getAllBookInteractionsWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching book interactions with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<BookInteractionEntity> slice = bookInteractionRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, bookInteractionRepository::count);
+        logger.info("Successfully fetched {} book interactions", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(bookInteractionMapper::bookInteractionEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<BookInteractionDTO> getByUserIdAndIsReadTrue(Long userId, Pageable pageable) {
@@ -147,11 +185,16 @@ public class BookInteractionServiceImpl implements BookInteractionServiceInterfa
 
                 logger.info("User has marked the book as not read, deleting previous record.");
                 bookInteractionRepository.delete(existingEntity);
+                homeTimeline.retract(ActivityEntity.ActivityType.BOOK_INTERACTION, id);
+                if (existingEntity.getUser() != null) {
+                    bookSimilarityIndex.markUserChanged(existingEntity.getUser().getId());
+                }
             } else {
                 updateInteractionFields(existingEntity, bookInteractionDTO);
             }
 
             BookInteractionEntity updatedEntity = bookInteractionRepository.save(existingEntity);
+            bookDetailCache.evict(existingEntity.getBook().getId());
             logger.info("Successfully updated book interaction with id: {}", id);
             return bookInteractionMapper.bookInteractionEntityToDTO(updatedEntity);
 
@@ -173,7 +216,10 @@ public class BookInteractionServiceImpl implements BookInteractionServiceInterfa
             throw new CustomExceptions.NotFoundException("Book interaction not found with ID: " + id);
         }
 
+        bookInteractionRepository.findBookIdById(id).ifPresent(bookDetailCache::evict);
+        bookInteractionRepository.findUserIdById(id).ifPresent(bookSimilarityIndex::markUserChanged);
         bookInteractionRepository.deleteById(id);
+        homeTimeline.retract(ActivityEntity.ActivityType.BOOK_INTERACTION, id);
         logger.info("Successfully deleted book interaction with ID: {}", id);
     }
 
@@ -1,10 +1,15 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookSalesDTO;
 import com.batubook.backend.entity.BookEntity;
 import com.batubook.backend.entity.BookSalesEntity;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.BookSalesMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
 import com.batubook.backend.repository.BookSalesRepository;
 import com.batubook.backend.service.serviceInterface.BookSalesServiceInterface;
 import jakarta.persistence.EntityNotFoundException;
@@ -13,16 +18,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class BookSalesServiceImpl implements BookSalesServiceInterface {
 
     private final BookSalesRepository bookSalesRepository;
     private final BookSalesMapper bookSalesMapper;
+    private final TotalCountService totalCountService;
+    private final BookDetailCache bookDetailCache;
     private static final Logger logger = LoggerFactory.getLogger(BookSalesServiceImpl.class);
+    private static final String COUNT_KEY = "book_sales";
 
     @Override
     @Transactional
@@ -32,6 +43,7 @@ public class BookSalesServiceImpl implements BookSalesServiceInterface {
             BookSalesEntity bookSales = bookSalesMapper.bookSalesDTOToEntity(bookSalesDTO);
             logger.debug("Converted BookSalesDTO to BookSalesEntity: {}", bookSales);
             BookSalesEntity savedBookSales = bookSalesRepository.save(bookSales);
+            bookDetailCache.evict(bookSalesDTO.getBookId());
             logger.info("Book Sales saved successfully with ID: {}", savedBookSales.getId());
             return bookSalesMapper.bookSalesEntityToDTO(savedBookSales);
 
@@ -64,6 +76,26 @@ public class BookSalesServiceImpl implements BookSalesServiceInterface {
         return allBookSales.map(bookSalesMapper::bookSalesEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookSalesDTO> getAllBookSalesAfter(String after, int size) {
+        logger.debug("Fetching book sales after cursor: {}, size = {}", after, size);
+        List<BookSalesEntity> rows = bookSalesRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<BookSalesEntity> slice = CursorPage.of(rows, size, BookSalesEntity::getId);
+        logger.info("Successfully fetched {} book sales", slice.getNumberOfElements());
+        return slice.map(bookSalesMapper::bookSalesEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookSalesDTO> getAllBookSalesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching book sales with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<BookSalesEntity> slice = bookSalesRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, bookSalesRepository::count);
+        logger.info("Successfully fetched {} book sales", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(bookSalesMapper::bookSalesEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookSalesDTO getBookSalesBySalesCode(String salesCode) {
@@ -126,8 +158,10 @@ public class BookSalesServiceImpl implements BookSalesServiceInterface {
             logger.info("Updating book sales with id: {}. New details: SalesCode = '{}', Publisher= '{}', Price = '{}', Stock Quantity = '{}', Currency = '{}', Discount = '{}', BookId = '{}', Available = '{}'",
                     id, bookSalesDTO.getSalesCode(), bookSalesDTO.getPublisher(), bookSalesDTO.getPrice(), bookSalesDTO.getStockQuantity(), bookSalesDTO.getCurrency(), bookSalesDTO.getDiscount(), bookSalesDTO.getBookId(), bookSalesDTO.getIsAvailable());
 
+            bookDetailCache.evict(existingBookSales.getBook().getId());
             updateBookSalesDetails(existingBookSales, bookSalesDTO);
             BookSalesEntity updatedBookSales = bookSalesRepository.save(existingBookSales);
+            bookDetailCache.evict(updatedBookSales.getBook().getId());
             logger.info("Successfully updated book sales with id: {}", id);
             return bookSalesMapper.bookSalesEntityToDTO(updatedBookSales);
 
@@ -146,6 +180,7 @@ public class BookSalesServiceImpl implements BookSalesServiceInterface {
             throw new CustomExceptions.NotFoundException("Book sales not found with ID: " + id);
         }
 
+        bookSalesRepository.findBookIdById(id).ifPresent(bookDetailCache::evict);
         bookSalesRepository.deleteById(id);
         logger.info("Successfully deleted book sales with ID: {}", id);
     }
@@ -1,12 +1,39 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.BookCache;
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.BookDetailDTO;
+import com.batubook.backend.dto.BookFacetResultDTO;
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.BookSalesDTO;
+import com.batubook.backend.dto.BookSuggestionDTO;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.SimilarBookDTO;
 import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.entity.BookSalesEntity;
+import com.batubook.backend.entity.DeletionJobEntity;
 import com.batubook.backend.entity.enums.Genre;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.BookMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.recommendation.BookSimilarity;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
+import com.batubook.backend.repository.BookDetailView;
 import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.search.BookAutocompleteIndex;
+import com.batubook.backend.search.BookFacetCounter;
+import com.batubook.backend.search.BookFacetCounts;
+import com.batubook.backend.search.BookIndexUpdater;
+import com.batubook.backend.search.BookSearchIndex;
+import com.batubook.backend.search.BookSearchResult;
 import com.batubook.backend.service.serviceInterface.BookServiceInterface;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
@@ -18,16 +45,28 @@ import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,7 +75,21 @@ public class BookServiceImpl implements BookServiceInterface {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final TotalCountService totalCountService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookIndexUpdater bookIndexUpdater;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+    private final BookFacetCounter bookFacetCounter;
+    private final BookDetailCache bookDetailCache;
+    private final BookCache bookCache;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final DeletionJobServiceInterface deletionJobService;
+    private final JsonMergePatcher jsonMergePatcher;
     private static final Logger logger = LoggerFactory.getLogger(BookServiceImpl.class);
+    private static final String COUNT_KEY = "books";
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final int IN_CHUNK_SIZE = 500;
+    private static final int MAX_SIMILAR_RESULTS = 100;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -48,6 +101,8 @@ public class BookServiceImpl implements BookServiceInterface {
             BookEntity bookEntity = bookMapper.bookDTOToEntity(bookDTO);
             logger.debug("Converted BookDTO to BookEntity: {}", bookEntity);
             BookEntity savedBook = bookRepository.save(bookEntity);
+            bookIndexUpdater.index(savedBook.getId(), savedBook.getTitle(), savedBook.getAuthor());
+            totalCountService.increment(COUNT_KEY);
             logger.info("Book saved successfully with ID: {}", savedBook.getId());
             return bookMapper.bookEntityToDTO(savedBook);
 
@@ -64,14 +119,49 @@ public class BookServiceImpl implements BookServiceInterface {
     @Transactional(readOnly = true)
     public BookDTO getBookById(Long id) {
         logger.info("Attempting to retrieve book with ID: {}", id);
-        BookEntity bookEntity = bookRepository.findById(id)
+        BookDTO book = bookCache.get(id, () -> bookRepository.findById(id)
+                .map(bookMapper::bookEntityToDTO)
                 .orElseThrow(() -> {
                     logger.warn("Book not found with ID: {}", id);
                     return new CustomExceptions.NotFoundException("Book not found with ID: " + id);
-                });
+                }));
 
         logger.info("Successfully retrieved book with ID: {}", id);
-        return bookMapper.bookEntityToDTO(bookEntity);
+        return book;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookDTO> getBooksByIds(List<Long> ids) {
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_IDS) {
+            logger.error("Invalid number of book IDs requested: {}", distinctIds.size());
+            throw new CustomExceptions.BadRequestException("Between 1 and " + MAX_BATCH_IDS + " book IDs must be requested.");
+        }
+
+        logger.debug("Fetching {} books by ID", distinctIds.size());
+        Map<Long, BookDTO> booksById = bookCache.getAll(distinctIds, this::loadBooksById);
+        List<BookDTO> books = distinctIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        logger.info("Successfully fetched {} of {} requested books", books.size(), distinctIds.size());
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookDetailDTO getBookDetail(Long id) {
+        logger.info("Attempting to retrieve book detail with ID: {}", id);
+        BookDetailDTO bookDetail = bookDetailCache.get(id, () -> bookRepository.findBookDetailById(id)
+                .map(this::toBookDetail)
+                .orElseThrow(() -> {
+                    logger.warn("Book not found with ID: {}", id);
+                    return new CustomExceptions.NotFoundException("Book not found with ID: " + id);
+                }));
+
+        logger.info("Successfully retrieved book detail with ID: {}", id);
+        return bookDetail;
     }
 
     @Override
@@ -83,6 +173,26 @@ public class BookServiceImpl implements BookServiceInterface {
         return allBooks.map(bookMapper::bookEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getAllBooksAfter(String after, int size) {
+        logger.debug("Fetching books after cursor: {}, size = {}", after, size);
+        List<BookEntity> rows = bookRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<BookEntity> slice = CursorPage.of(rows, size, BookEntity::getId);
+        logger.info("Successfully fetched {} books", slice.getNumberOfElements());
+        return slice.map(bookMapper::bookEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> getAllBooksWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching books with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<BookEntity> slice = bookRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, bookRepository::count);
+        logger.info("Successfully fetched {} books", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(bookMapper::bookEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<BookDTO> getBookByTitleAndAuthor(String title, String author, Pageable pageable) {
@@ -99,39 +209,214 @@ public class BookServiceImpl implements BookServiceInterface {
         logger.info("Searching books with search term: '{}' using pagination: page number = {}, page size = {}",
                 searchTerm, pageable.getPageNumber(), pageable.getPageSize());
         try {
+            if (!bookSearchIndex.isReady()) {
+                logger.warn("Book search index is not ready yet, searching the database for term: '{}'", searchTerm);
+                return getBookByLikeCriteria(searchTerm, pageable);
+            }
+
+            BookSearchResult result = bookSearchIndex.search(searchTerm, (int) pageable.getOffset(), pageable.getPageSize());
+            List<BookDTO> books = loadSearchHits(result);
+            logger.info("Found {} books for search term '{}', returning {}", result.getTotalHits(), searchTerm, books.size());
+            return new PageImpl<>(books, pageable, result.getTotalHits());
+
+        } catch (Exception e) {
+            logger.error("Error occurred while searching for books with search term '{}'", searchTerm, e);
+            throw new RuntimeException("Error occurred while searching for books", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> getBookByFuzzyCriteria(String searchTerm, Pageable pageable) {
+        logger.info("Fuzzy searching books with search term: '{}' using pagination: page number = {}, page size = {}",
+                searchTerm, pageable.getPageNumber(), pageable.getPageSize());
+        try {
+            if (!bookSearchIndex.isReady()) {
+                logger.warn("Book search index is not ready yet, searching the database without typo tolerance for term: '{}'", searchTerm);
+                return getBookByLikeCriteria(searchTerm, pageable);
+            }
+
+            BookSearchResult result = bookSearchIndex.fuzzySearch(searchTerm, (int) pageable.getOffset(), pageable.getPageSize());
+            List<BookDTO> books = loadSearchHits(result);
+            logger.info("Found {} books for fuzzy search term '{}', returning {}", result.getTotalHits(), searchTerm, books.size());
+            return new PageImpl<>(books, pageable, result.getTotalHits());
+
+        } catch (Exception e) {
+            logger.error("Error occurred while fuzzy searching for books with search term '{}'", searchTerm, e);
+            throw new RuntimeException("Error occurred while searching for books", e);
+        }
+    }
+
+    @Override
+    public List<BookSuggestionDTO> getBookSuggestions(String prefix, int limit) {
+        logger.debug("Fetching up to {} suggestions for prefix: '{}'", limit, prefix);
+        if (!bookAutocompleteIndex.isReady()) {
+            logger.warn("Book autocomplete index is still loading, suggestions for '{}' may be incomplete", prefix);
+        }
+
+        List<BookSuggestionDTO> suggestions = bookAutocompleteIndex.suggest(prefix, limit);
+        logger.debug("Found {} suggestions for prefix: '{}'", suggestions.size(), prefix);
+        return suggestions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SimilarBookDTO> getSimilarBooks(Long id, int limit) {
+        logger.debug("Fetching up to {} similar books for book ID: {}", limit, id);
+        if (limit < 1 || limit > MAX_SIMILAR_RESULTS) {
+            logger.error("Invalid similar books limit: {}", limit);
+            throw new CustomExceptions.BadRequestException("Limit must be between 1 and " + MAX_SIMILAR_RESULTS + ".");
+        }
+        if (!bookRepository.existsById(id)) {
+            logger.warn("Book not found with ID: {}", id);
+            throw new CustomExceptions.NotFoundException("Book not found with ID: " + id);
+        }
+        if (!bookSimilarityIndex.isReady()) {
+            logger.warn("Book similarity index is still loading, similar books for ID {} may be incomplete", id);
+        }
+
+        List<BookSimilarity> similarities = bookSimilarityIndex.similar(id, limit);
+        Map<Long, BookEntity> booksById = bookRepository.findAllById(similarities.stream().map(BookSimilarity::getBookId).toList())
+                .stream()
+                .collect(Collectors.toMap(BookEntity::getId, Function.identity()));
+
+        List<SimilarBookDTO> similarBooks = similarities.stream()
+                .filter(similarity -> booksById.containsKey(similarity.getBookId()))
+                .map(similarity -> SimilarBookDTO.builder()
+                        .book(bookMapper.bookEntityToDTO(booksById.get(similarity.getBookId())))
+                        .score(similarity.getScore())
+                        .sharedReaders(similarity.getSharedReaders())
+                        .build())
+                .collect(Collectors.toList());
+        logger.debug("Found {} similar books for book ID: {}", similarBooks.size(), id);
+        return similarBooks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacetResultDTO getBooksByFilter(BookFilterDTO filter, Pageable pageable) {
+        logger.info("Filtering books with {} using pagination: page number = {}, page size = {}",
+                filter, pageable.getPageNumber(), pageable.getPageSize());
+        validateFilter(filter);
+
+        BookFacetCounts facets = bookFacetCounter.count(filter);
+        List<BookDTO> books = List.of();
+        if (pageable.getOffset() < facets.getTotalMatches()) {
             CriteriaBuilder cb = entityManager.getCriteriaBuilder();
             CriteriaQuery<BookEntity> query = cb.createQuery(BookEntity.class);
             Root<BookEntity> book = query.from(BookEntity.class);
+            query.where(filterPredicates(cb, book, filter).toArray(Predicate[]::new));
+            query.orderBy(pageable.getSort().isSorted()
+                    ? QueryUtils.toOrders(pageable.getSort(), book, cb)
+                    : List.of(cb.asc(book.get("id"))));
 
-            Predicate titlePredicate = cb.like(cb.lower(book.get("title")), "%" + searchTerm.toLowerCase() + "%");
-            Predicate authorPredicate = cb.like(cb.lower(book.get("author")), "%" + searchTerm.toLowerCase() + "%");
-            query.where(cb.or(titlePredicate, authorPredicate));
+            books = entityManager.createQuery(query)
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList().stream()
+                    .map(bookMapper::bookEntityToDTO)
+                    .collect(Collectors.toList());
+        }
 
-            TypedQuery<BookEntity> typedQuery = entityManager.createQuery(query);
-            typedQuery.setFirstResult((int) pageable.getOffset());
-            typedQuery.setMaxResults(pageable.getPageSize());
+        logger.info("Found {} books matching filter, returning {}", facets.getTotalMatches(), books.size());
+        return BookFacetResultDTO.builder()
+                .books(new PageImpl<>(books, pageable, facets.getTotalMatches()))
+                .genres(facets.getGenres())
+                .pageCounts(facets.getPageCounts())
+                .publishDates(facets.getPublishDates())
+                .build();
+    }
 
-            List<BookEntity> books = typedQuery.getResultList();
-            logger.info("Found {} books for search term '{}'", books.size(), searchTerm);
-            return new PageImpl<>(books.stream()
-                    .map(bookMapper::bookEntityToDTO)
-                    .collect(Collectors.toList()), pageable, books.size());
+    private void validateFilter(BookFilterDTO filter) {
+        if (filter.getMinPageCount() != null && filter.getMaxPageCount() != null
+                && filter.getMinPageCount() > filter.getMaxPageCount()) {
+            throw new CustomExceptions.BadRequestException("minPageCount must not be greater than maxPageCount");
+        }
+        if (filter.getPublishedFrom() != null && filter.getPublishedTo() != null
+                && filter.getPublishedFrom().isAfter(filter.getPublishedTo())) {
+            throw new CustomExceptions.BadRequestException("publishedFrom must not be after publishedTo");
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error occurred while searching for books with search term '{}'", searchTerm, e);
-            throw new RuntimeException("Error occurred while searching for books", e);
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<BookEntity> book, BookFilterDTO filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getGenres() != null && !filter.getGenres().isEmpty()) {
+            predicates.add(book.get("genre").in(filter.getGenres()));
+        }
+        if (filter.getMinPageCount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(book.get("pageCount"), filter.getMinPageCount()));
+        }
+        if (filter.getMaxPageCount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(book.get("pageCount"), filter.getMaxPageCount()));
+        }
+        if (filter.getPublishedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(book.get("publishDate"), filter.getPublishedFrom()));
+        }
+        if (filter.getPublishedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(book.get("publishDate"), filter.getPublishedTo()));
+        }
+        if (filter.getText() != null && !filter.getText().isBlank()) {
+            String pattern = "%" + filter.getText().trim().toLowerCase() + "%";
+            predicates.add(cb.or(cb.like(cb.lower(book.get("title")), pattern), cb.like(cb.lower(book.get("author")), pattern)));
         }
+        return predicates;
+    }
+
+    private Map<Long, BookDTO> loadBooksById(List<Long> ids) {
+        Map<Long, BookDTO> books = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += IN_CHUNK_SIZE) {
+            bookRepository.findAllById(ids.subList(start, Math.min(start + IN_CHUNK_SIZE, ids.size())))
+                    .forEach(book -> books.put(book.getId(), bookMapper.bookEntityToDTO(book)));
+        }
+        return books;
+    }
+
+    private List<BookDTO> loadSearchHits(BookSearchResult result) {
+        Map<Long, BookEntity> booksById = bookRepository.findAllById(result.getBookIds()).stream()
+                .collect(Collectors.toMap(BookEntity::getId, Function.identity()));
+
+        return result.getBookIds().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(bookMapper::bookEntityToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private Page<BookDTO> getBookByLikeCriteria(String searchTerm, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        String pattern = "%" + searchTerm.toLowerCase() + "%";
+
+        CriteriaQuery<BookEntity> query = cb.createQuery(BookEntity.class);
+        Root<BookEntity> book = query.from(BookEntity.class);
+        query.where(cb.or(cb.like(cb.lower(book.get("title")), pattern), cb.like(cb.lower(book.get("author")), pattern)));
+
+        TypedQuery<BookEntity> typedQuery = entityManager.createQuery(query);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+        List<BookEntity> books = typedQuery.getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<BookEntity> countRoot = countQuery.from(BookEntity.class);
+        countQuery.select(cb.count(countRoot))
+                .where(cb.or(cb.like(cb.lower(countRoot.get("title")), pattern), cb.like(cb.lower(countRoot.get("author")), pattern)));
+        Long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        logger.info("Found {} books for search term '{}' in the database", total, searchTerm);
+        return new PageImpl<>(books.stream()
+                .map(bookMapper::bookEntityToDTO)
+                .collect(Collectors.toList()), pageable, total);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BookDTO getBookByIsbn(String isbn) {
         logger.info("Searching for book with ISBN: '{}'", isbn);
-        BookEntity bookEntity = bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new CustomExceptions.NotFoundException("Book not found with ISBN: " + isbn));
+        BookDTO book = bookCache.getByIsbn(isbn, () -> bookRepository.findByIsbn(isbn)
+                .map(bookMapper::bookEntityToDTO)
+                .orElseThrow(() -> new CustomExceptions.NotFoundException("Book not found with ISBN: " + isbn)));
 
         logger.info("Found book with ISBN: '{}'", isbn);
-        return bookMapper.bookEntityToDTO(bookEntity);
+        return book;
     }
 
     @Override
@@ -176,6 +461,9 @@ public class BookServiceImpl implements BookServiceInterface {
 
             updateBookDetails(existingBook, bookDTO);
             BookEntity updatedBook = bookRepository.save(existingBook);
+            bookIndexUpdater.index(updatedBook.getId(), updatedBook.getTitle(), updatedBook.getAuthor());
+            bookDetailCache.evict(id);
+            bookCache.invalidate(id);
             logger.info("Successfully updated book with id: {}", id);
             return bookMapper.bookEntityToDTO(updatedBook);
 
@@ -190,15 +478,104 @@ public class BookServiceImpl implements BookServiceInterface {
 
     @Override
     @Transactional
-    public void removeBook(Long id) {
+    public BookDTO patchBook(Long id, JsonNode patch) {
+        logger.info("Attempting to patch book with id: {}", id);
+        try {
+            BookEntity existingBook = bookRepository.findById(id)
+                    .orElseThrow(() -> new CustomExceptions.NotFoundException("Book not found with ID: " + id));
+
+            BookDTO current = bookMapper.bookEntityToDTO(existingBook);
+            BookDTO patched = jsonMergePatcher.apply(patch, current, BookDTO.class);
+            JsonMergePatcher.Changes<BookEntity> changes = JsonMergePatcher.changesTo(existingBook)
+                    .set("bookCoverImageUrl", existingBook.getBookCoverImageUrl(), JsonMergePatcher.trim(patched.getBookCoverImageUrl()), existingBook::setBookCoverImageUrl)
+                    .setRequired("title", existingBook.getTitle(), JsonMergePatcher.trim(patched.getTitle()), existingBook::setTitle)
+                    .setRequired("author", existingBook.getAuthor(), JsonMergePatcher.trim(patched.getAuthor()), existingBook::setAuthor)
+                    .setRequired("isbn", existingBook.getIsbn(), JsonMergePatcher.trim(patched.getIsbn()), existingBook::setIsbn)
+                    .setRequired("pageCount", existingBook.getPageCount(), patched.getPageCount(), existingBook::setPageCount)
+                    .setRequired("publishDate", existingBook.getPublishDate(), JsonMergePatcher.parseDate(patched.getPublishDate(), "publishDate"), existingBook::setPublishDate)
+                    .setRequired("genre", existingBook.getGenre(), patched.getGenre(), existingBook::setGenre)
+                    .set("summary", existingBook.getSummary(), JsonMergePatcher.trim(patched.getSummary()), existingBook::setSummary);
+
+            if (changes.isEmpty()) {
+                logger.info("Patch for book with id: {} changed nothing, skipping the update", id);
+                return current;
+            }
+
+            jsonMergePatcher.validate(changes);
+            BookEntity updatedBook = bookRepository.saveAndFlush(existingBook);
+            if (changes.contains("title") || changes.contains("author")) {
+                bookIndexUpdater.index(updatedBook.getId(), updatedBook.getTitle(), updatedBook.getAuthor());
+            }
+            bookDetailCache.evict(id);
+            bookCache.invalidate(id);
+            logger.info("Book with id: {} patched: {}", id, changes.properties());
+            return bookMapper.bookEntityToDTO(updatedBook);
+
+        } catch (CustomExceptions.NotFoundException | CustomExceptions.BadRequestException e) {
+            logger.error("Patch of book with id: {} failed: {}", id, e.getMessage());
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Patch of book with id: {} collided with an existing ISBN", id);
+            throw new CustomExceptions.ConflictException("A book with this ISBN already exists.");
+        } catch (Exception e) {
+            logger.error("Error while patching book: {}", e.getMessage());
+            throw new CustomExceptions.InternalServerErrorException("Book could not be updated: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public DeletionJobDTO removeBook(Long id) {
         logger.info("Attempting to remove book with ID: {}", id);
-        if (!bookRepository.existsById(id)) {
+        if (bookRepository.tombstoneById(id, LocalDateTime.now()) == 0) {
             logger.error("Book with ID: {} not found for deletion", id);
             throw new CustomExceptions.NotFoundException("Book not found with ID: " + id);
         }
 
-        bookRepository.deleteById(id);
-        logger.info("Successfully deleted book with ID: {}", id);
+        bookIndexUpdater.remove(id);
+        bookDetailCache.evict(id);
+        bookCache.invalidate(id);
+        bookSimilarityIndex.removeBook(id);
+        totalCountService.decrement(COUNT_KEY);
+        DeletionJobDTO deletionJob = deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.BOOK, id);
+        logger.info("Book with ID: {} tombstoned, deletion job {} scheduled", id, deletionJob.getId());
+        return deletionJob;
+    }
+
+    private BookDetailDTO toBookDetail(BookDetailView view) {
+        BookDTO book = BookDTO.builder()
+                .id(view.getId())
+                .bookCoverImageUrl(view.getBookCoverImageUrl())
+                .title(view.getTitle())
+                .author(view.getAuthor())
+                .isbn(view.getIsbn())
+                .pageCount(view.getPageCount())
+                .publishDate(view.getPublishDate().toString())
+                .genre(Genre.valueOf(view.getGenre()))
+                .summary(view.getSummary())
+                .build();
+
+        BookSalesDTO cheapestOffer = view.getOfferId() == null ? null : BookSalesDTO.builder()
+                .id(view.getOfferId())
+                .salesCode(view.getOfferSalesCode())
+                .publisher(view.getOfferPublisher())
+                .price(view.getOfferPrice())
+                .stockQuantity(view.getOfferStockQuantity())
+                .currency(BookSalesEntity.Currency.valueOf(view.getOfferCurrency()))
+                .discount(view.getOfferDiscount())
+                .isAvailable(view.getOfferIsAvailable())
+                .bookId(view.getId())
+                .build();
+
+        return BookDetailDTO.builder()
+                .book(book)
+                .averageRating(view.getAverageRating() == null ? null : view.getAverageRating().setScale(2, RoundingMode.HALF_UP))
+                .reviewCount(view.getReviewCount())
+                .readerCount(view.getReaderCount())
+                .likerCount(view.getLikerCount())
+                .followerCount(view.getFollowerCount())
+                .cheapestOffer(cheapestOffer)
+                .build();
     }
 
     private void updateBookDetails(BookEntity bookEntity, BookDTO bookDTO) {
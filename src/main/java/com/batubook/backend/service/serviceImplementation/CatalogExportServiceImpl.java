@@ -0,0 +1,132 @@
+package com.batubook.backend.service.serviceImplementation;
+
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.export.ExportColumn;
+import com.batubook.backend.export.ExportFormat;
+import com.batubook.backend.export.ExportRowWriter;
+import com.batubook.backend.service.serviceInterface.CatalogExportServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Streams whole tables to a response body. Rows are read through a forward-only JDBC cursor and written as they
+ * arrive, so nothing is materialised and no entity ever enters a persistence context. PostgreSQL only honours the
+ * fetch size inside a transaction, which is why each export runs in its own read-only transaction.
+ */
+@Service
+public class CatalogExportServiceImpl implements CatalogExportServiceInterface {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportServiceImpl.class);
+
+    private static final String BOOKS_SQL = """
+            SELECT id, book_cover_image_url, title, author, isbn, page_count, publish_date, genre, summary
+            FROM books WHERE deleted_at IS NULL ORDER BY id
+            """;
+    private static final String BOOK_SALES_SQL = """
+            SELECT id, sales_code, publisher, price, stock_quantity, currency, discount, is_available, book_id
+            FROM book_sales WHERE book_id IN (SELECT id FROM books WHERE deleted_at IS NULL) ORDER BY id
+            """;
+
+    private static final List<ExportColumn> BOOK_COLUMNS = List.of(
+            ExportColumn.of("id", rs -> rs.getObject("id", Long.class)),
+            ExportColumn.of("bookCoverImageUrl", rs -> rs.getString("book_cover_image_url")),
+            ExportColumn.of("title", rs -> rs.getString("title")),
+            ExportColumn.of("author", rs -> rs.getString("author")),
+            ExportColumn.of("isbn", rs -> rs.getString("isbn")),
+            ExportColumn.of("pageCount", rs -> rs.getObject("page_count", Integer.class)),
+            ExportColumn.of("publishDate", CatalogExportServiceImpl::publishDate),
+            ExportColumn.of("genre", CatalogExportServiceImpl::genre),
+            ExportColumn.of("summary", rs -> rs.getString("summary")));
+
+    private static final List<ExportColumn> BOOK_SALES_COLUMNS = List.of(
+            ExportColumn.of("id", rs -> rs.getObject("id", Long.class)),
+            ExportColumn.of("salesCode", rs -> rs.getString("sales_code")),
+            ExportColumn.of("publisher", rs -> rs.getString("publisher")),
+            ExportColumn.of("price", rs -> rs.getObject("price", Double.class)),
+            ExportColumn.of("stockQuantity", rs -> rs.getObject("stock_quantity", Integer.class)),
+            ExportColumn.of("currency", rs -> rs.getString("currency")),
+            ExportColumn.of("discount", rs -> rs.getObject("discount", Double.class)),
+            ExportColumn.of("isAvailable", rs -> rs.getObject("is_available", Boolean.class)),
+            ExportColumn.of("bookId", rs -> rs.getObject("book_id", Long.class)));
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExportServiceImpl(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${batubook.export.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportBooks(OutputStream outputStream, ExportFormat format) {
+        return export("books", BOOKS_SQL, BOOK_COLUMNS, outputStream, format);
+    }
+
+    @Override
+    public long exportBookSales(OutputStream outputStream, ExportFormat format) {
+        return export("book_sales", BOOK_SALES_SQL, BOOK_SALES_COLUMNS, outputStream, format);
+    }
+
+    private long export(String table, String sql, List<ExportColumn> columns, OutputStream outputStream,
+                        ExportFormat format) {
+        logger.info("Starting {} export of {}", format, table);
+        long startedAt = System.nanoTime();
+        try {
+            ExportRowWriter rowWriter = new ExportRowWriter(outputStream, format, columns, objectMapper);
+            rowWriter.writeHeader();
+
+            long[] rows = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(sql, rs -> {
+                try {
+                    rowWriter.writeRow(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            rowWriter.flush();
+
+            logger.info("Exported {} rows of {} in {} ms", rows[0], table, (System.nanoTime() - startedAt) / 1_000_000);
+            return rows[0];
+
+        } catch (UncheckedIOException e) {
+            logger.warn("Export of {} aborted, the client probably went away: {}", table, e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            logger.warn("Export of {} aborted, the client probably went away: {}", table, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String publishDate(ResultSet rs) throws SQLException {
+        LocalDate publishDate = rs.getObject("publish_date", LocalDate.class);
+        return publishDate != null ? publishDate.toString() : null;
+    }
+
+    private static String genre(ResultSet rs) throws SQLException {
+        String genre = rs.getString("genre");
+        return genre != null ? Genre.valueOf(genre).toJson() : null;
+    }
+}
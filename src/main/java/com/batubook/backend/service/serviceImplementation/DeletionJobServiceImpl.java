@@ -0,0 +1,151 @@
+package com.batubook.backend.service.serviceImplementation;
+
+import com.batubook.backend.deletion.CascadePurger;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.mapper.DeletionJobMapper;
+import com.batubook.backend.repository.DeletionJobRepository;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs deletion jobs one at a time on a single background thread, so at most one purge competes with request
+ * traffic for locks. A job is only handed to the worker once the transaction that tombstoned its target and
+ * created it has committed. Jobs that were pending, running or failed when the application stopped are picked
+ * up again at startup; purging is idempotent, so they simply start over.
+ */
+@Service
+public class DeletionJobServiceImpl implements DeletionJobServiceInterface {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionJobServiceImpl.class);
+    private static final Set<DeletionJobEntity.Status> UNFINISHED = EnumSet.of(
+            DeletionJobEntity.Status.PENDING, DeletionJobEntity.Status.RUNNING, DeletionJobEntity.Status.FAILED);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DeletionJobRepository deletionJobRepository;
+    private final DeletionJobMapper deletionJobMapper;
+    private final CascadePurger cascadePurger;
+    private final int maxAttempts;
+    private final ExecutorService executor;
+
+    public DeletionJobServiceImpl(DeletionJobRepository deletionJobRepository,
+                                  DeletionJobMapper deletionJobMapper,
+                                  CascadePurger cascadePurger,
+                                  @Value("${batubook.deletion.max-attempts:3}") int maxAttempts) {
+        this.deletionJobRepository = deletionJobRepository;
+        this.deletionJobMapper = deletionJobMapper;
+        this.cascadePurger = cascadePurger;
+        this.maxAttempts = maxAttempts;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread worker = new Thread(task, "deletion-job-worker");
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    @Override
+    @Transactional
+    public DeletionJobDTO scheduleDeletion(DeletionJobEntity.TargetType targetType, Long targetId) {
+        DeletionJobEntity job = deletionJobRepository.save(DeletionJobEntity.builder()
+                .targetType(targetType)
+                .targetId(targetId)
+                .build());
+        logger.info("Scheduled deletion job {} for {} {}", job.getId(), targetType, targetId);
+        submitAfterCommit(job.getId());
+        return deletionJobMapper.deletionJobEntityToDTO(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeletionJobDTO getDeletionJobById(Long id) {
+        logger.info("Fetching deletion job with ID: {}", id);
+        return deletionJobRepository.findById(id)
+                .map(deletionJobMapper::deletionJobEntityToDTO)
+                .orElseThrow(() -> {
+                    logger.error("Deletion job with ID: {} not found", id);
+                    return new CustomExceptions.NotFoundException("Deletion job not found with ID: " + id);
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<Long> jobIds = deletionJobRepository.findIdsByStatusIn(UNFINISHED);
+        if (!jobIds.isEmpty()) {
+            logger.info("Resuming {} unfinished deletion jobs", jobIds.size());
+        }
+        jobIds.forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(jobId);
+                }
+            });
+        } else {
+            submit(jobId);
+        }
+    }
+
+    private void submit(Long jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        DeletionJobEntity job = deletionJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == DeletionJobEntity.Status.COMPLETED) {
+            return;
+        }
+
+        int attempts = job.getAttempts();
+        while (true) {
+            attempts++;
+            deletionJobRepository.markStarted(jobId, DeletionJobEntity.Status.RUNNING, LocalDateTime.now());
+            try {
+                long deleted = cascadePurger.purge(jobId, job.getTargetType(), job.getTargetId());
+                LocalDateTime now = LocalDateTime.now();
+                deletionJobRepository.markFinished(jobId, DeletionJobEntity.Status.COMPLETED, null, now, now);
+                logger.info("Deletion job {} completed after {} attempts, {} rows deleted", jobId, attempts, deleted);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Deletion job {} failed on attempt {}: {}", jobId, attempts, e.getMessage());
+                deletionJobRepository.markFinished(jobId, DeletionJobEntity.Status.FAILED, truncate(e.getMessage()),
+                        null, LocalDateTime.now());
+                if (attempts >= maxAttempts) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,57 +1,117 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.BookDetailCache;
+import com.batubook.backend.dto.FollowCountDTO;
 import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.dto.FollowSuggestionDTO;
 import com.batubook.backend.entity.BookEntity;
 import com.batubook.backend.entity.FollowEntity;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.follow.FollowWriter;
 import com.batubook.backend.mapper.FollowMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.PushEvent;
+import com.batubook.backend.push.UserEventBus;
 import com.batubook.backend.repository.BookRepository;
 import com.batubook.backend.repository.FollowRepository;
 import com.batubook.backend.repository.UserRepository;
 import com.batubook.backend.service.serviceInterface.FollowServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class FollowServiceImpl implements FollowServiceInterface {
 
     private final FollowRepository followRepository;
     private final FollowMapper followMapper;
+    private final TotalCountService totalCountService;
+    private final BookDetailCache bookDetailCache;
     private final Logger logger = LoggerFactory.getLogger(FollowServiceImpl.class);
+    private static final String COUNT_KEY = "follows";
 
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final FollowGraph followGraph;
+    private final FollowWriter followWriter;
+    private final HomeTimeline homeTimeline;
+    private final UserEventBus userEventBus;
+    private static final int MAX_CHECKED_IDS = 1000;
+    private static final int MAX_GRAPH_RESULTS = 100;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
 
+    /**
+     * Follows by id in one {@code INSERT ... ON CONFLICT DO NOTHING RETURNING id}; neither user is loaded. A follow
+     * that already exists, including one a concurrent double-tap inserted a moment earlier, is looked up only on that
+     * conflict and returned with {@code alreadyFollowing} set instead of failing on the unique constraint.
+     */
     @Override
     @Transactional
     public FollowDTO followUser(FollowDTO followDTO) {
+        Long followerId = followDTO.getFollowerId();
+        Long followedUserId = followDTO.getFollowedUserId();
         try {
-            UserEntity follower = userRepository.findById(followDTO.getFollowerId())
-                    .orElseThrow(() -> new RuntimeException("Follower not found"));
-            UserEntity followedUser = userRepository.findById(followDTO.getFollowedUserId())
-                    .orElseThrow(() -> new RuntimeException("Followed user not found"));
-
-            if (followRepository.findByFollowerAndFollowedUser(follower, followedUser) != null) {
-                throw new RuntimeException("User already follows this user.");
+            if (followerId == null || followedUserId == null) {
+                throw new CustomExceptions.BadRequestException("Follower ID and followed user ID are required.");
             }
 
-            FollowEntity followEntity = followMapper.followDTOToEntity(followDTO);
-            followEntity.setFollower(follower);
-            followEntity.setFollowedUser(followedUser);
+            boolean created = false;
+            Long followId = null;
+            for (int attempt = 1; followId == null; attempt++) {
+                Optional<Long> inserted = followWriter.insertUserFollow(followerId, followedUserId);
+                created = inserted.isPresent();
+                followId = inserted.or(() -> followRepository.findUserFollowId(followerId, followedUserId)).orElse(null);
+                if (followId == null) {
+                    if (!followWriter.canFollowUser(followerId, followedUserId)) {
+                        throw new CustomExceptions.NotFoundException(
+                                "Follower with ID: " + followerId + " or user with ID: " + followedUserId + " not found");
+                    }
+                    retryOrGiveUp(attempt);
+                }
+            }
 
-            followRepository.save(followEntity);
-            logger.info("User with ID: {} followed user with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedUserId());
-            return followMapper.followEntityToDTO(followEntity);
+            FollowDTO follow = FollowDTO.builder()
+                    .id(followId)
+                    .followerId(followerId)
+                    .followedUserId(followedUserId)
+                    .alreadyFollowing(!created)
+                    .build();
+            if (created) {
+                userRepository.adjustFollowCounts(followerId, followedUserId, 1);
+                followGraph.follow(followerId, followedUserId);
+                homeTimeline.invalidate(followerId);
+                userEventBus.publish(followedUserId, PushEvent.EventType.FOLLOW, follow);
+                totalCountService.increment(COUNT_KEY);
+                logger.info("User with ID: {} followed user with ID: {}", followerId, followedUserId);
+            } else {
+                logger.info("User with ID: {} already follows user with ID: {}", followerId, followedUserId);
+            }
+            return follow;
 
-        } catch (CustomExceptions.BadRequestException e) {
-            logger.error("Bad Request Error for follow user: {}", e.getMessage());
+        } catch (CustomExceptions.BadRequestException | CustomExceptions.NotFoundException
+                 | CustomExceptions.ConflictException e) {
+            logger.error("Error for follow user: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
             logger.error("Error while creating follow user: {}", e.getMessage());
@@ -62,26 +122,46 @@ public class FollowServiceImpl implements FollowServiceInterface {
     @Override
     @Transactional
     public FollowDTO followBook(FollowDTO followDTO) {
+        Long followerId = followDTO.getFollowerId();
+        Long followedBookId = followDTO.getFollowedBookId();
         try {
-            UserEntity follower = userRepository.findById(followDTO.getFollowerId())
-                    .orElseThrow(() -> new RuntimeException("Follower not found"));
-            BookEntity followedBook = bookRepository.findById(followDTO.getFollowedBookId())
-                    .orElseThrow(() -> new RuntimeException("Book not found"));
-
-            if (followRepository.findByFollowerAndFollowedBook(follower, followedBook) != null) {
-                throw new RuntimeException("User already follows this book.");
+            if (followerId == null || followedBookId == null) {
+                throw new CustomExceptions.BadRequestException("Follower ID and followed book ID are required.");
             }
 
-            FollowEntity followEntity = followMapper.followDTOToEntity(followDTO);
-            followEntity.setFollower(follower);
-            followEntity.setFollowedBook(followedBook);
+            boolean created = false;
+            Long followId = null;
+            for (int attempt = 1; followId == null; attempt++) {
+                Optional<Long> inserted = followWriter.insertBookFollow(followerId, followedBookId);
+                created = inserted.isPresent();
+                followId = inserted.or(() -> followRepository.findBookFollowId(followerId, followedBookId)).orElse(null);
+                if (followId == null) {
+                    if (!followWriter.canFollowBook(followerId, followedBookId)) {
+                        throw new CustomExceptions.NotFoundException(
+                                "Follower with ID: " + followerId + " or book with ID: " + followedBookId + " not found");
+                    }
+                    retryOrGiveUp(attempt);
+                }
+            }
 
-            followRepository.save(followEntity);
-            logger.info("User with ID: {} followed book with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedBookId());
-            return followMapper.followEntityToDTO(followEntity);
+            if (created) {
+                bookRepository.adjustFollowerCount(followedBookId, 1);
+                totalCountService.increment(COUNT_KEY);
+                bookDetailCache.evict(followedBookId);
+                logger.info("User with ID: {} followed book with ID: {}", followerId, followedBookId);
+            } else {
+                logger.info("User with ID: {} already follows book with ID: {}", followerId, followedBookId);
+            }
+            return FollowDTO.builder()
+                    .id(followId)
+                    .followerId(followerId)
+                    .followedBookId(followedBookId)
+                    .alreadyFollowing(!created)
+                    .build();
 
-        } catch (CustomExceptions.BadRequestException e) {
-            logger.error("Bad Request Error for follow book: {}", e.getMessage());
+        } catch (CustomExceptions.BadRequestException | CustomExceptions.NotFoundException
+                 | CustomExceptions.ConflictException e) {
+            logger.error("Error for follow book: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
             logger.error("Error while creating follow book: {}", e.getMessage());
@@ -89,6 +169,17 @@ public class FollowServiceImpl implements FollowServiceInterface {
         }
     }
 
+    /**
+     * The insert skipped the follow because one existed, and that one was removed by a concurrent unfollow before
+     * it could be looked up; insert again, a few times at most.
+     */
+    private void retryOrGiveUp(int attempt) {
+        if (attempt == MAX_WRITE_ATTEMPTS) {
+            throw new CustomExceptions.ConflictException("The follow is being changed concurrently, please try again.");
+        }
+        logger.debug("Follow removed concurrently, retrying (attempt {})", attempt);
+    }
+
     @Override
     public Page<FollowDTO> getAllFollows(Pageable pageable) {
         logger.info("Fetching all follow records. Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
@@ -97,6 +188,26 @@ public class FollowServiceImpl implements FollowServiceInterface {
         return followEntities.map(followMapper::followEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FollowDTO> getAllFollowsAfter(String after, int size) {
+        logger.debug("Fetching follow records after cursor: {}, size = {}", after, size);
+        List<FollowEntity> rows = followRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<FollowEntity> slice = CursorPage.of(rows, size, FollowEntity::getId);
+        logger.info("Successfully fetched {} follow records", slice.getNumberOfElements());
+        return slice.map(followMapper::followEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FollowDTO> getAllFollowsWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching follow records with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<FollowEntity> slice = followRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, followRepository::count);
+        logger.info("Successfully fetched {} follow records", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(followMapper::followEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<FollowDTO> getFollowedUsers(Long followerId, Pageable pageable) {
@@ -121,6 +232,19 @@ public class FollowServiceImpl implements FollowServiceInterface {
         return entities.map(followMapper::followEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FollowDTO> getFollowersWithEstimatedTotal(Long followedUserId, Pageable pageable) {
+        UserEntity followedUser = userRepository.findById(followedUserId)
+                .orElseThrow(() -> new RuntimeException("Followed user not found with ID: " + followedUserId));
+
+        logger.info("Fetching followers with estimated total for user with ID: {}", followedUserId);
+        Slice<FollowEntity> slice = followRepository.findSliceByFollowedUser(followedUser, pageable);
+        long estimatedTotal = followedUser.getFollowerCount();
+        logger.info("Fetched {} followers for user with ID: {}", slice.getNumberOfElements(), followedUserId);
+        return EstimatedPage.of(slice, estimatedTotal).map(followMapper::followEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<FollowDTO> getBookFollowers(Long followedBookId, Pageable pageable) {
@@ -133,39 +257,160 @@ public class FollowServiceImpl implements FollowServiceInterface {
         return entities.map(followMapper::followEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FollowDTO> getFollowedUsersAfter(Long followerId, String after, int size) {
+        logger.info("Fetching followed users for follower with ID: {} after cursor: {}", followerId, after);
+        List<FollowEntity> rows = followRepository.findByFollowerIdAndIdGreaterThanOrderByIdAsc(
+                followerId, CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<FollowEntity> slice = CursorPage.of(rows, size, FollowEntity::getId);
+        logger.info("Fetched {} followed users for follower with ID: {}", slice.getNumberOfElements(), followerId);
+        return slice.map(followMapper::followEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FollowDTO> getFollowersAfter(Long followedUserId, String after, int size) {
+        logger.info("Fetching followers for user with ID: {} after cursor: {}", followedUserId, after);
+        List<FollowEntity> rows = followRepository.findByFollowedUserIdAndIdGreaterThanOrderByIdAsc(
+                followedUserId, CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<FollowEntity> slice = CursorPage.of(rows, size, FollowEntity::getId);
+        logger.info("Fetched {} followers for user with ID: {}", slice.getNumberOfElements(), followedUserId);
+        return slice.map(followMapper::followEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FollowDTO> getBookFollowersAfter(Long followedBookId, String after, int size) {
+        logger.info("Fetching followers for book with ID: {} after cursor: {}", followedBookId, after);
+        List<FollowEntity> rows = followRepository.findByFollowedBookIdAndIdGreaterThanOrderByIdAsc(
+                followedBookId, CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<FollowEntity> slice = CursorPage.of(rows, size, FollowEntity::getId);
+        logger.info("Fetched {} followers for book with ID: {}", slice.getNumberOfElements(), followedBookId);
+        return slice.map(followMapper::followEntityToDTO);
+    }
+
+    /**
+     * Unfollows with a single {@code DELETE} by the natural key. Unfollowing someone who is not followed, or who
+     * does not exist, deletes nothing and is not an error.
+     */
     @Override
     @Transactional
     public void unfollowUser(FollowDTO followDTO) {
-        UserEntity follower = userRepository.findById(followDTO.getFollowerId())
-                .orElseThrow(() -> new RuntimeException("Follower not found with ID: " + followDTO.getFollowerId()));
-        UserEntity followedUser = userRepository.findById(followDTO.getFollowedUserId())
-                .orElseThrow(() -> new RuntimeException("Followed user not found with ID: " + followDTO.getFollowedUserId()));
-
-        FollowEntity followEntity = followRepository.findByFollowerAndFollowedUser(follower, followedUser);
-        if (followEntity == null) {
-            logger.warn("User with ID: {} is not following user with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedUserId());
+        Long followerId = followDTO.getFollowerId();
+        Long followedUserId = followDTO.getFollowedUserId();
+        if (!followWriter.deleteUserFollow(followerId, followedUserId)) {
+            logger.warn("User with ID: {} is not following user with ID: {}", followerId, followedUserId);
             return;
         }
 
-        followRepository.delete(followEntity);
-        logger.info("User with ID: {} unfollowed user with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedUserId());
+        userRepository.adjustFollowCounts(followerId, followedUserId, -1);
+        followGraph.unfollow(followerId, followedUserId);
+        homeTimeline.invalidate(followerId);
+        totalCountService.decrement(COUNT_KEY);
+        logger.info("User with ID: {} unfollowed user with ID: {}", followerId, followedUserId);
     }
 
     @Override
     @Transactional
     public void unfollowBook(FollowDTO followDTO) {
-        UserEntity follower = userRepository.findById(followDTO.getFollowerId())
-                .orElseThrow(() -> new RuntimeException("Follower not found with ID: " + followDTO.getFollowerId()));
-        BookEntity followedBook = bookRepository.findById(followDTO.getFollowedBookId())
-                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + followDTO.getFollowedBookId()));
-
-        FollowEntity followEntity = followRepository.findByFollowerAndFollowedBook(follower, followedBook);
-        if (followEntity == null) {
-            logger.warn("User with ID: {} is not following book with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedBookId());
+        Long followerId = followDTO.getFollowerId();
+        Long followedBookId = followDTO.getFollowedBookId();
+        if (!followWriter.deleteBookFollow(followerId, followedBookId)) {
+            logger.warn("User with ID: {} is not following book with ID: {}", followerId, followedBookId);
             return;
         }
 
-        followRepository.delete(followEntity);
-        logger.info("User with ID: {} unfollowed book with ID: {}", followDTO.getFollowerId(), followDTO.getFollowedBookId());
+        bookRepository.adjustFollowerCount(followedBookId, -1);
+        totalCountService.decrement(COUNT_KEY);
+        bookDetailCache.evict(followedBookId);
+        logger.info("User with ID: {} unfollowed book with ID: {}", followerId, followedBookId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> checkFollowedUsers(Long followerId, List<Long> ids) {
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_CHECKED_IDS) {
+            logger.error("Invalid number of user IDs to check: {}", distinctIds.size());
+            throw new CustomExceptions.BadRequestException("Between 1 and " + MAX_CHECKED_IDS + " user IDs must be checked.");
+        }
+
+        Set<Long> followed;
+        if (followGraph.isReady()) {
+            followed = followGraph.followedAmong(followerId, distinctIds);
+        } else {
+            logger.warn("Follow graph is still loading, checking follows of user with ID: {} in the database", followerId);
+            followed = followRepository.findFollowedUserIds(followerId, distinctIds);
+        }
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        distinctIds.forEach(id -> result.put(id, followed.contains(id)));
+        logger.info("User with ID: {} follows {} of {} checked users", followerId, followed.size(), distinctIds.size());
+        return result;
+    }
+
+    @Override
+    public List<Long> getMutualFollows(Long userId, int limit) {
+        logger.debug("Fetching up to {} mutual follows for user with ID: {}", limit, userId);
+        validateGraphQuery(limit);
+        List<Long> mutuals = followGraph.mutuals(userId, limit);
+        logger.info("Found {} mutual follows for user with ID: {}", mutuals.size(), userId);
+        return mutuals;
+    }
+
+    @Override
+    public List<FollowSuggestionDTO> getFollowSuggestions(Long userId, int limit) {
+        logger.debug("Fetching up to {} follow suggestions for user with ID: {}", limit, userId);
+        validateGraphQuery(limit);
+        List<FollowSuggestionDTO> suggestions = followGraph.suggestions(userId, limit).stream()
+                .map(suggestion -> FollowSuggestionDTO.builder()
+                        .userId(suggestion.getUserId())
+                        .mutualConnections(suggestion.getMutualConnections())
+                        .build())
+                .collect(Collectors.toList());
+        logger.info("Found {} follow suggestions for user with ID: {}", suggestions.size(), userId);
+        return suggestions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowCountDTO getUserFollowCounts(Long userId) {
+        logger.info("Fetching follow counts for user with ID: {}", userId);
+        return userRepository.findFollowCountsById(userId)
+                .map(counts -> FollowCountDTO.builder()
+                        .id(userId)
+                        .followerCount(counts.getFollowerCount())
+                        .followingCount(counts.getFollowingCount())
+                        .build())
+                .orElseThrow(() -> {
+                    logger.error("User with ID: {} not found for follow counts", userId);
+                    return new CustomExceptions.NotFoundException("User not found with ID: " + userId);
+                });
+    }
+
+    private void validateGraphQuery(int limit) {
+        if (limit < 1 || limit > MAX_GRAPH_RESULTS) {
+            throw new CustomExceptions.BadRequestException("Limit must be between 1 and " + MAX_GRAPH_RESULTS + ".");
+        }
+        if (!followGraph.isReady()) {
+            logger.warn("Follow graph is still loading");
+            throw new CustomExceptions.ServiceUnavailableException("Follow graph is still loading, please try again shortly.");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowCountDTO getBookFollowCounts(Long bookId) {
+        logger.info("Fetching follow counts for book with ID: {}", bookId);
+        return bookRepository.findFollowerCountById(bookId)
+                .map(followerCount -> FollowCountDTO.builder()
+                        .id(bookId)
+                        .followerCount(followerCount)
+                        .build())
+                .orElseThrow(() -> {
+                    logger.error("Book with ID: {} not found for follow counts", bookId);
+                    return new CustomExceptions.NotFoundException("Book not found with ID: " + bookId);
+                });
     }
-}
\ No newline at end of file
+}
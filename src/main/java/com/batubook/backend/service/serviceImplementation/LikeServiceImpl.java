@@ -1,22 +1,35 @@
 package com.batubook.backend.service.serviceImplementation;
 
 import com.batubook.backend.dto.LikeDTO;
+import com.batubook.backend.dto.LikedTargetsDTO;
 import com.batubook.backend.entity.*;
 import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.like.LikeCounter;
+import com.batubook.backend.like.LikeWriter;
+import com.batubook.backend.like.LikedTargets;
 import com.batubook.backend.mapper.LikeMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.PushEvent;
+import com.batubook.backend.push.UserEventBus;
 import com.batubook.backend.repository.*;
 import com.batubook.backend.service.serviceInterface.LikeServiceInterface;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,14 +37,26 @@ public class LikeServiceImpl implements LikeServiceInterface {
 
     private final LikeRepository likeRepository;
     private final LikeMapper likeMapper;
+    private final TotalCountService totalCountService;
     private static final Logger logger = LoggerFactory.getLogger(LikeServiceImpl.class);
+    private static final String COUNT_KEY = "likes";
 
-    private final UserRepository userRepository;
     private final BookInteractionRepository bookInteractionRepository;
     private final ReviewRepository reviewRepository;
     private final QuoteRepository quoteRepository;
     private final MessageRepository messageRepository;
-
+    private final UserEventBus userEventBus;
+    private final LikeCounter likeCounter;
+    private final LikedTargets likedTargets;
+    private final LikeWriter likeWriter;
+    private static final int MAX_COUNTED_IDS = 1000;
+    private static final int MAX_CHECKED_IDS = 1000;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    /**
+     * Likes the one review, quote, book interaction or message the DTO names. Liking it again returns the existing
+     * like with {@code alreadyLiked} set instead of creating a duplicate.
+     */
     @Override
     @Transactional
     public LikeDTO registerLike(LikeDTO likeDTO) {
@@ -40,16 +65,16 @@ public class LikeServiceImpl implements LikeServiceInterface {
                 return null;
             }
 
-            LikeEntity likeEntity = new LikeEntity();
-            setEntityReference(likeDTO, likeEntity);
-            UserEntity user = userRepository.findById(likeDTO.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found for ID: " + likeDTO.getUserId()));
-
-            likeEntity.setUser(user);
-            LikeEntity savedLiked = likeRepository.save(likeEntity);
-            return likeMapper.likeEntityToDTO(savedLiked);
+            if (likeDTO.getBookInteractionId() != null) {
+                return putLike(likeDTO.getUserId(), LikeCountEntity.TargetType.BOOK_INTERACTION, likeDTO.getBookInteractionId());
+            } else if (likeDTO.getReviewId() != null) {
+                return putLike(likeDTO.getUserId(), LikeCountEntity.TargetType.REVIEW, likeDTO.getReviewId());
+            } else if (likeDTO.getQuoteId() != null) {
+                return putLike(likeDTO.getUserId(), LikeCountEntity.TargetType.QUOTE, likeDTO.getQuoteId());
+            }
+            return putLike(likeDTO.getUserId(), LikeCountEntity.TargetType.MESSAGE, likeDTO.getMessageId());
 
-        } catch (CustomExceptions.BadRequestException e) {
+        } catch (CustomExceptions.BadRequestException | CustomExceptions.NotFoundException e) {
             logger.error("Bad Request Error: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
@@ -58,6 +83,45 @@ public class LikeServiceImpl implements LikeServiceInterface {
         }
     }
 
+    /**
+     * Likes a review, quote, book interaction or message by id in one {@code INSERT ... ON CONFLICT DO NOTHING
+     * RETURNING id}; neither the user nor the target is loaded. A like that already exists, including one a
+     * concurrent double-tap inserted a moment earlier, is looked up and returned with {@code alreadyLiked} set.
+     */
+    @Override
+    @Transactional
+    public LikeDTO likeTarget(Long userId, String targetType, Long targetId) {
+        return putLike(userId, parseTargetType(targetType), targetId);
+    }
+
+    /**
+     * Removes the like by its natural key in a single {@code DELETE}; a like that does not exist is not an error.
+     */
+    @Override
+    @Transactional
+    public void unlikeTarget(Long userId, String targetType, Long targetId) {
+        LikeCountEntity.TargetType type = parseTargetType(targetType);
+        if (!deleteLike(userId, type, targetId)) {
+            logger.warn("User with ID: {} has not liked {} with ID: {}", userId, type, targetId);
+        }
+    }
+
+    /**
+     * Unlikes the target if the user liked it and likes it otherwise, and tells whether it is liked now. Only
+     * when the {@code DELETE} removed nothing is the like inserted; a like a concurrent toggle inserted in between
+     * counts as liked rather than as missing.
+     */
+    @Override
+    @Transactional
+    public boolean toggleLike(Long userId, String targetType, Long targetId) {
+        LikeCountEntity.TargetType type = parseTargetType(targetType);
+        if (deleteLike(userId, type, targetId)) {
+            return false;
+        }
+        putLike(userId, type, targetId);
+        return true;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public LikeDTO getLikeById(Long id) {
@@ -81,6 +145,26 @@ public class LikeServiceImpl implements LikeServiceInterface {
         return allLikes.map(likeMapper::likeEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LikeDTO> getAllLikesAfter(String after, int size) {
+        logger.debug("Fetching likes after cursor: {}, size = {}", after, size);
+        List<LikeEntity> rows = likeRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<LikeEntity> slice = CursorPage.of(rows, size, LikeEntity::getId);
+        logger.info("Successfully fetched {} likes", slice.getNumberOfElements());
+        return slice.map(likeMapper::likeEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LikeDTO> getAllLikesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching likes with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<LikeEntity> slice = likeRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, likeRepository::count);
+        logger.info("Successfully fetched {} likes", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(likeMapper::likeEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean getByUserIdAndMessageId(Long userId, Long messageId) {
@@ -117,6 +201,33 @@ public class LikeServiceImpl implements LikeServiceInterface {
         return exists;
     }
 
+    /**
+     * The subset of the given reviews, quotes, book interactions and messages the user liked, so a page of content
+     * needs one call instead of one check per item.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LikedTargetsDTO getLikedTargets(Long userId, LikedTargetsDTO candidates) {
+        Set<Long> reviewIds = distinct(candidates.getReviewIds());
+        Set<Long> quoteIds = distinct(candidates.getQuoteIds());
+        Set<Long> bookInteractionIds = distinct(candidates.getBookInteractionIds());
+        Set<Long> messageIds = distinct(candidates.getMessageIds());
+        int checked = reviewIds.size() + quoteIds.size() + bookInteractionIds.size() + messageIds.size();
+        if (checked == 0 || checked > MAX_CHECKED_IDS) {
+            logger.error("Invalid number of IDs to check likes of: {}", checked);
+            throw new CustomExceptions.BadRequestException("Between 1 and " + MAX_CHECKED_IDS + " IDs must be checked.");
+        }
+
+        LikedTargetsDTO liked = LikedTargetsDTO.builder()
+                .reviewIds(likedAmong(userId, LikeCountEntity.TargetType.REVIEW, reviewIds))
+                .quoteIds(likedAmong(userId, LikeCountEntity.TargetType.QUOTE, quoteIds))
+                .bookInteractionIds(likedAmong(userId, LikeCountEntity.TargetType.BOOK_INTERACTION, bookInteractionIds))
+                .messageIds(likedAmong(userId, LikeCountEntity.TargetType.MESSAGE, messageIds))
+                .build();
+        logger.info("Checked likes of user with ID: {} on {} targets", userId, checked);
+        return liked;
+    }
+
     @Override
     @Transactional
     public LikeDTO modifyLike(Long id, LikeDTO likeDTO) {
@@ -124,14 +235,21 @@ public class LikeServiceImpl implements LikeServiceInterface {
             LikeEntity likeEntity = likeRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Like not found with ID: " + id));
 
+            // The like moves its count from its old target to the new one.
+            countLike(likeEntity, -1);
             updateLikeEntityWithDTO(likeEntity, likeDTO);
-            LikeEntity updatedLike = likeRepository.save(likeEntity);
+            // Flushed here so a move onto content the user already likes fails inside this block.
+            LikeEntity updatedLike = likeRepository.saveAndFlush(likeEntity);
+            countLike(updatedLike, 1);
             logger.info("Successfully modified like with ID: {}", id);
             return likeMapper.likeEntityToDTO(updatedLike);
 
         } catch (CustomExceptions.NotFoundException e) {
             logger.error("Like not found: {}", e.getMessage());
             throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Like with ID: {} cannot move to content user with ID: {} already likes", id, likeDTO.getUserId());
+            throw new CustomExceptions.ConflictException("The content is already liked.");
         } catch (Exception e) {
             logger.error("Error while updating like: {}", e.getMessage());
             throw new CustomExceptions.InternalServerErrorException("Like could not be updated: " + e.getMessage());
@@ -142,15 +260,133 @@ public class LikeServiceImpl implements LikeServiceInterface {
     @Transactional
     public void removeLike(Long id) {
         logger.info("Attempting to remove like with ID: {}", id);
-        if (!likeRepository.existsById(id)) {
-            logger.error("Like with ID: {} not found for deletion", id);
-            throw new CustomExceptions.NotFoundException("Like not found with ID: " + id);
-        }
+        LikeEntity likeEntity = likeRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.error("Like with ID: {} not found for deletion", id);
+                    return new CustomExceptions.NotFoundException("Like not found with ID: " + id);
+                });
 
-        likeRepository.deleteById(id);
+        likeRepository.delete(likeEntity);
+        totalCountService.decrement(COUNT_KEY);
+        countLike(likeEntity, -1);
         logger.info("Successfully deleted like with ID: {}", id);
     }
 
+    /**
+     * Like counts of reviews, quotes, book interactions or messages, by {@code review}, {@code quote},
+     * {@code book-interaction} or {@code message}. Counts include likes not yet flushed by this node's
+     * {@link LikeCounter}; see there for how far behind other nodes' likes can be.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getLikeCounts(String targetType, List<Long> ids) {
+        LikeCountEntity.TargetType type = parseTargetType(targetType);
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_COUNTED_IDS) {
+            logger.error("Invalid number of IDs to count likes of: {}", distinctIds.size());
+            throw new CustomExceptions.BadRequestException("Between 1 and " + MAX_COUNTED_IDS + " IDs must be counted.");
+        }
+
+        Map<Long, Long> counts = likeCounter.counts(type, distinctIds);
+        logger.info("Fetched like counts of {} {} targets", counts.size(), type);
+        return counts;
+    }
+
+    private LikeDTO putLike(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        if (userId == null || targetId == null) {
+            throw new CustomExceptions.BadRequestException("User ID and liked content ID are required.");
+        }
+
+        Long likeId = null;
+        boolean created = false;
+        for (int attempt = 1; likeId == null; attempt++) {
+            Optional<Long> inserted = likeWriter.insert(userId, targetType, targetId);
+            created = inserted.isPresent();
+            likeId = inserted.or(() -> likeWriter.findId(userId, targetType, targetId)).orElse(null);
+            if (likeId == null) {
+                // Nothing was inserted and nothing is there: either the user or target is missing, or a
+                // concurrent unlike removed the conflicting like in between, and the insert is worth another try.
+                if (!likeWriter.canLike(userId, targetType, targetId)) {
+                    throw new CustomExceptions.NotFoundException(
+                            "User with ID: " + userId + " or " + targetType + " with ID: " + targetId + " not found");
+                }
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw new CustomExceptions.ConflictException("The like is being changed concurrently, please try again.");
+                }
+                logger.debug("Like of {} with ID: {} by user with ID: {} was removed concurrently, retrying", targetType, targetId, userId);
+            }
+        }
+
+        LikeDTO like = LikeDTO.builder()
+                .id(likeId)
+                .userId(userId)
+                .reviewId(targetType == LikeCountEntity.TargetType.REVIEW ? targetId : null)
+                .quoteId(targetType == LikeCountEntity.TargetType.QUOTE ? targetId : null)
+                .bookInteractionId(targetType == LikeCountEntity.TargetType.BOOK_INTERACTION ? targetId : null)
+                .messageId(targetType == LikeCountEntity.TargetType.MESSAGE ? targetId : null)
+                .alreadyLiked(!created)
+                .build();
+        if (created) {
+            totalCountService.increment(COUNT_KEY);
+            likeCounter.add(targetType, targetId, 1);
+            // Users are not told about likes of their own content.
+            likeWriter.findOwnerId(targetType, targetId)
+                    .filter(ownerId -> !ownerId.equals(userId))
+                    .ifPresent(ownerId -> userEventBus.publish(ownerId, PushEvent.EventType.LIKE, like));
+            logger.info("User with ID: {} liked {} with ID: {}", userId, targetType, targetId);
+        } else {
+            logger.info("User with ID: {} already likes {} with ID: {}", userId, targetType, targetId);
+        }
+        return like;
+    }
+
+    private boolean deleteLike(Long userId, LikeCountEntity.TargetType targetType, Long targetId) {
+        boolean deleted = likeWriter.delete(userId, targetType, targetId);
+        if (deleted) {
+            totalCountService.decrement(COUNT_KEY);
+            likeCounter.add(targetType, targetId, -1);
+            logger.info("User with ID: {} unliked {} with ID: {}", userId, targetType, targetId);
+        }
+        return deleted;
+    }
+
+    private static Set<Long> distinct(List<Long> ids) {
+        if (ids == null) {
+            return Set.of();
+        }
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * The liked ones among the ids, in the order given.
+     */
+    private List<Long> likedAmong(Long userId, LikeCountEntity.TargetType targetType, Set<Long> ids) {
+        Set<Long> liked = likedTargets.likedAmong(userId, targetType, ids);
+        return ids.stream().filter(liked::contains).toList();
+    }
+
+    private static LikeCountEntity.TargetType parseTargetType(String targetType) {
+        return switch (targetType) {
+            case "review" -> LikeCountEntity.TargetType.REVIEW;
+            case "quote" -> LikeCountEntity.TargetType.QUOTE;
+            case "book-interaction" -> LikeCountEntity.TargetType.BOOK_INTERACTION;
+            case "message" -> LikeCountEntity.TargetType.MESSAGE;
+            default -> throw new CustomExceptions.BadRequestException("Invalid like target type: " + targetType);
+        };
+    }
+
+    private void countLike(LikeEntity likeEntity, long delta) {
+        if (likeEntity.getReview() != null) {
+            likeCounter.add(LikeCountEntity.TargetType.REVIEW, likeEntity.getReview().getId(), delta);
+        } else if (likeEntity.getQuote() != null) {
+            likeCounter.add(LikeCountEntity.TargetType.QUOTE, likeEntity.getQuote().getId(), delta);
+        } else if (likeEntity.getBookInteraction() != null) {
+            likeCounter.add(LikeCountEntity.TargetType.BOOK_INTERACTION, likeEntity.getBookInteraction().getId(), delta);
+        } else if (likeEntity.getMessage() != null) {
+            likeCounter.add(LikeCountEntity.TargetType.MESSAGE, likeEntity.getMessage().getId(), delta);
+        }
+    }
+
     private boolean isValidLike(LikeDTO likeDTO) {
         boolean isValid = (likeDTO.getMessageId() != null ||
                 likeDTO.getBookInteractionId() != null ||
@@ -174,29 +410,6 @@ public class LikeServiceImpl implements LikeServiceInterface {
         return isValid;
     }
 
-    private void setEntityReference(LikeDTO likeDTO, LikeEntity likeEntity) {
-        Optional<?> entityOptional = Optional.empty();
-
-        if (likeDTO.getBookInteractionId() != null) {
-            entityOptional = findEntityById(likeDTO.getBookInteractionId(), BookInteractionEntity.class);
-            entityOptional.ifPresent(entity -> likeEntity.setBookInteraction((BookInteractionEntity) entity));
-        } else if (likeDTO.getReviewId() != null) {
-            entityOptional = findEntityById(likeDTO.getReviewId(), ReviewEntity.class);
-            entityOptional.ifPresent(entity -> likeEntity.setReview((ReviewEntity) entity));
-        } else if (likeDTO.getQuoteId() != null) {
-            entityOptional = findEntityById(likeDTO.getQuoteId(), QuoteEntity.class);
-            entityOptional.ifPresent(entity -> likeEntity.setQuote((QuoteEntity) entity));
-        } else if (likeDTO.getMessageId() != null) {
-            entityOptional = findEntityById(likeDTO.getMessageId(), MessageEntity.class);
-            entityOptional.ifPresent(entity -> likeEntity.setMessage((MessageEntity) entity));
-        }
-
-        if (entityOptional.isEmpty()) {
-            logger.warn("Entity not found for the provided ID.");
-            throw new RuntimeException("Entity not found.");
-        }
-    }
-
     private Optional<?> findEntityById(Long id, Class<?> entityClass) {
         if (entityClass == BookInteractionEntity.class) {
             return bookInteractionRepository.findById(id);
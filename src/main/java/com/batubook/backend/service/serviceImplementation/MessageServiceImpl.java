@@ -5,6 +5,12 @@ import com.batubook.backend.entity.*;
 import com.batubook.backend.entity.enums.MessageType;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.MessageMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.PushEvent;
+import com.batubook.backend.push.UserEventBus;
 import com.batubook.backend.repository.*;
 import com.batubook.backend.service.serviceInterface.MessageServiceInterface;
 import lombok.RequiredArgsConstructor;
@@ -12,21 +18,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageServiceInterface {
 
     private final MessageRepository messageRepository;
     private final MessageMapper messageMapper;
+    private final TotalCountService totalCountService;
     private static final Logger logger = LoggerFactory.getLogger(MessageServiceImpl.class);
+    private static final String COUNT_KEY = "messages";
 
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
     private final QuoteRepository quoteRepository;
     private final BookInteractionRepository interactionRepository;
+    private final UserEventBus userEventBus;
 
     @Override
     @Transactional
@@ -45,6 +57,7 @@ public class MessageServiceImpl implements MessageServiceInterface {
             messageRepository.save(messageEntity);
             logger.info("Message created successfully with ID: {}", messageEntity.getId());
             messageDTO.setId(messageEntity.getId());
+            userEventBus.publish(recipientOf(messageEntity), PushEvent.EventType.MESSAGE, messageDTO);
             return messageDTO;
 
         } catch (CustomExceptions.BadRequestException e) {
@@ -79,6 +92,26 @@ public class MessageServiceImpl implements MessageServiceInterface {
         return allMessages.map(messageMapper::messageEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MessageDTO> getAllMessagesAfter(String after, int size) {
+        logger.debug("Fetching messages after cursor: {}, size = {}", after, size);
+        List<MessageEntity> rows = messageRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<MessageEntity> slice = CursorPage.of(rows, size, MessageEntity::getId);
+        logger.info("Successfully fetched {} messages", slice.getNumberOfElements());
+        return slice.map(messageMapper::messageEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MessageDTO> getAllMessagesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching messages with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<MessageEntity> slice = messageRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, messageRepository::count);
+        logger.info("Successfully fetched {} messages", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(messageMapper::messageEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<MessageDTO> getMessageByMessageType(MessageType messageType, Pageable pageable) {
@@ -165,6 +198,25 @@ public class MessageServiceImpl implements MessageServiceInterface {
         }
     }
 
+    /**
+     * The user a new message is delivered to: the receiver of a personal message, otherwise the author of the
+     * review, quote or interaction it comments on. Null when that is the sender.
+     */
+    private Long recipientOf(MessageEntity messageEntity) {
+        UserEntity recipient = messageEntity.getReceiver();
+        if (recipient == null && messageEntity.getReview() != null) {
+            recipient = messageEntity.getReview().getUser();
+        } else if (recipient == null && messageEntity.getQuote() != null) {
+            recipient = messageEntity.getQuote().getUser();
+        } else if (recipient == null && messageEntity.getBookInteraction() != null) {
+            recipient = messageEntity.getBookInteraction().getUser();
+        }
+        if (recipient == null || recipient.getId().equals(messageEntity.getSender().getId())) {
+            return null;
+        }
+        return recipient.getId();
+    }
+
     private void updateMessageFields(MessageEntity existingMessage, MessageDTO messageDTO, UserEntity sender, UserEntity receiver) {
         existingMessage.setSender(sender);
         existingMessage.setReceiver(receiver);
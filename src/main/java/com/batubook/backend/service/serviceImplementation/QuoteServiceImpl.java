@@ -1,33 +1,45 @@
 package com.batubook.backend.service.serviceImplementation;
 
 import com.batubook.backend.dto.QuoteDTO;
+import com.batubook.backend.entity.ActivityEntity;
 import com.batubook.backend.entity.BookEntity;
 import com.batubook.backend.entity.QuoteEntity;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.QuoteMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
 import com.batubook.backend.repository.BookRepository;
 import com.batubook.backend.repository.QuoteRepository;
 import com.batubook.backend.repository.UserRepository;
 import com.batubook.backend.service.serviceInterface.QuoteServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class QuoteServiceImpl implements QuoteServiceInterface {
 
     private final QuoteRepository quoteRepository;
     private final QuoteMapper quoteMapper;
+    private final TotalCountService totalCountService;
     private static final Logger logger = LoggerFactory.getLogger(QuoteServiceImpl.class);
+    private static final String COUNT_KEY = "quotes";
 
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final HomeTimeline homeTimeline;
 
     @Override
     @Transactional
@@ -36,6 +48,7 @@ public class QuoteServiceImpl implements QuoteServiceInterface {
         try {
             QuoteEntity quoteEntity = mapQuoteDTOToEntity(quoteDTO);
             QuoteEntity savedQuote = quoteRepository.save(quoteEntity);
+            homeTimeline.publish(ActivityEntity.ActivityType.QUOTE, quoteEntity.getUser().getId(), savedQuote.getId());
             logger.info("Quote successfully created with ID: {}", savedQuote.getId());
             return quoteMapper.quoteEntityToQuoteDTO(savedQuote);
 
@@ -71,6 +84,26 @@ public class QuoteServiceImpl implements QuoteServiceInterface {
         return allQuotes.map(quoteMapper::quoteEntityToQuoteDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuoteDTO> getAllQuotesAfter(String after, int size) {
+        logger.debug("Fetching quotes after cursor: {}, size = {}", after, size);
+        List<QuoteEntity> rows = quoteRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<QuoteEntity> slice = CursorPage.of(rows, size, QuoteEntity::getId);
+        logger.info("Successfully fetched {} quotes", slice.getNumberOfElements());
+        return slice.map(quoteMapper::quoteEntityToQuoteDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<QuoteDTO> getAllQuotesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching quotes with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<QuoteEntity> slice = quoteRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, quoteRepository::count);
+        logger.info("Successfully fetched {} quotes", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(quoteMapper::quoteEntityToQuoteDTO);
+    }
+
     @Override
     @Transactional
     public QuoteDTO modifyQuote(Long id, QuoteDTO quoteDTO) {
@@ -103,6 +136,7 @@ public class QuoteServiceImpl implements QuoteServiceInterface {
         }
 
         quoteRepository.deleteById(id);
+        homeTimeline.retract(ActivityEntity.ActivityType.QUOTE, id);
         logger.info("Successfully deleted quote with ID: {}", id);
     }
 
@@ -5,28 +5,39 @@ import com.batubook.backend.entity.*;
 import com.batubook.backend.entity.enums.ActionType;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.RepostSaveMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
 import com.batubook.backend.repository.*;
 import com.batubook.backend.service.serviceInterface.RepostSaveServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class RepostSaveServiceImpl implements RepostSaveServiceInterface {
 
     private final RepostSaveRepository repostSaveRepository;
     private final RepostSaveMapper repostSaveMapper;
+    private final TotalCountService totalCountService;
     private static final Logger logger = LoggerFactory.getLogger(RepostSaveServiceImpl.class);
+    private static final String COUNT_KEY = "repost_saves";
 
     private final UserRepository userRepository;
     private final BookInteractionRepository bookInteractionRepository;
     private final ReviewRepository reviewRepository;
     private final QuoteRepository quoteRepository;
+    private final HomeTimeline homeTimeline;
 
     @Override
     @Transactional
@@ -39,6 +50,9 @@ public class RepostSaveServiceImpl implements RepostSaveServiceInterface {
             setContentToRepostSaveEntity(repostSaveEntity, repostSaveDTO);
 
             RepostSaveEntity savedRepost = repostSaveRepository.save(repostSaveEntity);
+            if (isRepost(savedRepost)) {
+                homeTimeline.publish(ActivityEntity.ActivityType.REPOST, savedRepost.getUser().getId(), savedRepost.getId());
+            }
             logger.info("Repost/save action successfully registered for userId: {}", repostSaveDTO.getUserId());
             return repostSaveMapper.repostSaveEntityToDTO(savedRepost);
 
@@ -74,6 +88,26 @@ public class RepostSaveServiceImpl implements RepostSaveServiceInterface {
         return allRepostSaves.map(repostSaveMapper::repostSaveEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<RepostSaveDTO> getAllRepostSavesAfter(String after, int size) {
+        logger.debug("Fetching repost/save actions after cursor: {}, size = {}", after, size);
+        List<RepostSaveEntity> rows = repostSaveRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<RepostSaveEntity> slice = CursorPage.of(rows, size, RepostSaveEntity::getId);
+        logger.info("Successfully fetched {} repost/save actions", slice.getNumberOfElements());
+        return slice.map(repostSaveMapper::repostSaveEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<RepostSaveDTO> getAllRepostSavesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching repost/save actions with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<RepostSaveEntity> slice = repostSaveRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, repostSaveRepository::count);
+        logger.info("Successfully fetched {} repost/save actions", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(repostSaveMapper::repostSaveEntityToDTO);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<RepostSaveDTO> getByUserId(Long userId, Pageable pageable) {
@@ -133,8 +167,14 @@ public class RepostSaveServiceImpl implements RepostSaveServiceInterface {
                     });
 
             validateRepostSave(repostSaveDTO);
+            boolean wasRepost = isRepost(repostSaveEntity);
             setContentToRepostSaveEntity(repostSaveEntity, repostSaveDTO);
             RepostSaveEntity updatedRepostSave = repostSaveRepository.save(repostSaveEntity);
+            if (wasRepost && !isRepost(updatedRepostSave)) {
+                homeTimeline.retract(ActivityEntity.ActivityType.REPOST, id);
+            } else if (!wasRepost && isRepost(updatedRepostSave)) {
+                homeTimeline.publish(ActivityEntity.ActivityType.REPOST, updatedRepostSave.getUser().getId(), id);
+            }
             logger.info("Repost/save action successfully modified for userId: {} with repostSaveId: {}", repostSaveDTO.getUserId(), id);
             return repostSaveMapper.repostSaveEntityToDTO(updatedRepostSave);
 
@@ -157,9 +197,17 @@ public class RepostSaveServiceImpl implements RepostSaveServiceInterface {
         }
 
         repostSaveRepository.deleteById(id);
+        homeTimeline.retract(ActivityEntity.ActivityType.REPOST, id);
         logger.info("Successfully deleted repost-save with ID: {}", id);
     }
 
+    /**
+     * Only reposts reach followers' home timelines; saves are private bookmarks.
+     */
+    private static boolean isRepost(RepostSaveEntity repostSaveEntity) {
+        return repostSaveEntity.getActionType() == ActionType.REPOST && repostSaveEntity.getUser() != null;
+    }
+
     private void validateRepostSave(RepostSaveDTO repostSaveDTO) {
         if (repostSaveDTO.getActionType() == null) {
             logger.error("Action type is not specified for userId: {}", repostSaveDTO.getUserId());
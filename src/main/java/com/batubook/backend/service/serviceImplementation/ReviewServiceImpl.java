@@ -1,16 +1,24 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.ReviewDTO;
+import com.batubook.backend.entity.ActivityEntity;
 import com.batubook.backend.entity.BookEntity;
 import com.batubook.backend.entity.ReviewEntity;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.ReviewMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
 import com.batubook.backend.repository.BookRepository;
 import com.batubook.backend.repository.ReviewRepository;
 import com.batubook.backend.repository.UserRepository;
 import com.batubook.backend.service.serviceInterface.ReviewServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -20,6 +28,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -27,10 +36,14 @@ public class ReviewServiceImpl implements ReviewServiceInterface {
 
     private final ReviewRepository reviewRepository;
     private final ReviewMapper reviewMapper;
+    private final TotalCountService totalCountService;
     private static final Logger logger = LoggerFactory.getLogger(ReviewServiceImpl.class);
+    private static final String COUNT_KEY = "reviews";
 
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookDetailCache bookDetailCache;
+    private final HomeTimeline homeTimeline;
 
     @Override
     @Transactional
@@ -49,6 +62,8 @@ public class ReviewServiceImpl implements ReviewServiceInterface {
             logger.debug("Converted ReviewDTO to ReviewEntity: {}", reviewEntity);
 
             ReviewEntity savedReview = reviewRepository.save(reviewEntity);
+            bookDetailCache.evict(bookEntity.getId());
+            homeTimeline.publish(ActivityEntity.ActivityType.REVIEW, userEntity.getId(), savedReview.getId());
             logger.info("Review saved successfully with ID: {}", savedReview.getId());
             return reviewMapper.reviewEntityToDTO(savedReview);
 
@@ -84,6 +99,26 @@ public class ReviewServiceImpl implements ReviewServiceInterface {
         return allReviews.map(reviewMapper::reviewEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDTO> getAllReviewsAfter(String after, int size) {
+        logger.debug("Fetching reviews after cursor: {}, size = {}", after, size);
+        List<ReviewEntity> rows = reviewRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<ReviewEntity> slice = CursorPage.of(rows, size, ReviewEntity::getId);
+        logger.info("Successfully fetched {} reviews", slice.getNumberOfElements());
+        return slice.map(reviewMapper::reviewEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReviewDTO> getAllReviewsWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching reviews with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<ReviewEntity> slice = reviewRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, reviewRepository::count);
+        logger.info("Successfully fetched {} reviews", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(reviewMapper::reviewEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ReviewDTO> getReviewByRating(BigDecimal rating, Pageable pageable) {
@@ -103,6 +138,7 @@ public class ReviewServiceImpl implements ReviewServiceInterface {
 
             updateReviewDetails(existingReview, reviewDTO);
             ReviewEntity updatedReview = reviewRepository.save(existingReview);
+            bookDetailCache.evict(updatedReview.getBook().getId());
             logger.info("Review updated successfully with ID: {}", id);
             return reviewMapper.reviewEntityToDTO(updatedReview);
 
@@ -124,7 +160,9 @@ public class ReviewServiceImpl implements ReviewServiceInterface {
             throw new CustomExceptions.NotFoundException("Review not found with ID: " + id);
         }
 
+        reviewRepository.findBookIdById(id).ifPresent(bookDetailCache::evict);
         reviewRepository.deleteById(id);
+        homeTimeline.retract(ActivityEntity.ActivityType.REVIEW, id);
         logger.info("Successfully deleted review with ID: {}", id);
     }
 
@@ -0,0 +1,150 @@
+package com.batubook.backend.service.serviceImplementation;
+
+import com.batubook.backend.dto.BookInteractionDTO;
+import com.batubook.backend.dto.QuoteDTO;
+import com.batubook.backend.dto.RepostSaveDTO;
+import com.batubook.backend.dto.ReviewDTO;
+import com.batubook.backend.dto.TimelineEntryDTO;
+import com.batubook.backend.entity.ActivityEntity;
+import com.batubook.backend.entity.BookInteractionEntity;
+import com.batubook.backend.entity.QuoteEntity;
+import com.batubook.backend.entity.RepostSaveEntity;
+import com.batubook.backend.entity.ReviewEntity;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.mapper.BookInteractionMapper;
+import com.batubook.backend.mapper.QuoteMapper;
+import com.batubook.backend.mapper.RepostSaveMapper;
+import com.batubook.backend.mapper.ReviewMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.repository.ActivityRepository;
+import com.batubook.backend.repository.BookInteractionRepository;
+import com.batubook.backend.repository.QuoteRepository;
+import com.batubook.backend.repository.RepostSaveRepository;
+import com.batubook.backend.repository.ReviewRepository;
+import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.service.serviceInterface.TimelineServiceInterface;
+import com.batubook.backend.timeline.HomeTimeline;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TimelineServiceImpl implements TimelineServiceInterface {
+
+    private final HomeTimeline homeTimeline;
+    private final ActivityRepository activityRepository;
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final QuoteRepository quoteRepository;
+    private final BookInteractionRepository bookInteractionRepository;
+    private final RepostSaveRepository repostSaveRepository;
+    private final ReviewMapper reviewMapper;
+    private final QuoteMapper quoteMapper;
+    private final BookInteractionMapper bookInteractionMapper;
+    private final RepostSaveMapper repostSaveMapper;
+    private static final Logger logger = LoggerFactory.getLogger(TimelineServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Reads the page's activity ids from the home timeline and loads their content with one query per content
+     * type. Activities whose content has been deleted since are skipped, and further ids are read to fill the page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TimelineEntryDTO> getHomeTimeline(Long userId, String after, int size) {
+        logger.debug("Fetching home timeline of user with ID: {} after cursor: {}, size = {}", userId, after, size);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomExceptions.BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (!userRepository.existsById(userId)) {
+            logger.error("User with ID: {} not found for home timeline", userId);
+            throw new CustomExceptions.NotFoundException("User not found with ID: " + userId);
+        }
+
+        long cursor = CursorCodec.decode(after);
+        long before = cursor == 0 ? Long.MAX_VALUE : cursor;
+        List<TimelineEntryDTO> entries = new ArrayList<>();
+        while (entries.size() <= size) {
+            int wanted = size + 1 - entries.size();
+            List<Long> ids = homeTimeline.read(userId, before, wanted);
+            if (ids.isEmpty()) {
+                break;
+            }
+            entries.addAll(hydrate(activityRepository.findByIdInOrderByIdDesc(ids)));
+            before = ids.get(ids.size() - 1);
+            if (ids.size() < wanted) {
+                break;
+            }
+        }
+
+        CursorPage<TimelineEntryDTO> page = CursorPage.of(entries, size, TimelineEntryDTO::getId);
+        logger.info("Fetched {} home timeline entries for user with ID: {}", page.getNumberOfElements(), userId);
+        return page;
+    }
+
+    private List<TimelineEntryDTO> hydrate(List<ActivityEntity> activities) {
+        Map<Long, ReviewDTO> reviews = load(activities, ActivityEntity.ActivityType.REVIEW,
+                ids -> reviewRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(ReviewEntity::getId, reviewMapper::reviewEntityToDTO)));
+        Map<Long, QuoteDTO> quotes = load(activities, ActivityEntity.ActivityType.QUOTE,
+                ids -> quoteRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(QuoteEntity::getId, quoteMapper::quoteEntityToQuoteDTO)));
+        Map<Long, BookInteractionDTO> bookInteractions = load(activities, ActivityEntity.ActivityType.BOOK_INTERACTION,
+                ids -> bookInteractionRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(BookInteractionEntity::getId, bookInteractionMapper::bookInteractionEntityToDTO)));
+        Map<Long, RepostSaveDTO> reposts = load(activities, ActivityEntity.ActivityType.REPOST,
+                ids -> repostSaveRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(RepostSaveEntity::getId, repostSaveMapper::repostSaveEntityToDTO)));
+
+        List<TimelineEntryDTO> entries = new ArrayList<>(activities.size());
+        for (ActivityEntity activity : activities) {
+            Long targetId = activity.getTargetId();
+            TimelineEntryDTO entry = TimelineEntryDTO.builder()
+                    .id(activity.getId())
+                    .activityType(activity.getActivityType())
+                    .actorId(activity.getActorId())
+                    .createdAt(activity.getCreatedAt())
+                    .build();
+            boolean found = switch (activity.getActivityType()) {
+                case REVIEW -> setIfPresent(reviews.get(targetId), entry::setReview);
+                case QUOTE -> setIfPresent(quotes.get(targetId), entry::setQuote);
+                case BOOK_INTERACTION -> setIfPresent(bookInteractions.get(targetId), entry::setBookInteraction);
+                case REPOST -> setIfPresent(reposts.get(targetId), entry::setRepost);
+            };
+            if (!found) {
+                logger.debug("Skipping activity {} whose {} with ID: {} no longer exists", activity.getId(), activity.getActivityType(), targetId);
+                continue;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static <D> boolean setIfPresent(D content, Consumer<D> setter) {
+        if (content == null) {
+            return false;
+        }
+        setter.accept(content);
+        return true;
+    }
+
+    private static <D> Map<Long, D> load(List<ActivityEntity> activities, ActivityEntity.ActivityType activityType,
+                                         Function<List<Long>, Map<Long, D>> loader) {
+        List<Long> ids = activities.stream()
+                .filter(activity -> activity.getActivityType() == activityType)
+                .map(ActivityEntity::getTargetId)
+                .toList();
+        return ids.isEmpty() ? Map.of() : loader.apply(ids);
+    }
+}
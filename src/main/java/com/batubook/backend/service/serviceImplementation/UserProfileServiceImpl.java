@@ -1,22 +1,32 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.cache.UserCache;
 import com.batubook.backend.dto.UserProfileDTO;
 import com.batubook.backend.entity.UserProfileEntity;
 import com.batubook.backend.entity.enums.Gender;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.UserProfileMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.patch.UserProfilePatch;
 import com.batubook.backend.repository.UserProfileRepository;
 import com.batubook.backend.service.serviceInterface.UserProfileServiceInterface;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +34,11 @@ public class UserProfileServiceImpl implements UserProfileServiceInterface {
 
     private final UserProfileRepository userProfileRepository;
     private final UserProfileMapper userProfileMapper;
+    private final TotalCountService totalCountService;
+    private final UserCache userCache;
+    private final JsonMergePatcher jsonMergePatcher;
     private static final Logger logger = LoggerFactory.getLogger(UserProfileServiceImpl.class);
+    private static final String COUNT_KEY = "user_profiles";
 
     @Override
     @Transactional(readOnly = true)
@@ -49,6 +63,26 @@ public class UserProfileServiceImpl implements UserProfileServiceInterface {
         return allUserProfiles.map(userProfileMapper::userProfileEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserProfileDTO> getAllUserProfilesAfter(String after, int size) {
+        logger.debug("Fetching user profiles after cursor: {}, size = {}", after, size);
+        List<UserProfileEntity> rows = userProfileRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<UserProfileEntity> slice = CursorPage.of(rows, size, UserProfileEntity::getId);
+        logger.info("Successfully fetched {} user profiles", slice.getNumberOfElements());
+        return slice.map(userProfileMapper::userProfileEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserProfileDTO> getAllUserProfilesWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching user profiles with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<UserProfileEntity> slice = userProfileRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, userProfileRepository::count);
+        logger.info("Successfully fetched {} user profiles", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(userProfileMapper::userProfileEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserProfileDTO> getUserProfilesByBirthDate(LocalDate dateOfBirth, Pageable pageable) {
@@ -82,6 +116,9 @@ public class UserProfileServiceImpl implements UserProfileServiceInterface {
 
             modifyUserProfileDetails(existingProfile, userProfileDTO);
             UserProfileEntity updatedUserProfile = userProfileRepository.save(existingProfile);
+            if (existingProfile.getUser() != null) {
+                userCache.invalidate(existingProfile.getUser().getId());
+            }
             logger.info("User profile updated successfully for ID: {}", id);
             return userProfileMapper.userProfileEntityToDTO(updatedUserProfile);
 
@@ -93,6 +130,41 @@ public class UserProfileServiceImpl implements UserProfileServiceInterface {
         }
     }
 
+    @Override
+    @Transactional
+    public UserProfileDTO patchUserProfile(Long id, JsonNode patch) {
+        logger.info("Patching user profile with ID: {}", id);
+        try {
+            UserProfileEntity existingProfile = userProfileRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.error("User profile not found for patch with ID: {}", id);
+                        return new CustomExceptions.NotFoundException("User profile not found with ID: " + id);
+                    });
+
+            UserProfileDTO current = userProfileMapper.userProfileEntityToDTO(existingProfile);
+            UserProfileDTO patched = jsonMergePatcher.apply(patch, current, UserProfileDTO.class);
+            JsonMergePatcher.Changes<UserProfileEntity> changes = UserProfilePatch.apply(existingProfile, patched);
+            if (changes.isEmpty()) {
+                logger.info("Patch for user profile ID: {} changed nothing, skipping the update", id);
+                return current;
+            }
+
+            jsonMergePatcher.validate(changes);
+            UserProfileEntity updatedUserProfile = userProfileRepository.saveAndFlush(existingProfile);
+            if (existingProfile.getUser() != null) {
+                userCache.invalidate(existingProfile.getUser().getId());
+            }
+            logger.info("User profile ID: {} patched: {}", id, changes.properties());
+            return userProfileMapper.userProfileEntityToDTO(updatedUserProfile);
+
+        } catch (CustomExceptions.NotFoundException | CustomExceptions.BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error while patching User Profile: {}", e.getMessage());
+            throw new CustomExceptions.InternalServerErrorException("User Profile could not be updated: " + e.getMessage());
+        }
+    }
+
     @Override
     @Transactional
     public void removeUserProfile(Long id) {
@@ -102,6 +174,7 @@ public class UserProfileServiceImpl implements UserProfileServiceInterface {
             throw new CustomExceptions.NotFoundException("User profile not found with ID: " + id);
         }
 
+        userProfileRepository.findUserIdById(id).ifPresent(userCache::invalidate);
         userProfileRepository.deleteById(id);
         logger.info("Successfully deleted user profile with ID: {}", id);
     }
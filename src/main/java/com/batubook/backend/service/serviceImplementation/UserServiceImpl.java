@@ -1,33 +1,58 @@
 package com.batubook.backend.service.serviceImplementation;
 
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.UserAvailabilityDTO;
 import com.batubook.backend.dto.UserDTO;
+import com.batubook.backend.dto.UserProfileDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.entity.UserProfileEntity;
 import com.batubook.backend.entity.enums.Role;
 import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowGraph;
 import com.batubook.backend.mapper.UserMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.EstimatedPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.patch.UserProfilePatch;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
 import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.security.PasswordHasher;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
 import com.batubook.backend.service.serviceInterface.UserServiceInterface;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -37,8 +62,18 @@ public class UserServiceImpl implements UserServiceInterface {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final TotalCountService totalCountService;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final DeletionJobServiceInterface deletionJobService;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final FollowGraph followGraph;
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final String COUNT_KEY = "users";
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final int IN_CHUNK_SIZE = 500;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -49,15 +84,27 @@ public class UserServiceImpl implements UserServiceInterface {
         try {
             logger.info("Starting user creation process for username: {}", userDTO.getUsername());
             UserEntity userEntity = userMapper.userDTOToEntity(userDTO);
+            ensureAvailable(normalize(userEntity.getUsername()), normalize(userEntity.getEmail()));
             logger.debug("Validating user entity for username: {}", userDTO.getUsername());
             validateUserEntity(userEntity);
             UserEntity savedUser = userRepository.save(userEntity);
+            userAvailabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+            totalCountService.increment(COUNT_KEY);
             logger.info("User created successfully: {}", userDTO.getUsername());
             return userMapper.userEntityToDTO(savedUser);
 
         } catch (CustomExceptions.BadRequestException e) {
             logger.error("Bad Request Error while creating user with username {}: {}", userDTO.getUsername(), e.getMessage());
             throw e;
+        } catch (CustomExceptions.ConflictException e) {
+            logger.warn("User creation for username {} rejected: {}", userDTO.getUsername(), e.getMessage());
+            throw e;
+        } catch (CustomExceptions.ServiceUnavailableException e) {
+            logger.warn("User creation for username {} deferred: {}", userDTO.getUsername(), e.getMessage());
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("User creation for username {} lost a race for its username or email", userDTO.getUsername());
+            throw new CustomExceptions.ConflictException("Username or email is already taken.");
         } catch (Exception e) {
             logger.error("Error while creating user with username {}: {}", userDTO.getUsername(), e.getMessage());
             throw new CustomExceptions.InternalServerErrorException("User could not be created: " + e.getMessage());
@@ -68,14 +115,34 @@ public class UserServiceImpl implements UserServiceInterface {
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         logger.info("Attempting to retrieve user with ID: {}", id);
-        UserEntity userById = userRepository.findById(id)
+        UserDTO user = userCache.get(id, () -> userRepository.findById(id)
+                .map(userMapper::userEntityToDTO)
                 .orElseThrow(() -> {
                     logger.warn("User not found with ID: {}", id);
                     return new CustomExceptions.NotFoundException("User not found with ID: " + id);
-                });
+                }));
 
         logger.info("Successfully retrieved user with ID: {}", id);
-        return userMapper.userEntityToDTO(userById);
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByIds(List<Long> ids) {
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_IDS) {
+            logger.error("Invalid number of user IDs requested: {}", distinctIds.size());
+            throw new CustomExceptions.BadRequestException("Between 1 and " + MAX_BATCH_IDS + " user IDs must be requested.");
+        }
+
+        logger.debug("Fetching {} users by ID", distinctIds.size());
+        Map<Long, UserDTO> usersById = userCache.getAll(distinctIds, this::loadUsersById);
+        List<UserDTO> users = distinctIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        logger.info("Successfully fetched {} of {} requested users", users.size(), distinctIds.size());
+        return users;
     }
 
     @Override
@@ -87,6 +154,26 @@ public class UserServiceImpl implements UserServiceInterface {
         return allUsers.map(userMapper::userEntityToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getAllUsersAfter(String after, int size) {
+        logger.debug("Fetching users after cursor: {}, size = {}", after, size);
+        List<UserEntity> rows = userRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.decode(after), CursorCodec.lookAhead(size));
+        CursorPage<UserEntity> slice = CursorPage.of(rows, size, UserEntity::getId);
+        logger.info("Successfully fetched {} users", slice.getNumberOfElements());
+        return slice.map(userMapper::userEntityToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getAllUsersWithEstimatedTotal(Pageable pageable) {
+        logger.debug("Fetching users with estimated total: page = {}, size = {}", pageable.getPageNumber(), pageable.getPageSize());
+        Slice<UserEntity> slice = userRepository.findAllBy(pageable);
+        long estimatedTotal = totalCountService.estimate(COUNT_KEY, userRepository::count);
+        logger.info("Successfully fetched {} users", slice.getNumberOfElements());
+        return EstimatedPage.of(slice, estimatedTotal).map(userMapper::userEntityToDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserDTO> getUsersByRole(Role role, Pageable pageable) {
@@ -114,6 +201,7 @@ public class UserServiceImpl implements UserServiceInterface {
             CriteriaBuilder cb = entityManager.getCriteriaBuilder();
             CriteriaQuery<UserEntity> query = cb.createQuery(UserEntity.class);
             Root<UserEntity> user = query.from(UserEntity.class);
+            user.fetch("userProfile", JoinType.LEFT);
 
             Predicate usernamePredicate = cb.like(cb.lower(user.get("username")), "%" + searchTerm.toLowerCase() + "%");
             Predicate emailPredicate = cb.like(cb.lower(user.get("email")), "%" + searchTerm.toLowerCase() + "%");
@@ -135,6 +223,29 @@ public class UserServiceImpl implements UserServiceInterface {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UserAvailabilityDTO checkAvailability(String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            logger.error("Availability check without a username or email");
+            throw new CustomExceptions.BadRequestException("A username or an email must be given.");
+        }
+
+        String normalizedUsername = hasUsername ? normalize(username) : null;
+        String normalizedEmail = hasEmail ? normalize(email) : null;
+        UserAvailabilityDTO availability = UserAvailabilityDTO.builder()
+                .username(normalizedUsername)
+                .usernameAvailable(hasUsername ? !isUsernameTaken(normalizedUsername) : null)
+                .email(normalizedEmail)
+                .emailAvailable(hasEmail ? !isEmailTaken(normalizedEmail) : null)
+                .build();
+        logger.info("Availability checked for username: {} ({}) and email: {} ({})", availability.getUsername(),
+                availability.getUsernameAvailable(), availability.getEmail(), availability.getEmailAvailable());
+        return availability;
+    }
+
     @Override
     @Transactional
     public UserDTO modifyUser(Long id, UserDTO userDTO) {
@@ -148,9 +259,17 @@ public class UserServiceImpl implements UserServiceInterface {
 
             logger.debug("Modifying user details for user ID: {}", id);
             UserEntity userEntity = userMapper.userDTOToEntity(userDTO);
+            String previousUsername = existingUser.getUsername();
+            String previousEmail = existingUser.getEmail();
+            String newUsername = changedValue(previousUsername, userEntity.getUsername());
+            String newEmail = changedValue(previousEmail, userEntity.getEmail());
+            ensureAvailable(newUsername, newEmail);
             modifyUserDetails(existingUser, userEntity);
 
-            UserEntity updatedUser = userRepository.save(existingUser);
+            UserEntity updatedUser = userRepository.saveAndFlush(existingUser);
+            userAvailabilityFilter.add(newUsername, newEmail);
+            userAvailabilityFilter.remove(newUsername != null ? previousUsername : null, newEmail != null ? previousEmail : null);
+            userCache.invalidate(id);
             logger.info("User updated successfully with ID: {}", id);
             return userMapper.userEntityToDTO(updatedUser);
 
@@ -158,6 +277,18 @@ public class UserServiceImpl implements UserServiceInterface {
             logger.error("User not found with ID: {}. Error message: {}", id, e.getMessage());
             throw e;
 
+        } catch (CustomExceptions.ConflictException e) {
+            logger.warn("Update of user with ID: {} rejected: {}", id, e.getMessage());
+            throw e;
+
+        } catch (CustomExceptions.ServiceUnavailableException e) {
+            logger.warn("Update of user with ID: {} deferred: {}", id, e.getMessage());
+            throw e;
+
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Update of user with ID: {} lost a race for its username or email", id);
+            throw new CustomExceptions.ConflictException("Username or email is already taken.");
+
         } catch (Exception e) {
             logger.error("Error while updating user with ID: {}. Error message: {}", id, e.getMessage());
             throw new CustomExceptions.InternalServerErrorException("User could not be updated: " + e.getMessage());
@@ -166,15 +297,148 @@ public class UserServiceImpl implements UserServiceInterface {
 
     @Override
     @Transactional
-    public void removeUser(Long id) {
+    public UserDTO patchUser(Long id, JsonNode patch) {
+        try {
+            logger.info("Attempting to patch user with ID: {}", id);
+            UserEntity existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.error("User not found with ID: {}", id);
+                        return new CustomExceptions.NotFoundException("User not found with ID: " + id);
+                    });
+
+            UserDTO current = userMapper.userEntityToDTO(existingUser);
+            UserDTO patched = jsonMergePatcher.apply(patch, current, UserDTO.class);
+            String previousUsername = existingUser.getUsername();
+            String previousEmail = existingUser.getEmail();
+            String currentHash = existingUser.getPassword();
+            String patchedUsername = normalize(patched.getUsername());
+            String patchedEmail = normalize(patched.getEmail());
+            String newUsername = patchedUsername != null && !patchedUsername.equals(previousUsername) ? patchedUsername : null;
+            String newEmail = patchedEmail != null && !patchedEmail.equals(previousEmail) ? patchedEmail : null;
+            // Checked before the entity is touched: the lookups would otherwise auto-flush the new values first.
+            ensureAvailable(newUsername, newEmail);
+
+            JsonMergePatcher.Changes<UserEntity> changes = JsonMergePatcher.changesTo(existingUser)
+                    .setRequired("username", previousUsername, patchedUsername, existingUser::setUsername)
+                    .setRequired("email", previousEmail, patchedEmail, existingUser::setEmail)
+                    .setRequired("password", currentHash, JsonMergePatcher.trim(patched.getPassword()), existingUser::setPassword)
+                    .setRequired("role", existingUser.getRole(), patched.getRole(), existingUser::setRole);
+            JsonMergePatcher.Changes<UserProfileEntity> profileChanges = patchUserProfile(existingUser, patched.getUserProfile());
+
+            if (changes.isEmpty() && profileChanges.isEmpty()) {
+                logger.info("Patch for user with ID: {} changed nothing, skipping the update", id);
+                return current;
+            }
+
+            jsonMergePatcher.validate(changes);
+            jsonMergePatcher.validate(profileChanges);
+            if (changes.contains("password")) {
+                existingUser.setPassword(passwordHasher.hashIfChanged(existingUser.getPassword(), currentHash));
+            }
+
+            UserEntity updatedUser = userRepository.saveAndFlush(existingUser);
+            userAvailabilityFilter.add(newUsername, newEmail);
+            userAvailabilityFilter.remove(newUsername != null ? previousUsername : null, newEmail != null ? previousEmail : null);
+            userCache.invalidate(id);
+            logger.info("User with ID: {} patched: {} {}", id, changes.properties(), profileChanges.properties());
+            return userMapper.userEntityToDTO(updatedUser);
+
+        } catch (CustomExceptions.NotFoundException | CustomExceptions.BadRequestException e) {
+            logger.error("Patch of user with ID: {} failed: {}", id, e.getMessage());
+            throw e;
+
+        } catch (CustomExceptions.ConflictException e) {
+            logger.warn("Patch of user with ID: {} rejected: {}", id, e.getMessage());
+            throw e;
+
+        } catch (CustomExceptions.ServiceUnavailableException e) {
+            logger.warn("Patch of user with ID: {} deferred: {}", id, e.getMessage());
+            throw e;
+
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Patch of user with ID: {} lost a race for its username or email", id);
+            throw new CustomExceptions.ConflictException("Username or email is already taken.");
+
+        } catch (Exception e) {
+            logger.error("Error while patching user with ID: {}. Error message: {}", id, e.getMessage());
+            throw new CustomExceptions.InternalServerErrorException("User could not be updated: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public DeletionJobDTO removeUser(Long id) {
         logger.info("Attempting to remove user with ID: {}", id);
-        if (!userRepository.existsById(id)) {
+        if (userRepository.tombstoneById(id, LocalDateTime.now()) == 0) {
             logger.error("User with ID: {} not found for deletion", id);
             throw new CustomExceptions.NotFoundException("User not found with ID: " + id);
         }
 
-        userRepository.deleteById(id);
-        logger.info("Successfully deleted user with ID: {}", id);
+        userCache.invalidate(id);
+        bookSimilarityIndex.markUserChanged(id);
+        followGraph.removeUser(id);
+        totalCountService.decrement(COUNT_KEY);
+        DeletionJobDTO deletionJob = deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.USER, id);
+        logger.info("User with ID: {} tombstoned, deletion job {} scheduled", id, deletionJob.getId());
+        return deletionJob;
+    }
+
+    private void ensureAvailable(String username, String email) {
+        if (username != null && isUsernameTaken(username)) {
+            logger.error("Username already taken: {}", username);
+            throw new CustomExceptions.ConflictException("Username is already taken: " + username);
+        }
+        if (email != null && isEmailTaken(email)) {
+            logger.error("Email already taken: {}", email);
+            throw new CustomExceptions.ConflictException("Email is already taken: " + email);
+        }
+    }
+
+    private boolean isUsernameTaken(String username) {
+        if (userAvailabilityFilter.isReady() && !userAvailabilityFilter.mightContainUsername(username)) {
+            return false;
+        }
+        return userRepository.existsByUsernameIncludingDeleted(username);
+    }
+
+    private boolean isEmailTaken(String email) {
+        if (userAvailabilityFilter.isReady() && !userAvailabilityFilter.mightContainEmail(email)) {
+            return false;
+        }
+        return userRepository.existsByEmailIncludingDeleted(email);
+    }
+
+    private JsonMergePatcher.Changes<UserProfileEntity> patchUserProfile(UserEntity existingUser, UserProfileDTO patched) {
+        if (patched == null) {
+            throw new CustomExceptions.BadRequestException("userProfile cannot be removed.");
+        }
+        if (existingUser.getUserProfile() == null) {
+            logger.error("User profile is missing for patchUser, user Id: {}", existingUser.getId());
+            throw new CustomExceptions.BadRequestException("User profile is required for update.");
+        }
+        return UserProfilePatch.apply(existingUser.getUserProfile(), patched);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase();
+    }
+
+    /**
+     * The submitted username or email as it will be stored, or null when it is missing, blank or only differs from
+     * the stored one in case or surrounding whitespace.
+     */
+    private static String changedValue(String previous, String submitted) {
+        String normalized = normalize(submitted);
+        return normalized == null || normalized.isEmpty() || normalized.equals(normalize(previous)) ? null : normalized;
+    }
+
+    private Map<Long, UserDTO> loadUsersById(List<Long> ids) {
+        Map<Long, UserDTO> users = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += IN_CHUNK_SIZE) {
+            userRepository.findAllWithProfileByIdIn(ids.subList(start, Math.min(start + IN_CHUNK_SIZE, ids.size())))
+                    .forEach(user -> users.put(user.getId(), userMapper.userEntityToDTO(user)));
+        }
+        return users;
     }
 
     private void validateAndSetField(String field, String value, Consumer<String> setter, String errorMessage, boolean isPassword, boolean isRequired) {
@@ -185,7 +449,7 @@ public class UserServiceImpl implements UserServiceInterface {
 
         if (value != null && !value.trim().isEmpty()) {
             if (isPassword) {
-                setter.accept(passwordEncoder.encode(value.trim()));
+                setter.accept(passwordHasher.hash(value.trim()));
                 logger.info("{} create/updated (password changed).", field);
             } else {
                 setter.accept(value);
@@ -251,7 +515,7 @@ public class UserServiceImpl implements UserServiceInterface {
     private void modifyUserDetails(UserEntity existingUser, UserEntity userEntity) {
         validateAndSetField("Username", userEntity.getUsername(), existingUser::setUsername, "Username cannot be null or empty.", false,true);
         validateAndSetField("Email", userEntity.getEmail(), existingUser::setEmail, "Email cannot be null or empty.", false,true);
-        validateAndSetField("Password", userEntity.getPassword(), existingUser::setPassword, "Password cannot be null or empty.", true,true);
+        modifyPassword(existingUser, userEntity.getPassword());
 
         if (userEntity.getRole() != null) {
             Role roleEnum = Role.fromString(userEntity.getRole().toString());
@@ -266,6 +530,21 @@ public class UserServiceImpl implements UserServiceInterface {
         modifyUserProfile(existingUser, userEntity);
     }
 
+    private void modifyPassword(UserEntity existingUser, String password) {
+        if (password == null || password.trim().isEmpty()) {
+            logger.error("Password cannot be null or empty.");
+            throw new CustomExceptions.BadRequestException("Password cannot be null or empty.");
+        }
+
+        String currentHash = existingUser.getPassword();
+        existingUser.setPassword(passwordHasher.hashIfChanged(password.trim(), currentHash));
+        if (existingUser.getPassword().equals(currentHash)) {
+            logger.info("Password unchanged for user ID: {}", existingUser.getId());
+        } else {
+            logger.info("Password updated for user ID: {}", existingUser.getId());
+        }
+    }
+
     private void modifyUserProfile(UserEntity existingUser, UserEntity userEntity) {
         if (existingUser.getUserProfile() == null) {
             logger.error("User profile is missing for modifyUserProfile, user Id: {}", existingUser.getId());
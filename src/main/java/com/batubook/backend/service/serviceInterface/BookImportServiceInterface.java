@@ -0,0 +1,11 @@
+package com.batubook.backend.service.serviceInterface;
+
+import com.batubook.backend.bulkimport.BookImportFormat;
+import com.batubook.backend.dto.BookImportReportDTO;
+
+import java.io.InputStream;
+
+public interface BookImportServiceInterface {
+
+    BookImportReportDTO importBooks(InputStream inputStream, BookImportFormat format);
+}
@@ -1,6 +1,7 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.BookInteractionDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,6 +10,8 @@ public interface BookInteractionServiceInterface {
     BookInteractionDTO registerBookInteraction(BookInteractionDTO bookInteractionDTO);
     BookInteractionDTO getBookInteractionById(Long id);
     Page<BookInteractionDTO> getAllBookInteractions(Pageable pageable);
+    CursorPage<BookInteractionDTO> getAllBookInteractionsAfter(String after, int size);
+    Page<BookInteractionDTO> getAllBookInteractionsWithEstimatedTotal(Pageable pageable);
     Page<BookInteractionDTO> getByUserIdAndIsReadTrue(Long userId, Pageable pageable);
     Page<BookInteractionDTO> getByUserIdAndIsLikedTrue(Long userId, Pageable pageable);
     Page<BookInteractionDTO> getByBookIdAndIsReadTrue(Long bookId, Pageable pageable);
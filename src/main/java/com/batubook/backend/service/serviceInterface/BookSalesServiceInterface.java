@@ -1,6 +1,7 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.BookSalesDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,6 +10,8 @@ public interface BookSalesServiceInterface {
     BookSalesDTO registerBookSales(BookSalesDTO bookSalesDTO);
     BookSalesDTO getBookSalesById(Long id);
     Page<BookSalesDTO> getAllBookSales(Pageable pageable);
+    CursorPage<BookSalesDTO> getAllBookSalesAfter(String after, int size);
+    Page<BookSalesDTO> getAllBookSalesWithEstimatedTotal(Pageable pageable);
     BookSalesDTO getBookSalesBySalesCode(String salesCode);
     Page<BookSalesDTO> getBookSalesByBookId(Long bookId, Pageable pageable);
     Page<BookSalesDTO> getBookSalesByPriceGreaterThanOrderByPriceDesc(Double price, Pageable pageable);
@@ -1,23 +1,41 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.BookDetailDTO;
+import com.batubook.backend.dto.BookFacetResultDTO;
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.BookSuggestionDTO;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.SimilarBookDTO;
 import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.pagination.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface BookServiceInterface {
 
     BookDTO registerBook(BookDTO bookDTO);
     BookDTO getBookById(Long id);
+    List<BookDTO> getBooksByIds(List<Long> ids);
+    BookDetailDTO getBookDetail(Long id);
     Page<BookDTO> getAllBooks(Pageable pageable);
+    CursorPage<BookDTO> getAllBooksAfter(String after, int size);
+    Page<BookDTO> getAllBooksWithEstimatedTotal(Pageable pageable);
     Page<BookDTO> getBookByTitleAndAuthor(String title, String author, Pageable pageable);
     Page<BookDTO> getBookByCriteria(String searchTerm, Pageable pageable);
+    Page<BookDTO> getBookByFuzzyCriteria(String searchTerm, Pageable pageable);
+    List<BookSuggestionDTO> getBookSuggestions(String prefix, int limit);
+    List<SimilarBookDTO> getSimilarBooks(Long id, int limit);
+    BookFacetResultDTO getBooksByFilter(BookFilterDTO filter, Pageable pageable);
     BookDTO getBookByIsbn(String isbn);
     Page<BookDTO> getBookByPageCountBetween(int minPageCount, int maxPageCount, Pageable pageable);
     Page<BookDTO> getBookByPublishDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
     Page<BookDTO> getBookByGenre(Genre genre, Pageable pageable);
     BookDTO modifyBook(Long id, BookDTO bookDTO);
-    void removeBook(Long id);
+    BookDTO patchBook(Long id, JsonNode patch);
+    DeletionJobDTO removeBook(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.batubook.backend.service.serviceInterface;
+
+import com.batubook.backend.export.ExportFormat;
+
+import java.io.OutputStream;
+
+public interface CatalogExportServiceInterface {
+
+    long exportBooks(OutputStream outputStream, ExportFormat format);
+    long exportBookSales(OutputStream outputStream, ExportFormat format);
+}
@@ -0,0 +1,10 @@
+package com.batubook.backend.service.serviceInterface;
+
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
+
+public interface DeletionJobServiceInterface {
+
+    DeletionJobDTO scheduleDeletion(DeletionJobEntity.TargetType targetType, Long targetId);
+    DeletionJobDTO getDeletionJobById(Long id);
+}
@@ -1,17 +1,34 @@
 package com.batubook.backend.service.serviceInterface;
 
+import com.batubook.backend.dto.FollowCountDTO;
 import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.dto.FollowSuggestionDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface FollowServiceInterface {
 
     FollowDTO followUser(FollowDTO followDTO);
     FollowDTO followBook(FollowDTO followDTO);
     Page<FollowDTO> getAllFollows(Pageable pageable);
+    CursorPage<FollowDTO> getAllFollowsAfter(String after, int size);
+    Page<FollowDTO> getAllFollowsWithEstimatedTotal(Pageable pageable);
     Page<FollowDTO> getFollowedUsers(Long followerId, Pageable pageable);
     Page<FollowDTO> getFollowers(Long followedUserId, Pageable pageable);
+    Page<FollowDTO> getFollowersWithEstimatedTotal(Long followedUserId, Pageable pageable);
     Page<FollowDTO> getBookFollowers(Long followedBookId, Pageable pageable);
+    CursorPage<FollowDTO> getFollowedUsersAfter(Long followerId, String after, int size);
+    CursorPage<FollowDTO> getFollowersAfter(Long followedUserId, String after, int size);
+    CursorPage<FollowDTO> getBookFollowersAfter(Long followedBookId, String after, int size);
     void unfollowUser(FollowDTO followDTO);
     void unfollowBook(FollowDTO followDTO);
+    Map<Long, Boolean> checkFollowedUsers(Long followerId, List<Long> ids);
+    List<Long> getMutualFollows(Long userId, int limit);
+    List<FollowSuggestionDTO> getFollowSuggestions(Long userId, int limit);
+    FollowCountDTO getUserFollowCounts(Long userId);
+    FollowCountDTO getBookFollowCounts(Long bookId);
 }
\ No newline at end of file
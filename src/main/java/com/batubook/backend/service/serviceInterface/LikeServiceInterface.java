@@ -1,18 +1,30 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.LikeDTO;
+import com.batubook.backend.dto.LikedTargetsDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface LikeServiceInterface {
 
     LikeDTO registerLike(LikeDTO likeDTO);
+    LikeDTO likeTarget(Long userId, String targetType, Long targetId);
+    void unlikeTarget(Long userId, String targetType, Long targetId);
+    boolean toggleLike(Long userId, String targetType, Long targetId);
     LikeDTO getLikeById(Long id);
     Page<LikeDTO> getAllLikes(Pageable pageable);
+    CursorPage<LikeDTO> getAllLikesAfter(String after, int size);
+    Page<LikeDTO> getAllLikesWithEstimatedTotal(Pageable pageable);
     boolean getByUserIdAndMessageId(Long userId, Long messageId);
     boolean getByUserIdAndBookInteractionId(Long userId, Long bookInteractionId);
     boolean getByUserIdAndReviewId(Long userId, Long reviewId);
     boolean getByUserIdAndQuoteId(Long userId, Long quoteId);
+    LikedTargetsDTO getLikedTargets(Long userId, LikedTargetsDTO candidates);
+    Map<Long, Long> getLikeCounts(String targetType, List<Long> ids);
     LikeDTO modifyLike(Long id, LikeDTO likeDTO);
     void removeLike(Long id);
 }
\ No newline at end of file
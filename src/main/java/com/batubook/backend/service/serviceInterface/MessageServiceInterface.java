@@ -2,6 +2,7 @@ package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.MessageDTO;
 import com.batubook.backend.entity.enums.MessageType;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +11,8 @@ public interface MessageServiceInterface {
     MessageDTO registerMessage(MessageDTO messageDTO);
     MessageDTO getMessageById(Long id);
     Page<MessageDTO> getAllMessages(Pageable pageable);
+    CursorPage<MessageDTO> getAllMessagesAfter(String after, int size);
+    Page<MessageDTO> getAllMessagesWithEstimatedTotal(Pageable pageable);
     Page<MessageDTO> getMessageByMessageType(MessageType messageType, Pageable pageable);
     MessageDTO modifyMessage(Long id, MessageDTO messageDTO);
     void removeMessage(Long id);
@@ -1,6 +1,7 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.QuoteDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,6 +10,8 @@ public interface QuoteServiceInterface {
     QuoteDTO registerQuote(QuoteDTO quoteDTO);
     QuoteDTO getQuoteById(Long id);
     Page<QuoteDTO> getAllQuotes(Pageable pageable);
+    CursorPage<QuoteDTO> getAllQuotesAfter(String after, int size);
+    Page<QuoteDTO> getAllQuotesWithEstimatedTotal(Pageable pageable);
     QuoteDTO modifyQuote(Long id, QuoteDTO quoteDTO);
     void removeQuote(Long id);
 }
\ No newline at end of file
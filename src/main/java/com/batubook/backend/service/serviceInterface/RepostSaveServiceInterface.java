@@ -2,6 +2,7 @@ package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.RepostSaveDTO;
 import com.batubook.backend.entity.enums.ActionType;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +11,8 @@ public interface RepostSaveServiceInterface {
     RepostSaveDTO registerRepostSave(RepostSaveDTO repostSaveDTO);
     RepostSaveDTO getRepostSaveById(Long id);
     Page<RepostSaveDTO> getAllRepostSaves(Pageable pageable);
+    CursorPage<RepostSaveDTO> getAllRepostSavesAfter(String after, int size);
+    Page<RepostSaveDTO> getAllRepostSavesWithEstimatedTotal(Pageable pageable);
     Page<RepostSaveDTO> getByUserId(Long userId, Pageable pageable);
     Page<RepostSaveDTO> getByUserIdAndActionType(Long userId, ActionType actionType, Pageable pageable);
     RepostSaveDTO getByUserIdAndContent(Long userId, Long reviewId, Long quoteId, Long bookInteractionId);
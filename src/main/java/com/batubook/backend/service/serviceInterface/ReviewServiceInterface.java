@@ -1,6 +1,7 @@
 package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.ReviewDTO;
+import com.batubook.backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,6 +12,8 @@ public interface ReviewServiceInterface {
     ReviewDTO registerReview(ReviewDTO reviewDTO);
     ReviewDTO getReviewById(Long id);
     Page<ReviewDTO> getAllReviews(Pageable pageable);
+    CursorPage<ReviewDTO> getAllReviewsAfter(String after, int size);
+    Page<ReviewDTO> getAllReviewsWithEstimatedTotal(Pageable pageable);
     Page<ReviewDTO> getReviewByRating(BigDecimal rating, Pageable pageable);
     ReviewDTO modifyReview(Long id, ReviewDTO reviewDTO);
     void removeReview(Long id);
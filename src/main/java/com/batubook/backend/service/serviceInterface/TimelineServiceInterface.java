@@ -0,0 +1,9 @@
+package com.batubook.backend.service.serviceInterface;
+
+import com.batubook.backend.dto.TimelineEntryDTO;
+import com.batubook.backend.pagination.CursorPage;
+
+public interface TimelineServiceInterface {
+
+    CursorPage<TimelineEntryDTO> getHomeTimeline(Long userId, String after, int size);
+}
@@ -2,6 +2,8 @@ package com.batubook.backend.service.serviceInterface;
 
 import com.batubook.backend.dto.UserProfileDTO;
 import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.pagination.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,8 +13,11 @@ public interface UserProfileServiceInterface {
 
     UserProfileDTO getUserProfileById(Long id);
     Page<UserProfileDTO> getAllUserProfiles(Pageable pageable);
+    CursorPage<UserProfileDTO> getAllUserProfilesAfter(String after, int size);
+    Page<UserProfileDTO> getAllUserProfilesWithEstimatedTotal(Pageable pageable);
     Page<UserProfileDTO> getUserProfilesByBirthDate(LocalDate dateOfBirth, Pageable pageable);
     Page<UserProfileDTO> getUserProfilesByGender(Gender gender, Pageable pageable);
     UserProfileDTO modifyUserProfile(Long id, UserProfileDTO userProfileDTO);
+    UserProfileDTO patchUserProfile(Long id, JsonNode patch);
     void removeUserProfile(Long id);
 }
\ No newline at end of file
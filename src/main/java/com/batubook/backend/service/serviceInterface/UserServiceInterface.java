@@ -1,18 +1,29 @@
 package com.batubook.backend.service.serviceInterface;
 
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.UserAvailabilityDTO;
 import com.batubook.backend.dto.UserDTO;
 import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.pagination.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface UserServiceInterface {
 
     UserDTO registerUser(UserDTO userDTO);
     UserDTO getUserById(Long id);
+    List<UserDTO> getUsersByIds(List<Long> ids);
     Page<UserDTO> getAllUsers(Pageable pageable);
+    CursorPage<UserDTO> getAllUsersAfter(String after, int size);
+    Page<UserDTO> getAllUsersWithEstimatedTotal(Pageable pageable);
     Page<UserDTO> getUsersByRole(Role role, Pageable pageable);
     Page<UserDTO> getUsersByUsernameAndEmail(String username, String email, Pageable pageable);
     Page<UserDTO> getUserByCriteria(String searchTerm, Pageable pageable);
+    UserAvailabilityDTO checkAvailability(String username, String email);
     UserDTO modifyUser(Long id, UserDTO userDTO);
-    void removeUser(Long id);
+    UserDTO patchUser(Long id, JsonNode patch);
+    DeletionJobDTO removeUser(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,390 @@
+package com.batubook.backend.timeline;
+
+import com.batubook.backend.entity.ActivityEntity;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.repository.ActivityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Home timelines with hybrid fan-out. Every review, quote, book interaction and repost is written to
+ * {@code activities}, and once it commits its id is pushed into the in-memory timeline of each follower of the
+ * actor. Actors with at least {@code fanoutLimit} followers are not fanned out: a write would touch too many
+ * timelines, so their activities are merged in when a timeline is read, with one indexed query for each such
+ * account the reader follows.
+ *
+ * <p>Timelines are only kept for users who read them. The first read builds the timeline from the database,
+ * later writes are pushed into it, and timelines nobody read for {@code idleTimeout} are dropped again. A
+ * timeline holds at most {@code capacity} ids; paging past its oldest one reads the remainder from the database.
+ * A follow or unfollow drops the follower's timeline so the next read builds it with the new set of followed
+ * users.
+ *
+ * <p>An actor whose follower count drops under the limit is fanned out again, but the activities it wrote while
+ * over the limit were never pushed into timelines that were already built. Reads of such a timeline keep merging
+ * that actor in until the timeline is dropped.
+ */
+@Component
+public class HomeTimeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeTimeline.class);
+
+    private static final String FANNED_OUT_ACTORS_SQL = """
+            SELECT f.followed_user_id
+            FROM follows f
+            JOIN users u ON u.id = f.followed_user_id AND u.deleted_at IS NULL
+            WHERE f.follower_id = ? AND u.follower_count < ?
+            """;
+    private static final String MERGED_ON_READ_ACTORS_SQL = """
+            SELECT f.followed_user_id
+            FROM follows f
+            JOIN users u ON u.id = f.followed_user_id AND u.deleted_at IS NULL
+            WHERE f.follower_id = ? AND f.followed_user_id <> ? AND u.follower_count >= ?
+            """;
+    private static final String ACTIVITIES_SQL = """
+            SELECT id
+            FROM activities
+            WHERE actor_id IN (:actorIds) AND id < :before
+            ORDER BY id DESC
+            LIMIT :limit
+            """;
+    private static final String ACTOR_ACTIVITIES_SQL = """
+            SELECT id
+            FROM activities
+            WHERE actor_id = ? AND id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """;
+    private static final String FOLLOWER_COUNT_SQL = "SELECT follower_count FROM users WHERE id = ?";
+    private static final String FOLLOWERS_SQL = "SELECT follower_id FROM follows WHERE followed_user_id = ?";
+    private static final String FOLLOWED_AMONG_SQL =
+            "SELECT followed_user_id FROM follows WHERE follower_id = :followerId AND followed_user_id IN (:actorIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ActivityRepository activityRepository;
+    private final FollowGraph followGraph;
+    private final int fanoutLimit;
+    private final int capacity;
+    private final int maxTimelines;
+    private final long idleTimeoutMillis;
+    private final ConcurrentHashMap<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> pulledActors = new ConcurrentHashMap<>();
+
+    public HomeTimeline(JdbcTemplate jdbcTemplate,
+                        ActivityRepository activityRepository,
+                        FollowGraph followGraph,
+                        @Value("${batubook.timeline.fanout-limit:10000}") int fanoutLimit,
+                        @Value("${batubook.timeline.capacity:500}") int capacity,
+                        @Value("${batubook.timeline.max-timelines:100000}") int maxTimelines,
+                        @Value("${batubook.timeline.idle-timeout:PT6H}") Duration idleTimeout) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.activityRepository = activityRepository;
+        this.followGraph = followGraph;
+        this.fanoutLimit = fanoutLimit;
+        this.capacity = capacity;
+        this.maxTimelines = maxTimelines;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    /**
+     * Records the activity in the current transaction and fans it out once that commits.
+     */
+    public void publish(ActivityEntity.ActivityType activityType, Long actorId, Long targetId) {
+        ActivityEntity activity = activityRepository.save(ActivityEntity.builder()
+                .actorId(actorId)
+                .activityType(activityType)
+                .targetId(targetId)
+                .build());
+        afterCommit(() -> fanOut(actorId, activity.getId()));
+    }
+
+    /**
+     * Removes the activities of deleted content. Their ids may still sit in timelines; reads skip ids whose
+     * activity is gone.
+     */
+    public void retract(ActivityEntity.ActivityType activityType, Long targetId) {
+        activityRepository.deleteByTarget(activityType, targetId);
+    }
+
+    /**
+     * Drops the user's timeline once the current transaction commits, after they followed or unfollowed someone.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> timelines.remove(userId));
+    }
+
+    /**
+     * Up to {@code limit} activity ids below {@code before} from the user's home timeline, newest first.
+     */
+    public List<Long> read(long userId, long before, int limit) {
+        Timeline timeline = timeline(userId);
+        List<Long> fannedOut;
+        if (timeline == null) {
+            fannedOut = fannedOut(userId, before, limit);
+        } else {
+            fannedOut = timeline.before(before, limit);
+            if (fannedOut.size() < limit && timeline.isTruncated()) {
+                long oldest = Math.min(before, timeline.oldest());
+                fannedOut.addAll(fannedOut(userId, oldest, limit - fannedOut.size()));
+            }
+        }
+        return merge(fannedOut, mergedOnRead(userId, timeline, before, limit), limit);
+    }
+
+    @Scheduled(fixedDelayString = "${batubook.timeline.eviction-interval:PT10M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        int before = timelines.size();
+        timelines.values().removeIf(timeline -> timeline.lastRead < cutoff);
+        int evicted = before - timelines.size();
+        long oldestBuilt = timelines.values().stream().mapToLong(timeline -> timeline.builtAt).min().orElse(Long.MAX_VALUE);
+        pulledActors.values().removeIf(pulledAt -> pulledAt < oldestBuilt);
+        if (evicted > 0) {
+            logger.info("Evicted {} idle home timelines, {} remain", evicted, timelines.size());
+        }
+    }
+
+    public int timelineCount() {
+        return timelines.size();
+    }
+
+    /**
+     * The user's timeline, built from the database on first use. Returns null when the number of kept timelines
+     * is at its limit, in which case the caller reads from the database directly.
+     */
+    private Timeline timeline(long userId) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline != null) {
+            timeline.lastRead = System.currentTimeMillis();
+            return timeline;
+        }
+        if (timelines.size() >= maxTimelines) {
+            logger.warn("Home timeline limit of {} reached, reading timeline of user with ID: {} from the database", maxTimelines, userId);
+            return null;
+        }
+
+        Timeline created = new Timeline(capacity);
+        // Holding the new timeline's monitor while it loads makes concurrent reads wait for the load, and makes
+        // fan-outs that commit meanwhile land after it instead of being overwritten.
+        synchronized (created) {
+            Timeline existing = timelines.putIfAbsent(userId, created);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                created.load(fannedOut(userId, Long.MAX_VALUE, capacity));
+            } catch (RuntimeException e) {
+                timelines.remove(userId, created);
+                throw e;
+            }
+        }
+        logger.debug("Built home timeline of user with ID: {} with {} activities", userId, created.size);
+        return created;
+    }
+
+    private void fanOut(long actorId, long activityId) {
+        push(actorId, activityId);
+        long[] followers = followersToFanOutTo(actorId);
+        for (long follower : followers) {
+            push(follower, activityId);
+        }
+        logger.debug("Fanned activity {} of user with ID: {} out to {} followers", activityId, actorId, followers.length);
+    }
+
+    /**
+     * The follower counter decides whether an actor is fanned out, the same way reads decide which actors to
+     * merge in. An actor that is not fanned out is remembered with the time, so timelines built before then keep
+     * merging it in after its count drops under the limit and reads would otherwise take it for fanned out.
+     */
+    private long[] followersToFanOutTo(long actorId) {
+        Long followerCount = jdbcTemplate.getJdbcTemplate().queryForObject(FOLLOWER_COUNT_SQL, Long.class, actorId);
+        if (followerCount == null || followerCount >= fanoutLimit) {
+            pulledActors.put(actorId, System.currentTimeMillis());
+            return new long[0];
+        }
+        if (followGraph.isReady()) {
+            return followGraph.followersOf(actorId);
+        }
+        return jdbcTemplate.getJdbcTemplate().queryForList(FOLLOWERS_SQL, Long.class, actorId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void push(long userId, long activityId) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline != null) {
+            timeline.add(activityId);
+        }
+    }
+
+    /**
+     * Activities of the user and of the followed users under the fan-out limit, as pushed into timelines.
+     */
+    private List<Long> fannedOut(long userId, long before, int limit) {
+        List<Long> actorIds = new ArrayList<>(jdbcTemplate.getJdbcTemplate()
+                .queryForList(FANNED_OUT_ACTORS_SQL, Long.class, userId, fanoutLimit));
+        actorIds.add(userId);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("actorIds", actorIds)
+                .addValue("before", before)
+                .addValue("limit", limit);
+        return new ArrayList<>(jdbcTemplate.queryForList(ACTIVITIES_SQL, parameters, Long.class));
+    }
+
+    /**
+     * Activities of the followed users over the fan-out limit, and for a kept timeline also of those that were over
+     * it at some point since the timeline was built. Readers follow few of them, so each is read on its own through
+     * the {@code (actor_id, id)} index.
+     */
+    private List<Long> mergedOnRead(long userId, Timeline timeline, long before, int limit) {
+        Set<Long> actorIds = new LinkedHashSet<>(jdbcTemplate.getJdbcTemplate()
+                .queryForList(MERGED_ON_READ_ACTORS_SQL, Long.class, userId, userId, fanoutLimit));
+        if (timeline != null) {
+            actorIds.addAll(pulledSince(userId, timeline.builtAt));
+        }
+        List<Long> merged = List.of();
+        for (Long actorId : actorIds) {
+            merged = merge(merged, jdbcTemplate.getJdbcTemplate().queryForList(ACTOR_ACTIVITIES_SQL, Long.class, actorId, before, limit), limit);
+        }
+        return merged;
+    }
+
+    /**
+     * Followed actors with an activity that was not fanned out at or after {@code builtAt}.
+     */
+    private Collection<Long> pulledSince(long userId, long builtAt) {
+        List<Long> candidates = new ArrayList<>();
+        pulledActors.forEach((actorId, pulledAt) -> {
+            if (pulledAt >= builtAt && actorId != userId) {
+                candidates.add(actorId);
+            }
+        });
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        if (followGraph.isReady()) {
+            return followGraph.followedAmong(userId, candidates);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("followerId", userId)
+                .addValue("actorIds", candidates);
+        return jdbcTemplate.queryForList(FOLLOWED_AMONG_SQL, parameters, Long.class);
+    }
+
+    /**
+     * Merges two lists sorted newest first into one, dropping ids present in both.
+     */
+    private static List<Long> merge(List<Long> first, List<Long> second, int limit) {
+        if (second.isEmpty()) {
+            return first.size() > limit ? first.subList(0, limit) : first;
+        }
+        List<Long> merged = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            long next;
+            if (j == second.size() || (i < first.size() && first.get(i) >= second.get(j))) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if (merged.isEmpty() || merged.get(merged.size() - 1) != next) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * One user's newest activity ids, sorted ascending in a fixed-size array. Ids mostly arrive in order, so an
+     * insert is usually an append; once full, the oldest id is dropped and the timeline is marked truncated.
+     */
+    private static final class Timeline {
+
+        private final long[] ids;
+        private final long builtAt = System.currentTimeMillis();
+        private int size;
+        private boolean truncated;
+        private volatile long lastRead = System.currentTimeMillis();
+
+        Timeline(int capacity) {
+            this.ids = new long[capacity];
+        }
+
+        synchronized void load(List<Long> newestFirst) {
+            for (Long id : newestFirst) {
+                add(id);
+            }
+            if (newestFirst.size() == ids.length) {
+                truncated = true;
+            }
+        }
+
+        synchronized void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                if (insertAt == 0) {
+                    return;
+                }
+                System.arraycopy(ids, 1, ids, 0, insertAt - 1);
+                ids[insertAt - 1] = id;
+                truncated = true;
+                return;
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        synchronized List<Long> before(long before, int limit) {
+            int end = Arrays.binarySearch(ids, 0, size, before);
+            end = end >= 0 ? end : -end - 1;
+            List<Long> newestFirst = new ArrayList<>(Math.min(limit, end));
+            for (int i = end - 1; i >= 0 && newestFirst.size() < limit; i--) {
+                newestFirst.add(ids[i]);
+            }
+            return newestFirst;
+        }
+
+        synchronized long oldest() {
+            return size == 0 ? Long.MAX_VALUE : ids[0];
+        }
+
+        synchronized boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.batubook.backend.Tests.BookInteractionTest;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookDTO;
 import com.batubook.backend.dto.BookInteractionDTO;
 import com.batubook.backend.dto.UserDTO;
@@ -13,8 +14,10 @@ import com.batubook.backend.entity.enums.Genre;
 import com.batubook.backend.entity.enums.Role;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.BookInteractionMapper;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
 import com.batubook.backend.repository.BookInteractionRepository;
 import com.batubook.backend.service.serviceImplementation.BookInteractionServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -49,6 +52,15 @@ public class BookInteractionServiceTest {
     @Mock
     private BookInteractionMapper bookInteractionMapper;
 
+    @Mock
+    private BookDetailCache bookDetailCache;
+
+    @Mock
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @Mock
+    private HomeTimeline homeTimeline;
+
     @InjectMocks
     private BookInteractionServiceImpl bookInteractionService;
 
@@ -58,7 +70,7 @@ public class BookInteractionServiceTest {
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        reset(bookInteractionRepository, bookInteractionMapper);
+        reset(bookInteractionRepository, bookInteractionMapper, bookDetailCache, bookSimilarityIndex, homeTimeline);
         initializeMockData();
         logger.info("Test environment setup complete.");
     }
@@ -66,7 +78,7 @@ public class BookInteractionServiceTest {
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(bookInteractionRepository, bookInteractionMapper);
+        reset(bookInteractionRepository, bookInteractionMapper, bookDetailCache, bookSimilarityIndex, homeTimeline);
         logger.info("Cleanup complete.");
     }
 
@@ -1,5 +1,6 @@
 package com.batubook.backend.Tests.BookSalesTest;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookDTO;
 import com.batubook.backend.dto.BookSalesDTO;
 import com.batubook.backend.entity.BookEntity;
@@ -44,20 +45,23 @@ public class BookSalesServiceTest {
     @Mock
     private BookSalesMapper bookSalesMapper;
 
+    @Mock
+    private BookDetailCache bookDetailCache;
+
     @InjectMocks
     private BookSalesServiceImpl bookSalesService;
 
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        reset(bookSalesRepository, bookSalesMapper);
+        reset(bookSalesRepository, bookSalesMapper, bookDetailCache);
         logger.info("Test environment setup complete.");
     }
 
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(bookSalesRepository, bookSalesMapper);
+        reset(bookSalesRepository, bookSalesMapper, bookDetailCache);
         logger.info("Cleanup complete.");
     }
 
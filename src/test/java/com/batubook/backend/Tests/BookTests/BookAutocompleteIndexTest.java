@@ -0,0 +1,191 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.dto.BookSuggestionDTO;
+import com.batubook.backend.search.BookAutocompleteIndex;
+import com.batubook.backend.search.SearchTextNormalizer;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookAutocompleteIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookAutocompleteIndexTest.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        bookAutocompleteIndex = new BookAutocompleteIndex(jdbcTemplate, 5);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should rank completions of a prefix by popularity")
+    void shouldRankByPopularity() {
+        logger.info("Starting test for popularity ranking...");
+        load(List.of(
+                new Object[]{1L, "Animal Farm", "George Orwell", 40L},
+                new Object[]{2L, "Anna Karenina", "Leo Tolstoy", 90L},
+                new Object[]{3L, "Ansichten eines Clowns", "Heinrich Böll", 5L}));
+
+        List<BookSuggestionDTO> suggestions = bookAutocompleteIndex.suggest("an", 5);
+
+        assertTrue(bookAutocompleteIndex.isReady());
+        assertEquals(List.of("Anna Karenina", "Animal Farm", "Ansichten eines Clowns"), texts(suggestions));
+        assertEquals(2L, suggestions.get(0).getBookId());
+        assertEquals(List.of("Anna Karenina"), texts(bookAutocompleteIndex.suggest("ANNA k", 5)));
+        assertTrue(bookAutocompleteIndex.suggest("anx", 5).isEmpty());
+        logger.info("Test for popularity ranking completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should complete from any word start and aggregate authors over their books")
+    void shouldCompleteWordStartsAndAggregateAuthors() {
+        logger.info("Starting test for author aggregation...");
+        load(List.of(
+                new Object[]{1L, "1984", "George Orwell", 30L},
+                new Object[]{2L, "Animal Farm", "George Orwell", 20L},
+                new Object[]{3L, "Orlando", "Virginia Woolf", 45L}));
+
+        List<BookSuggestionDTO> suggestions = bookAutocompleteIndex.suggest("or", 5);
+
+        assertEquals(List.of("George Orwell", "Orlando"), texts(suggestions));
+        assertEquals(BookSuggestionDTO.Type.AUTHOR, suggestions.get(0).getType());
+        assertEquals(50L, suggestions.get(0).getPopularity());
+        assertEquals(List.of("Animal Farm"), texts(bookAutocompleteIndex.suggest("far", 5)));
+        logger.info("Test for author aggregation completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should apply renames and removals incrementally")
+    void shouldApplyIncrementalUpdates() {
+        logger.info("Starting test for incremental updates...");
+        load(List.of(
+                new Object[]{1L, "1984", "George Orwell", 30L},
+                new Object[]{2L, "Animal Farm", "George Orwell", 20L}));
+
+        bookAutocompleteIndex.index(2L, "Homage to Catalonia", "George Orwell");
+        bookAutocompleteIndex.index(3L, "Animal Dreams", "Barbara Kingsolver");
+
+        assertEquals(List.of("Animal Dreams"), texts(bookAutocompleteIndex.suggest("ani", 5)));
+        assertEquals(20L, bookAutocompleteIndex.suggest("homage", 5).get(0).getPopularity());
+
+        bookAutocompleteIndex.remove(1L);
+        bookAutocompleteIndex.remove(2L);
+
+        assertTrue(bookAutocompleteIndex.suggest("george", 5).isEmpty());
+        assertTrue(bookAutocompleteIndex.suggest("1984", 5).isEmpty());
+        logger.info("Test for incremental updates completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should match a brute-force ranking after random inserts and removals")
+    void shouldMatchBruteForceRanking() {
+        logger.info("Starting test for brute-force comparison...");
+        Random random = new Random(42);
+        String[] words = {"dark", "dawn", "day", "dance", "river", "rise", "road", "red", "sea", "seven", "silent", "son"};
+        String[] authors = {"Dana Reed", "Sam Rivers", "Rosa Day", "Sid Sea"};
+        Map<Long, String[]> books = new HashMap<>();
+        Map<Long, Long> popularity = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        for (long id = 1; id <= 400; id++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            String author = authors[random.nextInt(authors.length)];
+            long score = random.nextInt(1000);
+            books.put(id, new String[]{title, author});
+            popularity.put(id, score);
+            rows.add(new Object[]{id, title, author, score});
+        }
+        load(rows);
+
+        for (int i = 0; i < 150; i++) {
+            long id = 1 + random.nextInt(400);
+            if (random.nextBoolean()) {
+                bookAutocompleteIndex.remove(id);
+                books.remove(id);
+                popularity.remove(id);
+            } else {
+                String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                String author = authors[random.nextInt(authors.length)];
+                bookAutocompleteIndex.index(id, title, author);
+                books.put(id, new String[]{title, author});
+                popularity.putIfAbsent(id, 0L);
+            }
+        }
+
+        for (String prefix : List.of("d", "da", "dar", "r", "ri", "s", "se", "son", "sam", "rosa d", "x")) {
+            List<String> expected = bruteForce(books, popularity, prefix, 5);
+            List<String> actual = bookAutocompleteIndex.suggest(prefix, 5).stream()
+                    .map(suggestion -> suggestion.getType() + ":" + suggestion.getText() + ":" + suggestion.getPopularity())
+                    .toList();
+            assertEquals(expected, actual, "prefix " + prefix);
+        }
+        logger.info("Test for brute-force comparison completed.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(List<Object[]> rows) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(rows, List.of());
+        bookAutocompleteIndex.load();
+    }
+
+    private static List<String> texts(List<BookSuggestionDTO> suggestions) {
+        return suggestions.stream().map(BookSuggestionDTO::getText).toList();
+    }
+
+    private static List<String> bruteForce(Map<Long, String[]> books, Map<Long, Long> popularity, String prefix, int limit) {
+        String key = SearchTextNormalizer.fold(prefix);
+        Map<String, long[]> authorTotals = new TreeMap<>();
+        Map<String, String> authorDisplay = new HashMap<>();
+        List<Object[]> candidates = new ArrayList<>();
+
+        for (Map.Entry<Long, String[]> book : books.entrySet()) {
+            String title = book.getValue()[0];
+            String author = book.getValue()[1];
+            long score = popularity.get(book.getKey());
+            if (matches(title, key)) {
+                candidates.add(new Object[]{"TITLE", title, score, "b:" + book.getKey()});
+            }
+            authorTotals.computeIfAbsent(SearchTextNormalizer.fold(author), k -> new long[1])[0] += score;
+            authorDisplay.putIfAbsent(SearchTextNormalizer.fold(author), author);
+        }
+        for (Map.Entry<String, long[]> author : authorTotals.entrySet()) {
+            if (matches(author.getKey(), key)) {
+                candidates.add(new Object[]{"AUTHOR", authorDisplay.get(author.getKey()), author.getValue()[0], "a:" + author.getKey()});
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong((Object[] c) -> (Long) c[2]).reversed()
+                .thenComparing(c -> (String) c[1])
+                .thenComparing(c -> (String) c[3]));
+        return candidates.stream().limit(limit).map(c -> c[0] + ":" + c[1] + ":" + c[2]).toList();
+    }
+
+    private static boolean matches(String text, String key) {
+        String folded = SearchTextNormalizer.fold(text);
+        if (folded.startsWith(key)) {
+            return true;
+        }
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            if (folded.startsWith(key, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
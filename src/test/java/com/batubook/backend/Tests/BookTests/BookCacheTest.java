@@ -0,0 +1,175 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.cache.BookCache;
+import com.batubook.backend.cache.OffHeapStore;
+import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.CacheStatsDTO;
+import com.batubook.backend.entity.enums.Genre;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookCacheTest.class);
+
+    private BookCache bookCache;
+
+    @BeforeEach
+    void setUp() {
+        bookCache = new BookCache(new ObjectMapper(), 2, 1 << 16);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should serve entries evicted from the heap tier out of the off-heap tier")
+    void shouldServeDemotedEntriesFromOffHeap() {
+        logger.info("Starting test for off-heap demotion...");
+        for (long id = 1; id <= 6; id++) {
+            long bookId = id;
+            bookCache.get(bookId, () -> book(bookId, "978000000000" + bookId));
+        }
+
+        for (long id = 1; id <= 6; id++) {
+            BookDTO cached = bookCache.get(id, failingLoader());
+            assertEquals(id, cached.getId());
+            assertEquals(Genre.DYSTOPIA, cached.getGenre());
+        }
+
+        CacheStatsDTO stats = bookCache.stats();
+        assertEquals(6, stats.getMisses());
+        assertTrue(stats.getHeapEvictions() >= 4);
+        assertTrue(stats.getOffHeapHits() >= 4);
+        assertEquals(0, stats.getOffHeapEvictions());
+        assertEquals(6, stats.getHeapEntries() + stats.getOffHeapEntries());
+        logger.info("Test for off-heap demotion completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should drop invalidated entries from both tiers")
+    void shouldInvalidateBothTiers() {
+        logger.info("Starting test for invalidation...");
+        for (long id = 1; id <= 6; id++) {
+            long bookId = id;
+            bookCache.get(bookId, () -> book(bookId, "978000000000" + bookId));
+        }
+
+        for (long id = 1; id <= 6; id++) {
+            bookCache.invalidate(id);
+        }
+
+        for (long id = 1; id <= 6; id++) {
+            long bookId = id;
+            assertEquals("Reloaded", bookCache.get(bookId, () -> {
+                BookDTO reloaded = book(bookId, "978000000000" + bookId);
+                reloaded.setTitle("Reloaded");
+                return reloaded;
+            }).getTitle());
+        }
+        assertEquals(12, bookCache.stats().getMisses());
+        logger.info("Test for invalidation completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should only trust an ISBN lookup while the cached book still has that ISBN")
+    void shouldVerifyIsbnOnLookup() {
+        logger.info("Starting test for ISBN lookups...");
+        bookCache.getByIsbn("9780000000001", () -> book(1L, "9780000000001"));
+        assertEquals(1L, bookCache.getByIsbn("9780000000001", failingLoader()).getId());
+
+        bookCache.invalidate(1L);
+        bookCache.get(1L, () -> book(1L, "9780000000002"));
+
+        BookDTO missing = bookCache.getByIsbn("9780000000001", () -> null);
+        assertNull(missing);
+        assertEquals(1L, bookCache.getByIsbn("9780000000002", () -> book(1L, "9780000000002")).getId());
+        logger.info("Test for ISBN lookups completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should overwrite the oldest records when the off-heap ring wraps around")
+    void shouldEvictOldestRecordsOnWrapAround() {
+        logger.info("Starting test for ring eviction...");
+        Random random = new Random(7);
+        OffHeapStore store = new OffHeapStore(1024);
+        Map<Long, byte[]> latest = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            long key = random.nextInt(50);
+            if (random.nextInt(10) == 0) {
+                store.remove(key);
+                latest.remove(key);
+                continue;
+            }
+
+            byte[] value = new byte[random.nextInt(120)];
+            random.nextBytes(value);
+            assertTrue(store.put(key, value));
+            latest.put(key, value);
+
+            assertArrayEquals(value, store.get(key));
+            for (Map.Entry<Long, byte[]> entry : latest.entrySet()) {
+                byte[] stored = store.get(entry.getKey());
+                if (stored != null) {
+                    assertArrayEquals(entry.getValue(), stored, "key " + entry.getKey());
+                }
+            }
+            assertTrue(store.usedBytes() <= store.capacityBytes());
+        }
+
+        assertTrue(store.evictionCount() > 0);
+        assertFalse(store.put(1L, new byte[2000]));
+        assertNull(store.get(1L));
+        logger.info("Test for ring eviction completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should load only the missing entries of a batch, in one call")
+    void shouldLoadOnlyMissingEntriesOfBatch() {
+        logger.info("Starting test for batch lookups...");
+        bookCache.get(2L, () -> book(2L, "9780000000002"));
+        List<List<Long>> loaderCalls = new ArrayList<>();
+
+        Map<Long, BookDTO> books = bookCache.getAll(List.of(1L, 2L, 3L), missing -> {
+            loaderCalls.add(missing);
+            return Map.of(1L, book(1L, "9780000000001"));
+        });
+
+        assertEquals(List.of(List.of(1L, 3L)), loaderCalls);
+        assertEquals(Set.of(1L, 2L), books.keySet());
+        assertEquals(1L, bookCache.get(1L, failingLoader()).getId());
+        assertTrue(bookCache.getAll(List.of(1L, 2L), missing -> {
+            throw new AssertionError("Expected cache hits");
+        }).keySet().containsAll(List.of(1L, 2L)));
+        logger.info("Test for batch lookups completed.");
+    }
+
+    private static Supplier<BookDTO> failingLoader() {
+        return () -> {
+            throw new AssertionError("Expected a cache hit");
+        };
+    }
+
+    private static BookDTO book(Long id, String isbn) {
+        return BookDTO.builder()
+                .id(id)
+                .title("Book " + id)
+                .author("Author " + id)
+                .isbn(isbn)
+                .pageCount(200)
+                .publishDate("1949-06-08")
+                .genre(Genre.DYSTOPIA)
+                .build();
+    }
+}
@@ -166,12 +166,12 @@ public class BookControllerTest {
 
     @Test
     @Order(7)
-    @DisplayName("It should delete a book successfully")
+    @DisplayName("It should accept the deletion of a book")
     void deleteBook_success() throws Exception {
         logger.info("Starting test: deleteBook_success");
 
         mockMvc.perform(delete("/api/books/delete/{id}", mockBookEntity.getId()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted());
 
         Assertions.assertFalse(bookRepository.existsById(mockBookEntity.getId()));
 
@@ -0,0 +1,130 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.cache.BookDetailCache;
+import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.BookDetailDTO;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookDetailCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookDetailCacheTest.class);
+
+    private BookDetailCache bookDetailCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        bookDetailCache = new BookDetailCache(2, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should load a book detail once and serve it from the cache afterwards")
+    void shouldCacheLoadedDetail() {
+        logger.info("Starting test for cached book detail...");
+        bookDetailCache.get(1L, () -> detail(1L));
+        bookDetailCache.get(1L, () -> detail(1L));
+
+        assertEquals(1, loads.get());
+        logger.info("Test for cached book detail completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should reload a book detail after it has been evicted")
+    void shouldReloadAfterEviction() {
+        logger.info("Starting test for eviction...");
+        bookDetailCache.get(1L, () -> detail(1L));
+        bookDetailCache.evict(1L);
+        bookDetailCache.get(1L, () -> detail(1L));
+
+        assertEquals(2, loads.get());
+        logger.info("Test for eviction completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should not cache a detail whose load overlapped an eviction")
+    void shouldNotCacheLoadRacingWithEviction() throws Exception {
+        logger.info("Starting test for load racing with eviction...");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BookDetailDTO> load = CompletableFuture.supplyAsync(() -> bookDetailCache.get(1L, () -> {
+            loading.countDown();
+            await(release);
+            return detail(1L);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(() -> bookDetailCache.evict(1L));
+        Thread.sleep(100);
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        eviction.get(5, TimeUnit.SECONDS);
+
+        bookDetailCache.get(1L, () -> detail(1L));
+        assertEquals(2, loads.get());
+        logger.info("Test for load racing with eviction completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should keep caching a book while other books are evicted")
+    void shouldCacheLoadRacingWithEvictionOfOtherBook() {
+        logger.info("Starting test for eviction of another book...");
+        bookDetailCache.get(2L, () -> {
+            CompletableFuture.runAsync(() -> bookDetailCache.evict(1L)).join();
+            return detail(2L);
+        });
+        bookDetailCache.get(2L, () -> detail(2L));
+
+        assertEquals(1, loads.get());
+        logger.info("Test for eviction of another book completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should drop books once the cache is full")
+    void shouldBoundCacheSize() {
+        logger.info("Starting test for cache size bound...");
+        for (long bookId = 1; bookId <= 10; bookId++) {
+            long id = bookId;
+            bookDetailCache.get(id, () -> detail(id));
+        }
+        for (long bookId = 1; bookId <= 10; bookId++) {
+            long id = bookId;
+            bookDetailCache.get(id, () -> detail(id));
+        }
+
+        assertTrue(loads.get() >= 18, "at most two of ten books can stay cached, loads: " + loads.get());
+        logger.info("Test for cache size bound completed.");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private BookDetailDTO detail(Long bookId) {
+        loads.incrementAndGet();
+        return BookDetailDTO.builder()
+                .book(BookDTO.builder().id(bookId).title("Book " + bookId).build())
+                .reviewCount(0L)
+                .build();
+    }
+}
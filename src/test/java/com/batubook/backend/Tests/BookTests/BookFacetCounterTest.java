@@ -0,0 +1,119 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.FacetBucketDTO;
+import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.search.BookFacetCounter;
+import com.batubook.backend.search.BookFacetCounts;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookFacetCounterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookFacetCounterTest.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookFacetCounter bookFacetCounter;
+
+    @BeforeEach
+    void setUp() {
+        bookFacetCounter = new BookFacetCounter(jdbcTemplate);
+        bookRepository.saveAllAndFlush(List.of(
+                book("1984", "George Orwell", "1000000001", 352, LocalDate.of(1949, 6, 8), Genre.DYSTOPIA),
+                book("Brave New World", "Aldous Huxley", "1000000002", 311, LocalDate.of(1932, 8, 18), Genre.DYSTOPIA),
+                book("Dune", "Frank Herbert", "1000000003", 412, LocalDate.of(1965, 8, 1), Genre.SCIENCE_FICTION),
+                book("Animal Farm", "George Orwell", "1000000004", 112, LocalDate.of(1945, 8, 17), Genre.NOVEL),
+                book("The Road", "Cormac McCarthy", "1000000005", 287, LocalDate.of(2006, 9, 26), Genre.DYSTOPIA)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should count every facet over the whole table when no filter is set")
+    void shouldCountUnfilteredFacets() {
+        logger.info("Running test: Should count every facet over the whole table");
+
+        BookFacetCounts facets = bookFacetCounter.count(new BookFilterDTO());
+
+        assertThat(facets.getTotalMatches()).isEqualTo(5);
+        assertThat(counts(facets.getGenres())).containsEntry("dystopia", 3L).containsEntry("novel", 1L)
+                .containsEntry("science_fiction", 1L).containsEntry("horror", 0L);
+        assertThat(counts(facets.getPageCounts())).containsEntry("101-200", 1L).containsEntry("201-300", 1L)
+                .containsEntry("301-500", 3L);
+        assertThat(counts(facets.getPublishDates())).containsEntry("1900-1949", 3L).containsEntry("1950-1999", 1L)
+                .containsEntry("2000-2009", 1L);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should apply every filter except its own to each facet")
+    void shouldExcludeOwnFilterFromEachFacet() {
+        logger.info("Running test: Should apply every filter except its own to each facet");
+        BookFilterDTO filter = BookFilterDTO.builder()
+                .genres(List.of(Genre.DYSTOPIA))
+                .minPageCount(300)
+                .publishedTo(LocalDate.of(1999, 12, 31))
+                .build();
+
+        BookFacetCounts facets = bookFacetCounter.count(filter);
+
+        assertThat(facets.getTotalMatches()).isEqualTo(2);
+        assertThat(counts(facets.getGenres())).containsEntry("dystopia", 2L).containsEntry("science_fiction", 1L)
+                .containsEntry("novel", 0L);
+        assertThat(counts(facets.getPageCounts())).containsEntry("301-500", 2L).containsEntry("101-200", 0L);
+        assertThat(counts(facets.getPublishDates())).containsEntry("1900-1949", 2L).containsEntry("2000-2009", 0L);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should restrict every facet to books matching the text")
+    void shouldRestrictFacetsByText() {
+        logger.info("Running test: Should restrict every facet to books matching the text");
+
+        BookFacetCounts facets = bookFacetCounter.count(BookFilterDTO.builder().text("orwell").build());
+
+        assertThat(facets.getTotalMatches()).isEqualTo(2);
+        assertThat(counts(facets.getGenres())).containsEntry("dystopia", 1L).containsEntry("novel", 1L);
+    }
+
+    private static Map<String, Long> counts(List<FacetBucketDTO> buckets) {
+        return buckets.stream().collect(Collectors.toMap(FacetBucketDTO::getValue, FacetBucketDTO::getCount));
+    }
+
+    private static BookEntity book(String title, String author, String isbn, int pageCount, LocalDate publishDate, Genre genre) {
+        return BookEntity.builder()
+                .title(title)
+                .author(author)
+                .isbn(isbn)
+                .pageCount(pageCount)
+                .publishDate(publishDate)
+                .genre(genre)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.bulkimport.BookImportFormat;
+import com.batubook.backend.bulkimport.BookImportWriter;
+import com.batubook.backend.dto.BookImportErrorDTO;
+import com.batubook.backend.dto.BookImportReportDTO;
+import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.mapper.BookMapperImpl;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.search.BookIndexUpdater;
+import com.batubook.backend.service.serviceImplementation.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookImportServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceTest.class);
+
+    private BookRepository bookRepository;
+    private BookImportWriter bookImportWriter;
+    private BookIndexUpdater bookIndexUpdater;
+    private TotalCountService totalCountService;
+    private BookImportServiceImpl bookImportService;
+    private Set<String> storedIsbns;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookImportWriter = mock(BookImportWriter.class);
+        bookIndexUpdater = mock(BookIndexUpdater.class);
+        totalCountService = mock(TotalCountService.class);
+        bookImportService = new BookImportServiceImpl(bookRepository, new BookMapperImpl(), bookImportWriter,
+                bookIndexUpdater, totalCountService, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), 2, 10);
+
+        storedIsbns = new HashSet<>();
+        when(bookRepository.findExistingIsbns(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> isbns = invocation.getArgument(0);
+            return isbns.stream().filter(storedIsbns::contains).collect(Collectors.toSet());
+        });
+
+        AtomicLong ids = new AtomicLong();
+        when(bookImportWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<BookEntity> books = invocation.getArgument(0);
+            books.forEach(book -> {
+                book.setId(ids.incrementAndGet());
+                storedIsbns.add(book.getIsbn());
+            });
+            return books;
+        });
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should import JSONL in batches and report malformed, invalid and duplicate rows")
+    void shouldImportJsonlInBatches() {
+        logger.info("Starting test for JSONL import...");
+        storedIsbns.add("3333333333");
+
+        String jsonl = """
+                {"title":"1984","author":"George Orwell","isbn":"1111111111","pageCount":352,"publishDate":"1949-06-08","genre":"dystopia"}
+                {"title":"Brave New World","author":"Aldous Huxley","isbn":"2222222222","pageCount":311,"publishDate":"1932-08-18","genre":"dystopia"}
+
+                {"title":"Dune","author":"Frank Herbert","isbn":"3333333333","pageCount":412,"publishDate":"1965-08-01","genre":"science_fiction"}
+                {"title":"Broken
+                {"title":"X","author":"Nobody","isbn":"4444444444","pageCount":0,"publishDate":"2000-01-01","genre":"novel"}
+                {"title":"1984 Again","author":"George Orwell","isbn":"1111111111","pageCount":352,"publishDate":"1949-06-08","genre":"dystopia"}
+                """;
+
+        BookImportReportDTO report = bookImportService.importBooks(stream(jsonl), BookImportFormat.JSONL);
+
+        assertEquals(6, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(4L, 5L, 6L, 7L), report.getErrors().stream().map(BookImportErrorDTO::getLine).toList());
+        verify(bookImportWriter, times(1)).insert(argThat(books -> books.size() == 2));
+        verify(bookIndexUpdater).index(anyLong(), eq("1984"), eq("George Orwell"));
+        verify(totalCountService, times(2)).increment("books");
+        logger.info("Test for JSONL import completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should import CSV with quoted fields spanning commas and line breaks")
+    void shouldImportQuotedCsv() {
+        logger.info("Starting test for CSV import...");
+
+        String csv = """
+                title,author,isbn,page_count,publish_date,genre,summary
+                "War and Peace",Leo Tolstoy,5555555555,1225,1869-01-01,novel,"Russia, 1805.
+                Napoleon ""advances""."
+                Bad Pages,Someone,6666666666,many,2001-01-01,novel,
+                """;
+
+        BookImportReportDTO report = bookImportService.importBooks(stream(csv), BookImportFormat.CSV);
+
+        assertEquals(2, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(4L, report.getErrors().get(0).getLine());
+        verify(bookImportWriter).insert(argThat(books -> books.size() == 1
+                && books.get(0).getSummary().equals("Russia, 1805.\nNapoleon \"advances\".")));
+        logger.info("Test for CSV import completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should count rows lost to a concurrent insert as duplicates and cap reported errors")
+    void shouldReportConcurrentDuplicatesAndCapErrors() {
+        logger.info("Starting test for concurrent duplicates...");
+        bookImportService = new BookImportServiceImpl(bookRepository, new BookMapperImpl(), bookImportWriter,
+                bookIndexUpdater, totalCountService, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), 2, 1);
+        when(bookImportWriter.insert(anyList())).thenReturn(List.of());
+
+        String csv = """
+                title,author,isbn,pageCount,publishDate,genre
+                1984,George Orwell,1111111111,352,1949-06-08,dystopia
+                Dune,Frank Herbert,2222222222,412,1965-08-01,science_fiction
+                """;
+
+        BookImportReportDTO report = bookImportService.importBooks(stream(csv), BookImportFormat.CSV);
+
+        assertEquals(0, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(1, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        verifyNoInteractions(bookIndexUpdater, totalCountService);
+        logger.info("Test for concurrent duplicates completed.");
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +18,7 @@ import org.springframework.test.context.TestPropertySource;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -221,4 +223,47 @@ class BookRepositoryTest {
         List<String> titles = result.getContent().stream().map(BookEntity::getTitle).toList();
         assertThat(titles).containsExactly("1984", "A Tale of Two Cities", "Brave New World");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(10)
+    @DisplayName("Should seek books after a given id in id order")
+    void shouldSeekBooksAfterId() {
+        logger.info("Running test: Should seek books after a given id in id order");
+
+        List<BookEntity> saved = bookRepository.saveAll(List.of(
+                BookEntity.builder()
+                        .title("A Tale of Two Cities")
+                        .author("Charles Dickens")
+                        .isbn("1111111111")
+                        .pageCount(489)
+                        .publishDate(LocalDate.of(1859, 4, 30))
+                        .genre(Genre.NOVEL)
+                        .build(),
+                BookEntity.builder()
+                        .title("Brave New World")
+                        .author("Aldous Huxley")
+                        .isbn("2222222222")
+                        .pageCount(311)
+                        .publishDate(LocalDate.of(1932, 8, 18))
+                        .genre(Genre.DYSTOPIA)
+                        .build()
+        ));
+
+        List<BookEntity> firstSlice = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+        List<BookEntity> secondSlice = bookRepository.findByIdGreaterThanOrderByIdAsc(firstSlice.get(1).getId(), Limit.of(2));
+
+        assertThat(firstSlice).extracting(BookEntity::getId).containsExactly(book.getId(), saved.get(0).getId());
+        assertThat(secondSlice).extracting(BookEntity::getId).containsExactly(saved.get(1).getId());
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Should return only the ISBNs that already exist")
+    void shouldFindExistingIsbns() {
+        logger.info("Running test: Should return only the ISBNs that already exist");
+
+        Set<String> existing = bookRepository.findExistingIsbns(List.of("1234567890", "9999999999"));
+
+        assertThat(existing).containsExactly("1234567890");
+    }
+}
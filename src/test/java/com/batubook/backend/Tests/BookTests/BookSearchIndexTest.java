@@ -0,0 +1,202 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.search.BookAutocompleteIndex;
+import com.batubook.backend.search.BookIndexUpdater;
+import com.batubook.backend.search.BookSearchIndex;
+import com.batubook.backend.search.BookSearchResult;
+import com.batubook.backend.search.SearchTextNormalizer;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookSearchIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndexTest.class);
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(null);
+        bookSearchIndex.index(1L, "1984", "George Orwell");
+        bookSearchIndex.index(2L, "Animal Farm", "George Orwell");
+        bookSearchIndex.index(3L, "İnce Memed", "Yaşar Kemal");
+        bookSearchIndex.index(4L, "Kürk Mantolu Madonna", "Sabahattin Ali");
+        bookSearchIndex.index(5L, "Farmer Giles of Ham", "J. R. R. Tolkien");
+        bookSearchIndex.index(6L, "The Farm", "Tom Rob Smith");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should fold Turkish letters and diacritics into one key space")
+    void shouldFoldTurkishText() {
+        logger.info("Starting test for Turkish-aware folding...");
+        assertAll(
+                () -> assertEquals("istanbul", SearchTextNormalizer.fold("İSTANBUL")),
+                () -> assertEquals("istanbul", SearchTextNormalizer.fold("Istanbul")),
+                () -> assertEquals("kurk mantolu madonna", SearchTextNormalizer.fold("  Kürk   Mantolu Madonna ")),
+                () -> assertEquals("yasar kemal", SearchTextNormalizer.fold("YAŞAR KEMAL")),
+                () -> assertEquals("", SearchTextNormalizer.fold(null))
+        );
+        logger.info("Test for Turkish-aware folding completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should find books regardless of case and Turkish characters")
+    void shouldFindBooksIgnoringCaseAndDiacritics() {
+        logger.info("Starting test for diacritic-insensitive search...");
+        assertEquals(List.of(4L), bookSearchIndex.search("KURK", 0, 10).getBookIds());
+        assertEquals(List.of(3L), bookSearchIndex.search("ince memed", 0, 10).getBookIds());
+        assertEquals(List.of(3L), bookSearchIndex.search("yaşar", 0, 10).getBookIds());
+        logger.info("Test for diacritic-insensitive search completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should rank title prefix before title word before author and report the full total")
+    void shouldRankMatchesAndReportTotal() {
+        logger.info("Starting test for ranked search...");
+        BookSearchResult result = bookSearchIndex.search("farm", 0, 10);
+
+        assertEquals(3, result.getTotalHits());
+        assertEquals(List.of(5L, 6L, 2L), result.getBookIds());
+        logger.info("Test for ranked search completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should page through ranked hits while keeping the total")
+    void shouldPageThroughHits() {
+        logger.info("Starting test for paging through hits...");
+        BookSearchResult secondPage = bookSearchIndex.search("farm", 1, 1);
+
+        assertEquals(3, secondPage.getTotalHits());
+        assertEquals(List.of(6L), secondPage.getBookIds());
+        logger.info("Test for paging through hits completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should reflect modified and removed books")
+    void shouldReflectModifiedAndRemovedBooks() {
+        logger.info("Starting test for index maintenance...");
+        bookSearchIndex.index(1L, "Nineteen Eighty-Four", "George Orwell");
+        bookSearchIndex.remove(2L);
+
+        assertEquals(List.of(1L), bookSearchIndex.search("eighty", 0, 10).getBookIds());
+        assertTrue(bookSearchIndex.search("1984", 0, 10).getBookIds().isEmpty());
+        assertEquals(List.of(1L), bookSearchIndex.search("orwell", 0, 10).getBookIds());
+        assertEquals(5, bookSearchIndex.size());
+        logger.info("Test for index maintenance completed.");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should not return books that only share trigrams with the term")
+    void shouldVerifyCandidatesBySubstring() {
+        logger.info("Starting test for candidate verification...");
+        bookSearchIndex.index(7L, "Abcd Bcde", "Unknown");
+
+        assertTrue(bookSearchIndex.search("abcde", 0, 10).getBookIds().isEmpty());
+        assertEquals(0, bookSearchIndex.search("abcde", 0, 10).getTotalHits());
+        assertEquals(List.of(1L, 2L), bookSearchIndex.search("or", 0, 10).getBookIds().subList(0, 2));
+        logger.info("Test for candidate verification completed.");
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Should find misspelled authors and titles in fuzzy mode")
+    void shouldFindMisspelledWordsInFuzzyMode() {
+        logger.info("Starting test for fuzzy search...");
+        assertTrue(bookSearchIndex.search("gorge orwel", 0, 10).getBookIds().isEmpty());
+        assertEquals(List.of(1L, 2L), bookSearchIndex.fuzzySearch("gorge orwel", 0, 10).getBookIds());
+        assertEquals(List.of(3L), bookSearchIndex.fuzzySearch("YASR kemal", 0, 10).getBookIds());
+        assertEquals(List.of(4L), bookSearchIndex.fuzzySearch("sabahatin", 0, 10).getBookIds());
+        assertEquals(0, bookSearchIndex.fuzzySearch("orwell tolkien", 0, 10).getTotalHits());
+        logger.info("Test for fuzzy search completed.");
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Should rank exact words above misspellings and respect the edit bound")
+    void shouldRankFuzzyMatchesBySimilarity() {
+        logger.info("Starting test for fuzzy ranking...");
+        bookSearchIndex.index(8L, "The Form", "Unknown");
+
+        assertEquals(List.of(6L, 2L, 8L), bookSearchIndex.fuzzySearch("farm", 0, 10).getBookIds());
+        assertEquals(List.of(2L, 8L), bookSearchIndex.fuzzySearch("farm", 1, 2).getBookIds());
+        assertEquals(3, bookSearchIndex.fuzzySearch("farm", 1, 2).getTotalHits());
+        assertTrue(bookSearchIndex.fuzzySearch("fxrmxr", 0, 10).getBookIds().contains(5L));
+        assertTrue(bookSearchIndex.fuzzySearch("fxxm", 0, 10).getBookIds().isEmpty());
+
+        bookSearchIndex.remove(6L);
+        bookSearchIndex.index(8L, "The Storm", "Unknown");
+        assertEquals(List.of(2L), bookSearchIndex.fuzzySearch("farm", 0, 10).getBookIds());
+        logger.info("Test for fuzzy ranking completed.");
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Should hand the slots of removed books to new ones without mixing up their hits")
+    void shouldReuseSlotsOfRemovedBooks() {
+        logger.info("Starting test for slot reuse...");
+        for (long bookId = 100; bookId < 10_100; bookId++) {
+            bookSearchIndex.index(bookId, "Churn " + bookId, "Passing Author");
+            bookSearchIndex.remove(bookId);
+        }
+        bookSearchIndex.remove(1L);
+        bookSearchIndex.index(9L, "Farm Boy", "Michael Morpurgo");
+
+        assertEquals(6, bookSearchIndex.size());
+        assertTrue(bookSearchIndex.search("churn", 0, 10).getBookIds().isEmpty());
+        assertTrue(bookSearchIndex.fuzzySearch("passing", 0, 10).getBookIds().isEmpty());
+        assertEquals(List.of(9L, 5L, 6L, 2L), bookSearchIndex.search("farm", 0, 10).getBookIds());
+        assertEquals(List.of(2L, 9L), bookSearchIndex.search("or", 0, 10).getBookIds());
+        assertTrue(bookSearchIndex.search("1984", 0, 10).getBookIds().isEmpty());
+        logger.info("Test for slot reuse completed.");
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Should apply book changes to search and autocomplete only once their transaction commits")
+    void shouldDeferChangesUntilCommit() {
+        logger.info("Starting test for deferred index updates...");
+        BookAutocompleteIndex bookAutocompleteIndex = new BookAutocompleteIndex(null, 5);
+        bookAutocompleteIndex.index(2L, "Animal Farm", "George Orwell");
+        BookIndexUpdater updater = new BookIndexUpdater(bookSearchIndex, bookAutocompleteIndex);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            updater.remove(2L);
+            updater.index(7L, "Homage to Catalonia", "George Orwell");
+            assertEquals(List.of(1L, 2L), bookSearchIndex.search("orwell", 0, 10).getBookIds());
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(1L, 2L), bookSearchIndex.search("orwell", 0, 10).getBookIds());
+        assertEquals(1, bookAutocompleteIndex.suggest("animal", 5).size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            updater.remove(2L);
+            updater.index(7L, "Homage to Catalonia", "George Orwell");
+            assertEquals(List.of(1L, 2L), bookSearchIndex.search("orwell", 0, 10).getBookIds());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(1L, 7L), bookSearchIndex.search("orwell", 0, 10).getBookIds());
+        assertTrue(bookAutocompleteIndex.suggest("animal", 5).isEmpty());
+        assertEquals(7L, bookAutocompleteIndex.suggest("homage", 5).get(0).getBookId());
+        logger.info("Test for deferred index updates completed.");
+    }
+}
@@ -0,0 +1,145 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.search.BookSearchIndex;
+import com.batubook.backend.search.BookSearchResult;
+import com.batubook.backend.search.SearchTextNormalizer;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StopWatch;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the trigram index with a scan that behaves like the old {@code LOWER(title) LIKE %term%} query
+ * over pre-folded text, i.e. the best case for a sequential scan. The catalog size defaults to 100k books so
+ * the regular build stays quick; run with {@code -Dbenchmark.books=1000000} for the one-million-row figures.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookSearchPerformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchPerformanceTest.class);
+    private static final String[] SYLLABLES = {
+            "ka", "ya", "se", "lu", "mo", "ri", "ta", "ne", "do", "gü", "şe", "çi", "ar", "em", "ol", "in"
+    };
+    private static final int VOCABULARY_SIZE = 4000;
+    private static final int ROUNDS = 20;
+    private static final int FUZZY_QUERIES = 200;
+
+    private final int catalogSize = Integer.getInteger("benchmark.books", 100_000);
+    private final BookSearchIndex bookSearchIndex = new BookSearchIndex(null);
+    private String[] vocabulary;
+    private String[] titles;
+    private String[] authors;
+
+    @BeforeAll
+    void buildCatalog() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        titles = new String[catalogSize];
+        authors = new String[catalogSize];
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        for (int i = 0; i < catalogSize; i++) {
+            String title = word(random) + " " + word(random) + " " + word(random);
+            String author = word(random) + " " + word(random);
+            bookSearchIndex.index((long) i + 1, title, author);
+            titles[i] = SearchTextNormalizer.fold(title);
+            authors[i] = SearchTextNormalizer.fold(author);
+        }
+        stopWatch.stop();
+        logger.info("Indexed {} books in {} ms", catalogSize, stopWatch.getTotalTimeMillis());
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Index search should agree with a LIKE scan on the total and stay within budget")
+    void indexSearch_PerformanceTest() {
+        String[] terms = {vocabulary[7], vocabulary[42] + " " + vocabulary[99].substring(0, 3), "ŞEÇİ", "xyz"};
+
+        for (String term : terms) {
+            long scanTotal = 0;
+            StopWatch scanWatch = new StopWatch();
+            scanWatch.start();
+            for (int round = 0; round < ROUNDS; round++) {
+                scanTotal = likeScan(term);
+            }
+            scanWatch.stop();
+
+            BookSearchResult result = null;
+            StopWatch indexWatch = new StopWatch();
+            indexWatch.start();
+            for (int round = 0; round < ROUNDS; round++) {
+                result = bookSearchIndex.search(term, 0, 20);
+            }
+            indexWatch.stop();
+
+            logger.info("term='{}' hits={} like-scan={} ms/query index={} ms/query", term, result.getTotalHits(),
+                    scanWatch.getTotalTimeMillis() / (double) ROUNDS, indexWatch.getTotalTimeMillis() / (double) ROUNDS);
+
+            assertEquals(scanTotal, result.getTotalHits());
+            assertTrue(indexWatch.getTotalTimeMillis() / ROUNDS < 200);
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Fuzzy search should find misspelled titles with p99 latency within budget")
+    void fuzzySearch_PerformanceTest() {
+        Random random = new Random(7);
+        long[] latencies = new long[FUZZY_QUERIES];
+        long totalHits = 0;
+
+        for (int q = 0; q < FUZZY_QUERIES; q++) {
+            String[] words = titles[random.nextInt(catalogSize)].split(" ");
+            int typo = random.nextInt(2);
+            char[] misspelled = words[typo].toCharArray();
+            misspelled[random.nextInt(misspelled.length)] = 'q';
+            words[typo] = new String(misspelled);
+            String term = words[0] + " " + words[1];
+
+            long start = System.nanoTime();
+            BookSearchResult result = bookSearchIndex.fuzzySearch(term, 0, 20);
+            latencies[q] = System.nanoTime() - start;
+
+            assertTrue(result.getTotalHits() > 0, "no hits for '" + term + "'");
+            totalHits += result.getTotalHits();
+        }
+
+        Arrays.sort(latencies);
+        double p50 = latencies[FUZZY_QUERIES / 2] / 1_000_000.0;
+        double p99 = latencies[(int) Math.ceil(FUZZY_QUERIES * 0.99) - 1] / 1_000_000.0;
+        logger.info("fuzzy queries={} books={} avg-hits={} p50={} ms p99={} ms", FUZZY_QUERIES, catalogSize,
+                totalHits / FUZZY_QUERIES, p50, p99);
+
+        assertTrue(p99 < 100);
+    }
+
+    private String word(Random random) {
+        return vocabulary[random.nextInt(VOCABULARY_SIZE)];
+    }
+
+    private long likeScan(String term) {
+        String folded = SearchTextNormalizer.fold(term);
+        long hits = 0;
+        for (int i = 0; i < catalogSize; i++) {
+            if (titles[i].contains(folded) || authors[i].contains(folded)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -1,23 +1,56 @@
 package com.batubook.backend.Tests.BookTests;
 
+import com.batubook.backend.cache.BookCache;
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.BookDTO;
+import com.batubook.backend.dto.BookDetailDTO;
+import com.batubook.backend.dto.BookFilterDTO;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.SimilarBookDTO;
 import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.entity.DeletionJobEntity;
 import com.batubook.backend.entity.enums.Genre;
 import com.batubook.backend.exception.CustomExceptions;
 import com.batubook.backend.mapper.BookMapper;
+import com.batubook.backend.pagination.CursorCodec;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.recommendation.BookSimilarity;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
 import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.search.BookAutocompleteIndex;
+import com.batubook.backend.search.BookIndexUpdater;
+import com.batubook.backend.search.BookFacetCounter;
+import com.batubook.backend.search.BookSearchIndex;
+import com.batubook.backend.search.BookSearchResult;
 import com.batubook.backend.service.serviceImplementation.BookServiceImpl;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,13 +68,44 @@ public class BookServiceTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookIndexUpdater bookIndexUpdater;
+
+    @Mock
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @Mock
+    private BookFacetCounter bookFacetCounter;
+
+    @Mock
+    private TotalCountService totalCountService;
+
+    @Mock
+    private BookDetailCache bookDetailCache;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @Mock
+    private DeletionJobServiceInterface deletionJobService;
+
+    @Spy
+    private JsonMergePatcher jsonMergePatcher = new JsonMergePatcher(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
     @InjectMocks
     private BookServiceImpl bookService;
 
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        reset(bookRepository, bookMapper);
+        reset(bookRepository, bookMapper, bookSearchIndex, bookIndexUpdater, bookAutocompleteIndex, bookFacetCounter, totalCountService, bookDetailCache, bookCache, bookSimilarityIndex, deletionJobService, jsonMergePatcher);
         logger.info("Test environment setup complete.");
     }
 
@@ -95,6 +159,7 @@ public class BookServiceTest {
         BookEntity bookEntity = createTestBookEntity();
         BookDTO expectedBookDTO = createTestBookDTO();
 
+        when(bookCache.get(eq(bookId), any())).thenAnswer(invocation -> invocation.<Supplier<BookDTO>>getArgument(1).get());
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(bookEntity));
         when(bookMapper.bookEntityToDTO(bookEntity)).thenReturn(expectedBookDTO);
 
@@ -114,6 +179,7 @@ public class BookServiceTest {
         logger.info("Starting test for retrieving book by ID (book not found)...");
         Long bookId = 999L;
 
+        when(bookCache.get(eq(bookId), any())).thenAnswer(invocation -> invocation.<Supplier<BookDTO>>getArgument(1).get());
         when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
         CustomExceptions.NotFoundException exception = assertThrows(CustomExceptions.NotFoundException.class, () -> bookService.getBookById(bookId));
@@ -168,17 +234,26 @@ public class BookServiceTest {
 
     @Test
     @Order(7)
-    @DisplayName("Should successfully remove book by ID")
+    @DisplayName("Should tombstone the book and schedule its deletion")
     void shouldSuccessfullyRemoveBookById() {
         logger.info("Starting test for successfully removing book by ID...");
         Long bookId = 1L;
+        DeletionJobDTO deletionJob = DeletionJobDTO.builder()
+                .id(3L)
+                .targetType(DeletionJobEntity.TargetType.BOOK)
+                .targetId(bookId)
+                .status(DeletionJobEntity.Status.PENDING)
+                .build();
 
-        when(bookRepository.existsById(bookId)).thenReturn(true);
-        doNothing().when(bookRepository).deleteById(bookId);
-        bookService.removeBook(bookId);
+        when(bookRepository.tombstoneById(eq(bookId), any())).thenReturn(1);
+        when(deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.BOOK, bookId)).thenReturn(deletionJob);
+        DeletionJobDTO result = bookService.removeBook(bookId);
 
-        verify(bookRepository).deleteById(bookId);
-        verify(bookRepository).existsById(bookId);
+        assertEquals(3L, result.getId());
+        verify(bookRepository, never()).deleteById(any());
+        verify(bookIndexUpdater).remove(bookId);
+        verify(bookCache).invalidate(bookId);
+        verify(bookSimilarityIndex).removeBook(bookId);
         logger.info("Test for successfully removing book by ID completed.");
     }
 
@@ -189,19 +264,278 @@ public class BookServiceTest {
         logger.info("Starting test for failing to remove book when book not found...");
         Long bookId = 999L;
 
-        when(bookRepository.existsById(bookId)).thenReturn(false);
+        when(bookRepository.tombstoneById(eq(bookId), any())).thenReturn(0);
         CustomExceptions.NotFoundException exception = assertThrows(CustomExceptions.NotFoundException.class, () -> bookService.removeBook(bookId));
         assertEquals("Book not found with ID: 999", exception.getMessage());
 
         verify(bookRepository, times(0)).deleteById(bookId);
-        verify(bookRepository).existsById(bookId);
+        verifyNoInteractions(deletionJobService);
         logger.info("Test for failing to remove book when book not found completed.");
     }
 
+    @Test
+    @Order(9)
+    @DisplayName("Should search books through the index and report the full hit count")
+    void shouldSearchBooksThroughIndexWithTotalHits() {
+        logger.info("Starting test for searching books through the search index...");
+        BookEntity orwell = createTestBookEntity();
+        orwell.setId(2L);
+        BookEntity animalFarm = createTestBookEntity();
+        animalFarm.setId(7L);
+        animalFarm.setTitle("Animal Farm");
+        BookDTO orwellDTO = createTestBookDTO();
+        BookDTO animalFarmDTO = createTestBookDTO();
+        animalFarmDTO.setTitle("Animal Farm");
+
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.search("orwell", 0, 2)).thenReturn(new BookSearchResult(List.of(7L, 2L), 12));
+        when(bookRepository.findAllById(List.of(7L, 2L))).thenReturn(List.of(orwell, animalFarm));
+        when(bookMapper.bookEntityToDTO(orwell)).thenReturn(orwellDTO);
+        when(bookMapper.bookEntityToDTO(animalFarm)).thenReturn(animalFarmDTO);
+
+        Page<BookDTO> result = bookService.getBookByCriteria("orwell", PageRequest.of(0, 2));
+        assertAll(
+                () -> assertEquals(12, result.getTotalElements()),
+                () -> assertEquals(2, result.getNumberOfElements()),
+                () -> assertEquals("Animal Farm", result.getContent().get(0).getTitle()),
+                () -> assertEquals("1984", result.getContent().get(1).getTitle())
+        );
+
+        verify(bookSearchIndex).search("orwell", 0, 2);
+        logger.info("Test for searching books through the search index completed.");
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Should return a cursor slice with a next cursor when more books exist")
+    void shouldReturnCursorSliceOfBooks() {
+        logger.info("Starting test for cursor pagination of books...");
+        BookEntity first = createTestBookEntity();
+        first.setId(11L);
+        BookEntity second = createTestBookEntity();
+        second.setId(12L);
+        BookEntity lookAhead = createTestBookEntity();
+        lookAhead.setId(13L);
+        BookDTO bookDTO = createTestBookDTO();
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(List.of(first, second, lookAhead));
+        when(bookMapper.bookEntityToDTO(any(BookEntity.class))).thenReturn(bookDTO);
+
+        CursorPage<BookDTO> result = bookService.getAllBooksAfter(CursorCodec.encode(10L), 2);
+        assertAll(
+                () -> assertEquals(2, result.getNumberOfElements()),
+                () -> assertTrue(result.isHasNext()),
+                () -> assertEquals(12L, CursorCodec.decode(result.getNextCursor()))
+        );
+
+        verify(bookMapper, times(2)).bookEntityToDTO(any(BookEntity.class));
+        logger.info("Test for cursor pagination of books completed.");
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        logger.info("Starting test for malformed cursor...");
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getAllBooksAfter("not-a-cursor", 5));
+        verifyNoInteractions(bookRepository);
+        logger.info("Test for malformed cursor completed.");
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Should page books with an estimated total without counting")
+    void shouldPageBooksWithEstimatedTotal() {
+        logger.info("Starting test for estimated total...");
+        BookEntity bookEntity = createTestBookEntity();
+        BookDTO bookDTO = createTestBookDTO();
+        PageRequest pageable = PageRequest.of(1, 1);
+
+        when(bookRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(bookEntity), pageable, true));
+        when(totalCountService.estimate(eq("books"), any())).thenReturn(250_000L);
+        when(bookMapper.bookEntityToDTO(bookEntity)).thenReturn(bookDTO);
+
+        Page<BookDTO> result = bookService.getAllBooksWithEstimatedTotal(pageable);
+        assertAll(
+                () -> assertEquals(250_000L, result.getTotalElements()),
+                () -> assertEquals(1, result.getNumberOfElements())
+        );
+
+        verify(bookRepository, never()).count();
+        verify(bookRepository, never()).findAll(pageable);
+        logger.info("Test for estimated total completed.");
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Should load book detail through the cache and fail for unknown books")
+    void shouldLoadBookDetailThroughCache() {
+        logger.info("Starting test for book detail...");
+        when(bookDetailCache.get(eq(99L), any())).thenAnswer(invocation -> invocation.<Supplier<BookDetailDTO>>getArgument(1).get());
+        when(bookRepository.findBookDetailById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(CustomExceptions.NotFoundException.class, () -> bookService.getBookDetail(99L));
+        verify(bookRepository).findBookDetailById(99L);
+        logger.info("Test for book detail completed.");
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Should reject an inverted page-count range before counting facets")
+    void shouldRejectInvertedFilterRange() {
+        logger.info("Starting test for inverted filter range...");
+        BookFilterDTO filter = BookFilterDTO.builder().minPageCount(500).maxPageCount(100).build();
+
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getBooksByFilter(filter, PageRequest.of(0, 5)));
+        verifyNoInteractions(bookFacetCounter);
+        logger.info("Test for inverted filter range completed.");
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Should return similar books in index order and skip books that no longer exist")
+    void shouldReturnSimilarBooksInIndexOrder() {
+        logger.info("Starting test for similar books...");
+        BookEntity similarBook = createTestBookEntity();
+        similarBook.setId(3L);
+        BookDTO similarBookDTO = createTestBookDTO();
+
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookSimilarityIndex.similar(1L, 5)).thenReturn(List.of(new BookSimilarity(3L, 0.8, 4), new BookSimilarity(7L, 0.5, 2)));
+        when(bookRepository.findAllById(List.of(3L, 7L))).thenReturn(List.of(similarBook));
+        when(bookMapper.bookEntityToDTO(similarBook)).thenReturn(similarBookDTO);
+
+        List<SimilarBookDTO> result = bookService.getSimilarBooks(1L, 5);
+
+        assertEquals(1, result.size());
+        assertSame(similarBookDTO, result.get(0).getBook());
+        assertEquals(0.8, result.get(0).getScore());
+        assertEquals(4, result.get(0).getSharedReaders());
+        logger.info("Test for similar books completed.");
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Should return batch books in request order without duplicates or missing IDs")
+    void shouldReturnBatchBooksInRequestOrder() {
+        logger.info("Starting test for batch book lookup...");
+        BookEntity first = createTestBookEntity();
+        first.setId(7L);
+        BookEntity second = createTestBookEntity();
+        second.setId(3L);
+        BookDTO firstDTO = createTestBookDTO();
+        firstDTO.setId(7L);
+        BookDTO secondDTO = createTestBookDTO();
+        secondDTO.setId(3L);
+
+        when(bookCache.getAll(any(), any())).thenAnswer(invocation -> invocation
+                .<Function<List<Long>, Map<Long, BookDTO>>>getArgument(1)
+                .apply(new ArrayList<>(invocation.<Collection<Long>>getArgument(0))));
+        when(bookRepository.findAllById(List.of(7L, 3L, 5L))).thenReturn(List.of(second, first));
+        when(bookMapper.bookEntityToDTO(first)).thenReturn(firstDTO);
+        when(bookMapper.bookEntityToDTO(second)).thenReturn(secondDTO);
+
+        List<BookDTO> result = bookService.getBooksByIds(List.of(7L, 3L, 7L, 5L));
+
+        assertEquals(List.of(firstDTO, secondDTO), result);
+        verify(bookRepository, times(1)).findAllById(any());
+        logger.info("Test for batch book lookup completed.");
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should reject empty and oversized batch requests")
+    void shouldRejectInvalidBatchSizes() {
+        logger.info("Starting test for invalid batch sizes...");
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getBooksByIds(List.of()));
+
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            tooMany.add(id);
+        }
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getBooksByIds(tooMany));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getBooksByIds(Collections.singletonList(null)));
+        verifyNoInteractions(bookCache, bookRepository);
+        logger.info("Test for invalid batch sizes completed.");
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Should patch only the supplied fields and reindex when the title changes")
+    void shouldPatchBook() throws Exception {
+        logger.info("Starting test for patching a book...");
+        BookEntity bookEntity = createTestBookEntity();
+        bookEntity.setId(1L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookEntity));
+        when(bookMapper.bookEntityToDTO(bookEntity)).thenReturn(createTestBookDTO());
+        when(bookRepository.saveAndFlush(bookEntity)).thenReturn(bookEntity);
+
+        bookService.patchBook(1L, new ObjectMapper().readTree("{\"title\": \" Nineteen Eighty-Four \", \"pageCount\": 328}"));
+
+        assertEquals("Nineteen Eighty-Four", bookEntity.getTitle());
+        assertEquals(328, bookEntity.getPageCount());
+        assertEquals("1234567890", bookEntity.getIsbn());
+        verify(bookRepository).saveAndFlush(bookEntity);
+        verify(bookIndexUpdater).index(1L, "Nineteen Eighty-Four", "George Orwell");
+        verify(bookDetailCache).evict(1L);
+        verify(bookCache).invalidate(1L);
+        logger.info("Test for patching a book completed.");
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Should skip the write when a book patch changes nothing")
+    void shouldSkipNoOpBookPatch() throws Exception {
+        logger.info("Starting test for a no-op book patch...");
+        BookEntity bookEntity = createTestBookEntity();
+        bookEntity.setId(1L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookEntity));
+        when(bookMapper.bookEntityToDTO(bookEntity)).thenReturn(createTestBookDTO());
+
+        BookDTO result = bookService.patchBook(1L, new ObjectMapper().readTree("{\"author\": \"George Orwell\", \"genre\": \"dystopia\"}"));
+
+        assertEquals("1984", result.getTitle());
+        verify(bookRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(bookIndexUpdater, bookAutocompleteIndex, bookDetailCache, bookCache);
+        logger.info("Test for a no-op book patch completed.");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Should reject a book patch that breaks a constraint")
+    void shouldRejectInvalidBookPatch() throws Exception {
+        logger.info("Starting test for an invalid book patch...");
+        BookEntity bookEntity = createTestBookEntity();
+        bookEntity.setId(1L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookEntity));
+        when(bookMapper.bookEntityToDTO(bookEntity)).thenReturn(createTestBookDTO());
+
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> bookService.patchBook(1L, new ObjectMapper().readTree("{\"title\": \"\"}")));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> bookService.patchBook(1L, new ObjectMapper().readTree("{\"publisher\": \"Secker & Warburg\"}")));
+        verify(bookRepository, never()).saveAndFlush(any());
+        logger.info("Test for an invalid book patch completed.");
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Should reject a similar books limit out of range")
+    void shouldRejectSimilarBooksLimitOutOfRange() {
+        logger.info("Starting test for an invalid similar books limit...");
+        CustomExceptions.BadRequestException exception = assertThrows(CustomExceptions.BadRequestException.class,
+                () -> bookService.getSimilarBooks(1L, -1));
+        assertEquals("Limit must be between 1 and 100.", exception.getMessage());
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getSimilarBooks(1L, 0));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> bookService.getSimilarBooks(1L, 101));
+        verifyNoInteractions(bookSimilarityIndex);
+        logger.info("Test for an invalid similar books limit completed.");
+    }
+
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(bookRepository, bookMapper);
+        reset(bookRepository, bookMapper, bookSearchIndex, bookIndexUpdater, bookAutocompleteIndex, bookFacetCounter, totalCountService, bookDetailCache, bookCache, bookSimilarityIndex, deletionJobService, jsonMergePatcher);
         logger.info("Cleanup complete.");
     }
 
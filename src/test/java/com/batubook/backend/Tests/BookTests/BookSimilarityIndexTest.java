@@ -0,0 +1,201 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.entity.BookInteractionEntity;
+import com.batubook.backend.entity.UserEntity;
+import com.batubook.backend.entity.UserProfileEntity;
+import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.recommendation.BookSimilarity;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
+import com.batubook.backend.repository.BookInteractionRepository;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookSimilarityIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSimilarityIndexTest.class);
+
+    @Autowired
+    private BookInteractionRepository bookInteractionRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookSimilarityIndex bookSimilarityIndex;
+    private BookEntity dune;
+    private BookEntity foundation;
+    private BookEntity hyperion;
+    private BookEntity neuromancer;
+    private UserEntity ada;
+    private UserEntity bora;
+    private UserEntity cem;
+
+    @BeforeEach
+    void setUp() {
+        bookSimilarityIndex = new BookSimilarityIndex(jdbcTemplate, 10, Duration.ofMinutes(1));
+        dune = bookRepository.save(book("Dune", "1000000001"));
+        foundation = bookRepository.save(book("Foundation", "1000000002"));
+        hyperion = bookRepository.save(book("Hyperion", "1000000003"));
+        neuromancer = bookRepository.save(book("Neuromancer", "1000000004"));
+        ada = userRepository.save(user("adalet"));
+        bora = userRepository.save(user("boran"));
+        cem = userRepository.save(user("cemal"));
+
+        read(ada, dune);
+        read(ada, foundation);
+        read(ada, hyperion);
+        read(bora, dune);
+        read(bora, foundation);
+        read(cem, dune);
+        read(cem, neuromancer);
+        bookInteractionRepository.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookInteractionRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should rank books by the cosine similarity of their readers")
+    void shouldRankByCosineSimilarity() {
+        logger.info("Starting test for similarity ranking...");
+        bookSimilarityIndex.refresh();
+
+        List<BookSimilarity> similar = bookSimilarityIndex.similar(dune.getId(), 10);
+
+        assertThat(bookSimilarityIndex.isReady()).isTrue();
+        assertThat(ids(similar)).containsExactly(foundation.getId(), hyperion.getId(), neuromancer.getId());
+        assertThat(similar.get(0).getScore()).isCloseTo(2 / Math.sqrt(6), within(1e-9));
+        assertThat(similar.get(0).getSharedReaders()).isEqualTo(2);
+        assertThat(ids(bookSimilarityIndex.similar(foundation.getId(), 1))).containsExactly(dune.getId());
+        logger.info("Test for similarity ranking completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should apply updated and deleted interactions on the next refresh")
+    void shouldApplyIncrementalChanges() {
+        logger.info("Starting test for incremental refresh...");
+        bookSimilarityIndex.refresh();
+
+        BookInteractionEntity cemReadDune = bookInteractionRepository.findAll().stream()
+                .filter(interaction -> interaction.getUser().getId().equals(cem.getId())
+                        && interaction.getBook().getId().equals(dune.getId()))
+                .findFirst().orElseThrow();
+        cemReadDune.setIsRead(false);
+        bookInteractionRepository.saveAndFlush(cemReadDune);
+        bookSimilarityIndex.refresh();
+
+        assertThat(bookSimilarityIndex.similar(neuromancer.getId(), 10)).isEmpty();
+        List<BookSimilarity> similar = bookSimilarityIndex.similar(dune.getId(), 10);
+        assertThat(ids(similar)).containsExactly(foundation.getId(), hyperion.getId());
+        assertThat(similar.get(0).getScore()).isCloseTo(1.0, within(1e-9));
+
+        bookInteractionRepository.findAll().stream()
+                .filter(interaction -> interaction.getUser().getId().equals(bora.getId())
+                        && interaction.getBook().getId().equals(foundation.getId()))
+                .forEach(bookInteractionRepository::delete);
+        bookInteractionRepository.flush();
+        bookSimilarityIndex.markUserChanged(bora.getId());
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        bookSimilarityIndex.refresh();
+
+        similar = bookSimilarityIndex.similar(dune.getId(), 10);
+        assertThat(ids(similar)).containsExactly(foundation.getId(), hyperion.getId());
+        assertThat(similar.get(0).getSharedReaders()).isEqualTo(1);
+        assertThat(similar.get(0).getScore()).isCloseTo(1 / Math.sqrt(2), within(1e-9));
+        logger.info("Test for incremental refresh completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should drop removed books from every similarity list")
+    void shouldDropRemovedBooks() {
+        logger.info("Starting test for book removal...");
+        bookSimilarityIndex.refresh();
+
+        bookSimilarityIndex.removeBook(hyperion.getId());
+        bookSimilarityIndex.refresh();
+        // Not dropped before the removing transaction commits.
+        assertThat(ids(bookSimilarityIndex.similar(dune.getId(), 10))).contains(hyperion.getId());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        bookSimilarityIndex.refresh();
+
+        assertThat(ids(bookSimilarityIndex.similar(dune.getId(), 10))).containsExactly(foundation.getId(), neuromancer.getId());
+        assertThat(ids(bookSimilarityIndex.similar(foundation.getId(), 10))).containsExactly(dune.getId());
+        assertThat(bookSimilarityIndex.similar(hyperion.getId(), 10)).isEmpty();
+        logger.info("Test for book removal completed.");
+    }
+
+    private void read(UserEntity user, BookEntity book) {
+        bookInteractionRepository.save(BookInteractionEntity.builder()
+                .user(user)
+                .book(book)
+                .isRead(true)
+                .isLiked(false)
+                .build());
+    }
+
+    private static List<Long> ids(List<BookSimilarity> similar) {
+        return similar.stream().map(BookSimilarity::getBookId).toList();
+    }
+
+    private static BookEntity book(String title, String isbn) {
+        return BookEntity.builder()
+                .title(title)
+                .author("Test Author")
+                .isbn(isbn)
+                .genre(Genre.SCIENCE_FICTION)
+                .publishDate(LocalDate.of(1970, 1, 1))
+                .pageCount(300)
+                .build();
+    }
+
+    private static UserEntity user(String username) {
+        UserEntity user = UserEntity.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("Test1234!")
+                .role(Role.USER)
+                .build();
+        user.setUserProfile(UserProfileEntity.builder()
+                .user(user)
+                .dateOfBirth(LocalDate.now().minusYears(25))
+                .biography("Test biography")
+                .location("Ankara")
+                .gender(Gender.UNDISCLOSED)
+                .build());
+        return user;
+    }
+}
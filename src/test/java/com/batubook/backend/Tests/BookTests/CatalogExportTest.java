@@ -0,0 +1,119 @@
+package com.batubook.backend.Tests.BookTests;
+
+import com.batubook.backend.bulkimport.BookImportFormat;
+import com.batubook.backend.bulkimport.BookImportReader;
+import com.batubook.backend.bulkimport.BookImportRow;
+import com.batubook.backend.entity.BookEntity;
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.export.ExportFormat;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.service.serviceImplementation.CatalogExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CatalogExportTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportTest.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogExportServiceImpl catalogExportService;
+
+    @BeforeEach
+    void setUp() {
+        catalogExportService = new CatalogExportServiceImpl(dataSource, transactionManager, new ObjectMapper(), 2);
+        bookRepository.saveAllAndFlush(List.of(
+                BookEntity.builder()
+                        .title("1984")
+                        .author("George Orwell")
+                        .isbn("1234567890")
+                        .pageCount(352)
+                        .publishDate(LocalDate.of(1949, 6, 8))
+                        .genre(Genre.DYSTOPIA)
+                        .summary("Big Brother, \"the Party\" and\nRoom 101.")
+                        .build(),
+                BookEntity.builder()
+                        .title("Dune")
+                        .author("Frank Herbert")
+                        .isbn("1111111111")
+                        .pageCount(412)
+                        .publishDate(LocalDate.of(1965, 8, 1))
+                        .genre(Genre.SCIENCE_FICTION)
+                        .build(),
+                BookEntity.builder()
+                        .title("Emma")
+                        .author("Jane Austen")
+                        .isbn("2222222222")
+                        .pageCount(474)
+                        .publishDate(LocalDate.of(1815, 12, 23))
+                        .genre(Genre.ROMANCE)
+                        .build()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should stream every book as one JSON object per line across several fetches")
+    void shouldExportBooksAsJsonl() {
+        logger.info("Running test: Should stream every book as JSONL");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = catalogExportService.exportBooks(out, ExportFormat.JSONL);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"isbn\":\"1234567890\"", "\"genre\":\"dystopia\"", "\"publishDate\":\"1949-06-08\"");
+        assertThat(lines[1]).contains("\"summary\":null");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should export CSV that the bulk import reads back unchanged")
+    void shouldExportBooksAsCsvThatRoundTrips() throws Exception {
+        logger.info("Running test: Should export CSV that round-trips through the import reader");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.exportBooks(out, ExportFormat.CSV);
+
+        List<BookImportRow> rows = new ArrayList<>();
+        try (BookImportReader reader = new BookImportReader(new ByteArrayInputStream(out.toByteArray()),
+                BookImportFormat.CSV, new ObjectMapper())) {
+            reader.forEachRemaining(rows::add);
+        }
+
+        assertThat(rows).hasSize(3).noneMatch(BookImportRow::isFailed);
+        assertThat(rows.get(0).getBook().getSummary()).isEqualTo("Big Brother, \"the Party\" and\nRoom 101.");
+        assertThat(rows.get(2).getBook().getGenre()).isEqualTo(Genre.ROMANCE);
+    }
+}
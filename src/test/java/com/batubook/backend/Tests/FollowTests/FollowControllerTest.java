@@ -93,7 +93,7 @@ public class FollowControllerTest {
         mockMvc.perform(post("/api/follows/follow-user")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(followDTO)))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -123,7 +123,7 @@ public class FollowControllerTest {
         mockMvc.perform(post("/api/follows/follow-book")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(followDTO)))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -158,7 +158,7 @@ public class FollowControllerTest {
         mockMvc.perform(delete("/api/follows/unfollow-user")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(followDTO)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isNoContent());
     }
 
     @Test
@@ -0,0 +1,247 @@
+package com.batubook.backend.Tests.FollowTests;
+
+import com.batubook.backend.cache.BookDetailCache;
+import com.batubook.backend.dto.FollowCountDTO;
+import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowCountReconciler;
+import com.batubook.backend.follow.FollowWriter;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.mapper.FollowMapperImpl;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.UserEventBus;
+import com.batubook.backend.service.serviceImplementation.FollowServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Follows and unfollows through the service against the database and checks the denormalized counters, then
+ * corrupts them and lets the reconciler repair them in chunks of two. Follows are written with
+ * {@code ON CONFLICT DO NOTHING}, so H2 runs in its PostgreSQL mode.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FollowServiceImpl.class, FollowMapperImpl.class, FollowWriter.class, FollowCountReconciler.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:followcounts;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "batubook.follow.reconcile-chunk-size=2"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FollowCountTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowCountTest.class);
+
+    @Autowired
+    private FollowServiceImpl followService;
+
+    @Autowired
+    private FollowCountReconciler followCountReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoSpyBean
+    private FollowWriter followWriter;
+
+    @MockitoBean
+    private TotalCountService totalCountService;
+
+    @MockitoBean
+    private BookDetailCache bookDetailCache;
+
+    @MockitoBean
+    private FollowGraph followGraph;
+
+    @MockitoBean
+    private HomeTimeline homeTimeline;
+
+    @MockitoBean
+    private UserEventBus userEventBus;
+
+    private long alice;
+    private long bob;
+    private long carol;
+    private long orwell;
+
+    @BeforeEach
+    void setUp() {
+        alice = insertUser("alicereads");
+        bob = insertUser("bobreads");
+        carol = insertUser("carolreads");
+        orwell = insert("INSERT INTO books (title, author, isbn, page_count, publish_date, genre, created_at, updated_at) VALUES ('1984', 'George Orwell', '0451524934', 328, ?, 'DYSTOPIA', ?, ?)",
+                LocalDate.of(1949, 6, 8), now(), now());
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should move follower and following counts on follow and unfollow")
+    void shouldCountUserFollows() {
+        logger.info("Starting test for user follow counts...");
+        followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        followService.followUser(FollowDTO.builder().followerId(carol).followedUserId(alice).build());
+        followService.followUser(FollowDTO.builder().followerId(alice).followedUserId(bob).build());
+        followService.followBook(FollowDTO.builder().followerId(alice).followedBookId(orwell).build());
+
+        assertCounts(followService.getUserFollowCounts(alice), 2L, 1L);
+        assertCounts(followService.getUserFollowCounts(bob), 1L, 1L);
+        assertCounts(followService.getUserFollowCounts(carol), 0L, 1L);
+        assertCounts(followService.getBookFollowCounts(orwell), 1L, null);
+
+        followService.unfollowUser(FollowDTO.builder().followerId(carol).followedUserId(alice).build());
+        followService.unfollowBook(FollowDTO.builder().followerId(alice).followedBookId(orwell).build());
+
+        assertCounts(followService.getUserFollowCounts(alice), 1L, 1L);
+        assertCounts(followService.getUserFollowCounts(carol), 0L, 0L);
+        assertCounts(followService.getBookFollowCounts(orwell), 0L, null);
+        logger.info("Test for user follow counts completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should repair drifted counters and leave correct ones alone")
+    void shouldReconcileDrift() {
+        logger.info("Starting test for follow count reconciliation...");
+        followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        followService.followBook(FollowDTO.builder().followerId(carol).followedBookId(orwell).build());
+        jdbcTemplate.update("UPDATE users SET follower_count = 7 WHERE id = ?", alice);
+        jdbcTemplate.update("UPDATE users SET following_count = -1 WHERE id = ?", carol);
+        jdbcTemplate.update("UPDATE books SET follower_count = 0 WHERE id = ?", orwell);
+
+        assertEquals(3, followCountReconciler.reconcile());
+
+        assertCounts(followService.getUserFollowCounts(alice), 1L, 0L);
+        assertCounts(followService.getUserFollowCounts(carol), 0L, 0L);
+        assertCounts(followService.getBookFollowCounts(orwell), 1L, null);
+        assertEquals(0, followCountReconciler.reconcile());
+        logger.info("Test for follow count reconciliation completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should throw exception when counts are requested for a missing user or book")
+    void shouldThrowExceptionForMissingTarget() {
+        logger.info("Starting test for follow counts of missing targets...");
+        assertThrows(CustomExceptions.NotFoundException.class, () -> followService.getUserFollowCounts(999L));
+        assertThrows(CustomExceptions.NotFoundException.class, () -> followService.getBookFollowCounts(999L));
+        logger.info("Test for follow counts of missing targets completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should report repeated follows and unfollows without exceptions or counter drift")
+    void shouldFollowIdempotently() {
+        logger.info("Starting test for repeated follows and unfollows...");
+        FollowDTO first = followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        FollowDTO second = followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        FollowDTO book = followService.followBook(FollowDTO.builder().followerId(bob).followedBookId(orwell).build());
+        FollowDTO bookAgain = followService.followBook(FollowDTO.builder().followerId(bob).followedBookId(orwell).build());
+
+        assertFalse(first.isAlreadyFollowing());
+        assertTrue(second.isAlreadyFollowing());
+        assertEquals(first.getId(), second.getId());
+        assertFalse(book.isAlreadyFollowing());
+        assertTrue(bookAgain.isAlreadyFollowing());
+        assertCounts(followService.getUserFollowCounts(alice), 1L, 0L);
+        assertCounts(followService.getBookFollowCounts(orwell), 1L, null);
+
+        followService.unfollowUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        followService.unfollowUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        followService.unfollowBook(FollowDTO.builder().followerId(bob).followedBookId(orwell).build());
+        followService.unfollowBook(FollowDTO.builder().followerId(bob).followedBookId(orwell).build());
+
+        assertCounts(followService.getUserFollowCounts(alice), 0L, 0L);
+        assertCounts(followService.getUserFollowCounts(bob), 0L, 0L);
+        assertCounts(followService.getBookFollowCounts(orwell), 0L, null);
+        logger.info("Test for repeated follows and unfollows completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should throw exception when following a missing or deleted user or book")
+    void shouldThrowExceptionForMissingFollowTarget() {
+        logger.info("Starting test for following missing targets...");
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ?", now(), carol);
+
+        assertThrows(CustomExceptions.NotFoundException.class,
+                () -> followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(999L).build()));
+        assertThrows(CustomExceptions.NotFoundException.class,
+                () -> followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(carol).build()));
+        assertThrows(CustomExceptions.NotFoundException.class,
+                () -> followService.followBook(FollowDTO.builder().followerId(bob).followedBookId(999L).build()));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> followService.followUser(FollowDTO.builder().followedUserId(alice).build()));
+        assertCounts(followService.getUserFollowCounts(bob), 0L, 0L);
+        logger.info("Test for following missing targets completed.");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should retry a follow whose conflicting follow was removed before it could be looked up")
+    void shouldRetryFollowRemovedConcurrently() {
+        logger.info("Starting test for a follow removed between insert and lookup...");
+        long existing = followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build()).getId();
+        // The insert conflicts with the existing follow, which a concurrent unfollow removes before the lookup.
+        doAnswer(invocation -> {
+            Object skipped = invocation.callRealMethod();
+            jdbcTemplate.update("DELETE FROM follows WHERE id = ?", existing);
+            return skipped;
+        }).doCallRealMethod().when(followWriter).insertUserFollow(bob, alice);
+
+        FollowDTO retried = followService.followUser(FollowDTO.builder().followerId(bob).followedUserId(alice).build());
+        assertFalse(retried.isAlreadyFollowing());
+        assertNotEquals(existing, retried.getId());
+        verify(followWriter, times(3)).insertUserFollow(bob, alice);
+        logger.info("Test for a follow removed between insert and lookup completed.");
+    }
+
+    private void assertCounts(FollowCountDTO counts, Long followers, Long following) {
+        assertEquals(followers, counts.getFollowerCount());
+        assertEquals(following, counts.getFollowingCount());
+        entityManager.clear();
+    }
+
+    private long insertUser(String username) {
+        return insert("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)",
+                username, username + "@batubook.com", now(), now());
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+
+    private long insert(String sql, Object... arguments) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < arguments.length; i++) {
+                statement.setObject(i + 1, arguments[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+}
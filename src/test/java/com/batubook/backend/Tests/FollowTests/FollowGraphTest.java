@@ -0,0 +1,181 @@
+package com.batubook.backend.Tests.FollowTests;
+
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.follow.FollowSuggestion;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FollowGraphTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphTest.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private FollowGraph followGraph;
+    private long ada;
+    private long bora;
+    private long cem;
+    private long deniz;
+    private long ece;
+
+    @BeforeEach
+    void setUp() {
+        followGraph = new FollowGraph(jdbcTemplate, 1000);
+        ada = insertUser("adalet");
+        bora = insertUser("boran");
+        cem = insertUser("cemal");
+        deniz = insertUser("denizli");
+        ece = insertUser("ecemiz");
+
+        follow(ada, bora);
+        follow(bora, ada);
+        follow(ada, cem);
+        follow(bora, deniz);
+        follow(cem, deniz);
+        follow(cem, ece);
+        follow(bora, ece);
+        follow(deniz, ada);
+        jdbcTemplate.update("INSERT INTO books (title, author, isbn, page_count, publish_date, genre, created_at, updated_at) VALUES ('Dune', 'Frank Herbert', '1000000001', 412, '1965-08-01', 'DYSTOPIA', ?, ?)", now(), now());
+        Long dune = jdbcTemplate.queryForObject("SELECT id FROM books WHERE isbn = '1000000001'", Long.class);
+        jdbcTemplate.update("INSERT INTO follows (follower_id, followed_book_id, created_at, updated_at) VALUES (?, ?, ?, ?)", ada, dune, now(), now());
+        followGraph.load();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should answer edge checks, mutual follows and friends-of-friends from the loaded graph")
+    void shouldAnswerGraphQueries() {
+        logger.info("Starting test for follow graph queries...");
+        assertTrue(followGraph.isReady());
+        assertEquals(Set.of(bora, cem), followGraph.followedAmong(ada, List.of(deniz, bora, ece, cem, 999L)));
+        assertEquals(List.of(bora), followGraph.mutuals(ada, 10));
+        assertEquals(List.of(ada), followGraph.mutuals(bora, 10));
+
+        List<FollowSuggestion> suggestions = followGraph.suggestions(ada, 10);
+        assertThat(suggestions).extracting(FollowSuggestion::getUserId).containsExactly(deniz, ece);
+        assertThat(suggestions).extracting(FollowSuggestion::getMutualConnections).containsExactly(2, 2);
+        assertThat(followGraph.suggestions(ada, 1)).extracting(FollowSuggestion::getUserId).containsExactly(deniz);
+        logger.info("Test for follow graph queries completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should apply follows, unfollows and removed users on top of the loaded graph")
+    void shouldApplyChanges() {
+        logger.info("Starting test for follow graph changes...");
+        followGraph.follow(ada, deniz);
+        followGraph.unfollow(ada, bora);
+        followGraph.follow(ece, ada);
+        // The test transaction never commits, so run the after-commit callbacks the changes were deferred to.
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertEquals(Set.of(cem, deniz), followGraph.followedAmong(ada, List.of(bora, cem, deniz)));
+        assertEquals(List.of(deniz), followGraph.mutuals(ada, 10));
+        assertThat(followGraph.suggestions(ada, 10)).extracting(FollowSuggestion::getUserId).containsExactly(ece);
+
+        followGraph.removeUser(ece);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(followGraph.suggestions(ada, 10)).isEmpty();
+        assertEquals(Set.of(), followGraph.followedAmong(cem, List.of(ece)));
+        logger.info("Test for follow graph changes completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should skip follows of deleted users when loading")
+    void shouldSkipDeletedUsersOnLoad() {
+        logger.info("Starting test for loading without deleted users...");
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ?", Timestamp.valueOf(LocalDateTime.now()), cem);
+        followGraph.load();
+
+        assertEquals(Set.of(bora), followGraph.followedAmong(ada, List.of(bora, cem)));
+        assertThat(followGraph.suggestions(ada, 10)).extracting(FollowSuggestion::getUserId).containsExactly(deniz, ece);
+        assertThat(followGraph.suggestions(ada, 10)).extracting(FollowSuggestion::getMutualConnections).containsExactly(1, 1);
+        logger.info("Test for loading without deleted users completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should answer graph queries in microseconds on a larger graph")
+    void graphQueries_PerformanceTest() {
+        logger.info("Starting test for follow graph query latency...");
+        int users = 2_000;
+        int followsPerUser = 25;
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"perfuser" + i, "perfuser" + i + "@batubook.com", now(), now()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)", userRows);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'perfuser%' ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> followRows = new ArrayList<>();
+        for (Long follower : ids) {
+            random.ints(0, users).distinct().limit(followsPerUser)
+                    .filter(i -> !ids.get(i).equals(follower))
+                    .forEach(i -> followRows.add(new Object[]{follower, ids.get(i), now(), now()}));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)", followRows);
+
+        long loadStart = System.nanoTime();
+        followGraph.load();
+        logger.info("Loaded {} follows in {} ms", followRows.size(), (System.nanoTime() - loadStart) / 1_000_000);
+
+        int queries = 1_000;
+        List<Long> batch = ids.subList(0, 50);
+        long checkNanos = 0;
+        long suggestionNanos = 0;
+        for (int q = 0; q < queries; q++) {
+            long user = ids.get(random.nextInt(users));
+            long start = System.nanoTime();
+            followGraph.followedAmong(user, batch);
+            long checked = System.nanoTime();
+            List<FollowSuggestion> suggestions = followGraph.suggestions(user, 10);
+            suggestionNanos += System.nanoTime() - checked;
+            checkNanos += checked - start;
+            assertEquals(10, suggestions.size());
+        }
+
+        double checkMicros = checkNanos / 1_000.0 / queries;
+        double suggestionMicros = suggestionNanos / 1_000.0 / queries;
+        logger.info("50-user edge check: {} µs/query, friends-of-friends suggestions: {} µs/query", checkMicros, suggestionMicros);
+        assertTrue(checkMicros < 1_000);
+        assertTrue(suggestionMicros < 5_000);
+        logger.info("Test for follow graph query latency completed.");
+    }
+
+    private long insertUser(String username) {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)",
+                username, username + "@batubook.com", now(), now());
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private void follow(long followerId, long followedUserId) {
+        jdbcTemplate.update("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                followerId, followedUserId, now(), now());
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
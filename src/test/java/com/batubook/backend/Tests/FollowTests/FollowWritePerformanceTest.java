@@ -0,0 +1,195 @@
+package com.batubook.backend.Tests.FollowTests;
+
+import com.batubook.backend.Tests.SqlStatementCounter;
+import com.batubook.backend.cache.BookDetailCache;
+import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.entity.FollowEntity;
+import com.batubook.backend.entity.UserEntity;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.follow.FollowWriter;
+import com.batubook.backend.mapper.FollowMapperImpl;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.UserEventBus;
+import com.batubook.backend.repository.FollowRepository;
+import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.service.serviceImplementation.FollowServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Compares the old follow path, which loaded both users and looked the follow up before saving it, with the
+ * id-based {@code INSERT ... ON CONFLICT DO NOTHING RETURNING id} the service uses now. The persistence context is
+ * cleared after every follow so each one pays what a separate request would. The {@link FollowWriter} goes around
+ * Hibernate, so each of its calls counts as the one statement it sends.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FollowServiceImpl.class, FollowMapperImpl.class, FollowWriter.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:followwrites;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        SqlStatementCounter.PROPERTY
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FollowWritePerformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowWritePerformanceTest.class);
+
+    private static final int USERS = 100;
+
+    @Autowired
+    private FollowServiceImpl followService;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private FollowWriter followWriter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private TotalCountService totalCountService;
+
+    @MockitoBean
+    private BookDetailCache bookDetailCache;
+
+    @MockitoBean
+    private FollowGraph followGraph;
+
+    @MockitoBean
+    private HomeTimeline homeTimeline;
+
+    @MockitoBean
+    private UserEventBus userEventBus;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{"followperf" + i, "followperf" + i + "@batubook.com", now(), now()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)", rows);
+        ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'followperf%' ORDER BY id", Long.class);
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should follow in two statements where the old path needed at least five")
+    void shouldFollowInFewerStatements() {
+        logger.info("Starting test for follow statement counts...");
+        int legacy = statementsFor(() -> legacyFollow(ids.get(0), ids.get(1)));
+        int current = statementsFor(() -> followService.followUser(follow(ids.get(0), ids.get(2))));
+        int repeated = statementsFor(() -> followService.followUser(follow(ids.get(0), ids.get(2))));
+
+        logger.info("Statements per follow: old path {}, new path {}, repeated follow {}", legacy, current, repeated);
+        assertTrue(legacy >= 5);
+        assertEquals(2, current);
+        assertEquals(2, repeated);
+        logger.info("Test for follow statement counts completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should follow faster than the old load-check-save path")
+    void follow_ThroughputTest() {
+        logger.info("Starting test for follow throughput...");
+        List<long[]> pairs = new ArrayList<>();
+        for (int follower = 0; follower < USERS; follower++) {
+            for (int offset = 1; offset <= 20; offset++) {
+                pairs.add(new long[]{ids.get(follower), ids.get((follower + offset) % USERS)});
+            }
+        }
+        List<long[]> legacyPairs = pairs.subList(0, pairs.size() / 2);
+        List<long[]> currentPairs = pairs.subList(pairs.size() / 2, pairs.size());
+
+        // Warm both paths up on follows that are undone again, so neither pays for class loading and query parsing.
+        for (int i = 0; i < 200; i++) {
+            long[] pair = pairs.get(i);
+            legacyFollow(pair[0], pair[1]);
+            followService.unfollowUser(follow(pair[0], pair[1]));
+            followService.followUser(follow(pair[0], pair[1]));
+            followService.unfollowUser(follow(pair[0], pair[1]));
+            entityManager.clear();
+        }
+
+        long legacyNanos = timeFollows(legacyPairs, pair -> legacyFollow(pair[0], pair[1]));
+        long currentNanos = timeFollows(currentPairs, pair -> followService.followUser(follow(pair[0], pair[1])));
+
+        double legacyRate = legacyPairs.size() * 1_000_000_000.0 / legacyNanos;
+        double currentRate = currentPairs.size() * 1_000_000_000.0 / currentNanos;
+        logger.info("Follow throughput: old path {} follows/s, new path {} follows/s", (long) legacyRate, (long) currentRate);
+        assertEquals(pairs.size(), followRepository.count());
+        assertTrue(currentRate > legacyRate);
+        logger.info("Test for follow throughput completed.");
+    }
+
+    /**
+     * The follow path as it was before it moved to a single insert.
+     */
+    private void legacyFollow(Long followerId, Long followedUserId) {
+        UserEntity follower = userRepository.findById(followerId).orElseThrow();
+        UserEntity followedUser = userRepository.findById(followedUserId).orElseThrow();
+        assertNull(followRepository.findByFollowerAndFollowedUser(follower, followedUser));
+
+        followRepository.save(FollowEntity.builder().follower(follower).followedUser(followedUser).build());
+        userRepository.adjustFollowCounts(followerId, followedUserId, 1);
+    }
+
+    private int statementsFor(Runnable follow) {
+        SqlStatementCounter.reset();
+        clearInvocations(followWriter);
+        follow.run();
+        entityManager.flush();
+        entityManager.clear();
+        return SqlStatementCounter.count() + mockingDetails(followWriter).getInvocations().size();
+    }
+
+    private long timeFollows(List<long[]> pairs, Consumer<long[]> follow) {
+        long start = System.nanoTime();
+        for (long[] pair : pairs) {
+            follow.accept(pair);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static FollowDTO follow(Long followerId, Long followedUserId) {
+        return FollowDTO.builder().followerId(followerId).followedUserId(followedUserId).build();
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
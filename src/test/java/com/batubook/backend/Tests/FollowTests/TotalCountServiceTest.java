@@ -0,0 +1,108 @@
+package com.batubook.backend.Tests.FollowTests;
+
+import com.batubook.backend.pagination.TotalCountService;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TotalCountServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TotalCountServiceTest.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private AtomicInteger exactCounts;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        exactCounts = new AtomicInteger();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should serve a large table from the planner estimate without counting")
+    void shouldUsePlannerEstimateForLargeTables() {
+        logger.info("Starting test for planner estimate...");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("follows"))).thenReturn(12_000_000L);
+        TotalCountService countService = new TotalCountService(jdbcTemplate, Duration.ofMinutes(5), 100_000);
+
+        assertEquals(12_000_000L, countService.estimate("follows", this::exactCount));
+        assertEquals(0, exactCounts.get());
+        logger.info("Test for planner estimate completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should count exactly once per staleness window and track writes in between")
+    void shouldCacheFilteredCountsAndApplyWrites() {
+        logger.info("Starting test for cached follower counts...");
+        TotalCountService countService = new TotalCountService(jdbcTemplate, Duration.ofMinutes(5), 100_000);
+        String key = TotalCountService.filterKey("follows", "followed_user", 42L);
+
+        assertEquals(7, countService.estimate(key, this::exactCount));
+        countService.increment(key);
+        countService.increment(key);
+        countService.decrement(key);
+
+        assertEquals(8, countService.estimate(key, this::exactCount));
+        assertEquals(1, exactCounts.get());
+        verifyNoInteractions(jdbcTemplate);
+        logger.info("Test for cached follower counts completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should re-seed a counter once it is older than the staleness bound")
+    void shouldReseedStaleCounters() {
+        logger.info("Starting test for stale counters...");
+        TotalCountService countService = new TotalCountService(jdbcTemplate, Duration.ZERO, 100_000);
+        String key = TotalCountService.filterKey("follows", "followed_user", 42L);
+
+        countService.estimate(key, this::exactCount);
+        countService.estimate(key, this::exactCount);
+
+        assertEquals(2, exactCounts.get());
+        logger.info("Test for stale counters completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should fall back to an exact count when the planner has no usable estimate")
+    void shouldFallBackToExactCount() {
+        logger.info("Starting test for planner fallback...");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("likes"))).thenThrow(new IllegalStateException("no pg_class"));
+        TotalCountService countService = new TotalCountService(jdbcTemplate, Duration.ofMinutes(5), 100_000);
+
+        assertEquals(7, countService.estimate("likes", this::exactCount));
+        assertEquals(1, exactCounts.get());
+        logger.info("Test for planner fallback completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should leave tombstoned rows awaiting their purge out of the planner estimate")
+    void shouldSubtractTombstonedRowsFromPlannerEstimate() {
+        logger.info("Starting test for tombstoned rows in the planner estimate...");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("users"))).thenReturn(12_000_000L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("USER"))).thenReturn(2_500L);
+        TotalCountService countService = new TotalCountService(jdbcTemplate, Duration.ofMinutes(5), 100_000);
+
+        assertEquals(11_997_500L, countService.estimate("users", this::exactCount));
+        assertEquals(0, exactCounts.get());
+        logger.info("Test for tombstoned rows in the planner estimate completed.");
+    }
+
+    private long exactCount() {
+        exactCounts.incrementAndGet();
+        return 7;
+    }
+}
@@ -0,0 +1,193 @@
+package com.batubook.backend.Tests.LikeTests;
+
+import com.batubook.backend.entity.LikeCountEntity;
+import com.batubook.backend.like.LikeCounter;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LikeCounter.class)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:likecounts;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LikeCounterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterTest.class);
+    private static final LikeCountEntity.TargetType REVIEW = LikeCountEntity.TargetType.REVIEW;
+    private static final long HOT_REVIEW = 1_000L;
+    private static final long ROW_REVIEW = 1_001L;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        likeCounter.flush();
+        jdbcTemplate.update("DELETE FROM like_counts");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should count likes once committed and keep counts right across flushes")
+    void shouldCountCommittedLikesAcrossFlushes() {
+        logger.info("Starting test for counting likes across flushes...");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            likeCounter.add(REVIEW, 1L, 1);
+            status.setRollbackOnly();
+        });
+        assertEquals(Map.of(1L, 0L, 2L, 0L), likeCounter.counts(REVIEW, List.of(1L, 2L)));
+
+        transaction.executeWithoutResult(status -> {
+            likeCounter.add(REVIEW, 1L, 1);
+            likeCounter.add(REVIEW, 1L, 1);
+            likeCounter.add(REVIEW, 2L, 1);
+            likeCounter.add(LikeCountEntity.TargetType.QUOTE, 1L, 1);
+            assertEquals(Map.of(1L, 0L), likeCounter.counts(REVIEW, List.of(1L)));
+        });
+        assertEquals(Map.of(1L, 2L, 2L, 1L, 3L, 0L), likeCounter.counts(REVIEW, List.of(1L, 2L, 3L)));
+        assertEquals(3, likeCounter.flush());
+        assertEquals(2L, storedCount(REVIEW, 1L));
+        assertEquals(1L, storedCount(LikeCountEntity.TargetType.QUOTE, 1L));
+
+        // An unlike and a like on rows that exist are added to them, on top of what is still unflushed.
+        likeCounter.add(REVIEW, 1L, -1);
+        likeCounter.add(REVIEW, 2L, 1);
+        likeCounter.add(REVIEW, 3L, 1);
+        assertEquals(Map.of(1L, 1L, 2L, 2L, 3L, 1L), likeCounter.counts(REVIEW, List.of(1L, 2L, 3L)));
+        assertEquals(3, likeCounter.flush());
+        assertEquals(Map.of(1L, 1L, 2L, 2L, 3L, 1L), likeCounter.counts(REVIEW, List.of(1L, 2L, 3L)));
+        assertEquals(0, likeCounter.flush());
+        logger.info("Test for counting likes across flushes completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should drop idle targets from memory and count them again on their next like")
+    void shouldDropIdleTargetsAndCountThemAgain() {
+        logger.info("Starting test for idle like counters...");
+        likeCounter.add(REVIEW, 10L, 1);
+        likeCounter.add(REVIEW, 10L, 1);
+        likeCounter.add(REVIEW, 10L, -1);
+        assertEquals(1, likeCounter.flush());
+        assertEquals(0, likeCounter.flush());
+        assertEquals(Map.of(10L, 1L), likeCounter.counts(REVIEW, List.of(10L)));
+
+        likeCounter.add(REVIEW, 10L, 1);
+        assertEquals(Map.of(10L, 2L), likeCounter.counts(REVIEW, List.of(10L)));
+        assertEquals(1, likeCounter.flush());
+        assertEquals(2L, storedCount(REVIEW, 10L));
+
+        // An unlike stored before the like it undoes never shows as a negative count.
+        likeCounter.add(REVIEW, 11L, -1);
+        likeCounter.flush();
+        assertEquals(Map.of(11L, 0L), likeCounter.counts(REVIEW, List.of(11L)));
+        logger.info("Test for idle like counters completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should count likes on one hot review far faster than a row update per like")
+    void hotTarget_ContentionBenchmark() throws Exception {
+        logger.info("Starting contention benchmark on one hot review...");
+        int threads = 8;
+        int likesPerThread = 50_000;
+        int rowLikesPerThread = 1_000;
+        jdbcTemplate.update("INSERT INTO like_counts (target_type, target_id, like_count, created_at, updated_at) " +
+                "VALUES ('REVIEW', ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", ROW_REVIEW);
+        AtomicLong atomic = new AtomicLong();
+        Object lock = new Object();
+        long[] synchronizedCount = new long[1];
+
+        Runnable stripedLike = () -> likeCounter.add(REVIEW, HOT_REVIEW, 1);
+        // Warms up the striped path, whose likes are counted too.
+        nanosPerLike(threads, likesPerThread, stripedLike);
+        double stripedNanos = nanosPerLike(threads, likesPerThread, stripedLike);
+        double atomicNanos = nanosPerLike(threads, likesPerThread, atomic::incrementAndGet);
+        double synchronizedNanos = nanosPerLike(threads, likesPerThread, () -> {
+            synchronized (lock) {
+                synchronizedCount[0]++;
+            }
+        });
+        double rowNanos = nanosPerLike(threads, rowLikesPerThread, () -> jdbcTemplate.update(
+                "UPDATE like_counts SET like_count = like_count + 1 WHERE target_type = 'REVIEW' AND target_id = ?", ROW_REVIEW));
+
+        long flushStart = System.nanoTime();
+        likeCounter.flush();
+        double flushMillis = (System.nanoTime() - flushStart) / 1_000_000.0;
+
+        logger.info("{} threads liking one review, per like: striped counter {} ns, AtomicLong {} ns, synchronized {} ns, row update {} ns",
+                threads, stripedNanos, atomicNanos, synchronizedNanos, rowNanos);
+        logger.info("Flushed {} striped likes in {} ms", 2L * threads * likesPerThread, flushMillis);
+
+        long likes = (long) threads * likesPerThread;
+        assertEquals(likes, atomic.get());
+        assertEquals(likes, synchronizedCount[0]);
+        assertEquals(2 * likes, storedCount(REVIEW, HOT_REVIEW));
+        assertEquals(Map.of(HOT_REVIEW, 2 * likes), likeCounter.counts(REVIEW, List.of(HOT_REVIEW)));
+        assertEquals((long) threads * rowLikesPerThread, storedCount(REVIEW, ROW_REVIEW));
+        assertThat(stripedNanos).isLessThan(rowNanos);
+        logger.info("Contention benchmark on one hot review completed.");
+    }
+
+    private long storedCount(LikeCountEntity.TargetType targetType, long targetId) {
+        return jdbcTemplate.queryForObject("SELECT like_count FROM like_counts WHERE target_type = ? AND target_id = ?",
+                Long.class, targetType.name(), targetId);
+    }
+
+    private static double nanosPerLike(int threads, int likesPerThread, Runnable like) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < likesPerThread; i++) {
+                        like.run();
+                    }
+                    return null;
+                });
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) (System.nanoTime() - startNanos) / ((long) threads * likesPerThread);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
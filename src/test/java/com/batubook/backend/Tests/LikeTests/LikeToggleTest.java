@@ -0,0 +1,264 @@
+package com.batubook.backend.Tests.LikeTests;
+
+import com.batubook.backend.cache.BookDetailCache;
+import com.batubook.backend.dto.LikeDTO;
+import com.batubook.backend.entity.*;
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.like.LikeCounter;
+import com.batubook.backend.like.LikeWriter;
+import com.batubook.backend.like.LikedTargets;
+import com.batubook.backend.mapper.LikeMapperImpl;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.push.PushEvent;
+import com.batubook.backend.push.UserEventBus;
+import com.batubook.backend.repository.*;
+import com.batubook.backend.service.serviceImplementation.LikeServiceImpl;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Likes, unlikes and toggles by natural key against the H2 database in PostgreSQL mode, committed like real
+ * requests so concurrent callers race on the unique constraints of {@code likes}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LikeServiceImpl.class, LikeMapperImpl.class, LikeWriter.class, LikedTargets.class, LikeCounter.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:liketoggles;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LikeToggleTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeToggleTest.class);
+
+    @Autowired
+    private LikeServiceImpl likeService;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @MockitoSpyBean
+    private LikeWriter likeWriter;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private TotalCountService totalCountService;
+
+    @MockitoBean
+    private BookDetailCache bookDetailCache;
+
+    @MockitoBean
+    private UserEventBus userEventBus;
+
+    private UserEntity reader;
+    private UserEntity author;
+    private ReviewEntity review;
+
+    @BeforeEach
+    void setUp() {
+        reader = userRepository.save(UserEntity.builder()
+                .username("reader").email("reader@example.com").password("Reader1234!").role(Role.USER).build());
+        author = userRepository.save(UserEntity.builder()
+                .username("author").email("author@example.com").password("Author1234!").role(Role.USER).build());
+        BookEntity book = bookRepository.save(BookEntity.builder()
+                .title("Test Book")
+                .author("Test Author")
+                .isbn("9876543210")
+                .genre(Genre.SCIENCE_FICTION)
+                .publishDate(LocalDate.now().minusYears(1))
+                .pageCount(300)
+                .summary("Test summary")
+                .build());
+        review = reviewRepository.save(ReviewEntity.builder()
+                .reviewText("Very good book!").rating(new BigDecimal("4.5")).book(book).user(author).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeCounter.flush();
+        jdbcTemplate.update("DELETE FROM like_counts");
+        jdbcTemplate.update("DELETE FROM likes");
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should like once, return the existing like after that, and reject duplicate rows")
+    void shouldLikeIdempotently() {
+        logger.info("Starting test for idempotent likes...");
+        LikeDTO first = likeService.likeTarget(reader.getId(), "review", review.getId());
+        LikeDTO second = likeService.likeTarget(reader.getId(), "review", review.getId());
+
+        assertFalse(first.isAlreadyLiked());
+        assertTrue(second.isAlreadyLiked());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(review.getId(), second.getReviewId());
+        assertEquals(1, likeRepository.count());
+        verify(userEventBus, times(1)).publish(eq(author.getId()), eq(PushEvent.EventType.LIKE), any());
+        verify(totalCountService, times(1)).increment("likes");
+
+        LikeDTO registered = likeService.registerLike(LikeDTO.builder().userId(reader.getId()).reviewId(review.getId()).build());
+        assertTrue(registered.isAlreadyLiked());
+        assertEquals(first.getId(), registered.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> likeRepository.saveAndFlush(
+                LikeEntity.builder().user(reader).review(review).build()));
+        assertEquals(Map.of(review.getId(), 1L), likeCounter.counts(LikeCountEntity.TargetType.REVIEW, List.of(review.getId())));
+        logger.info("Test for idempotent likes completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should unlike with a single delete, toggle, and reject unknown users, targets and types")
+    void shouldUnlikeAndToggle() {
+        logger.info("Starting test for unlikes and toggles...");
+        likeService.likeTarget(author.getId(), "review", review.getId());
+        assertTrue(likeService.toggleLike(reader.getId(), "review", review.getId()));
+        assertTrue(likeRepository.existsByUserIdAndReviewId(reader.getId(), review.getId()));
+        assertFalse(likeService.toggleLike(reader.getId(), "review", review.getId()));
+        assertFalse(likeRepository.existsByUserIdAndReviewId(reader.getId(), review.getId()));
+
+        likeService.likeTarget(reader.getId(), "review", review.getId());
+        likeService.unlikeTarget(reader.getId(), "review", review.getId());
+        likeService.unlikeTarget(reader.getId(), "review", review.getId());
+        assertFalse(likeRepository.existsByUserIdAndReviewId(reader.getId(), review.getId()));
+        assertTrue(likeRepository.existsByUserIdAndReviewId(author.getId(), review.getId()));
+        // Liking one's own review is not pushed to oneself.
+        verify(userEventBus, times(2)).publish(eq(author.getId()), eq(PushEvent.EventType.LIKE), any());
+        verify(userEventBus, never()).publish(eq(reader.getId()), any(), any());
+        assertEquals(Map.of(review.getId(), 1L), likeCounter.counts(LikeCountEntity.TargetType.REVIEW, List.of(review.getId())));
+
+        assertThrows(CustomExceptions.NotFoundException.class, () -> likeService.likeTarget(999_999L, "review", review.getId()));
+        assertThrows(CustomExceptions.NotFoundException.class, () -> likeService.likeTarget(reader.getId(), "quote", review.getId()));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> likeService.toggleLike(reader.getId(), "book", review.getId()));
+        assertEquals(1, likeRepository.count());
+        logger.info("Test for unlikes and toggles completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should retry a like whose conflicting like was removed before it could be looked up")
+    void shouldRetryLikeRemovedConcurrently() {
+        logger.info("Starting test for a like removed between insert and lookup...");
+        LikeDTO existing = likeService.likeTarget(reader.getId(), "review", review.getId());
+        // The insert conflicts with the existing like, which a concurrent unlike removes before the lookup.
+        doAnswer(invocation -> {
+            Object skipped = invocation.callRealMethod();
+            jdbcTemplate.update("DELETE FROM likes WHERE id = ?", existing.getId());
+            return skipped;
+        }).doCallRealMethod().when(likeWriter).insert(reader.getId(), LikeCountEntity.TargetType.REVIEW, review.getId());
+
+        LikeDTO retried = likeService.likeTarget(reader.getId(), "review", review.getId());
+        assertFalse(retried.isAlreadyLiked());
+        assertNotEquals(existing.getId(), retried.getId());
+        assertTrue(likeRepository.existsById(retried.getId()));
+        verify(likeWriter, times(3)).insert(reader.getId(), LikeCountEntity.TargetType.REVIEW, review.getId());
+        logger.info("Test for a like removed between insert and lookup completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should keep one like per user and review under concurrent likes and toggles of the same pair")
+    void samePair_LoadTest() throws Exception {
+        logger.info("Starting load test on one user and review...");
+        int threads = 16;
+        int callsPerThread = 50;
+        AtomicInteger created = new AtomicInteger();
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+
+        long start = System.nanoTime();
+        runConcurrently(threads, callsPerThread, () -> {
+            long callStart = System.nanoTime();
+            if (!likeService.likeTarget(reader.getId(), "review", review.getId()).isAlreadyLiked()) {
+                created.incrementAndGet();
+            }
+            latencies.add(System.nanoTime() - callStart);
+        });
+        double likeMillis = (System.nanoTime() - start) / 1_000_000.0;
+        assertEquals(1, created.get());
+        assertEquals(1, likeRepository.count());
+
+        start = System.nanoTime();
+        runConcurrently(threads, callsPerThread, () -> likeService.toggleLike(reader.getId(), "review", review.getId()));
+        double toggleMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long rows = likeRepository.count();
+        assertTrue(rows <= 1);
+        // Every created like and every removed one reached the counter exactly once.
+        assertEquals(Map.of(review.getId(), rows), likeCounter.counts(LikeCountEntity.TargetType.REVIEW, List.of(review.getId())));
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        logger.info("{} concurrent likes of one pair in {} ms, p50 {} ms, p99 {} ms; {} toggles in {} ms",
+                threads * callsPerThread, likeMillis,
+                sorted.get(sorted.size() / 2) / 1_000_000.0, sorted.get(sorted.size() * 99 / 100) / 1_000_000.0,
+                threads * callsPerThread, toggleMillis);
+        logger.info("Load test on one user and review completed.");
+    }
+
+    private static void runConcurrently(int threads, int callsPerThread, Runnable call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < callsPerThread; i++) {
+                        call.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.batubook.backend.Tests.LikeTests;
+
+import com.batubook.backend.entity.*;
+import com.batubook.backend.entity.enums.Genre;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.like.LikedTargets;
+import com.batubook.backend.repository.*;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LikedTargets.class)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:likedtargets;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LikedTargetsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikedTargetsTest.class);
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private LikedTargets likedTargets;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    private UserEntity reader;
+    private UserEntity author;
+    private List<Long> reviewIds;
+    private QuoteEntity quote;
+
+    @BeforeEach
+    void setUp() {
+        reader = userRepository.save(UserEntity.builder()
+                .username("reader").email("reader@example.com").password("Reader1234!").role(Role.USER).build());
+        author = userRepository.save(UserEntity.builder()
+                .username("author").email("author@example.com").password("Author1234!").role(Role.USER).build());
+        BookEntity book = bookRepository.save(BookEntity.builder()
+                .title("Test Book")
+                .author("Test Author")
+                .isbn("9876543210")
+                .genre(Genre.SCIENCE_FICTION)
+                .publishDate(LocalDate.now().minusYears(1))
+                .pageCount(300)
+                .summary("Test summary")
+                .build());
+
+        reviewIds = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ReviewEntity review = reviewRepository.save(ReviewEntity.builder()
+                    .reviewText("Review " + i).rating(new BigDecimal("4.0")).book(book).user(author).build());
+            reviewIds.add(review.getId());
+            if (i % 2 == 0) {
+                likeRepository.save(LikeEntity.builder().user(reader).review(review).build());
+            }
+            if (i % 5 == 0) {
+                likeRepository.save(LikeEntity.builder().user(author).review(review).build());
+            }
+        }
+        quote = quoteRepository.save(QuoteEntity.builder().quoteText("A quote").book(book).user(author).build());
+        likeRepository.save(LikeEntity.builder().user(reader).quote(quote).build());
+        likeRepository.flush();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should return only the targets of the type the user liked")
+    void shouldReturnLikedTargetsOfType() {
+        logger.info("Starting test for liked targets...");
+        Set<Long> likedReviews = likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.REVIEW, reviewIds);
+        assertEquals(PAGE_SIZE / 2, likedReviews.size());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            assertEquals(i % 2 == 0, likedReviews.contains(reviewIds.get(i)));
+        }
+
+        // The quote and review ids can collide; only likes of the asked type count.
+        Set<Long> likedQuotes = likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.QUOTE,
+                List.of(quote.getId(), reviewIds.get(1)));
+        assertThat(likedQuotes).containsExactly(quote.getId());
+        assertTrue(likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.MESSAGE, reviewIds).isEmpty());
+        assertTrue(likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.REVIEW, List.of()).isEmpty());
+        assertEquals(PAGE_SIZE / 5, likedTargets.likedAmong(author.getId(), LikeCountEntity.TargetType.REVIEW, reviewIds).size());
+        logger.info("Test for liked targets completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should check a page of reviews in one query instead of one per review")
+    void likedTargets_PerformanceTest() {
+        logger.info("Starting performance test for checking a page of likes...");
+        int rounds = 200;
+        for (int i = 0; i < 20; i++) {
+            checkOneByOne();
+            likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.REVIEW, reviewIds);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            checkOneByOne();
+        }
+        double oneByOneMillis = (System.nanoTime() - start) / 1_000_000.0 / rounds;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            likedTargets.likedAmong(reader.getId(), LikeCountEntity.TargetType.REVIEW, reviewIds);
+        }
+        double batchMillis = (System.nanoTime() - start) / 1_000_000.0 / rounds;
+
+        logger.info("Checking a page of {} reviews: {} ms with one query per review, {} ms with one query",
+                PAGE_SIZE, oneByOneMillis, batchMillis);
+        assertThat(batchMillis).isLessThan(oneByOneMillis);
+        logger.info("Performance test for checking a page of likes completed.");
+    }
+
+    private void checkOneByOne() {
+        for (Long reviewId : reviewIds) {
+            likeRepository.existsByUserIdAndReviewId(reader.getId(), reviewId);
+        }
+    }
+}
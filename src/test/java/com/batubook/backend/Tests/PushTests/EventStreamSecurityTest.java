@@ -0,0 +1,51 @@
+package com.batubook.backend.Tests.PushTests;
+
+import com.batubook.backend.controller.EventStreamController;
+import com.batubook.backend.push.UserEventStreams;
+import com.batubook.backend.security.SecurityConfig;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The event stream endpoint behind the application's own security filter chain, which has to let it through like
+ * the other {@code /api/**} endpoints instead of answering 403.
+ */
+@WebMvcTest(EventStreamController.class)
+@Import(SecurityConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class EventStreamSecurityTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamSecurityTest.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserEventStreams userEventStreams;
+
+    @Test
+    @Order(1)
+    @DisplayName("Should open an event stream without authentication")
+    void shouldPermitEventStream() throws Exception {
+        logger.info("Starting test for event stream access...");
+        when(userEventStreams.open(1L, null, null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/events/1").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(userEventStreams).open(1L, null, null);
+        logger.info("Test for event stream access completed.");
+    }
+}
@@ -0,0 +1,234 @@
+package com.batubook.backend.Tests.PushTests;
+
+import com.batubook.backend.controller.EventStreamController;
+import com.batubook.backend.dto.FollowDTO;
+import com.batubook.backend.dto.LikeDTO;
+import com.batubook.backend.dto.MessageDTO;
+import com.batubook.backend.entity.enums.MessageType;
+import com.batubook.backend.exception.GlobalExceptionHandler;
+import com.batubook.backend.push.PushEvent;
+import com.batubook.backend.push.UserEventBus;
+import com.batubook.backend.push.UserEventStreams;
+import com.batubook.backend.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Event streams served through the controller on asynchronous mock requests, with events published on a real
+ * {@link UserEventBus} outside any transaction so they are delivered at once.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserEventStreamsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventStreamsTest.class);
+    private static final long MISSING_USER = 999_999L;
+
+    private UserEventBus userEventBus;
+    private UserEventStreams userEventStreams;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(anyLong())).thenAnswer(invocation -> !invocation.getArgument(0).equals(MISSING_USER));
+        when(userRepository.existsByIdAndUsername(1L, "reader")).thenReturn(true);
+        userEventBus = new UserEventBus(100, Duration.ofMinutes(10));
+        userEventStreams = new UserEventStreams(userEventBus, userRepository, Duration.ofMinutes(30), 50_000, 5, 256, 4);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventStreamController(userEventStreams))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userEventStreams.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should push a user's events to their open stream only")
+    void shouldPushEventsToTheirStream() throws Exception {
+        logger.info("Starting test for pushing events to a stream...");
+        MvcResult ada = open("/api/events/1");
+        MvcResult bora = open("/api/events/2");
+
+        userEventBus.publish(1L, PushEvent.EventType.MESSAGE, MessageDTO.builder()
+                .id(10L).senderId(2L).receiverId(1L).messageContent("Hello").messageType(MessageType.PERSONAL).build());
+        userEventBus.publish(1L, PushEvent.EventType.FOLLOW, FollowDTO.builder().id(11L).followerId(2L).followedUserId(1L).build());
+
+        awaitContent(ada, "\"followerId\":2");
+        String stream = ada.getResponse().getContentAsString();
+        assertThat(stream).startsWith(":connected");
+        assertThat(stream).containsSubsequence("event:message", "\"messageContent\":\"Hello\"", "event:follow", "\"followerId\":2");
+        assertThat(stream).containsPattern("id:\\d+\nevent:message");
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, ada.getResponse().getContentType());
+        assertThat(bora.getResponse().getContentAsString()).doesNotContain("event:");
+        logger.info("Test for pushing events to a stream completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should resume after the last event ID and ask for a reload when events are gone")
+    void shouldResumeAfterLastEventId() throws Exception {
+        logger.info("Starting test for resuming event streams...");
+        List<PushEvent> seen = new ArrayList<>();
+        userEventBus.subscribe(1L, null, seen::add);
+        for (long likeId = 1; likeId <= 3; likeId++) {
+            userEventBus.publish(1L, PushEvent.EventType.LIKE, LikeDTO.builder().id(likeId).userId(2L).reviewId(5L).build());
+        }
+        assertThat(seen).extracting(PushEvent::getId).isSorted().doesNotHaveDuplicates();
+
+        MvcResult resumed = open(get("/api/events/1").header("Last-Event-ID", String.valueOf(seen.get(0).getId())));
+        awaitContent(resumed, "\"id\":3");
+        String stream = resumed.getResponse().getContentAsString();
+        assertThat(stream).doesNotContain("\"id\":1").contains("\"id\":2", "id:" + seen.get(2).getId());
+
+        MvcResult byParameter = open("/api/events/1?lastEventId=" + seen.get(1).getId());
+        awaitContent(byParameter, "\"id\":3");
+        assertThat(byParameter.getResponse().getContentAsString()).doesNotContain("\"id\":2");
+
+        MvcResult stale = open(get("/api/events/1").header("Last-Event-ID", "42"));
+        awaitContent(stale, "event:reload");
+        assertThat(stale.getResponse().getContentAsString()).doesNotContain("event:like");
+
+        UserEventBus smallBus = new UserEventBus(2, Duration.ofMinutes(10));
+        List<PushEvent> smallSeen = new ArrayList<>();
+        smallBus.subscribe(1L, null, smallSeen::add);
+        for (int i = 0; i < 3; i++) {
+            smallBus.publish(1L, PushEvent.EventType.LIKE, null);
+        }
+        // The first event was dropped for capacity: resuming before it has a gap, resuming from it has none.
+        assertFalse(smallBus.subscribe(1L, smallSeen.get(0).getId() - 1, event -> { }));
+        assertTrue(smallBus.subscribe(1L, smallSeen.get(0).getId(), event -> { }));
+        logger.info("Test for resuming event streams completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should send heartbeats and replace the oldest stream past the per-user limit")
+    void shouldSendHeartbeatsAndLimitStreamsPerUser() throws Exception {
+        logger.info("Starting test for heartbeats and stream limits...");
+        List<MvcResult> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(open("/api/events/1"));
+        }
+        assertEquals(5, userEventStreams.openStreamCount());
+
+        userEventStreams.sendHeartbeats();
+        awaitContent(results.get(5), ":heartbeat");
+        assertThat(results.get(0).getResponse().getContentAsString()).doesNotContain(":heartbeat");
+
+        userEventBus.publish(1L, PushEvent.EventType.LIKE, LikeDTO.builder().id(7L).build());
+        for (MvcResult result : results.subList(1, 6)) {
+            awaitContent(result, "event:like");
+        }
+        logger.info("Test for heartbeats and stream limits completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should reject a missing user, another user's stream and a malformed last event ID")
+    void shouldRejectInvalidStreams() throws Exception {
+        logger.info("Starting test for invalid event streams...");
+        mockMvc.perform(get("/api/events/" + MISSING_USER)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/events/1").header("Last-Event-ID", "abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/events/1").principal(() -> "intruder")).andExpect(status().isForbidden());
+        assertEquals(0, userEventStreams.openStreamCount());
+
+        awaitContent(open(get("/api/events/1").principal(() -> "reader")), ":connected");
+        assertEquals(1, userEventStreams.openStreamCount());
+        logger.info("Test for invalid event streams completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should hold thousands of idle streams without a thread each and push to all of them")
+    void eventStreams_LoadTest() throws Exception {
+        logger.info("Starting test for many idle event streams...");
+        int streams = 10_000;
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        long openStart = System.nanoTime();
+        List<MvcResult> results = new ArrayList<>(streams);
+        for (long userId = 1; userId <= streams; userId++) {
+            results.add(open("/api/events/" + userId));
+        }
+        double openMillis = (System.nanoTime() - openStart) / 1_000_000.0;
+        awaitContent(results.get(streams - 1), ":connected");
+
+        System.gc();
+        long heapPerStream = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / streams;
+        int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        long publishStart = System.nanoTime();
+        for (long userId = 1; userId <= streams; userId++) {
+            userEventBus.publish(userId, PushEvent.EventType.LIKE, LikeDTO.builder().id(userId).userId(1L).reviewId(1L).build());
+        }
+        double publishMillis = (System.nanoTime() - publishStart) / 1_000_000.0;
+        for (MvcResult result : results) {
+            awaitContent(result, "event:like");
+        }
+        double deliveredMillis = (System.nanoTime() - publishStart) / 1_000_000.0;
+
+        logger.info("Opened {} streams in {} ms; {} threads before, {} after; about {} heap bytes per stream including the mock request",
+                streams, openMillis, threadsBefore, threadsAfter, heapPerStream);
+        logger.info("Published one event per stream in {} ms, all delivered after {} ms", publishMillis, deliveredMillis);
+        assertEquals(streams, userEventStreams.openStreamCount());
+        // Only the writer pool is added, however many streams are open.
+        assertThat(threadsAfter - threadsBefore).isLessThanOrEqualTo(4);
+        logger.info("Test for many idle event streams completed.");
+    }
+
+    private MvcResult open(String url) throws Exception {
+        return open(get(url));
+    }
+
+    private MvcResult open(org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitContent(MvcResult result, String expected) throws Exception {
+        await(() -> {
+            try {
+                return result.getResponse().getContentAsString().contains(expected);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, "Stream never received: " + expected);
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.batubook.backend.repository.BookRepository;
 import com.batubook.backend.repository.QuoteRepository;
 import com.batubook.backend.repository.UserRepository;
 import com.batubook.backend.service.serviceImplementation.QuoteServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -51,6 +52,9 @@ public class QuoteServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private HomeTimeline homeTimeline;
+
     @InjectMocks
     private QuoteServiceImpl quoteService;
 
@@ -60,7 +64,7 @@ public class QuoteServiceTest {
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        reset(quoteRepository, quoteMapper, userRepository, bookRepository);
+        reset(quoteRepository, quoteMapper, userRepository, bookRepository, homeTimeline);
         initializeMockData();
         logger.info("Test environment setup complete.");
     }
@@ -68,7 +72,7 @@ public class QuoteServiceTest {
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(quoteRepository, quoteMapper, userRepository, bookRepository);
+        reset(quoteRepository, quoteMapper, userRepository, bookRepository, homeTimeline);
         logger.info("Cleanup complete.");
     }
 
@@ -4,7 +4,9 @@ import com.batubook.backend.entity.*;
 import com.batubook.backend.entity.enums.Gender;
 import com.batubook.backend.entity.enums.Genre;
 import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.repository.BookDetailView;
 import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.repository.BookSalesRepository;
 import com.batubook.backend.repository.ReviewRepository;
 import com.batubook.backend.repository.UserRepository;
 import org.junit.jupiter.api.*;
@@ -18,6 +20,7 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,6 +40,9 @@ class ReviewRepositoryTest {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookSalesRepository bookSalesRepository;
+
     private UserEntity user;
     private BookEntity book;
 
@@ -79,6 +85,7 @@ class ReviewRepositoryTest {
     void tearDown() {
         logger.info("Cleaning up test data...");
         reviewRepository.deleteAll();
+        bookSalesRepository.deleteAll();
         bookRepository.deleteAll();
         userRepository.deleteAll();
     }
@@ -137,4 +144,42 @@ class ReviewRepositoryTest {
 
         assertThat(savedReview.getReviewText()).isEqualTo("Excellent book!");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(4)
+    @DisplayName("Should aggregate book detail with rating, counts and the cheapest available offer")
+    void testFindBookDetailById_ShouldAggregateReviewsAndCheapestOffer() {
+        reviewRepository.save(ReviewEntity.builder().reviewText("Loved it").rating(BigDecimal.valueOf(5.0)).user(user).book(book).build());
+        reviewRepository.save(ReviewEntity.builder().reviewText("Not bad at all").rating(BigDecimal.valueOf(4.0)).user(user).book(book).build());
+
+        bookSalesRepository.save(createSale("SALE001", 100.0, 10.0, true, 5));
+        bookSalesRepository.save(createSale("SALE002", 95.0, 0.0, true, 5));
+        bookSalesRepository.save(createSale("SALE003", 10.0, 0.0, false, 5));
+        bookSalesRepository.save(createSale("SALE004", 20.0, 0.0, true, 0));
+
+        Optional<BookDetailView> detail = bookRepository.findBookDetailById(book.getId());
+
+        assertThat(detail).isPresent();
+        assertThat(detail.get().getTitle()).isEqualTo("Test Book");
+        assertThat(detail.get().getPublishDate()).isEqualTo(book.getPublishDate());
+        assertThat(detail.get().getAverageRating()).isEqualByComparingTo("4.5");
+        assertThat(detail.get().getReviewCount()).isEqualTo(2L);
+        assertThat(detail.get().getReaderCount()).isZero();
+        assertThat(detail.get().getFollowerCount()).isZero();
+        assertThat(detail.get().getOfferSalesCode()).isEqualTo("SALE001");
+        assertThat(detail.get().getOfferCurrency()).isEqualTo("USD");
+    }
+
+    private BookSalesEntity createSale(String salesCode, double price, double discount, boolean available, int stock) {
+        return BookSalesEntity.builder()
+                .salesCode(salesCode)
+                .publisher("Test Publisher")
+                .price(price)
+                .stockQuantity(stock)
+                .currency(BookSalesEntity.Currency.USD)
+                .discount(discount)
+                .isAvailable(available)
+                .book(book)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.batubook.backend.Tests.ReviewTests;
 
+import com.batubook.backend.cache.BookDetailCache;
 import com.batubook.backend.dto.*;
 import com.batubook.backend.entity.*;
 import com.batubook.backend.entity.enums.Gender;
@@ -11,6 +12,7 @@ import com.batubook.backend.repository.BookRepository;
 import com.batubook.backend.repository.ReviewRepository;
 import com.batubook.backend.repository.UserRepository;
 import com.batubook.backend.service.serviceImplementation.ReviewServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -53,6 +55,12 @@ public class ReviewServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookDetailCache bookDetailCache;
+
+
+    @Mock
+    private HomeTimeline homeTimeline;
 
     @InjectMocks
     private ReviewServiceImpl reviewService;
@@ -63,7 +71,7 @@ public class ReviewServiceTest {
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        reset(reviewRepository, reviewMapper, userRepository, bookRepository);
+        reset(reviewRepository, reviewMapper, userRepository, bookRepository, bookDetailCache, homeTimeline);
         initializeMockData();
         logger.info("Test environment setup complete.");
     }
@@ -71,7 +79,7 @@ public class ReviewServiceTest {
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(reviewRepository, reviewMapper, userRepository, bookRepository);
+        reset(reviewRepository, reviewMapper, userRepository, bookRepository, bookDetailCache, homeTimeline);
         logger.info("Cleanup complete.");
     }
 
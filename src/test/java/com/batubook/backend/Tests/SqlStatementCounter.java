@@ -0,0 +1,45 @@
+package com.batubook.backend.Tests;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can assert how many round trips a code path takes.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} set to this class;
+ * Hibernate creates its own instance, so the recorded statements are kept statically.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.batubook.backend.Tests.SqlStatementCounter";
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public static int count() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+}
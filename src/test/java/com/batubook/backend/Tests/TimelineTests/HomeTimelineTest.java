@@ -0,0 +1,341 @@
+package com.batubook.backend.Tests.TimelineTests;
+
+import com.batubook.backend.dto.TimelineEntryDTO;
+import com.batubook.backend.entity.ActivityEntity;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.mapper.*;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.repository.ActivityRepository;
+import com.batubook.backend.service.serviceImplementation.TimelineServiceImpl;
+import com.batubook.backend.timeline.HomeTimeline;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Home timelines built from real activity rows: fan-out into read timelines, accounts over the fan-out limit
+ * merged on read, keyset paging past the in-memory capacity, and a load test on a skewed follower distribution.
+ */
+@DataJpaTest
+@Import({TimelineServiceImpl.class, HomeTimeline.class, ReviewMapperImpl.class, QuoteMapperImpl.class,
+        BookInteractionMapperImpl.class, RepostSaveMapperImpl.class, LikeMapperImpl.class, MessageMapperImpl.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "batubook.timeline.fanout-limit=3",
+        "batubook.timeline.capacity=4"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HomeTimelineTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeTimelineTest.class);
+
+    @Autowired
+    private TimelineServiceImpl timelineService;
+
+    @Autowired
+    private HomeTimeline homeTimeline;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Never loaded, so fan-out reads followers from the database rows the tests insert.
+    @MockitoBean
+    private FollowGraph followGraph;
+
+    private long ada;
+    private long bora;
+    private long cem;
+    private long star;
+    private long dune;
+
+    @BeforeEach
+    void setUp() {
+        ada = insertUser("adalet");
+        bora = insertUser("boran");
+        cem = insertUser("cemal");
+        star = insertUser("starreader");
+        dune = insert("INSERT INTO books (title, author, isbn, page_count, publish_date, genre, created_at, updated_at) VALUES ('Dune', 'Frank Herbert', '1000000001', 412, '1965-08-01', 'DYSTOPIA', ?, ?)",
+                now(), now());
+        follow(ada, bora);
+        follow(ada, star);
+        follow(cem, bora);
+        // Only the counter decides whether an account is fanned out, so the popular account needs no real followers.
+        jdbcTemplate.update("UPDATE users SET follower_count = 3 WHERE id = ?", star);
+        jdbcTemplate.update("UPDATE users SET follower_count = 2 WHERE id = ?", bora);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should push followed users' activities and merge popular accounts in on read")
+    void shouldBuildHomeTimeline() {
+        logger.info("Starting test for building a home timeline...");
+        assertThat(timelineService.getHomeTimeline(ada, "", 10).getContent()).isEmpty();
+
+        long review = publishReview(bora);
+        long quote = insert("INSERT INTO quotes (quote_text, user_id, book_id, created_at, updated_at) VALUES ('Fear is the mind-killer', ?, ?, ?, ?)",
+                star, dune, now(), now());
+        homeTimeline.publish(ActivityEntity.ActivityType.QUOTE, star, quote);
+        long interaction = insert("INSERT INTO book_interactions (description, is_read, is_liked, user_id, book_id, created_at, updated_at) VALUES ('Loved it', TRUE, TRUE, ?, ?, ?, ?)",
+                ada, dune, now(), now());
+        homeTimeline.publish(ActivityEntity.ActivityType.BOOK_INTERACTION, ada, interaction);
+        long repost = insert("INSERT INTO repost_saves (action_type, user_id, quote_id, created_at, updated_at) VALUES ('REPOST', ?, ?, ?, ?)",
+                cem, quote, now(), now());
+        homeTimeline.publish(ActivityEntity.ActivityType.REPOST, cem, repost);
+        // The test transaction never commits, so run the after-commit callbacks the fan-out was deferred to.
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        List<TimelineEntryDTO> entries = timelineService.getHomeTimeline(ada, "", 10).getContent();
+        assertThat(entries).extracting(TimelineEntryDTO::getActivityType).containsExactly(
+                ActivityEntity.ActivityType.BOOK_INTERACTION, ActivityEntity.ActivityType.QUOTE, ActivityEntity.ActivityType.REVIEW);
+        assertEquals(interaction, entries.get(0).getBookInteraction().getId());
+        assertEquals(quote, entries.get(1).getQuote().getId());
+        assertEquals(star, entries.get(1).getActorId());
+        assertEquals(review, entries.get(2).getReview().getId());
+        assertNull(entries.get(2).getQuote());
+
+        assertThat(timelineService.getHomeTimeline(cem, "", 10).getContent())
+                .extracting(TimelineEntryDTO::getActivityType)
+                .containsExactly(ActivityEntity.ActivityType.REPOST, ActivityEntity.ActivityType.REVIEW);
+        logger.info("Test for building a home timeline completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should page by cursor past the activities kept in memory")
+    void shouldPageByCursor() {
+        logger.info("Starting test for paging a home timeline...");
+        List<Long> reviews = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            reviews.add(publishReview(bora));
+        }
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        Collections.reverse(reviews);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        CursorPage<TimelineEntryDTO> page;
+        do {
+            page = timelineService.getHomeTimeline(ada, cursor, 3);
+            page.getContent().forEach(entry -> seen.add(entry.getReview().getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (page.isHasNext());
+
+        assertEquals(3, pages);
+        assertEquals(reviews, seen);
+        logger.info("Test for paging a home timeline completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should skip deleted content and rebuild the timeline after an unfollow")
+    void shouldSkipDeletedContentAndRebuildOnUnfollow() {
+        logger.info("Starting test for deleted content and unfollows...");
+        long kept = publishReview(bora);
+        long deleted = publishReview(bora);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(timelineService.getHomeTimeline(ada, "", 10).getContent()).hasSize(2);
+
+        jdbcTemplate.update("DELETE FROM reviews WHERE id = ?", deleted);
+        List<TimelineEntryDTO> entries = timelineService.getHomeTimeline(ada, "", 10).getContent();
+        assertThat(entries).extracting(entry -> entry.getReview().getId()).containsExactly(kept);
+
+        jdbcTemplate.update("DELETE FROM follows WHERE follower_id = ? AND followed_user_id = ?", ada, bora);
+        homeTimeline.invalidate(ada);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(timelineService.getHomeTimeline(ada, "", 10).getContent()).isEmpty();
+        logger.info("Test for deleted content and unfollows completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should keep merging an account that drops under the fan-out limit into timelines built before")
+    void shouldKeepActivitiesOfAccountDroppingUnderFanoutLimit() {
+        logger.info("Starting test for an account dropping under the fan-out limit...");
+        assertThat(timelineService.getHomeTimeline(ada, "", 10).getContent()).isEmpty();
+        long quote = insert("INSERT INTO quotes (quote_text, user_id, book_id, created_at, updated_at) VALUES ('Fear is the mind-killer', ?, ?, ?, ?)",
+                star, dune, now(), now());
+        homeTimeline.publish(ActivityEntity.ActivityType.QUOTE, star, quote);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        // The quote was only merged in on read and never pushed; now the account counts as fanned out.
+        jdbcTemplate.update("UPDATE users SET follower_count = 2 WHERE id = ?", star);
+
+        List<TimelineEntryDTO> entries = timelineService.getHomeTimeline(ada, "", 10).getContent();
+        assertThat(entries).extracting(entry -> entry.getQuote().getId()).containsExactly(quote);
+        logger.info("Test for an account dropping under the fan-out limit completed.");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should throw exception for a missing user or an invalid page size")
+    void shouldThrowExceptionForInvalidRequests() {
+        logger.info("Starting test for invalid home timeline requests...");
+        assertThrows(CustomExceptions.NotFoundException.class, () -> timelineService.getHomeTimeline(999L, "", 10));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> timelineService.getHomeTimeline(ada, "", 0));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> timelineService.getHomeTimeline(ada, "not-a-cursor", 10));
+        logger.info("Test for invalid home timeline requests completed.");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should read home timelines in milliseconds on a skewed follower distribution")
+    void homeTimeline_LoadTest() {
+        logger.info("Starting test for home timeline read latency...");
+        int users = 5_000;
+        int activities = 100_000;
+        int fanoutLimit = 500;
+        Random random = new Random(7);
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"loaduser" + i, "loaduser" + i + "@batubook.com", now(), now()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)", userRows);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'loaduser%' ORDER BY id", Long.class);
+
+        // Each user follows 5 to 100 accounts picked with a strong bias towards the first ones, so a handful of
+        // accounts end up with thousands of followers and most with a few.
+        List<Object[]> followRows = new ArrayList<>();
+        for (int follower = 0; follower < users; follower++) {
+            int followings = 5 + random.nextInt(96);
+            Set<Integer> followed = new HashSet<>();
+            while (followed.size() < followings) {
+                int candidate = (int) (users * Math.pow(random.nextDouble(), 3));
+                if (candidate != follower) {
+                    followed.add(candidate);
+                }
+            }
+            for (int target : followed) {
+                followRows.add(new Object[]{ids.get(follower), ids.get(target), now(), now()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)", followRows);
+        jdbcTemplate.update("UPDATE users SET follower_count = (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = users.id)");
+        Integer popular = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE follower_count >= ?", Integer.class, fanoutLimit);
+        Integer maxFollowers = jdbcTemplate.queryForObject("SELECT MAX(follower_count) FROM users", Integer.class);
+
+        List<Object[]> activityRows = new ArrayList<>();
+        for (int i = 0; i < activities; i++) {
+            activityRows.add(new Object[]{ids.get(random.nextInt(users)), i + 1L, now(), now()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO activities (actor_id, activity_type, target_id, created_at, updated_at) VALUES (?, 'REVIEW', ?, ?, ?)", activityRows);
+        logger.info("Loaded {} follows and {} activities; {} accounts over the fan-out limit, at most {} followers",
+                followRows.size(), activities, popular, maxFollowers);
+
+        FollowGraph loadedGraph = new FollowGraph(jdbcTemplate, 100_000);
+        loadedGraph.load();
+        HomeTimeline timeline = new HomeTimeline(jdbcTemplate, activityRepository, loadedGraph, fanoutLimit, 500, 100_000, Duration.ofHours(6));
+
+        List<Long> readers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            readers.add(ids.get(random.nextInt(users)));
+        }
+        long[] cold = new long[readers.size()];
+        for (int i = 0; i < readers.size(); i++) {
+            long start = System.nanoTime();
+            timeline.read(readers.get(i), Long.MAX_VALUE, 20);
+            cold[i] = System.nanoTime() - start;
+        }
+
+        int warmReads = 3_000;
+        long[] warm = new long[warmReads];
+        long[] secondPage = new long[warmReads];
+        for (int i = 0; i < warmReads; i++) {
+            long reader = readers.get(random.nextInt(readers.size()));
+            long start = System.nanoTime();
+            List<Long> first = timeline.read(reader, Long.MAX_VALUE, 20);
+            long read = System.nanoTime();
+            timeline.read(reader, first.isEmpty() ? Long.MAX_VALUE : first.get(first.size() - 1), 20);
+            secondPage[i] = System.nanoTime() - read;
+            warm[i] = read - start;
+        }
+
+        int published = 2_000;
+        long publishStart = System.nanoTime();
+        for (int i = 0; i < published; i++) {
+            timeline.publish(ActivityEntity.ActivityType.REVIEW, ids.get(random.nextInt(users)), activities + i + 1L);
+        }
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        double publishMillis = (System.nanoTime() - publishStart) / 1_000_000.0 / published;
+
+        long reader = readers.get(0);
+        List<Long> latest = timeline.read(reader, Long.MAX_VALUE, 20);
+        List<Long> expected = jdbcTemplate.queryForList("""
+                SELECT a.id FROM activities a
+                WHERE a.actor_id = ? OR a.actor_id IN (SELECT followed_user_id FROM follows WHERE follower_id = ?)
+                ORDER BY a.id DESC LIMIT 20
+                """, Long.class, reader, reader);
+
+        logger.info("Cold read (timeline built from the database): p50 {} ms, p99 {} ms", percentile(cold, 50), percentile(cold, 99));
+        logger.info("Warm first page: p50 {} ms, p99 {} ms; second page: p50 {} ms, p99 {} ms",
+                percentile(warm, 50), percentile(warm, 99), percentile(secondPage, 50), percentile(secondPage, 99));
+        logger.info("Publish with fan-out: {} ms per activity over {} activities", publishMillis, published);
+        assertEquals(expected, latest);
+        assertTrue(percentile(warm, 99) < 50);
+        logger.info("Test for home timeline read latency completed.");
+    }
+
+    private long publishReview(long userId) {
+        long review = insert("INSERT INTO reviews (review_text, rating, user_id, book_id, created_at, updated_at) VALUES ('Worth reading', ?, ?, ?, ?, ?)",
+                BigDecimal.valueOf(4.5), userId, dune, now(), now());
+        homeTimeline.publish(ActivityEntity.ActivityType.REVIEW, userId, review);
+        return review;
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000.0;
+    }
+
+    private long insertUser(String username) {
+        return insert("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)",
+                username, username + "@batubook.com", now(), now());
+    }
+
+    private void follow(long followerId, long followedUserId) {
+        jdbcTemplate.update("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                followerId, followedUserId, now(), now());
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private long insert(String sql, Object... arguments) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < arguments.length; i++) {
+                statement.setObject(i + 1, arguments[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+}
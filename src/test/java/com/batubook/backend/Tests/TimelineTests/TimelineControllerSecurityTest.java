@@ -0,0 +1,54 @@
+package com.batubook.backend.Tests.TimelineTests;
+
+import com.batubook.backend.controller.TimelineController;
+import com.batubook.backend.dto.TimelineEntryDTO;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.security.SecurityConfig;
+import com.batubook.backend.service.serviceImplementation.TimelineServiceImpl;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The timeline endpoint behind the application's own security filter chain, which has to let it through like the
+ * other {@code /api/**} endpoints instead of answering 403.
+ */
+@WebMvcTest(TimelineController.class)
+@Import(SecurityConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TimelineControllerSecurityTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineControllerSecurityTest.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TimelineServiceImpl timelineService;
+
+    @Test
+    @Order(1)
+    @DisplayName("Should serve the home timeline without authentication")
+    void shouldPermitHomeTimeline() throws Exception {
+        logger.info("Starting test for timeline access...");
+        when(timelineService.getHomeTimeline(1L, "", 20))
+                .thenReturn(CursorPage.of(List.<TimelineEntryDTO>of(), 20, TimelineEntryDTO::getId));
+
+        mockMvc.perform(get("/api/timeline/home/1")).andExpect(status().isOk());
+        verify(timelineService).getHomeTimeline(1L, "", 20);
+        mockMvc.perform(get("/api/unmapped")).andExpect(status().isForbidden());
+        logger.info("Test for timeline access completed.");
+    }
+}
@@ -1,5 +1,6 @@
 package com.batubook.backend.Tests.UserProfileTests;
 
+import com.batubook.backend.cache.UserCache;
 import com.batubook.backend.dto.UserProfileDTO;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.entity.UserProfileEntity;
@@ -43,6 +44,9 @@ public class UserProfileServiceTest {
     @Mock
     private UserProfileMapper userProfileMapper;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private UserProfileServiceImpl userProfileService;
 
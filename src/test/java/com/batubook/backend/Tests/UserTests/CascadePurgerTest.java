@@ -0,0 +1,261 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.deletion.CascadePurger;
+import com.batubook.backend.entity.DeletionJobEntity;
+import com.batubook.backend.like.LikeCounter;
+import com.batubook.backend.repository.BookRepository;
+import com.batubook.backend.repository.DeletionJobRepository;
+import com.batubook.backend.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Builds a small graph around two users and two books with plain inserts and checks that purging one target
+ * removes exactly the rows that depend on it, in chunks of two, while everything else survives, and that the
+ * like counts of what is left add up.
+ */
+@DataJpaTest
+@Import({CascadePurger.class, LikeCounter.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "batubook.deletion.chunk-size=2")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CascadePurgerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CascadePurgerTest.class);
+    private static final List<String> TABLES = List.of("likes", "messages", "repost_saves", "follows", "reviews",
+            "quotes", "book_interactions", "book_sales", "user_profiles", "users", "books");
+
+    @Autowired
+    private CascadePurger cascadePurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @MockitoBean
+    private UserAvailabilityFilter userAvailabilityFilter;
+
+    private long alice;
+    private long bob;
+    private long orwell;
+    private long tolstoy;
+    private long bobReview;
+    private long directMessage;
+
+    @BeforeEach
+    void setUp() {
+        alice = insert("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)",
+                "alicereads", "alicereads@batubook.com", now(), now());
+        bob = insert("INSERT INTO users (username, email, password, role, created_at, updated_at) VALUES (?, ?, 'x', 'USER', ?, ?)",
+                "bobreads", "bobreads@batubook.com", now(), now());
+        insert("INSERT INTO user_profiles (biography, location, date_of_birth, gender, user_id, created_at, updated_at) VALUES ('Reader', 'Istanbul', ?, 'FEMALE', ?, ?, ?)",
+                LocalDate.of(2000, 1, 1), alice, now(), now());
+        orwell = insertBook("1984", "0451524934");
+        tolstoy = insertBook("War and Peace", "1400079985");
+        insert("INSERT INTO book_sales (sales_code, publisher, price, stock_quantity, currency, discount, is_available, book_id, created_at, updated_at) VALUES ('SALE001', 'Penguin', 10.0, 5, 'USD', 0, TRUE, ?, ?, ?)",
+                orwell, now(), now());
+
+        long aliceReview = insertReview(alice, orwell);
+        bobReview = insertReview(bob, orwell);
+        insertReview(bob, tolstoy);
+        long aliceQuote = insert("INSERT INTO quotes (quote_text, user_id, book_id, created_at, updated_at) VALUES ('Big Brother is watching', ?, ?, ?, ?)",
+                alice, orwell, now(), now());
+        long aliceInteraction = insertInteraction(alice, orwell);
+        insertInteraction(bob, tolstoy);
+
+        directMessage = insert("INSERT INTO messages (message_content, message_type, sender_id, receiver_id, created_at, updated_at) VALUES ('Hello there', 'PERSONAL', ?, ?, ?, ?)",
+                bob, alice, now(), now());
+        long reviewMessage = insert("INSERT INTO messages (message_content, message_type, sender_id, review_id, created_at, updated_at) VALUES ('Great review', 'REVIEW', ?, ?, ?, ?)",
+                bob, aliceReview, now(), now());
+
+        insert("INSERT INTO likes (user_id, review_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, aliceReview, now(), now());
+        insert("INSERT INTO likes (user_id, quote_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, aliceQuote, now(), now());
+        insert("INSERT INTO likes (user_id, book_interaction_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, aliceInteraction, now(), now());
+        insert("INSERT INTO likes (user_id, message_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, reviewMessage, now(), now());
+        insert("INSERT INTO likes (user_id, message_id, created_at, updated_at) VALUES (?, ?, ?, ?)", alice, directMessage, now(), now());
+        insert("INSERT INTO likes (user_id, review_id, created_at, updated_at) VALUES (?, ?, ?, ?)", alice, bobReview, now(), now());
+
+        insertLikeCount("REVIEW", aliceReview);
+        insertLikeCount("REVIEW", bobReview);
+        insertLikeCount("QUOTE", aliceQuote);
+        insertLikeCount("BOOK_INTERACTION", aliceInteraction);
+        insertLikeCount("MESSAGE", reviewMessage);
+        insertLikeCount("MESSAGE", directMessage);
+
+        insert("INSERT INTO repost_saves (action_type, user_id, quote_id, created_at, updated_at) VALUES ('REPOST', ?, ?, ?, ?)", bob, aliceQuote, now(), now());
+        insert("INSERT INTO repost_saves (action_type, user_id, review_id, created_at, updated_at) VALUES ('SAVE', ?, ?, ?, ?)", bob, bobReview, now(), now());
+
+        insert("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, alice, now(), now());
+        insert("INSERT INTO follows (follower_id, followed_user_id, created_at, updated_at) VALUES (?, ?, ?, ?)", alice, bob, now(), now());
+        insert("INSERT INTO follows (follower_id, followed_book_id, created_at, updated_at) VALUES (?, ?, ?, ?)", alice, tolstoy, now(), now());
+        insert("INSERT INTO follows (follower_id, followed_book_id, created_at, updated_at) VALUES (?, ?, ?, ?)", bob, orwell, now(), now());
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should hide a tombstoned user and then purge it with everything that depends on it")
+    void shouldPurgeUserWithDependents() {
+        logger.info("Starting test for purging a user...");
+        assertEquals(1, userRepository.tombstoneById(alice, LocalDateTime.now()));
+        entityManager.clear();
+        assertTrue(userRepository.findById(alice).isEmpty());
+        assertEquals(0, userRepository.tombstoneById(alice, LocalDateTime.now()));
+        // The name stays taken until the purge frees it.
+        assertTrue(userRepository.existsByUsernameIncludingDeleted("alicereads"));
+        assertTrue(userRepository.existsByEmailIncludingDeleted("alicereads@batubook.com"));
+
+        long rowsBefore = totalRows();
+        Long jobId = createJob(DeletionJobEntity.TargetType.USER, alice);
+        long deleted = cascadePurger.purge(jobId, DeletionJobEntity.TargetType.USER, alice);
+
+        assertEquals(rowsBefore - totalRows(), deleted);
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", alice));
+        assertEquals(0, count("SELECT COUNT(*) FROM likes WHERE user_id = ? OR review_id IN (SELECT id FROM reviews WHERE user_id = ?)", alice, alice));
+        assertEquals(0, count("SELECT COUNT(*) FROM messages WHERE sender_id = ? OR receiver_id = ?", alice, alice));
+        assertEquals(0, count("SELECT COUNT(*) FROM follows WHERE follower_id = ? OR followed_user_id = ?", alice, alice));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_profiles WHERE user_id = ?", alice));
+        assertEquals(2, count("SELECT COUNT(*) FROM reviews WHERE user_id = ?", bob));
+        assertEquals(1, count("SELECT COUNT(*) FROM repost_saves WHERE user_id = ?", bob));
+        assertEquals(1, count("SELECT COUNT(*) FROM follows WHERE follower_id = ?", bob));
+        assertEquals(2, count("SELECT COUNT(*) FROM books"));
+
+        entityManager.clear();
+        DeletionJobEntity job = deletionJobRepository.findById(jobId).orElseThrow();
+        assertEquals(deleted, job.getDeletedRows());
+        assertNotNull(job.getCurrentStep());
+        verify(userAvailabilityFilter).remove("alicereads", "alicereads@batubook.com");
+        assertFalse(userRepository.existsByUsernameIncludingDeleted("alicereads"));
+        // Alice's like on Bob's review is gone from its count; the counts of her content are gone with it.
+        assertEquals(1, count("SELECT COUNT(*) FROM like_counts"));
+        assertEquals(0, count("SELECT like_count FROM like_counts WHERE target_type = 'REVIEW' AND target_id = ?", bobReview));
+        logger.info("Test for purging a user completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should purge a book with its reviews, sales, followers and the rows pointing at them")
+    void shouldPurgeBookWithDependents() {
+        logger.info("Starting test for purging a book...");
+        assertEquals(1, bookRepository.tombstoneById(orwell, LocalDateTime.now()));
+        entityManager.clear();
+        assertTrue(bookRepository.findById(orwell).isEmpty());
+        assertEquals(Set.of("0451524934"), bookRepository.findExistingIsbns(List.of("0451524934", "0000000000")));
+
+        long rowsBefore = totalRows();
+        Long jobId = createJob(DeletionJobEntity.TargetType.BOOK, orwell);
+        long deleted = cascadePurger.purge(jobId, DeletionJobEntity.TargetType.BOOK, orwell);
+
+        assertEquals(rowsBefore - totalRows(), deleted);
+        assertEquals(0, count("SELECT COUNT(*) FROM books WHERE id = ?", orwell));
+        assertEquals(0, count("SELECT COUNT(*) FROM reviews WHERE book_id = ?", orwell));
+        assertEquals(0, count("SELECT COUNT(*) FROM book_sales"));
+        assertEquals(0, count("SELECT COUNT(*) FROM follows WHERE followed_book_id = ?", orwell));
+        assertEquals(0, count("SELECT COUNT(*) FROM likes WHERE message_id IS NOT NULL AND user_id = ?", bob));
+        assertEquals(1, count("SELECT COUNT(*) FROM messages"));
+        assertEquals(1, count("SELECT COUNT(*) FROM reviews WHERE book_id = ?", tolstoy));
+        assertEquals(1, count("SELECT COUNT(*) FROM book_interactions WHERE book_id = ?", tolstoy));
+        assertEquals(2, count("SELECT COUNT(*) FROM users"));
+        assertEquals(1, count("SELECT COUNT(*) FROM like_counts"));
+        assertEquals(1, count("SELECT like_count FROM like_counts WHERE target_type = 'MESSAGE' AND target_id = ?", directMessage));
+        logger.info("Test for purging a book completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should find nothing left to delete when a finished purge runs again")
+    void shouldBeIdempotent() {
+        logger.info("Starting test for purging twice...");
+        Long jobId = createJob(DeletionJobEntity.TargetType.USER, alice);
+        cascadePurger.purge(jobId, DeletionJobEntity.TargetType.USER, alice);
+
+        assertEquals(0, cascadePurger.purge(jobId, DeletionJobEntity.TargetType.USER, alice));
+        logger.info("Test for purging twice completed.");
+    }
+
+    private Long createJob(DeletionJobEntity.TargetType targetType, long targetId) {
+        return entityManager.persistAndFlush(DeletionJobEntity.builder()
+                .targetType(targetType)
+                .targetId(targetId)
+                .build()).getId();
+    }
+
+    private long totalRows() {
+        long rows = 0;
+        for (String table : TABLES) {
+            rows += count("SELECT COUNT(*) FROM " + table);
+        }
+        return rows;
+    }
+
+    private long count(String sql, Object... arguments) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, arguments);
+        return count == null ? 0 : count;
+    }
+
+    private long insertBook(String title, String isbn) {
+        return insert("INSERT INTO books (title, author, isbn, page_count, publish_date, genre, created_at, updated_at) VALUES (?, 'Author', ?, 300, ?, 'DYSTOPIA', ?, ?)",
+                title, isbn, LocalDate.of(1949, 6, 8), now(), now());
+    }
+
+    private long insertReview(long userId, long bookId) {
+        return insert("INSERT INTO reviews (review_text, rating, user_id, book_id, created_at, updated_at) VALUES ('Worth reading', 4.5, ?, ?, ?, ?)",
+                userId, bookId, now(), now());
+    }
+
+    private long insertInteraction(long userId, long bookId) {
+        return insert("INSERT INTO book_interactions (is_read, is_liked, user_id, book_id, created_at, updated_at) VALUES (TRUE, TRUE, ?, ?, ?, ?)",
+                userId, bookId, now(), now());
+    }
+
+    private void insertLikeCount(String targetType, long targetId) {
+        insert("INSERT INTO like_counts (target_type, target_id, like_count, created_at, updated_at) VALUES (?, ?, 1, ?, ?)",
+                targetType, targetId, now(), now());
+    }
+
+    private long insert(String sql, Object... arguments) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < arguments.length; i++) {
+                statement.setObject(i + 1, arguments[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+}
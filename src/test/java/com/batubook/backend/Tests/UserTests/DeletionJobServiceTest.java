@@ -0,0 +1,118 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.deletion.CascadePurger;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.mapper.DeletionJobMapperImpl;
+import com.batubook.backend.repository.DeletionJobRepository;
+import com.batubook.backend.service.serviceImplementation.DeletionJobServiceImpl;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DeletionJobServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionJobServiceTest.class);
+
+    private DeletionJobRepository deletionJobRepository;
+    private CascadePurger cascadePurger;
+    private DeletionJobServiceImpl deletionJobService;
+
+    @BeforeEach
+    void setUp() {
+        deletionJobRepository = mock(DeletionJobRepository.class);
+        cascadePurger = mock(CascadePurger.class);
+        deletionJobService = new DeletionJobServiceImpl(deletionJobRepository, new DeletionJobMapperImpl(), cascadePurger, 3);
+        when(deletionJobRepository.save(any())).thenAnswer(invocation -> {
+            DeletionJobEntity job = invocation.getArgument(0);
+            job.setId(5L);
+            when(deletionJobRepository.findById(5L)).thenReturn(Optional.of(job));
+            return job;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        deletionJobService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should return a pending job and purge its target in the background")
+    void shouldScheduleAndRunDeletion() {
+        logger.info("Starting test for scheduling a deletion job...");
+        when(cascadePurger.purge(5L, DeletionJobEntity.TargetType.USER, 42L)).thenReturn(17L);
+
+        DeletionJobDTO job = deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.USER, 42L);
+
+        assertEquals(5L, job.getId());
+        assertEquals(DeletionJobEntity.Status.PENDING, job.getStatus());
+        assertEquals(0L, job.getDeletedRows());
+        verify(deletionJobRepository, timeout(5000)).markFinished(eq(5L), eq(DeletionJobEntity.Status.COMPLETED),
+                isNull(), notNull(), any());
+        verify(deletionJobRepository).markStarted(eq(5L), eq(DeletionJobEntity.Status.RUNNING), any());
+        logger.info("Test for scheduling a deletion job completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should start the purge over after a failure and give up after the last attempt")
+    void shouldRetryFailedPurges() {
+        logger.info("Starting test for retrying a failed purge...");
+        when(cascadePurger.purge(5L, DeletionJobEntity.TargetType.BOOK, 9L))
+                .thenThrow(new DataIntegrityViolationException("fk_likes_review"));
+
+        deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.BOOK, 9L);
+
+        verify(deletionJobRepository, timeout(5000).times(3)).markFinished(eq(5L), eq(DeletionJobEntity.Status.FAILED),
+                eq("fk_likes_review"), isNull(), any());
+        verify(deletionJobRepository, times(3)).markStarted(eq(5L), eq(DeletionJobEntity.Status.RUNNING), any());
+        verify(deletionJobRepository, never()).markFinished(eq(5L), eq(DeletionJobEntity.Status.COMPLETED),
+                any(), any(), any());
+        logger.info("Test for retrying a failed purge completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should resume unfinished jobs at startup")
+    void shouldResumeUnfinishedJobs() {
+        logger.info("Starting test for resuming deletion jobs...");
+        DeletionJobEntity interrupted = DeletionJobEntity.builder()
+                .id(8L)
+                .targetType(DeletionJobEntity.TargetType.USER)
+                .targetId(11L)
+                .status(DeletionJobEntity.Status.RUNNING)
+                .attempts(1)
+                .build();
+        when(deletionJobRepository.findIdsByStatusIn(any())).thenReturn(List.of(8L));
+        when(deletionJobRepository.findById(8L)).thenReturn(Optional.of(interrupted));
+
+        deletionJobService.resumeUnfinishedJobs();
+
+        verify(cascadePurger, timeout(5000)).purge(8L, DeletionJobEntity.TargetType.USER, 11L);
+        logger.info("Test for resuming deletion jobs completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should throw exception when deletion job is not found")
+    void shouldThrowExceptionWhenJobNotFound() {
+        logger.info("Starting test for fetching a missing deletion job...");
+        when(deletionJobRepository.findById(99L)).thenReturn(Optional.empty());
+
+        CustomExceptions.NotFoundException exception = assertThrows(CustomExceptions.NotFoundException.class,
+                () -> deletionJobService.getDeletionJobById(99L));
+
+        assertEquals("Deletion job not found with ID: 99", exception.getMessage());
+        logger.info("Test for fetching a missing deletion job completed.");
+    }
+}
@@ -0,0 +1,147 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.security.PasswordHasher;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures what a hash costs per BCrypt strength and what a burst of sign-ups does to read latency. The request
+ * pool stands in for Tomcat's worker threads: registrations and reads share it, exactly as they do in the
+ * application. Hashing inline lets the burst take every worker and all the CPU; with {@link PasswordHasher} only
+ * {@code threads + queueCapacity} registrations wait on a hash and the rest are refused at once.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PasswordHasherPerformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasherPerformanceTest.class);
+    private static final int STORM_STRENGTH = 8;
+    private static final int REQUEST_THREADS = 32;
+    private static final int REGISTRATIONS = 100;
+    private static final int READS = 100;
+
+    @Test
+    @Order(1)
+    @DisplayName("Hash cost should grow with strength while an unchanged password costs nothing")
+    void hashCost_PerformanceTest() {
+        long previous = 0;
+        for (int strength = 6; strength <= 10; strength++) {
+            PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(strength), 1, 4, Duration.ofSeconds(30));
+            try {
+                passwordHasher.hash("warmUp!123");
+                long[] samples = new long[5];
+                for (int i = 0; i < samples.length; i++) {
+                    long start = System.nanoTime();
+                    passwordHasher.hash("validPassword!123");
+                    samples[i] = System.nanoTime() - start;
+                }
+                Arrays.sort(samples);
+                long median = samples[samples.length / 2];
+                logger.info("strength={} median-hash={} ms", strength, median / 1_000_000.0);
+                if (strength == 10) {
+                    assertTrue(median > previous);
+                }
+                previous = median;
+
+                String stored = passwordHasher.hash("validPassword!123");
+                long start = System.nanoTime();
+                for (int i = 0; i < 1000; i++) {
+                    assertSame(stored, passwordHasher.hashIfChanged(stored, stored));
+                }
+                long echoed = (System.nanoTime() - start) / 1000;
+                logger.info("strength={} unchanged-hash-echo={} us", strength, echoed / 1000.0);
+                assertTrue(echoed < median);
+            } finally {
+                passwordHasher.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Reads should stay fast during a registration storm when hashing is bounded")
+    void registrationStorm_LoadTest() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STORM_STRENGTH);
+        encoder.encode("warmUp!123");
+
+        long inlineP99 = readP99DuringStorm("inline", password -> encoder.encode(password));
+
+        PasswordHasher passwordHasher = new PasswordHasher(encoder, 2, 8, Duration.ofSeconds(30));
+        AtomicInteger rejected = new AtomicInteger();
+        long boundedP99;
+        try {
+            boundedP99 = readP99DuringStorm("bounded", password -> {
+                try {
+                    passwordHasher.hash(password);
+                } catch (CustomExceptions.ServiceUnavailableException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        } finally {
+            passwordHasher.shutdown();
+        }
+
+        logger.info("registration storm: {} of {} registrations refused with 503", rejected.get(), REGISTRATIONS);
+        assertTrue(rejected.get() > 0);
+        assertTrue(boundedP99 < inlineP99, "bounded p99 " + boundedP99 + " ns, inline p99 " + inlineP99 + " ns");
+    }
+
+    private long readP99DuringStorm(String mode, Consumer<String> register) throws Exception {
+        ExecutorService requestPool = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            long stormStart = System.nanoTime();
+            List<Future<?>> registrations = new ArrayList<>();
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                String password = "storm" + i + "!Password";
+                registrations.add(requestPool.submit(() -> register.accept(password)));
+            }
+
+            long[] latencies = new long[READS];
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < READS; i++) {
+                int read = i;
+                long submitted = System.nanoTime();
+                reads.add(requestPool.submit(() -> {
+                    simulatedRead();
+                    latencies[read] = System.nanoTime() - submitted;
+                }));
+                TimeUnit.MILLISECONDS.sleep(2);
+            }
+            for (Future<?> future : reads) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            for (Future<?> future : registrations) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            Arrays.sort(latencies);
+            long p50 = latencies[READS / 2];
+            long p99 = latencies[(int) Math.ceil(READS * 0.99) - 1];
+            logger.info("{} hashing: storm took {} ms, read p50={} ms p99={} ms", mode,
+                    (System.nanoTime() - stormStart) / 1_000_000, p50 / 1_000_000.0, p99 / 1_000_000.0);
+            return p99;
+        } finally {
+            requestPool.shutdownNow();
+        }
+    }
+
+    private static long simulatedRead() {
+        long checksum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            checksum += (long) i * i;
+        }
+        return checksum;
+    }
+}
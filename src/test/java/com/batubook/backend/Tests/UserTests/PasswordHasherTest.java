@@ -0,0 +1,125 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.security.PasswordHasher;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PasswordHasherTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasherTest.class);
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher(encoder, 1, 4, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should only rehash a password that actually changed")
+    void shouldSkipRehashForUnchangedPassword() {
+        logger.info("Starting test for skipping unchanged passwords...");
+        String stored = passwordHasher.hash("validPassword!123");
+        assertTrue(encoder.matches("validPassword!123", stored));
+
+        assertSame(stored, passwordHasher.hashIfChanged("validPassword!123", stored));
+        assertSame(stored, passwordHasher.hashIfChanged(stored, stored));
+
+        String changed = passwordHasher.hashIfChanged("otherPassword!456", stored);
+        assertNotEquals(stored, changed);
+        assertTrue(encoder.matches("otherPassword!456", changed));
+        logger.info("Test for skipping unchanged passwords completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should rehash an unchanged password stored with a lower cost")
+    void shouldUpgradeHashesBelowConfiguredCost() {
+        logger.info("Starting test for cost upgrades...");
+        String weak = new BCryptPasswordEncoder(4).encode("validPassword!123");
+        PasswordHasher strongerHasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 4, Duration.ofSeconds(5));
+        try {
+            String upgraded = strongerHasher.hashIfChanged("validPassword!123", weak);
+            assertNotEquals(weak, upgraded);
+            assertTrue(upgraded.startsWith("$2a$05$"));
+        } finally {
+            strongerHasher.shutdown();
+        }
+        logger.info("Test for cost upgrades completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should refuse work with 503 once the pool and queue are full")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        logger.info("Starting test for queue backpressure...");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher saturatedHasher = new PasswordHasher(blockingEncoder, 1, 1, Duration.ofSeconds(5));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> saturatedHasher.hash("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> saturatedHasher.hash("second"));
+            while (saturatedHasher.queueDepth() < 1) {
+                Thread.onSpinWait();
+            }
+
+            CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                    CustomExceptions.ServiceUnavailableException.class, () -> saturatedHasher.hash("third"));
+            assertEquals("Too many password changes in progress, please retry shortly.", exception.getMessage());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+            saturatedHasher.shutdown();
+        }
+        logger.info("Test for queue backpressure completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should give up on a hash that exceeds the timeout")
+    void shouldTimeOutSlowHashes() {
+        logger.info("Starting test for hash timeouts...");
+        PasswordHasher impatientHasher = new PasswordHasher(new BCryptPasswordEncoder(14), 1, 1, Duration.ofMillis(10));
+        try {
+            assertThrows(CustomExceptions.ServiceUnavailableException.class, () -> impatientHasher.hash("validPassword!123"));
+        } finally {
+            impatientHasher.shutdown();
+        }
+        logger.info("Test for hash timeouts completed.");
+    }
+}
@@ -0,0 +1,138 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.entity.UserEntity;
+import com.batubook.backend.entity.UserProfileEntity;
+import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserAvailabilityFilterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilterTest.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(createTestUser("bbatuhan"));
+        userRepository.save(createTestUser("ayseyilmaz"));
+        userRepository.flush();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should load taken names and match them regardless of case and surrounding spaces")
+    void shouldLoadTakenNames() {
+        logger.info("Starting test for loading the availability filter...");
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(jdbcTemplate, 1000);
+        assertFalse(filter.isReady());
+
+        filter.load();
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContainUsername("bbatuhan"));
+        assertTrue(filter.mightContainUsername(" BBatuhan "));
+        assertTrue(filter.mightContainEmail("AYSEYILMAZ@batubook.com"));
+        assertFalse(filter.mightContainUsername("nobodyyet"));
+        assertFalse(filter.mightContainEmail("nobodyyet@batubook.com"));
+        logger.info("Test for loading the availability filter completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should apply removals only after the deleting transaction commits")
+    void shouldDeferRemovalsUntilCommit() {
+        logger.info("Starting test for deferred removals...");
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(jdbcTemplate, 1000);
+        filter.load();
+        filter.add("newreader", "newreader@batubook.com");
+        assertTrue(filter.mightContainUsername("newreader"));
+
+        filter.remove("newreader", null);
+
+        assertTrue(filter.mightContainUsername("newreader"));
+        assertTrue(filter.mightContainEmail("newreader@batubook.com"));
+        logger.info("Test for deferred removals completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should fall back to the database after overflowing until it is rebuilt")
+    void shouldRebuildAfterOverflow() {
+        logger.info("Starting test for filter overflow...");
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(jdbcTemplate, 4);
+        filter.load();
+        assertTrue(filter.isReady());
+
+        for (int i = 0; i < 100; i++) {
+            filter.add("reader" + i, "reader" + i + "@batubook.com");
+        }
+        assertFalse(filter.isReady());
+
+        filter.rebuildIfRequested();
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContainUsername("bbatuhan"));
+        logger.info("Test for filter overflow completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should keep the false positive rate well below one percent")
+    void shouldKeepFalsePositiveRateLow() {
+        logger.info("Starting test for false positive rate...");
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(jdbcTemplate, 40_000);
+        filter.load();
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("member" + i, "member" + i + "@batubook.com");
+        }
+        assertTrue(filter.isReady());
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContainUsername("member" + (i % 20_000)));
+            if (filter.mightContainUsername("visitor" + i)) {
+                falsePositives++;
+            }
+        }
+        logger.info("False positives: {} of 100000 unknown usernames", falsePositives);
+        assertTrue(falsePositives < 500);
+        logger.info("Test for false positive rate completed.");
+    }
+
+    private static UserEntity createTestUser(String username) {
+        UserEntity user = UserEntity.builder()
+                .username(username)
+                .email(username + "@batubook.com")
+                .password("validPassword!123")
+                .role(Role.USER)
+                .build();
+        user.setUserProfile(UserProfileEntity.builder()
+                .user(user)
+                .biography("Full Stack Software Developer")
+                .location("Istanbul")
+                .dateOfBirth(LocalDate.of(2000, 8, 14))
+                .gender(Gender.MALE)
+                .build());
+        return user;
+    }
+}
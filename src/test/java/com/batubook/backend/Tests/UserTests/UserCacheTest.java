@@ -0,0 +1,64 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.UserDTO;
+import com.batubook.backend.entity.enums.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheTest.class);
+
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(new ObjectMapper(), 2, 1 << 16);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should keep password hashes out of both cache tiers")
+    void shouldNotCachePasswordHash() {
+        logger.info("Starting test for cached password hashes...");
+        for (long id = 1; id <= 6; id++) {
+            long userId = id;
+            assertNull(userCache.get(userId, () -> user(userId)).getPassword());
+        }
+
+        for (long id = 1; id <= 6; id++) {
+            UserDTO cached = userCache.get(id, () -> fail("Cached user should not be loaded again"));
+            assertEquals("reader" + id, cached.getUsername());
+            assertNull(cached.getPassword());
+        }
+        assertTrue(userCache.stats().getOffHeapHits() >= 4);
+
+        Map<Long, UserDTO> batch = userCache.getAll(List.of(7L, 8L), ids -> {
+            Map<Long, UserDTO> users = new HashMap<>();
+            ids.forEach(id -> users.put(id, user(id)));
+            return users;
+        });
+        batch.values().forEach(user -> assertNull(user.getPassword()));
+        logger.info("Test for cached password hashes completed.");
+    }
+
+    private static UserDTO user(long id) {
+        return UserDTO.builder()
+                .id(id)
+                .username("reader" + id)
+                .email("reader" + id + "@batubook.com")
+                .password("$2a$10$storedHash" + id)
+                .role(Role.USER)
+                .build();
+    }
+}
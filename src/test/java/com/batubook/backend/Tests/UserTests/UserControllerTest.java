@@ -222,12 +222,12 @@ public class UserControllerTest {
 
     @Test
     @Order(9)
-    @DisplayName("It should delete user successfully")
+    @DisplayName("It should accept the deletion of a user")
     void deleteUser_success() throws Exception {
         logger.info("Starting test: It should delete user successfully.");
 
         mockMvc.perform(delete("/api/users/delete/{id}", mockUserEntity.getId()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted());
 
         assertThat(userRepository.existsById(mockUserEntity.getId())).isFalse();
 
@@ -0,0 +1,181 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.Tests.SqlStatementCounter;
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.UserDTO;
+import com.batubook.backend.entity.UserEntity;
+import com.batubook.backend.entity.UserProfileEntity;
+import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.mapper.UserMapperImpl;
+import com.batubook.backend.mapper.UserProfileMapperImpl;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
+import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.security.PasswordHasher;
+import com.batubook.backend.service.serviceImplementation.UserServiceImpl;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Checks the SQL a merge patch produces: only the changed columns are written, and a patch that changes nothing
+ * writes nothing at all.
+ */
+@DataJpaTest
+@Import({UserServiceImpl.class, UserMapperImpl.class, UserProfileMapperImpl.class, JsonMergePatcher.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = SqlStatementCounter.PROPERTY)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserPatchTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPatchTest.class);
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TotalCountService totalCountService;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    @MockitoBean
+    private UserCache userCache;
+
+    @MockitoBean
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @MockitoBean
+    private UserAvailabilityFilter userAvailabilityFilter;
+
+    @MockitoBean
+    private DeletionJobServiceInterface deletionJobService;
+
+    @MockitoBean
+    private FollowGraph followGraph;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(createTestUser()).getId();
+        testEntityManager.flush();
+        testEntityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should update only the patched column and leave the password hash alone")
+    void shouldUpdateOnlyPatchedColumn() throws Exception {
+        logger.info("Starting test for patching a single column...");
+        UserDTO patched = userService.patchUser(userId, objectMapper.readTree("{\"email\": \" Reader.New@BatuBook.com \"}"));
+
+        assertEquals("reader.new@batubook.com", patched.getEmail());
+        List<String> updates = updates();
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0)).startsWith("update users").contains("email")
+                .doesNotContain("username", "password", "role");
+        verifyNoInteractions(passwordHasher);
+        logger.info("Test for patching a single column completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should update only the user profile when only a profile field is patched")
+    void shouldUpdateOnlyProfile() throws Exception {
+        logger.info("Starting test for patching a profile field...");
+        UserDTO patched = userService.patchUser(userId, objectMapper.readTree("{\"userProfile\": {\"location\": \"Ankara\"}}"));
+
+        assertEquals("Ankara", patched.getUserProfile().getLocation());
+        List<String> updates = updates();
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0)).startsWith("update user_profiles").contains("location")
+                .doesNotContain("biography", "gender", "date_of_birth");
+        logger.info("Test for patching a profile field completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should skip the write when the patch changes nothing")
+    void shouldSkipNoOpPatch() throws Exception {
+        logger.info("Starting test for a no-op patch...");
+        UserDTO patched = userService.patchUser(userId, objectMapper.readTree("{\"username\": \"READER01 \", \"userProfile\": {}}"));
+
+        assertEquals("reader01", patched.getUsername());
+        assertThat(updates()).isEmpty();
+        verifyNoInteractions(passwordHasher, userCache);
+        logger.info("Test for a no-op patch completed.");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should reject a patch that removes a required field")
+    void shouldRejectRemovingRequiredField() throws Exception {
+        logger.info("Starting test for removing a required field...");
+        CustomExceptions.BadRequestException exception = assertThrows(CustomExceptions.BadRequestException.class,
+                () -> userService.patchUser(userId, objectMapper.readTree("{\"email\": null}")));
+
+        assertEquals("email cannot be removed.", exception.getMessage());
+        assertThat(updates()).isEmpty();
+        logger.info("Test for removing a required field completed.");
+    }
+
+    private static List<String> updates() {
+        return SqlStatementCounter.statements().stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.startsWith("update"))
+                .toList();
+    }
+
+    private static UserEntity createTestUser() {
+        UserEntity user = UserEntity.builder()
+                .username("reader01")
+                .email("reader01@batubook.com")
+                .password("validPassword!123")
+                .role(Role.USER)
+                .build();
+
+        user.setUserProfile(UserProfileEntity.builder()
+                .user(user)
+                .biography("Full Stack Software Developer")
+                .location("Istanbul")
+                .dateOfBirth(LocalDate.of(2000, 8, 14))
+                .gender(Gender.MALE)
+                .build());
+        return user;
+    }
+}
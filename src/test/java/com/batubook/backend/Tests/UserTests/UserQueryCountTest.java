@@ -0,0 +1,191 @@
+package com.batubook.backend.Tests.UserTests;
+
+import com.batubook.backend.Tests.SqlStatementCounter;
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.UserDTO;
+import com.batubook.backend.entity.UserEntity;
+import com.batubook.backend.entity.UserProfileEntity;
+import com.batubook.backend.entity.enums.Gender;
+import com.batubook.backend.entity.enums.Role;
+import com.batubook.backend.follow.FollowGraph;
+import com.batubook.backend.mapper.UserMapperImpl;
+import com.batubook.backend.mapper.UserProfileMapperImpl;
+import com.batubook.backend.pagination.CursorPage;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.patch.JsonMergePatcher;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
+import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.security.PasswordHasher;
+import com.batubook.backend.service.serviceImplementation.UserServiceImpl;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the number of SQL statements each user listing takes. Every user is mapped together with its profile,
+ * so a query that does not fetch-join the profile shows up as one extra statement per user on the page.
+ */
+@DataJpaTest
+@Import({UserServiceImpl.class, UserMapperImpl.class, UserProfileMapperImpl.class})
+@TestPropertySource(locations = "classpath:application-test.properties", properties = SqlStatementCounter.PROPERTY)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserQueryCountTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserQueryCountTest.class);
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @MockitoBean
+    private TotalCountService totalCountService;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    @MockitoBean
+    private UserCache userCache;
+
+    @MockitoBean
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @MockitoBean
+    private UserAvailabilityFilter userAvailabilityFilter;
+
+    @MockitoBean
+    private DeletionJobServiceInterface deletionJobService;
+
+    @MockitoBean
+    private JsonMergePatcher jsonMergePatcher;
+
+    @MockitoBean
+    private FollowGraph followGraph;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        userIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            userIds.add(userRepository.save(createTestUser("reader0" + i)).getId());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Paged user listings should load users and profiles in one query plus the count")
+    void shouldLoadPagedListingsWithoutPerUserQueries() {
+        logger.info("Starting test for paged listing statement counts...");
+        Page<UserDTO> allUsers = userService.getAllUsers(PageRequest.of(0, 3));
+        assertStatements(2);
+        assertProfilesLoaded(allUsers.getContent(), 3);
+
+        Page<UserDTO> byRole = userService.getUsersByRole(Role.USER, PageRequest.of(0, 3));
+        assertStatements(2);
+        assertProfilesLoaded(byRole.getContent(), 3);
+        logger.info("Test for paged listing statement counts completed.");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Search and count-free listings should load users and profiles in one query")
+    void shouldLoadSearchesWithoutPerUserQueries() {
+        logger.info("Starting test for search statement counts...");
+        Page<UserDTO> byUsernameAndEmail = userService.getUsersByUsernameAndEmail("reader03", "READER03@batubook.com", PageRequest.of(0, 5));
+        assertStatements(1);
+        assertProfilesLoaded(byUsernameAndEmail.getContent(), 1);
+
+        Page<UserDTO> byCriteria = userService.getUserByCriteria("reader", PageRequest.of(0, 4));
+        assertStatements(1);
+        assertProfilesLoaded(byCriteria.getContent(), 4);
+
+        CursorPage<UserDTO> afterCursor = userService.getAllUsersAfter("", 3);
+        assertStatements(1);
+        assertProfilesLoaded(afterCursor.getContent(), 3);
+
+        Page<UserDTO> estimated = userService.getAllUsersWithEstimatedTotal(PageRequest.of(0, 3));
+        assertStatements(1);
+        assertProfilesLoaded(estimated.getContent(), 3);
+        logger.info("Test for search statement counts completed.");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Single and batch lookups should load users and profiles in one query")
+    void shouldLoadLookupsWithoutPerUserQueries() {
+        logger.info("Starting test for lookup statement counts...");
+        when(userCache.get(eq(userIds.get(0)), any())).thenAnswer(invocation -> invocation.<Supplier<UserDTO>>getArgument(1).get());
+        when(userCache.getAll(any(), any())).thenAnswer(invocation -> invocation
+                .<Function<List<Long>, Map<Long, UserDTO>>>getArgument(1)
+                .apply(new ArrayList<>(invocation.<Collection<Long>>getArgument(0))));
+
+        UserDTO user = userService.getUserById(userIds.get(0));
+        assertStatements(1);
+        assertProfilesLoaded(List.of(user), 1);
+
+        List<UserDTO> batch = userService.getUsersByIds(userIds);
+        assertStatements(1);
+        assertProfilesLoaded(batch, 5);
+        logger.info("Test for lookup statement counts completed.");
+    }
+
+    private void assertStatements(int expected) {
+        assertThat(SqlStatementCounter.statements()).as("SQL statements").hasSize(expected);
+        testEntityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    private static void assertProfilesLoaded(List<UserDTO> users, int expectedSize) {
+        assertThat(users).hasSize(expectedSize);
+        assertThat(users).allSatisfy(user -> assertThat(user.getUserProfile().getLocation()).isEqualTo("Istanbul"));
+    }
+
+    private static UserEntity createTestUser(String username) {
+        UserEntity user = UserEntity.builder()
+                .username(username)
+                .email(username + "@batubook.com")
+                .password("validPassword!123")
+                .role(Role.USER)
+                .build();
+
+        user.setUserProfile(UserProfileEntity.builder()
+                .user(user)
+                .biography("Full Stack Software Developer")
+                .location("Istanbul")
+                .dateOfBirth(LocalDate.of(2000, 8, 14))
+                .gender(Gender.MALE)
+                .build());
+        return user;
+    }
+}
@@ -1,15 +1,25 @@
 package com.batubook.backend.Tests.UserTests;
 
+import com.batubook.backend.availability.UserAvailabilityFilter;
+import com.batubook.backend.cache.UserCache;
+import com.batubook.backend.dto.DeletionJobDTO;
+import com.batubook.backend.dto.UserAvailabilityDTO;
 import com.batubook.backend.dto.UserDTO;
 import com.batubook.backend.dto.UserProfileDTO;
+import com.batubook.backend.entity.DeletionJobEntity;
 import com.batubook.backend.entity.UserEntity;
 import com.batubook.backend.entity.UserProfileEntity;
 import com.batubook.backend.entity.enums.Gender;
 import com.batubook.backend.entity.enums.Role;
 import com.batubook.backend.exception.CustomExceptions;
+import com.batubook.backend.follow.FollowGraph;
 import com.batubook.backend.mapper.UserMapper;
+import com.batubook.backend.pagination.TotalCountService;
+import com.batubook.backend.recommendation.BookSimilarityIndex;
 import com.batubook.backend.repository.UserRepository;
+import com.batubook.backend.security.PasswordHasher;
 import com.batubook.backend.service.serviceImplementation.UserServiceImpl;
+import com.batubook.backend.service.serviceInterface.DeletionJobServiceInterface;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -17,16 +27,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,7 +60,25 @@ public class UserServiceTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private TotalCountService totalCountService;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @Mock
+    private UserAvailabilityFilter userAvailabilityFilter;
+
+    @Mock
+    private DeletionJobServiceInterface deletionJobService;
+
+    @Mock
+    private FollowGraph followGraph;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -53,8 +86,8 @@ public class UserServiceTest {
     @BeforeEach
     void setUp() {
         logger.info("Setting up the test environment...");
-        when(passwordEncoder.encode(any(CharSequence.class))).thenReturn("encodedPassword");
-        reset(userRepository, userMapper, passwordEncoder);
+        when(passwordHasher.hash(anyString())).thenReturn("encodedPassword");
+        reset(userRepository, userMapper, passwordHasher, totalCountService, userCache, bookSimilarityIndex, userAvailabilityFilter, deletionJobService, followGraph);
         logger.info("Test environment setup complete.");
     }
 
@@ -108,6 +141,7 @@ public class UserServiceTest {
         UserEntity userEntity = createSampleUserEntity();
         UserDTO expectedUserDTO = createSampleUserDTO();
 
+        when(userCache.get(eq(userId), any())).thenAnswer(invocation -> invocation.<Supplier<UserDTO>>getArgument(1).get());
         when(userRepository.findById(userId)).thenReturn(Optional.of(userEntity));
         when(userMapper.userEntityToDTO(userEntity)).thenReturn(expectedUserDTO);
 
@@ -127,6 +161,7 @@ public class UserServiceTest {
         logger.info("Starting test for retrieving user by ID (user not found)...");
         Long userId = 999L;
 
+        when(userCache.get(eq(userId), any())).thenAnswer(invocation -> invocation.<Supplier<UserDTO>>getArgument(1).get());
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         CustomExceptions.NotFoundException exception = assertThrows(CustomExceptions.NotFoundException.class, () -> userService.getUserById(userId));
@@ -204,8 +239,9 @@ public class UserServiceTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
         when(userMapper.userDTOToEntity(userDTO)).thenReturn(existingUser);
-        when(userRepository.save(existingUser)).thenReturn(existingUser);
+        when(userRepository.saveAndFlush(existingUser)).thenReturn(existingUser);
         when(userMapper.userEntityToDTO(existingUser)).thenReturn(userDTO);
+        when(passwordHasher.hashIfChanged("validPassword!123", "validPassword!123")).thenReturn("validPassword!123");
 
         UserDTO result = userService.modifyUser(userId, userDTO);
 
@@ -215,7 +251,7 @@ public class UserServiceTest {
         assertEquals(userDTO.getUserProfile().getBiography(), result.getUserProfile().getBiography());
 
         verify(userRepository).findById(userId);
-        verify(userRepository).save(existingUser);
+        verify(userRepository).saveAndFlush(existingUser);
         verify(userMapper).userEntityToDTO(existingUser);
         logger.info("Test for successfully updating user details completed.");
     }
@@ -257,7 +293,7 @@ public class UserServiceTest {
         assertEquals("User could not be updated: Invalid email format", exception.getMessage());
 
         verify(userRepository).findById(userId);
-        verify(userRepository, times(0)).save(any(UserEntity.class));
+        verify(userRepository, times(0)).saveAndFlush(any(UserEntity.class));
         verify(userMapper).userDTOToEntity(userDTO);
         logger.info("Test for failing to update user with invalid email format completed.");
     }
@@ -283,7 +319,7 @@ public class UserServiceTest {
         assertEquals("User could not be updated: Username cannot be null or empty.", exception.getMessage());
         verify(userRepository).findById(userId);
         verify(userMapper).userDTOToEntity(userDTO);
-        verify(userRepository, times(0)).save(any(UserEntity.class));
+        verify(userRepository, times(0)).saveAndFlush(any(UserEntity.class));
         logger.info("Test for failing to update user when username is empty completed.");
     }
 
@@ -308,24 +344,31 @@ public class UserServiceTest {
         assertEquals("User could not be updated: Invalid role.", exception.getMessage());
         verify(userRepository).findById(userId);
         verify(userMapper).userDTOToEntity(userDTO);
-        verify(userRepository, times(0)).save(any(UserEntity.class));
+        verify(userRepository, times(0)).saveAndFlush(any(UserEntity.class));
         logger.info("Test for failing to update user with invalid role completed.");
     }
 
     @Test
     @Order(13)
-    @DisplayName("Should successfully remove user by ID")
+    @DisplayName("Should tombstone the user and schedule its deletion")
     void shouldSuccessfullyRemoveUserById() {
         logger.info("Starting test for successfully removing user by ID...");
         Long userId = 1L;
-        UserEntity userEntity = createSampleUserEntity();
+        DeletionJobDTO deletionJob = DeletionJobDTO.builder()
+                .id(7L)
+                .targetType(DeletionJobEntity.TargetType.USER)
+                .targetId(userId)
+                .status(DeletionJobEntity.Status.PENDING)
+                .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(userId);
-        userService.removeUser(userId);
+        when(userRepository.tombstoneById(eq(userId), any())).thenReturn(1);
+        when(deletionJobService.scheduleDeletion(DeletionJobEntity.TargetType.USER, userId)).thenReturn(deletionJob);
+        DeletionJobDTO result = userService.removeUser(userId);
 
-        verify(userRepository).deleteById(userId);
-        verify(userRepository).existsById(userId);
+        assertEquals(7L, result.getId());
+        verify(userRepository, never()).deleteById(any());
+        verify(userCache).invalidate(userId);
+        verify(followGraph).removeUser(userId);
         logger.info("Test for successfully removing user by ID completed.");
     }
 
@@ -336,7 +379,7 @@ public class UserServiceTest {
         logger.info("Starting test for failing to remove user when user not found...");
         Long userId = 999L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.tombstoneById(eq(userId), any())).thenReturn(0);
         CustomExceptions.NotFoundException exception = assertThrows(
                 CustomExceptions.NotFoundException.class,
                 () -> userService.removeUser(userId)
@@ -344,14 +387,209 @@ public class UserServiceTest {
 
         assertEquals("User not found with ID: 999", exception.getMessage());
         verify(userRepository, times(0)).deleteById(userId);
-        verify(userRepository).existsById(userId);
+        verifyNoInteractions(deletionJobService);
         logger.info("Test for failing to remove user when user not found completed.");
     }
 
+    @Test
+    @Order(15)
+    @DisplayName("Should load batch users with their profiles in chunks and keep request order")
+    void shouldLoadBatchUsersInChunks() {
+        logger.info("Starting test for batch user lookup...");
+        List<Long> ids = new ArrayList<>();
+        for (long id = 600; id >= 1; id--) {
+            ids.add(id);
+        }
+        when(userCache.getAll(any(), any())).thenAnswer(invocation -> invocation
+                .<Function<List<Long>, Map<Long, UserDTO>>>getArgument(1)
+                .apply(new ArrayList<>(invocation.<Collection<Long>>getArgument(0))));
+        when(userRepository.findAllWithProfileByIdIn(any())).thenAnswer(invocation -> invocation
+                .<Collection<Long>>getArgument(0).stream()
+                .filter(id -> id % 2 == 0)
+                .map(id -> {
+                    UserEntity user = createSampleUserEntity();
+                    user.setId(id);
+                    return user;
+                })
+                .toList());
+        when(userMapper.userEntityToDTO(any(UserEntity.class))).thenAnswer(invocation -> {
+            UserDTO userDTO = createSampleUserDTO();
+            userDTO.setId(invocation.<UserEntity>getArgument(0).getId());
+            return userDTO;
+        });
+
+        List<UserDTO> result = userService.getUsersByIds(ids);
+
+        assertEquals(300, result.size());
+        assertEquals(600L, result.get(0).getId());
+        assertEquals(2L, result.get(299).getId());
+        verify(userRepository, times(2)).findAllWithProfileByIdIn(any());
+        verify(userRepository, never()).findById(any());
+        logger.info("Test for batch user lookup completed.");
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Should keep the stored hash when the submitted password is unchanged")
+    void shouldKeepStoredHashWhenPasswordUnchanged() {
+        logger.info("Starting test for unchanged password...");
+        Long userId = 1L;
+        UserDTO userDTO = createSampleUserDTO();
+        UserEntity existingUser = createSampleUserEntity();
+        existingUser.setPassword("$2a$10$storedHash");
+        UserEntity submittedUser = createSampleUserEntity();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userMapper.userDTOToEntity(userDTO)).thenReturn(submittedUser);
+        when(userRepository.saveAndFlush(existingUser)).thenReturn(existingUser);
+        when(userMapper.userEntityToDTO(existingUser)).thenReturn(userDTO);
+        when(passwordHasher.hashIfChanged("validPassword!123", "$2a$10$storedHash")).thenReturn("$2a$10$storedHash");
+
+        userService.modifyUser(userId, userDTO);
+
+        assertEquals("$2a$10$storedHash", existingUser.getPassword());
+        verify(passwordHasher, never()).hash(anyString());
+        logger.info("Test for unchanged password completed.");
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should surface a saturated password hasher as service unavailable")
+    void shouldPropagateServiceUnavailableFromHasher() {
+        logger.info("Starting test for saturated password hasher...");
+        UserDTO userDTO = createSampleUserDTO();
+        UserEntity userEntity = createSampleUserEntity();
+
+        when(userMapper.userDTOToEntity(userDTO)).thenReturn(userEntity);
+        when(passwordHasher.hash(anyString()))
+                .thenThrow(new CustomExceptions.ServiceUnavailableException("Too many password changes in progress, please retry shortly."));
+
+        assertThrows(CustomExceptions.ServiceUnavailableException.class, () -> userService.registerUser(userDTO));
+        verify(userRepository, never()).save(any(UserEntity.class));
+        logger.info("Test for saturated password hasher completed.");
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Should reject a taken username before hashing the password")
+    void shouldRejectTakenUsernameBeforeHashing() {
+        logger.info("Starting test for taken username...");
+        UserDTO userDTO = createSampleUserDTO();
+        UserEntity userEntity = createSampleUserEntity();
+
+        when(userMapper.userDTOToEntity(userDTO)).thenReturn(userEntity);
+        when(userAvailabilityFilter.isReady()).thenReturn(true);
+        when(userAvailabilityFilter.mightContainUsername("bbatuhan")).thenReturn(true);
+        when(userRepository.existsByUsernameIncludingDeleted("bbatuhan")).thenReturn(true);
+
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class, () -> userService.registerUser(userDTO));
+
+        assertEquals("Username is already taken: bbatuhan", exception.getMessage());
+        verify(passwordHasher, never()).hash(anyString());
+        verify(userRepository, never()).save(any(UserEntity.class));
+        logger.info("Test for taken username completed.");
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Should only query the database when the filter answers maybe")
+    void shouldCheckAvailabilityThroughFilter() {
+        logger.info("Starting test for availability check...");
+        when(userAvailabilityFilter.isReady()).thenReturn(true);
+        when(userAvailabilityFilter.mightContainUsername("newreader")).thenReturn(false);
+        when(userAvailabilityFilter.mightContainEmail("bbatuhan@batubook.com")).thenReturn(true);
+        when(userRepository.existsByEmailIncludingDeleted("bbatuhan@batubook.com")).thenReturn(true);
+
+        UserAvailabilityDTO availability = userService.checkAvailability(" newreader ", "bbatuhan@batubook.com");
+
+        assertEquals("newreader", availability.getUsername());
+        assertTrue(availability.getUsernameAvailable());
+        assertFalse(availability.getEmailAvailable());
+        verify(userRepository, never()).existsByUsernameIncludingDeleted(anyString());
+        assertThrows(CustomExceptions.BadRequestException.class, () -> userService.checkAvailability(" ", null));
+        logger.info("Test for availability check completed.");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Should check availability against the stored lowercase form")
+    void shouldCheckAvailabilityCaseInsensitively() {
+        logger.info("Starting test for mixed-case availability check...");
+        when(userAvailabilityFilter.isReady()).thenReturn(true);
+        when(userAvailabilityFilter.mightContainUsername("bbatuhan")).thenReturn(true);
+        when(userRepository.existsByUsernameIncludingDeleted("bbatuhan")).thenReturn(true);
+        when(userAvailabilityFilter.mightContainEmail("bbatuhan@batubook.com")).thenReturn(true);
+        when(userRepository.existsByEmailIncludingDeleted("bbatuhan@batubook.com")).thenReturn(true);
+
+        UserAvailabilityDTO availability = userService.checkAvailability(" BBatuhan ", "BBatuhan@BatuBook.com");
+
+        assertEquals("bbatuhan", availability.getUsername());
+        assertEquals("bbatuhan@batubook.com", availability.getEmail());
+        assertFalse(availability.getUsernameAvailable());
+        assertFalse(availability.getEmailAvailable());
+        logger.info("Test for mixed-case availability check completed.");
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Should keep the own username in the filter when only its case is resubmitted")
+    void shouldIgnoreCaseOnlyUsernameChange() {
+        logger.info("Starting test for case-only username change...");
+        Long userId = 1L;
+        UserDTO userDTO = createSampleUserDTO();
+        UserEntity existingUser = createSampleUserEntity();
+        existingUser.setPassword("$2a$10$storedHash");
+        UserEntity submittedUser = createSampleUserEntity();
+        submittedUser.setUsername("BBatuhan");
+        submittedUser.setEmail(" BBatuhan@batubook.com");
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userMapper.userDTOToEntity(userDTO)).thenReturn(submittedUser);
+        when(userRepository.saveAndFlush(existingUser)).thenReturn(existingUser);
+        when(userMapper.userEntityToDTO(existingUser)).thenReturn(userDTO);
+        when(passwordHasher.hashIfChanged("validPassword!123", "$2a$10$storedHash")).thenReturn("$2a$10$storedHash");
+
+        userService.modifyUser(userId, userDTO);
+
+        verify(userRepository, never()).existsByUsernameIncludingDeleted(anyString());
+        verify(userRepository, never()).existsByEmailIncludingDeleted(anyString());
+        verify(userAvailabilityFilter).add(null, null);
+        verify(userAvailabilityFilter).remove(null, null);
+        logger.info("Test for case-only username change completed.");
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Should answer a conflict when an update loses the race for a username")
+    void shouldMapLostUpdateRaceToConflict() {
+        logger.info("Starting test for lost update race...");
+        Long userId = 1L;
+        UserDTO userDTO = createSampleUserDTO();
+        UserEntity existingUser = createSampleUserEntity();
+        existingUser.setPassword("$2a$10$storedHash");
+        UserEntity submittedUser = createSampleUserEntity();
+        submittedUser.setUsername("NewReader");
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userMapper.userDTOToEntity(userDTO)).thenReturn(submittedUser);
+        when(passwordHasher.hashIfChanged("validPassword!123", "$2a$10$storedHash")).thenReturn("$2a$10$storedHash");
+        when(userRepository.saveAndFlush(existingUser)).thenThrow(new DataIntegrityViolationException("users_username_key"));
+
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class, () -> userService.modifyUser(userId, userDTO));
+
+        assertEquals("Username or email is already taken.", exception.getMessage());
+        verify(userRepository).existsByUsernameIncludingDeleted("newreader");
+        verify(userAvailabilityFilter, never()).add(any(), any());
+        verify(userCache, never()).invalidate(anyLong());
+        logger.info("Test for lost update race completed.");
+    }
+
     @AfterEach
     void tearDown() {
         logger.info("Cleaning up after test...");
-        reset(userRepository, userMapper, passwordEncoder);
+        reset(userRepository, userMapper, passwordHasher, totalCountService, userCache, bookSimilarityIndex, userAvailabilityFilter, deletionJobService, followGraph);
         logger.info("Cleanup complete.");
     }
 